@@ -0,0 +1,43 @@
+package com.mentorship.benchmark;
+
+import com.mentorship.Application;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+
+/**
+ * Boots the application without a web server against a private in-memory H2
+ * database in PostgreSQL mode, with the schema generated from the entities.
+ */
+final class BenchmarkContext {
+
+  private BenchmarkContext() {
+  }
+
+  /**
+   * @param overrides extra {@code --property=value} arguments, e.g. the setting a benchmark compares
+   */
+  static ConfigurableApplicationContext start(String databaseName, String... overrides) {
+    String[] defaults = {
+            "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.properties.hibernate.jdbc.batch_size=100",
+            "--spring.jpa.properties.hibernate.order_inserts=true",
+            "--spring.flyway.enabled=false",
+            "--spring.devtools.restart.enabled=false",
+            "--logging.level.root=WARN"
+    };
+    String[] args = Arrays.copyOf(defaults, defaults.length + overrides.length);
+    System.arraycopy(overrides, 0, args, defaults.length, overrides.length);
+    return new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            // Passed as arguments so they take precedence over the test application.properties
+            .run(args);
+  }
+}
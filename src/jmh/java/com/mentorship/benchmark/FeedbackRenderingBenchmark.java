@@ -0,0 +1,140 @@
+package com.mentorship.benchmark;
+
+import com.mentorship.domain.Feedback;
+import com.mentorship.domain.Mentorship;
+import com.mentorship.domain.Problem;
+import com.mentorship.domain.ProblemDifficulty;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AssignStudentsRequest;
+import com.mentorship.dto.AssignmentCreateRequest;
+import com.mentorship.dto.FeedbackResponse;
+import com.mentorship.dto.FeedbackSummaryResponse;
+import com.mentorship.dto.StudentAssignmentResponse;
+import com.mentorship.dto.SubmissionCreateRequest;
+import com.mentorship.dto.SubmissionFeedbackResponse;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.repository.ProblemRepository;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.service.AssignmentService;
+import com.mentorship.service.FeedbackService;
+import com.mentorship.service.SubmissionService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering a submission's feedback in the code viewer, for a submission with
+ * {@link #comments} comments spread over {@value #LINES} lines plus one overall
+ * comment in ten. {@link #loadEntitiesAndGroupInMemory()} is the old path for comparison:
+ * every entity in no particular order, grouped per line in a sorted map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FeedbackRenderingBenchmark {
+
+  private static final int LINES = 400;
+
+  @Param({"5000"})
+  public int comments;
+
+  private ConfigurableApplicationContext context;
+  private FeedbackService feedbackService;
+  private JdbcTemplate jdbc;
+  private EntityManager entityManager;
+  private UUID submissionId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkContext.start("feedback-rendering");
+    feedbackService = context.getBean(FeedbackService.class);
+    jdbc = context.getBean(JdbcTemplate.class);
+    entityManager = context.getBean(EntityManager.class);
+
+    UserRepository users = context.getBean(UserRepository.class);
+    User mentor = users.save(User.builder()
+            .id(UUID.randomUUID()).name("Mentor").email("mentor@example.com").role(UserRole.MENTOR).build());
+    User student = users.save(User.builder()
+            .id(UUID.randomUUID()).name("Student").email("student@example.com").role(UserRole.STUDENT).build());
+    context.getBean(MentorshipRepository.class).save(Mentorship.builder().mentor(mentor).student(student).build());
+    Problem problem = context.getBean(ProblemRepository.class).save(Problem.builder()
+            .title("Graph search").difficulty(ProblemDifficulty.MEDIUM).mentor(mentor).inBank(true).build());
+    AssignmentService assignmentService = context.getBean(AssignmentService.class);
+    UUID assignmentId = assignmentService.createAssignment(new AssignmentCreateRequest(
+            mentor.getId(), "Graphs", null, List.of(), List.of(problem.getId()), List.of())).id();
+    StudentAssignmentResponse assigned = assignmentService.assign(assignmentId,
+            new AssignStudentsRequest(List.of(student.getId()), null)).results().getFirst().studentAssignment();
+    submissionId = context.getBean(SubmissionService.class).submit(new SubmissionCreateRequest(
+            assigned.id(), problem.getId(), student.getId(), "class Solution {}\n".repeat(LINES), null)).id();
+
+    seed(mentor.getId());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public SubmissionFeedbackResponse feedbackGroupedByLine() {
+    return feedbackService.getFeedback(submissionId);
+  }
+
+  @Benchmark
+  public FeedbackSummaryResponse gutterSummary() {
+    return feedbackService.getFeedbackSummary(submissionId);
+  }
+
+  @Benchmark
+  public Map<Integer, List<FeedbackResponse>> loadEntitiesAndGroupInMemory() {
+    List<Feedback> feedback = entityManager
+            .createQuery("select f from Feedback f where f.submission.id = :submissionId", Feedback.class)
+            .setParameter("submissionId", submissionId)
+            .getResultList();
+    Map<Integer, List<FeedbackResponse>> byLine = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+    for (Feedback f : feedback) {
+      byLine.computeIfAbsent(f.getLineNumber(), line -> new ArrayList<>()).add(FeedbackResponse.from(f));
+    }
+    return byLine;
+  }
+
+  private void seed(UUID mentorId) {
+    Instant start = Instant.now();
+    List<Object[]> rows = new ArrayList<>(comments);
+    for (int i = 0; i < comments; i++) {
+      // Spread over the file in no particular order, as review comments arrive
+      Integer line = i % 10 == 0 ? null : 1 + (int) ((i * 2_654_435_761L) % LINES);
+      rows.add(new Object[]{UUID.randomUUID(), submissionId, mentorId,
+              "Consider extracting this into a helper; comment " + i, line, Timestamp.from(start.plusMillis(i))});
+    }
+    jdbc.batchUpdate("insert into feedback (id, submission_id, mentor_id, comment_text, line_number, created_at) "
+            + "values (?, ?, ?, ?, ?, ?)", rows);
+  }
+}
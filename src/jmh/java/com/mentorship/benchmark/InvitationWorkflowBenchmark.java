@@ -0,0 +1,160 @@
+package com.mentorship.benchmark;
+
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AcceptInviteRequest;
+import com.mentorship.dto.BulkInviteRequest;
+import com.mentorship.dto.BulkInviteResponse;
+import com.mentorship.dto.InvitationResponse;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.dto.MentorshipResponse;
+import com.mentorship.dto.UserCreateRequest;
+import com.mentorship.dto.UserResponse;
+import com.mentorship.service.InvitationService;
+import com.mentorship.service.UserService;
+import com.mentorship.util.Tokens;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service-level latency of the invitation workflow as the invitations table grows.
+ * Each mentor owns {@value #INVITATIONS_PER_MENTOR} invitations, so the per-mentor
+ * result size stays fixed while the table size varies with {@link #invitations}.
+ * Run with {@code -prof gc} (the profile default) to get allocations per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InvitationWorkflowBenchmark {
+
+  private static final int INVITATIONS_PER_MENTOR = 100;
+  private static final int BATCH_SIZE = 5_000;
+  private static final int BULK_INVITE_SIZE = 100;
+
+  @Param({"1000", "100000", "1000000"})
+  public int invitations;
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  private ConfigurableApplicationContext context;
+  private InvitationService invitationService;
+  private UserService userService;
+  private UUID mentorId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkContext.start("invitation-workflow");
+    invitationService = context.getBean(InvitationService.class);
+    userService = context.getBean(UserService.class);
+    mentorId = seed(context.getBean(JdbcTemplate.class));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public InvitationResponse createInvitation() {
+    return invitationService.createInvitation(new InviteRequest(mentorId, "bench-" + sequence.incrementAndGet() + "@example.com"));
+  }
+
+  /**
+   * One bulk call inviting {@value #BULK_INVITE_SIZE} students; divide by that
+   * size to compare against {@link #createInvitation()}.
+   */
+  @Benchmark
+  public BulkInviteResponse createInvitationsBulk() {
+    List<String> emails = new ArrayList<>(BULK_INVITE_SIZE);
+    for (int i = 0; i < BULK_INVITE_SIZE; i++) {
+      emails.add("bulk-" + sequence.incrementAndGet() + "@example.com");
+    }
+    return invitationService.createInvitations(new BulkInviteRequest(mentorId, emails));
+  }
+
+  @Benchmark
+  public MentorshipResponse acceptInvitation(PendingInvitation pending) {
+    return invitationService.acceptInvitation(new AcceptInviteRequest(pending.token, pending.studentId));
+  }
+
+  @Benchmark
+  public List<InvitationResponse> getInvitationsForMentor() {
+    return invitationService.getInvitationsForMentor(mentorId);
+  }
+
+  @Benchmark
+  public UserResponse createUser() {
+    long n = sequence.incrementAndGet();
+    return userService.createUser(new UserCreateRequest(UUID.randomUUID(), "Student " + n, "user-" + n + "@example.com", UserRole.STUDENT));
+  }
+
+  /**
+   * A fresh student with a pending invitation for every accept call.
+   * Created outside the measured region.
+   */
+  @State(Scope.Thread)
+  public static class PendingInvitation {
+    String token;
+    UUID studentId;
+
+    @Setup(Level.Invocation)
+    public void prepare(InvitationWorkflowBenchmark benchmark) {
+      long n = benchmark.sequence.incrementAndGet();
+      String email = "accept-" + n + "@example.com";
+      studentId = benchmark.userService.createUser(
+              new UserCreateRequest(UUID.randomUUID(), "Student " + n, email, UserRole.STUDENT)).id();
+      token = benchmark.invitationService.createInvitation(new InviteRequest(benchmark.mentorId, email)).token();
+    }
+  }
+
+  private UUID seed(JdbcTemplate jdbc) {
+    Timestamp now = Timestamp.from(Instant.now());
+    Timestamp expires = Timestamp.from(Instant.now().plus(Duration.ofDays(14)));
+    int mentors = Math.max(1, invitations / INVITATIONS_PER_MENTOR);
+
+    List<UUID> mentorIds = new ArrayList<>(mentors);
+    List<Object[]> userRows = new ArrayList<>(mentors);
+    for (int m = 0; m < mentors; m++) {
+      UUID id = UUID.randomUUID();
+      mentorIds.add(id);
+      userRows.add(new Object[]{id, "Mentor " + m, "mentor-" + m + "@example.com", UserRole.MENTOR.name(), now, now});
+    }
+    jdbc.batchUpdate("insert into users (id, name, email, role, created_at, updated_at) values (?, ?, ?, ?, ?, ?)", userRows);
+
+    List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < invitations; i++) {
+      UUID mentor = mentorIds.get(i % mentors);
+      batch.add(new Object[]{UUID.randomUUID(), mentor, "seed-" + i + "@example.com", "PENDING", Tokens.hash(UUID.randomUUID().toString()), now, expires});
+      if (batch.size() == BATCH_SIZE || i == invitations - 1) {
+        jdbc.batchUpdate("insert into invitations (id, mentor_id, student_email, status, token_hash, created_at, expires_at) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+      }
+    }
+    return mentorIds.get(0);
+  }
+}
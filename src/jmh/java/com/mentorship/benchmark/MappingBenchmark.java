@@ -0,0 +1,85 @@
+package com.mentorship.benchmark;
+
+import com.mentorship.domain.Invitation;
+import com.mentorship.domain.InvitationStatus;
+import com.mentorship.domain.Mentorship;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.InvitationResponse;
+import com.mentorship.dto.MentorshipResponse;
+import com.mentorship.util.Emails;
+import com.mentorship.util.Tokens;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pure-CPU pieces of the invitation workflow: no database, no Spring context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MappingBenchmark {
+
+  // Non-final so the JIT cannot constant-fold the inputs
+  private String rawEmail = "  Alex.Student@Example.COM  ";
+  private Invitation invitation;
+  private Mentorship mentorship;
+
+  @Setup
+  public void setUp() {
+    User mentor = User.builder().id(UUID.randomUUID()).name("Mentor").email("mentor@example.com").role(UserRole.MENTOR).build();
+    User student = User.builder().id(UUID.randomUUID()).name("Student").email("student@example.com").role(UserRole.STUDENT).build();
+    invitation = Invitation.builder()
+            .id(UUID.randomUUID())
+            .mentor(mentor)
+            .studentEmail(student.getEmail())
+            .status(InvitationStatus.PENDING)
+            .token(Tokens.generate())
+            .tokenHash(new byte[Tokens.HASH_BYTES])
+            .createdAt(Instant.now())
+            .expiresAt(Instant.now().plus(Duration.ofDays(14)))
+            .build();
+    mentorship = Mentorship.builder()
+            .id(UUID.randomUUID())
+            .mentor(mentor)
+            .student(student)
+            .createdAt(Instant.now())
+            .build();
+  }
+
+  @Benchmark
+  public String normalizeEmail() {
+    return Emails.normalize(rawEmail);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return UUID.randomUUID().toString();
+  }
+
+  @Benchmark
+  public InvitationResponse mapInvitation() {
+    return InvitationResponse.from(invitation);
+  }
+
+  @Benchmark
+  public MentorshipResponse mapMentorship() {
+    return MentorshipResponse.from(mentorship);
+  }
+}
@@ -0,0 +1,134 @@
+package com.mentorship.benchmark;
+
+import com.mentorship.domain.ProblemDifficulty;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.ProblemSearchResponse;
+import com.mentorship.dto.ProblemSuggestion;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.service.ProblemSearchIndex;
+import com.mentorship.service.ProblemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead and search latency of the in-memory backend for one mentor whose bank holds
+ * {@link #problems} problems, titled and described with words from a small algorithms
+ * vocabulary so that postings are long. The one-letter prefix is the worst case for
+ * autocomplete: it matches a large share of the bank.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProblemSearchBenchmark {
+
+  private static final String[] WORDS = {
+          "array", "binary", "search", "tree", "graph", "shortest", "path", "sum", "two", "three", "matrix",
+          "string", "substring", "palindrome", "window", "sliding", "interval", "merge", "sort", "heap", "stack",
+          "queue", "linked", "list", "cycle", "detect", "dynamic", "programming", "knapsack", "coin", "change",
+          "longest", "common", "subsequence", "prefix", "trie", "union", "find", "topological", "order", "bfs",
+          "dfs", "island", "count", "minimum", "maximum", "spanning", "dijkstra", "bellman", "ford", "rotate",
+          "reverse", "partition", "median", "stream", "design", "cache", "lru", "bit", "manipulation", "greedy",
+          "backtracking", "permutation", "combination", "subset", "n", "queens", "sudoku", "solver", "word",
+          "ladder", "break", "jump", "game", "house", "robber", "climbing", "stairs", "valid", "parentheses"
+  };
+
+  @Param({"50000"})
+  public int problems;
+
+  private ConfigurableApplicationContext context;
+  private ProblemService problemService;
+  private UUID mentorId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkContext.start("problem-search", "--mentorship.problems.search.backend=in-memory");
+    problemService = context.getBean(ProblemService.class);
+    User mentor = context.getBean(UserRepository.class).save(User.builder()
+            .id(UUID.randomUUID()).name("Mentor").email("mentor@example.com").role(UserRole.MENTOR).build());
+    mentorId = mentor.getId();
+
+    seed();
+    context.getBean(ProblemSearchIndex.class).warm();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<ProblemSuggestion> autocompleteOneLetter() {
+    return problemService.autocomplete(mentorId, "s", 10);
+  }
+
+  @Benchmark
+  public List<ProblemSuggestion> autocompleteThreeLetters() {
+    return problemService.autocomplete(mentorId, "pal", 10);
+  }
+
+  @Benchmark
+  public List<ProblemSuggestion> autocompleteSecondWord() {
+    return problemService.autocomplete(mentorId, "binary s", 10);
+  }
+
+  @Benchmark
+  public ProblemSearchResponse searchOneWord() {
+    return problemService.search(mentorId, "graph", null, 20);
+  }
+
+  @Benchmark
+  public ProblemSearchResponse searchTwoWordsHard() {
+    return problemService.search(mentorId, "shortest path", ProblemDifficulty.HARD, 20);
+  }
+
+  private void seed() {
+    Random random = new Random(42);
+    Timestamp now = Timestamp.from(Instant.now());
+    List<Object[]> rows = new ArrayList<>(problems);
+    for (int i = 0; i < problems; i++) {
+      String title = words(random, 2 + random.nextInt(3));
+      String description = words(random, 10 + random.nextInt(20));
+      String difficulty = ProblemDifficulty.values()[random.nextInt(3)].name().toLowerCase();
+      rows.add(new Object[]{UUID.randomUUID(), title, description, difficulty, mentorId, now, now});
+    }
+    context.getBean(JdbcTemplate.class).batchUpdate(
+            "insert into problems (id, title, description, difficulty, mentor_id, in_bank, created_at, updated_at) "
+                    + "values (?, ?, ?, ?, ?, true, ?, ?)", rows);
+  }
+
+  private static String words(Random random, int count) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        text.append(' ');
+      }
+      text.append(WORDS[random.nextInt(WORDS.length)]);
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,96 @@
+package com.mentorship.benchmark;
+
+import com.mentorship.config.RateLimitProperties;
+import com.mentorship.config.RateLimitProperties.Policy;
+import com.mentorship.config.RateLimitProperties.Route;
+import com.mentorship.controller.RateLimitFilter;
+import com.mentorship.service.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What {@link RateLimitFilter} adds to a request. {@link #unlimitedRoute()} is a request the
+ * filter only matches against its routes; {@link #limitedRoute()} also takes a token from the
+ * client's bucket, one of many clients; the contended variant has four threads taking from a
+ * single bucket. The limit is set high enough that nothing is turned away, and the chain does
+ * nothing, so the figures are the filter's own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RateLimitBenchmark {
+
+  private static final int CLIENTS = 10_000;
+  private static final FilterChain NOTHING = (request, response) -> { };
+
+  private RateLimiter rateLimiter;
+  private RateLimitFilter filter;
+  private String[] addresses;
+
+  @Setup
+  public void setUp() {
+    Policy unlimited = new Policy(Long.MAX_VALUE / 2, Duration.ofNanos(1));
+    rateLimiter = new RateLimiter(
+            new RateLimitProperties(true, Map.of(Route.TOKEN_LOOKUP, unlimited), Duration.ofMinutes(1)),
+            new SimpleMeterRegistry());
+    filter = new RateLimitFilter(rateLimiter, (request, response, handler, ex) -> null);
+    addresses = new String[CLIENTS];
+    for (int i = 0; i < CLIENTS; i++) {
+      addresses[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+      rateLimiter.acquire(Route.TOKEN_LOOKUP, addresses[i]);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Exchange {
+
+    private final MockHttpServletRequest unlimited = new MockHttpServletRequest("GET", "/api/mentorship/mentor/m/invitations");
+    private final MockHttpServletRequest limited = new MockHttpServletRequest("GET", "/api/mentorship/invitations/token/t");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Setup(Level.Iteration)
+    public void pickClient(RateLimitBenchmark benchmark) {
+      limited.setRemoteAddr(benchmark.addresses[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+  }
+
+  @Benchmark
+  public void unlimitedRoute(Exchange exchange) throws ServletException, IOException {
+    filter.doFilter(exchange.unlimited, exchange.response, NOTHING);
+  }
+
+  @Benchmark
+  public void limitedRoute(Exchange exchange) throws ServletException, IOException {
+    filter.doFilter(exchange.limited, exchange.response, NOTHING);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public long acquireContended() {
+    return rateLimiter.acquire(Route.TOKEN_LOOKUP, addresses[0]);
+  }
+}
@@ -0,0 +1,177 @@
+package com.mentorship.benchmark;
+
+import com.mentorship.domain.Mentorship;
+import com.mentorship.domain.Problem;
+import com.mentorship.domain.ProblemDifficulty;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AssignStudentsRequest;
+import com.mentorship.dto.AssignmentCreateRequest;
+import com.mentorship.dto.StudentAssignmentResponse;
+import com.mentorship.dto.SubmissionCreateRequest;
+import com.mentorship.dto.SubmissionResponse;
+import com.mentorship.dto.UserCreateRequest;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.repository.ProblemRepository;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.service.AssignmentService;
+import com.mentorship.service.SubmissionService;
+import com.mentorship.service.UserService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage cost and read latency of submission code for one heavy resubmitter: a
+ * {@value #LINES}-line solution resubmitted {@link #versions} times with a few lines
+ * changed each time. {@code maxChainLength=0} stores every version as a compressed
+ * snapshot, which is the baseline for the delta chains.
+ *
+ * <p>Bytes stored per version are reported with each result as {@code bytesPerVersion},
+ * next to {@code inlineBytesPerVersion}, what the same history takes inline. Run with:
+ * {@code -Djmh.args="SubmissionStorageBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SubmissionStorageBenchmark {
+
+  private static final int LINES = 400;
+
+  @Param({"20", "100"})
+  public int versions;
+
+  @Param({"0", "10"})
+  public int maxChainLength;
+
+  private ConfigurableApplicationContext context;
+  private SubmissionService submissionService;
+  private JdbcTemplate jdbc;
+  private UUID firstVersionId;
+  private UUID latestVersionId;
+  private SubmissionCreateRequest nextVersion;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkContext.start("submission-storage",
+            "--mentorship.submissions.storage.max-chain-length=" + maxChainLength);
+    submissionService = context.getBean(SubmissionService.class);
+
+    User mentor = saveUser("Mentor", UserRole.MENTOR);
+    User student = saveUser("Student", UserRole.STUDENT);
+    context.getBean(MentorshipRepository.class).save(Mentorship.builder().mentor(mentor).student(student).build());
+    Problem problem = context.getBean(ProblemRepository.class).save(Problem.builder()
+            .title("Graph search").difficulty(ProblemDifficulty.MEDIUM).mentor(mentor).inBank(true).build());
+    AssignmentService assignmentService = context.getBean(AssignmentService.class);
+    UUID assignmentId = assignmentService.createAssignment(new AssignmentCreateRequest(
+            mentor.getId(), "Graphs", null, List.of(), List.of(problem.getId()), List.of())).id();
+    StudentAssignmentResponse assigned = assignmentService.assign(assignmentId,
+            new AssignStudentsRequest(List.of(student.getId()), null)).results().getFirst().studentAssignment();
+
+    String code = program();
+    List<SubmissionResponse> history = new ArrayList<>(versions);
+    for (int v = 0; v < versions; v++) {
+      code = edit(code, v);
+      history.add(submissionService.submit(new SubmissionCreateRequest(
+              assigned.id(), problem.getId(), student.getId(), code, null)));
+    }
+    firstVersionId = history.getFirst().id();
+    latestVersionId = history.getLast().id();
+    nextVersion = new SubmissionCreateRequest(assigned.id(), problem.getId(), student.getId(), edit(code, versions), null);
+    jdbc = context.getBean(JdbcTemplate.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  /**
+   * Storage taken per version, measured after each iteration, since JMH zeroes the counters
+   * as the iteration starts; it grows under {@link #submitNextVersion} as the history does.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Storage {
+
+    public long bytesPerVersion;
+    public long inlineBytesPerVersion;
+
+    @TearDown(Level.Iteration)
+    public void measure(SubmissionStorageBenchmark benchmark) {
+      long stored = benchmark.jdbc.queryForObject(
+              "select coalesce(sum(length(data)), 0) from submission_blobs", Long.class);
+      long inline = benchmark.jdbc.queryForObject("select sum(code_size) from submissions", Long.class);
+      long count = benchmark.jdbc.queryForObject("select count(*) from submissions", Long.class);
+      bytesPerVersion = stored / count;
+      inlineBytesPerVersion = inline / count;
+    }
+  }
+
+  /** The snapshot itself. */
+  @Benchmark
+  public String readFirstVersion(Storage storage) {
+    return submissionService.getCode(firstVersionId);
+  }
+
+  /** Wherever the newest version falls in its chain; at most {@link #maxChainLength} deltas deep. */
+  @Benchmark
+  public String readLatestVersion(Storage storage) {
+    return submissionService.getCode(latestVersionId);
+  }
+
+  /**
+   * Diffs against the newest version and stores the delta. Each call stores the same
+   * code as yet another version, so the chain keeps growing and restarting as in production.
+   */
+  @Benchmark
+  public SubmissionResponse submitNextVersion(Storage storage) {
+    return submissionService.submit(nextVersion);
+  }
+
+  private User saveUser(String name, UserRole role) {
+    UUID id = context.getBean(UserService.class)
+            .createUser(new UserCreateRequest(UUID.randomUUID(), name, UUID.randomUUID() + "@example.com", role)).id();
+    return context.getBean(UserRepository.class).findById(id).orElseThrow();
+  }
+
+  private static String program() {
+    StringBuilder code = new StringBuilder("import java.util.*;\n\nclass Solution {\n");
+    for (int i = 0; i < LINES; i++) {
+      code.append("  private int step").append(i).append("(int[] graph, int node) { return graph[node] * ")
+              .append(i % 13).append(" + ").append(i).append("; }\n");
+    }
+    return code.append("}\n").toString();
+  }
+
+  // Revises one line, adds one and removes one, as a typical resubmission does
+  private static String edit(String code, int round) {
+    List<String> lines = new ArrayList<>(List.of(code.split("\n", -1)));
+    int at = 3 + (round * 37) % (lines.size() - 5);
+    lines.set(at, lines.get(at) + " // revised " + round);
+    lines.add(at + 1, "  // helper added in round " + round);
+    lines.remove(3 + (round * 53) % (lines.size() - 5));
+    return String.join("\n", lines);
+  }
+}
@@ -0,0 +1,57 @@
+package com.mentorship.benchmark;
+
+import com.mentorship.util.Tokens;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of minting an invitation token. {@link #randomUuid()} is the old token, drawn from
+ * the shared {@code SecureRandom} behind {@link UUID#randomUUID()}; the contended variants
+ * run four threads at once to show what that shared generator costs under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TokenGenerationBenchmark {
+
+  @Benchmark
+  public String randomUuid() {
+    return UUID.randomUUID().toString();
+  }
+
+  @Benchmark
+  public String generate() {
+    return Tokens.generate();
+  }
+
+  @Benchmark
+  public byte[] generateAndHash() {
+    return Tokens.hash(Tokens.generate());
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String randomUuidContended() {
+    return UUID.randomUUID().toString();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String generateContended() {
+    return Tokens.generate();
+  }
+}
@@ -0,0 +1,102 @@
+package com.mentorship.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps concurrent connection checkouts with a fair semaphore.
+ * <p>
+ * With virtual threads there is no request thread pool to bound concurrency, so thousands
+ * of requests can reach the pool at once and time out in Hikari's unfair handoff queue.
+ * Here they wait in FIFO order instead, and only as many callers as there are connections
+ * ever reach Hikari. The semaphore is AQS-based, so waiting does not pin the carrier thread.
+ * The permit is returned when the connection is closed.
+ */
+public class ConnectionBulkheadDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final long acquireTimeoutNanos;
+
+  public ConnectionBulkheadDataSource(DataSource target, int maxConcurrent, Duration acquireTimeout) {
+    super(target);
+    this.permits = new Semaphore(maxConcurrent, true);
+    this.acquireTimeoutNanos = acquireTimeout.toNanos();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    return guard(() -> super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    return guard(() -> super.getConnection(username, password));
+  }
+
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  public int waitingCallers() {
+    return permits.getQueueLength();
+  }
+
+  private void acquire() throws SQLException {
+    try {
+      if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        throw new SQLTransientConnectionException(
+                "Timed out after " + Duration.ofNanos(acquireTimeoutNanos) + " waiting for a database connection");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", ex);
+    }
+  }
+
+  private Connection guard(ConnectionSupplier supplier) throws SQLException {
+    Connection connection;
+    try {
+      connection = supplier.get();
+    } catch (SQLException | RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+              if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                try {
+                  return method.invoke(connection, args);
+                } catch (InvocationTargetException ex) {
+                  throw ex.getCause();
+                } finally {
+                  permits.release();
+                }
+              }
+              try {
+                return method.invoke(connection, args);
+              } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+              }
+            });
+  }
+
+  @FunctionalInterface
+  private interface ConnectionSupplier {
+    Connection get() throws SQLException;
+  }
+}
@@ -0,0 +1,18 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limits for the connection bulkhead that sits in front of the Hikari pool when
+ * requests run on virtual threads.
+ * @param maxConcurrent Connections that may be checked out at once; 0 means the pool's maximum size.
+ * @param acquireTimeout How long a caller queues for a permit before the request fails.
+ */
+@ConfigurationProperties(prefix = "mentorship.datasource.bulkhead")
+public record ConnectionBulkheadProperties(
+        @DefaultValue("0") int maxConcurrent,
+        @DefaultValue("30s") Duration acquireTimeout
+) {}
@@ -0,0 +1,32 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * How responses to POSTs carrying an {@code Idempotency-Key} are kept for replay.
+ * @param store MEMORY keeps them in this instance only; DATABASE also records them, and claims
+ *              keys while their request runs, in the {@code idempotency_keys} table, so that
+ *              duplicates reaching other instances are answered too. Both keep recent responses in memory.
+ * @param ttl How long a key is honoured after its request succeeded.
+ * @param maximumMemory Bound on the responses held in memory, by the size of their JSON; the least
+ *                      recently used go first.
+ * @param lease How long a database claim holds a key before another instance may take it over.
+ * @param purgeInterval Pause between deletes of expired keys from the database.
+ */
+@ConfigurationProperties(prefix = "mentorship.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("memory") Store store,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("64MB") DataSize maximumMemory,
+        @DefaultValue("1m") Duration lease,
+        @DefaultValue("10m") Duration purgeInterval
+) {
+
+  public enum Store {
+    MEMORY, DATABASE
+  }
+}
@@ -0,0 +1,19 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * How {@code acceptInvitation} performs the PENDING to ACCEPTED transition.
+ * @param mode LOCKING takes row locks on the invitation and the student, then checks and writes;
+ *             CONDITIONAL_UPDATE does the transition in two lock-free statements (PostgreSQL only).
+ */
+@ConfigurationProperties(prefix = "mentorship.invitations.accept")
+public record InvitationAcceptProperties(
+        @DefaultValue("locking") Mode mode
+) {
+
+  public enum Mode {
+    LOCKING, CONDITIONAL_UPDATE
+  }
+}
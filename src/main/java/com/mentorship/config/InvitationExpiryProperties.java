@@ -0,0 +1,26 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * When invitations expire and how stale ones are cleared.
+ * @param ttl How long a new invitation can be accepted.
+ * @param sweepEnabled Whether this instance runs the sweeper. Any number of instances can.
+ * @param sweepInterval Pause between sweeps.
+ * @param chunkSize Rows expired or deleted per transaction.
+ * @param chunkPause Pause between chunks, which leaves room for other writers, replication and
+ *                   checkpoints while a backlog is worked off.
+ * @param retention How long after expiry an invitation that is no longer pending is kept.
+ */
+@ConfigurationProperties(prefix = "mentorship.invitations.expiry")
+public record InvitationExpiryProperties(
+        @DefaultValue("14d") Duration ttl,
+        @DefaultValue("true") boolean sweepEnabled,
+        @DefaultValue("5m") Duration sweepInterval,
+        @DefaultValue("5000") int chunkSize,
+        @DefaultValue("200ms") Duration chunkPause,
+        @DefaultValue("90d") Duration retention
+) {}
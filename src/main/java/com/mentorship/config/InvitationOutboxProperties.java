@@ -0,0 +1,29 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * How the invitation email outbox is drained.
+ * @param enabled Whether this instance runs the dispatcher. Any number of instances can.
+ * @param pollInterval Pause between polls once the outbox has no due messages left.
+ * @param batchSize Messages claimed per transaction.
+ * @param lease How long a claimed message is kept from other dispatchers while it is sent.
+ *              Must exceed the time to send a whole batch; a message is retried after it if the
+ *              dispatcher dies.
+ * @param maxAttempts Sends tried before a message is parked as failed.
+ * @param initialBackoff Wait before the first retry; it doubles with each further failure.
+ * @param maxBackoff Upper bound on the wait between retries.
+ */
+@ConfigurationProperties(prefix = "mentorship.invitations.outbox")
+public record InvitationOutboxProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("50") int batchSize,
+        @DefaultValue("5m") Duration lease,
+        @DefaultValue("10") int maxAttempts,
+        @DefaultValue("30s") Duration initialBackoff,
+        @DefaultValue("1h") Duration maxBackoff
+) {}
@@ -0,0 +1,17 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Bounds for the in-process cache that serves invitation lookups by token.
+ * @param maximumSize Maximum number of tokens kept before the least recently used are evicted.
+ * @param ttl How long an entry is served before it is reloaded from the database.
+ */
+@ConfigurationProperties(prefix = "mentorship.invitations.token-cache")
+public record InvitationTokenCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("5m") Duration ttl
+) {}
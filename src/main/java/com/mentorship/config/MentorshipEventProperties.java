@@ -0,0 +1,25 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * The per-user Server-Sent Events streams of invitation and mentorship events.
+ * @param bufferCapacity Events queued for one connection that is not keeping up; past it the
+ *                       oldest are dropped and the client is told to resynchronise.
+ * @param replayCapacity Recent events kept per user for clients resuming with Last-Event-ID.
+ * @param replayWindow How long a user's recent events are kept once nobody is connected.
+ * @param heartbeatInterval Pause between comment lines on idle connections, which keeps proxies
+ *                          from closing them and finds connections that are gone.
+ * @param timeout How long a connection is held before the client is made to reconnect.
+ */
+@ConfigurationProperties(prefix = "mentorship.events")
+public record MentorshipEventProperties(
+        @DefaultValue("256") int bufferCapacity,
+        @DefaultValue("64") int replayCapacity,
+        @DefaultValue("5m") Duration replayWindow,
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("30m") Duration timeout
+) {}
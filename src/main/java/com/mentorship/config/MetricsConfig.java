@@ -0,0 +1,19 @@
+package com.mentorship.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@link io.micrometer.core.annotation.Timed} on Spring beans. Class-level
+ * annotations time every public method, tagged with {@code class} and {@code method}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+  @Bean
+  TimedAspect timedAspect(MeterRegistry registry) {
+    return new TimedAspect(registry);
+  }
+}
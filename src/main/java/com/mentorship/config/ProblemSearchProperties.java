@@ -0,0 +1,23 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * How the problem bank is searched.
+ * @param backend POSTGRES, the default, queries the generated {@code search_vector} column through its
+ *                GIN index; IN_MEMORY keeps an inverted index per mentor in this instance, warmed from the
+ *                problems table at startup and updated on every write made through this instance. It
+ *                misses writes made by other instances, so it is only for single-instance deployments.
+ * @param maxLimit Largest page of search results or suggestions a client may ask for.
+ */
+@ConfigurationProperties(prefix = "mentorship.problems.search")
+public record ProblemSearchProperties(
+        @DefaultValue("postgres") Backend backend,
+        @DefaultValue("50") int maxLimit
+) {
+
+  public enum Backend {
+    POSTGRES, IN_MEMORY
+  }
+}
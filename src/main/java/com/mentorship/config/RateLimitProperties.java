@@ -0,0 +1,70 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Token buckets in front of the endpoints that are cheap to call and costly or sensitive to
+ * serve.
+ * @param enabled Whether requests are limited at all.
+ * @param policies Overrides of a route's {@link Route#defaultPolicy()}, keyed by route.
+ * @param sweepInterval Pause between passes that forget full buckets; a full bucket is the
+ *                      same as none, so forgetting it changes nothing for its client.
+ */
+@ConfigurationProperties(prefix = "mentorship.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        Map<Route, Policy> policies,
+        @DefaultValue("1m") Duration sweepInterval
+) {
+
+  public RateLimitProperties {
+    policies = policies == null ? Map.of() : Map.copyOf(policies);
+  }
+
+  public Policy policy(Route route) {
+    return policies.getOrDefault(route, route.defaultPolicy());
+  }
+
+  public enum Route {
+    /** GET /api/mentorship/invitations/token/{token}, per client IP: every probe is a guess at a token. */
+    TOKEN_LOOKUP(new Policy(20, Duration.ofMinutes(1))),
+    /** POST /api/mentorship/invite and /invite/bulk, per mentor. */
+    INVITE(new Policy(30, Duration.ofMinutes(1))),
+    /** The same, per client IP, so rotating the mentor id gets a client nowhere. */
+    INVITE_BY_ADDRESS(new Policy(60, Duration.ofMinutes(1))),
+    /** POST /api/mentorship/accept, per student. */
+    ACCEPT(new Policy(10, Duration.ofMinutes(1))),
+    /** The same, per client IP: every accept looks up its token, so rotating the student id must not buy more guesses. */
+    ACCEPT_BY_ADDRESS(new Policy(20, Duration.ofMinutes(1))),
+    /** POST /api/users, per client IP. */
+    SIGN_UP(new Policy(20, Duration.ofMinutes(1)));
+
+    private final Policy defaultPolicy;
+
+    Route(Policy defaultPolicy) {
+      this.defaultPolicy = defaultPolicy;
+    }
+
+    public Policy defaultPolicy() {
+      return defaultPolicy;
+    }
+  }
+
+  /**
+   * @param capacity Requests a client may make at once after being quiet.
+   * @param period Time for an empty bucket to fill again; the sustained rate is
+   *               {@code capacity} per {@code period}.
+   */
+  public record Policy(long capacity, Duration period) {
+
+    public Policy {
+      if (capacity < 1 || period.isNegative() || period.isZero()) {
+        throw new IllegalArgumentException("A rate limit needs a positive capacity and period");
+      }
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bounds for the in-process version stamps behind the ETags of the read endpoints.
+ * @param maximumSize Maximum number of mentors, students and users tracked before the least
+ *                    recently used are forgotten; a forgotten one gets a fresh stamp, which only
+ *                    costs its clients one full response.
+ */
+@ConfigurationProperties(prefix = "mentorship.http.versions")
+public record ResourceVersionProperties(
+        @DefaultValue("100000") long maximumSize
+) {}
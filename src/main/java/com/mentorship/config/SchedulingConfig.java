@@ -0,0 +1,15 @@
+package com.mentorship.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the {@link org.springframework.scheduling.annotation.Scheduled} background jobs. Each
+ * uses {@code fixedDelay}, so a slow run delays its own next run rather than overlapping it.
+ * The scheduler gets a thread per job ({@code spring.task.scheduling.pool.size}): on Spring's
+ * default single thread, a long invitation sweep would hold up mail delivery and SSE heartbeats.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,89 @@
+package com.mentorship.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.mentorship.domain.Mentorship;
+import com.mentorship.domain.User;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.service.CacheInvalidationBus;
+import com.mentorship.service.LoopbackCacheInvalidationBus;
+import com.mentorship.service.PostgresCacheInvalidationBus;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate's second-level cache on Caffeine through JCache. Only the regions created here
+ * exist; an entity or query naming any other region fails the startup. Each application
+ * context gets a cache manager of its own, so contexts sharing a JVM never share entries.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SecondLevelCacheConfig {
+
+  @Bean(destroyMethod = "close")
+  CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+    ClassLoader classLoader = SecondLevelCacheConfig.class.getClassLoader();
+    CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName(), classLoader)
+            .getCacheManager(URI.create("mentorship:second-level-cache/" + UUID.randomUUID()), classLoader);
+    for (String region : new String[] {
+            User.CACHE_REGION,
+            Mentorship.CACHE_REGION,
+            MentorshipRepository.BY_STUDENT_QUERY_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME}) {
+      cacheManager.createCache(region, bounded(properties));
+    }
+    // Never evicted: a space whose timestamp is missing reads as unchanged, so a cached query
+    // result over it would be served however stale. There is one entry per table.
+    cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+            new CaffeineConfiguration<>().setStatisticsEnabled(true));
+    return cacheManager;
+  }
+
+  @Bean
+  HibernatePropertiesCustomizer secondLevelCacheCustomizer(SecondLevelCacheProperties properties,
+                                                           CacheManager secondLevelCacheManager) {
+    return hibernateProperties -> {
+      hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, properties.enabled());
+      hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, properties.enabled());
+      if (properties.enabled()) {
+        hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+        hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+        hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+      }
+    };
+  }
+
+  @Bean
+  CacheInvalidationBus cacheInvalidationBus(SecondLevelCacheProperties properties,
+                                            DataSourceProperties dataSourceProperties,
+                                            JdbcTemplate jdbcTemplate) {
+    return switch (properties.bus()) {
+      case LOOPBACK -> new LoopbackCacheInvalidationBus();
+      case POSTGRES -> new PostgresCacheInvalidationBus(jdbcTemplate,
+              dataSourceProperties.determineUrl(),
+              dataSourceProperties.determineUsername(),
+              dataSourceProperties.determinePassword(),
+              properties.channel(),
+              properties.reconnectDelay());
+    };
+  }
+
+  private static CaffeineConfiguration<Object, Object> bounded(SecondLevelCacheProperties properties) {
+    return new CaffeineConfiguration<>()
+            .setMaximumSize(OptionalLong.of(properties.maximumSize()))
+            .setExpireAfterWrite(OptionalLong.of(TimeUnit.NANOSECONDS.convert(properties.ttl())))
+            .setStatisticsEnabled(true);
+  }
+}
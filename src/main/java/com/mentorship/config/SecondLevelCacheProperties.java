@@ -0,0 +1,35 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Hibernate's second-level entity and query caches, and how instances tell each other to drop
+ * entries.
+ * @param enabled Whether Hibernate caches at all.
+ * @param maximumSize Maximum number of entries per entity or query region before the least
+ *                    recently used are evicted.
+ * @param ttl How long an entry is served before it is read again; it bounds how stale an entry
+ *            can get if an invalidation is lost.
+ * @param bus LOOPBACK only reaches this instance; POSTGRES also sends every invalidation with
+ *            NOTIFY on {@code channel} as part of the writing transaction, and listens for the
+ *            other instances' (PostgreSQL only).
+ * @param channel The LISTEN/NOTIFY channel; a plain lower-case identifier.
+ * @param reconnectDelay Pause before the listener reconnects after losing its connection.
+ */
+@ConfigurationProperties(prefix = "mentorship.cache")
+public record SecondLevelCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("1h") Duration ttl,
+        @DefaultValue("loopback") Bus bus,
+        @DefaultValue("mentorship_cache") String channel,
+        @DefaultValue("5s") Duration reconnectDelay
+) {
+
+  public enum Bus {
+    LOOPBACK, POSTGRES
+  }
+}
@@ -0,0 +1,16 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * How submission code is stored across versions.
+ * @param maxChainLength Most deltas between a version and the snapshot it is rebuilt from, which bounds
+ *                       reads to one snapshot plus this many deltas. 0 stores every version as a snapshot.
+ * @param compressionThreshold Payloads of at least this many bytes are deflated when that makes them smaller.
+ */
+@ConfigurationProperties(prefix = "mentorship.submissions.storage")
+public record SubmissionStorageProperties(
+        @DefaultValue("10") int maxChainLength,
+        @DefaultValue("256") int compressionThreshold
+) {}
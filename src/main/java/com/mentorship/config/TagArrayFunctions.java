@@ -0,0 +1,41 @@
+package com.mentorship.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * HQL predicates over a {@code varchar} array column and a {@code String[]} parameter:
+ * {@code tags_overlap(column, :tags)} holds when they share an element, {@code tags_contain(column, :tags)}
+ * when the column holds every element of the parameter.
+ *
+ * <p>On PostgreSQL they render as the {@code &&} and {@code @>} operators, which a GIN index on
+ * the column serves. Hibernate's own {@code array_intersects} cannot be used for this: its H2
+ * emulation leaves the array parameter untyped, which H2 refuses to prepare. The tests run on H2,
+ * so there the predicates unnest the parameter instead.
+ *
+ * <p>Registered through {@code META-INF/services}.
+ */
+public class TagArrayFunctions implements FunctionContributor {
+
+  @Override
+  public void contributeFunctions(FunctionContributions contributions) {
+    BasicType<Boolean> booleanType = contributions.getTypeConfiguration()
+            .getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN);
+    SqmFunctionRegistry registry = contributions.getFunctionRegistry();
+    if (contributions.getDialect() instanceof PostgreSQLDialect) {
+      registry.registerPattern("tags_overlap", "(?1 && cast(?2 as varchar[]))", booleanType);
+      registry.registerPattern("tags_contain", "(?1 @> cast(?2 as varchar[]))", booleanType);
+    } else {
+      registry.registerPattern("tags_overlap",
+              "exists(select 1 from unnest(cast(?2 as varchar array)) t(tag) where array_contains(?1, t.tag))",
+              booleanType);
+      registry.registerPattern("tags_contain",
+              "not exists(select 1 from unnest(cast(?2 as varchar array)) t(tag) where not array_contains(?1, t.tag))",
+              booleanType);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.mentorship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * How {@code createUser} detects a duplicate ID or email before inserting.
+ * In every mode the unique constraints remain the final word: a violation is reported as a conflict.
+ * @param mode QUERY always runs both existence queries; FILTER skips a query when the in-memory
+ *             filter proves the key is unused; CONSTRAINT skips both and relies on the insert failing.
+ * @param expectedUsers Number of users the filter is sized for. Past this the false-positive rate climbs.
+ * @param falsePositiveRate Target share of unused keys the filter still sends to the database.
+ */
+@ConfigurationProperties(prefix = "mentorship.users.precheck")
+public record UserPrecheckProperties(
+        @DefaultValue("filter") Mode mode,
+        @DefaultValue("1000000") long expectedUsers,
+        @DefaultValue("0.01") double falsePositiveRate
+) {
+
+  public enum Mode {
+    QUERY, FILTER, CONSTRAINT
+  }
+}
@@ -0,0 +1,57 @@
+package com.mentorship.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Guardrails that only apply when {@code spring.threads.virtual.enabled=true} moves
+ * Tomcat request handling (and therefore both controllers) onto virtual threads.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+  private static final int FALLBACK_MAX_CONCURRENT = 10;
+
+  @Bean
+  static BeanPostProcessor connectionBulkheadPostProcessor(ObjectProvider<ConnectionBulkheadProperties> properties) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionBulkheadDataSource) {
+          return bean;
+        }
+        ConnectionBulkheadProperties bulkhead = properties.getObject();
+        int maxConcurrent = bulkhead.maxConcurrent() > 0 ? bulkhead.maxConcurrent() : poolSize(dataSource);
+        return new ConnectionBulkheadDataSource(dataSource, maxConcurrent, bulkhead.acquireTimeout());
+      }
+    };
+  }
+
+  @Bean
+  MeterBinder connectionBulkheadMetrics(DataSource dataSource) {
+    return registry -> {
+      if (dataSource instanceof ConnectionBulkheadDataSource bulkhead) {
+        Gauge.builder("mentorship.datasource.bulkhead.waiting", bulkhead, ConnectionBulkheadDataSource::waitingCallers)
+                .description("Requests queued for a database connection")
+                .register(registry);
+        Gauge.builder("mentorship.datasource.bulkhead.available", bulkhead, ConnectionBulkheadDataSource::availablePermits)
+                .description("Connections that can be checked out without waiting")
+                .register(registry);
+      }
+    };
+  }
+
+  private static int poolSize(DataSource dataSource) {
+    return dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : FALLBACK_MAX_CONCURRENT;
+  }
+}
@@ -0,0 +1,110 @@
+package com.mentorship.controller;
+
+import com.mentorship.dto.AssignStudentsRequest;
+import com.mentorship.dto.AssignStudentsResponse;
+import com.mentorship.dto.AssignmentCreateRequest;
+import com.mentorship.dto.AssignmentResponse;
+import com.mentorship.dto.AssignmentSummaryResponse;
+import com.mentorship.dto.AssignmentUpdateRequest;
+import com.mentorship.dto.TagCount;
+import com.mentorship.service.AssignmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/assignments")
+@RequiredArgsConstructor
+@Tag(name = "Assignments", description = "Create, tag and archive assignment templates and hand them out to mentees")
+public class AssignmentController {
+
+  private final AssignmentService assignmentService;
+
+  @PostMapping
+  @Operation(
+          summary = "Create assignment",
+          description = "Mentor creates an assignment template with links and problems from their bank."
+  )
+  public ResponseEntity<AssignmentResponse> createAssignment(@Valid @RequestBody AssignmentCreateRequest request) {
+    return ResponseEntity.status(HttpStatus.CREATED).body(assignmentService.createAssignment(request));
+  }
+
+  @PutMapping("/{assignmentId}")
+  @Operation(
+          summary = "Edit assignment",
+          description = "The author replaces title, description and tags. Mentees' dashboards and the tag counts follow."
+  )
+  public ResponseEntity<AssignmentResponse> updateAssignment(@PathVariable UUID assignmentId,
+                                                             @Valid @RequestBody AssignmentUpdateRequest request) {
+    return ResponseEntity.ok(assignmentService.updateAssignment(assignmentId, request));
+  }
+
+  @PostMapping("/{assignmentId}/archive")
+  @Operation(
+          summary = "Archive assignment",
+          description = "The author takes the template out of listings and tag counts; students who have it keep it."
+  )
+  public ResponseEntity<AssignmentResponse> archiveAssignment(@PathVariable UUID assignmentId,
+                                                              @RequestParam UUID mentorId) {
+    return ResponseEntity.ok(assignmentService.archiveAssignment(assignmentId, mentorId));
+  }
+
+  @GetMapping
+  @Operation(
+          summary = "List assignments",
+          description = "The mentor's live assignments, newest first. With tags, only those carrying ANY (default) "
+                  + "or ALL of them."
+  )
+  public ResponseEntity<List<AssignmentSummaryResponse>> listAssignments(
+          @RequestParam UUID mentorId,
+          @RequestParam(required = false) List<String> tags,
+          @RequestParam(defaultValue = "ANY") AssignmentService.TagMatch match) {
+    return ResponseEntity.ok(assignmentService.listAssignments(mentorId, tags, match));
+  }
+
+  @GetMapping("/tags")
+  @Operation(
+          summary = "Tag counts",
+          description = "Every tag on the mentor's live assignments with how many carry it, most used first."
+  )
+  public ResponseEntity<List<TagCount>> getTagCounts(@RequestParam UUID mentorId) {
+    return ResponseEntity.ok(assignmentService.getTagCounts(mentorId));
+  }
+
+  @GetMapping("/tags/autocomplete")
+  @Operation(
+          summary = "Suggest tags",
+          description = "The mentor's most used tags starting with the prefix."
+  )
+  public ResponseEntity<List<TagCount>> autocompleteTags(
+          @RequestParam UUID mentorId,
+          @RequestParam String prefix,
+          @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(assignmentService.autocompleteTags(mentorId, prefix, limit));
+  }
+
+  @PostMapping("/{assignmentId}/assign")
+  @Operation(
+          summary = "Assign to mentees",
+          description = "Gives the assignment to up to 1000 of the author's mentees in one request; each student is "
+                  + "reported as assigned, already assigned or not mentored."
+  )
+  public ResponseEntity<AssignStudentsResponse> assign(@PathVariable UUID assignmentId,
+                                                       @Valid @RequestBody AssignStudentsRequest request) {
+    return ResponseEntity.ok(assignmentService.assign(assignmentId, request));
+  }
+}
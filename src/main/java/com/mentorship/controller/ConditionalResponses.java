@@ -0,0 +1,69 @@
+package com.mentorship.controller;
+
+import com.mentorship.service.ResourceVersions;
+import com.mentorship.service.ResourceVersions.Resource;
+import com.mentorship.service.ResourceVersions.Version;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Conditional GET for the read endpoints. The resource's version is checked against
+ * {@code If-None-Match} (or {@code If-Modified-Since}) before the body is produced, so a 304
+ * costs no query and no serialization. Full responses carry the version as a strong ETag,
+ * the time of the last change as Last-Modified when it is settled, and the endpoint's
+ * Cache-Control; 304s and 404s carry the same headers, the version covering whether the
+ * resource exists at all.
+ */
+@Component
+class ConditionalResponses {
+
+  private final ResourceVersions versions;
+  private final Counter notModified;
+  private final Counter modified;
+
+  ConditionalResponses(ResourceVersions versions, MeterRegistry meterRegistry) {
+    this.versions = versions;
+    this.notModified = outcomeCounter(meterRegistry, "not_modified");
+    this.modified = outcomeCounter(meterRegistry, "modified");
+  }
+
+  /**
+   * A 304 if the client's copy is current, otherwise 200 with the body, or 404 when there is
+   * none. The body function gets the version it is served under.
+   */
+  <T> ResponseEntity<T> respond(WebRequest request, Resource resource, UUID id, CacheControl cacheControl,
+                                Function<Version, Optional<T>> body) {
+    Version version = versions.current(resource, id);
+    long lastModified = version.lastModified() == null ? -1 : version.lastModified().toEpochMilli();
+    if (request.checkNotModified(version.etag(), lastModified)) {
+      notModified.increment();
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+    }
+    modified.increment();
+    return body.apply(version)
+            .map(found -> {
+              ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(version.etag()).cacheControl(cacheControl);
+              if (lastModified >= 0) {
+                response.lastModified(lastModified);
+              }
+              return response.body(found);
+            })
+            .orElseGet(() -> ResponseEntity.notFound().cacheControl(cacheControl).build());
+  }
+
+  private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+    return Counter.builder("mentorship.http.conditional")
+            .description("Conditional-capable GETs, by whether the client's copy was current")
+            .tag("outcome", outcome)
+            .register(registry);
+  }
+}
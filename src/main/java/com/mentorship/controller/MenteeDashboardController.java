@@ -0,0 +1,47 @@
+package com.mentorship.controller;
+
+import com.mentorship.dto.MenteeDashboardItemResponse;
+import com.mentorship.service.FeedbackService;
+import com.mentorship.service.MenteeDashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/students/{studentId}")
+@RequiredArgsConstructor
+@Tag(name = "Mentee Dashboard", description = "A mentee's assignment inbox")
+public class MenteeDashboardController {
+
+  private final MenteeDashboardService dashboardService;
+  private final FeedbackService feedbackService;
+
+  @GetMapping("/dashboard")
+  @Operation(
+          summary = "Get mentee dashboard",
+          description = "Every assignment of the student with status, due date, links, problems, latest submission "
+                  + "version and unread-feedback count, soonest due first."
+  )
+  public ResponseEntity<List<MenteeDashboardItemResponse>> getDashboard(@PathVariable UUID studentId) {
+    return ResponseEntity.ok(dashboardService.getDashboard(studentId));
+  }
+
+  @PostMapping("/assignments/{studentAssignmentId}/feedback/read")
+  @Operation(
+          summary = "Mark feedback read",
+          description = "Marks all feedback on the student's submissions for this assignment as read."
+  )
+  public ResponseEntity<Void> markFeedbackRead(@PathVariable UUID studentId, @PathVariable UUID studentAssignmentId) {
+    feedbackService.markFeedbackRead(studentId, studentAssignmentId);
+    return ResponseEntity.noContent().build();
+  }
+}
@@ -1,24 +1,39 @@
 package com.mentorship.controller;
 
+import com.mentorship.domain.InvitationStatus;
 import com.mentorship.dto.AcceptInviteRequest;
+import com.mentorship.dto.BulkInviteRequest;
+import com.mentorship.dto.BulkInviteResponse;
 import com.mentorship.dto.InviteRequest;
 import com.mentorship.dto.InvitationResponse;
 import com.mentorship.dto.MentorshipResponse;
+import com.mentorship.service.IdempotencyService;
+import com.mentorship.service.IdempotencyService.Result;
 import com.mentorship.service.InvitationService;
+import com.mentorship.service.MentorshipEventHub;
+import com.mentorship.service.ResourceVersions;
+import com.mentorship.service.ResourceVersions.Resource;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -27,35 +42,87 @@ import java.util.UUID;
 @Tag(name = "Mentorship", description = "Manage mentorship invitations and active relationships")
 public class MentorshipController {
 
+  // Per-user data that dashboards poll: stored privately, revalidated on every use
+  private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+  // The token is a credential, so lookups by it are not kept anywhere
+  private static final CacheControl NEVER_STORE = CacheControl.noStore();
+
   private final InvitationService invitationService;
+  private final IdempotencyService idempotencyService;
+  private final ResourceVersions resourceVersions;
+  private final ConditionalResponses conditionalResponses;
+  private final MentorshipEventHub eventHub;
 
   @PostMapping("/invite")
   @Operation(
           summary = "Send mentorship invite",
-          description = "Mentor provides the student email and receives a pending invitation token."
+          description = "Mentor provides the student email and receives a pending invitation token. "
+                  + "A retry with the same Idempotency-Key gets the first response back, without the token "
+                  + "when another instance answers it."
+  )
+  public ResponseEntity<InvitationResponse> inviteStudent(
+          @Valid @RequestBody InviteRequest request,
+          @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+    Result<InvitationResponse> invitation = idempotencyService.execute("invite", idempotencyKey, request,
+            InvitationResponse.class, InvitationResponse::withoutToken,
+            () -> invitationService.createInvitation(request));
+    return ResponseEntity.status(HttpStatus.CREATED)
+            .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(invitation.replayed()))
+            .body(invitation.body());
+  }
+
+  @PostMapping("/invite/bulk")
+  @Operation(
+          summary = "Send mentorship invites in bulk",
+          description = "Mentor provides up to 5000 student emails; each one is reported as created, duplicate or invalid. "
+                  + "A retry with the same Idempotency-Key gets the first response back, without the tokens "
+                  + "when another instance answers it."
   )
-  public ResponseEntity<InvitationResponse> inviteStudent(@Valid @RequestBody InviteRequest request) {
-    InvitationResponse invitation = invitationService.createInvitation(request);
-    return ResponseEntity.status(HttpStatus.CREATED).body(invitation);
+  public ResponseEntity<BulkInviteResponse> inviteStudents(
+          @Valid @RequestBody BulkInviteRequest request,
+          @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+    Result<BulkInviteResponse> invitations = idempotencyService.execute("invite-bulk", idempotencyKey, request,
+            BulkInviteResponse.class, BulkInviteResponse::withoutTokens,
+            () -> invitationService.createInvitations(request));
+    return ResponseEntity.ok()
+            .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(invitations.replayed()))
+            .body(invitations.body());
   }
 
   @PostMapping("/accept")
   @Operation(
           summary = "Accept mentorship invite",
-          description = "Student confirms the invitation using the token delivered to their email."
+          description = "Student confirms the invitation using the token delivered to their email. "
+                  + "A retry with the same Idempotency-Key gets the first response back."
   )
-  public ResponseEntity<MentorshipResponse> acceptInvitation(@Valid @RequestBody AcceptInviteRequest request) {
-    MentorshipResponse mentorship = invitationService.acceptInvitation(request);
-    return ResponseEntity.status(HttpStatus.CREATED).body(mentorship);
+  public ResponseEntity<MentorshipResponse> acceptInvitation(
+          @Valid @RequestBody AcceptInviteRequest request,
+          @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+    Result<MentorshipResponse> mentorship = idempotencyService.execute("accept", idempotencyKey, request,
+            MentorshipResponse.class, () -> invitationService.acceptInvitation(request));
+    return ResponseEntity.status(HttpStatus.CREATED)
+            .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(mentorship.replayed()))
+            .body(mentorship.body());
   }
 
   @GetMapping("/mentor/{mentorId}/invitations")
   @Operation(
           summary = "List mentor invitations",
-          description = "Retrieve pending and accepted invitations created by the specified mentor."
+          description = "Retrieve pending and accepted invitations created by the specified mentor. "
+                  + "Tokens are stored hashed, so listed invitations carry no token. "
+                  + "Send the ETag back in If-None-Match to get a 304 while nothing has changed."
   )
-  public ResponseEntity<List<InvitationResponse>> getMentorInvitations(@PathVariable UUID mentorId) {
-    return ResponseEntity.ok(invitationService.getInvitationsForMentor(mentorId));
+  public ResponseEntity<List<InvitationResponse>> getMentorInvitations(@PathVariable UUID mentorId, WebRequest request) {
+    return conditionalResponses.respond(request, Resource.MENTOR, mentorId, REVALIDATE, version -> {
+      List<InvitationResponse> invitations = invitationService.getInvitationsForMentor(mentorId);
+      // The earliest pending invitation to expire changes this listing without any write
+      invitations.stream()
+              .filter(invitation -> invitation.status() == InvitationStatus.PENDING)
+              .map(InvitationResponse::expiresAt)
+              .min(Instant::compareTo)
+              .ifPresent(deadline -> resourceVersions.staleAt(version, deadline));
+      return Optional.of(invitations);
+    });
   }
 
   @GetMapping("/invitations/token/{token}")
@@ -65,26 +132,43 @@ public class MentorshipController {
   )
   public ResponseEntity<InvitationResponse> getInvitationByToken(@PathVariable String token) {
     return invitationService.getInvitationByToken(token)
-            .map(ResponseEntity::ok)
-            .orElseGet(() -> ResponseEntity.notFound().build());
+            .map(invitation -> ResponseEntity.ok().cacheControl(NEVER_STORE).body(invitation))
+            .orElseGet(() -> ResponseEntity.notFound().cacheControl(NEVER_STORE).build());
   }
 
   @GetMapping("/mentor/{mentorId}/connections")
   @Operation(
           summary = "List mentor connections",
-          description = "Return the students currently linked to the mentor through accepted invitations."
+          description = "Return the students currently linked to the mentor through accepted invitations. "
+                  + "Send the ETag back in If-None-Match to get a 304 while nothing has changed."
   )
-  public ResponseEntity<List<MentorshipResponse>> getMentorConnections(@PathVariable UUID mentorId) {
-    return ResponseEntity.ok(invitationService.getMentorshipsForMentor(mentorId));
+  public ResponseEntity<List<MentorshipResponse>> getMentorConnections(@PathVariable UUID mentorId, WebRequest request) {
+    return conditionalResponses.respond(request, Resource.MENTOR, mentorId, REVALIDATE,
+            version -> Optional.of(invitationService.getMentorshipsForMentor(mentorId)));
   }
 
   @GetMapping("/student/{studentId}/connection")
   @Operation(
           summary = "Get student mentorship",
-          description = "Retrieve the mentor attached to the student, if an invitation has been accepted."
+          description = "Retrieve the mentor attached to the student, if an invitation has been accepted. "
+                  + "Send the ETag back in If-None-Match to get a 304 while nothing has changed."
+  )
+  public ResponseEntity<MentorshipResponse> getStudentConnection(@PathVariable UUID studentId, WebRequest request) {
+    return conditionalResponses.respond(request, Resource.STUDENT, studentId, REVALIDATE,
+            version -> invitationService.getMentorshipForStudent(studentId));
+  }
+
+  @GetMapping(path = "/users/{userId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(
+          summary = "Stream mentorship events",
+          description = "Server-Sent Events for the user: InvitationCreated to the mentor, InvitationAccepted and "
+                  + "MentorshipCreated to both mentor and student. Reconnect with Last-Event-ID to get the events "
+                  + "missed meanwhile; a Resync event means some were lost, so reload the listings."
   )
-  public ResponseEntity<MentorshipResponse> getStudentConnection(@PathVariable UUID studentId) {
-    return invitationService.getMentorshipForStudent(studentId)
+  public ResponseEntity<SseEmitter> streamEvents(@PathVariable UUID userId,
+                                                 @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+    // No error body: it could not be written as text/event-stream
+    return eventHub.subscribe(userId, lastEventId)
             .map(ResponseEntity::ok)
             .orElseGet(() -> ResponseEntity.notFound().build());
   }
@@ -0,0 +1,81 @@
+package com.mentorship.controller;
+
+import com.mentorship.domain.ProblemDifficulty;
+import com.mentorship.dto.ProblemCreateRequest;
+import com.mentorship.dto.ProblemResponse;
+import com.mentorship.dto.ProblemSearchResponse;
+import com.mentorship.dto.ProblemSuggestion;
+import com.mentorship.dto.ProblemUpdateRequest;
+import com.mentorship.service.ProblemService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/problems")
+@RequiredArgsConstructor
+@Tag(name = "Problems", description = "Build and search a mentor's problem bank")
+public class ProblemController {
+
+  private final ProblemService problemService;
+
+  @PostMapping
+  @Operation(
+          summary = "Create problem",
+          description = "Mentor adds a problem, to their searchable bank unless inBank is false."
+  )
+  public ResponseEntity<ProblemResponse> createProblem(@Valid @RequestBody ProblemCreateRequest request) {
+    return ResponseEntity.status(HttpStatus.CREATED).body(problemService.createProblem(request));
+  }
+
+  @PutMapping("/{problemId}")
+  @Operation(
+          summary = "Update problem",
+          description = "The author replaces the problem's fields; the search index follows the change."
+  )
+  public ResponseEntity<ProblemResponse> updateProblem(@PathVariable UUID problemId,
+                                                       @Valid @RequestBody ProblemUpdateRequest request) {
+    return ResponseEntity.ok(problemService.updateProblem(problemId, request));
+  }
+
+  @GetMapping("/search")
+  @Operation(
+          summary = "Search a problem bank",
+          description = "Ranked full-text search over titles and descriptions of the mentor's bank. Every word must "
+                  + "match. Returns the best matches plus match counts per difficulty for the query."
+  )
+  public ResponseEntity<ProblemSearchResponse> search(
+          @RequestParam UUID mentorId,
+          @RequestParam String q,
+          @RequestParam(required = false) ProblemDifficulty difficulty,
+          @RequestParam(defaultValue = "20") int limit) {
+    return ResponseEntity.ok(problemService.search(mentorId, q, difficulty, limit));
+  }
+
+  @GetMapping("/autocomplete")
+  @Operation(
+          summary = "Suggest problem titles",
+          description = "Typeahead over the titles in the mentor's bank; the last word typed is matched as a prefix. "
+                  + "Shortest titles first."
+  )
+  public ResponseEntity<List<ProblemSuggestion>> autocomplete(
+          @RequestParam UUID mentorId,
+          @RequestParam String prefix,
+          @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(problemService.autocomplete(mentorId, prefix, limit));
+  }
+}
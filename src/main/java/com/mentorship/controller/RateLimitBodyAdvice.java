@@ -0,0 +1,59 @@
+package com.mentorship.controller;
+
+import com.mentorship.config.RateLimitProperties.Route;
+import com.mentorship.dto.AcceptInviteRequest;
+import com.mentorship.dto.BulkInviteRequest;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.service.RateLimiter;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.UUID;
+
+/**
+ * The per-mentor and per-student rate limits of {@link RateLimitFilter}, applied once the
+ * request body that names the mentor or student has been read, before validation and before
+ * the controller runs. A body without the id is left for validation to reject.
+ */
+@ControllerAdvice(assignableTypes = MentorshipController.class)
+class RateLimitBodyAdvice extends RequestBodyAdviceAdapter {
+
+  private final RateLimiter rateLimiter;
+
+  RateLimitBodyAdvice(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  public boolean supports(MethodParameter methodParameter, Type targetType,
+                          Class<? extends HttpMessageConverter<?>> converterType) {
+    return targetType == InviteRequest.class || targetType == BulkInviteRequest.class
+            || targetType == AcceptInviteRequest.class;
+  }
+
+  @Override
+  public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                              Class<? extends HttpMessageConverter<?>> converterType) {
+    switch (body) {
+      case InviteRequest invite -> limit(Route.INVITE, invite.mentorId());
+      case BulkInviteRequest bulk -> limit(Route.INVITE, bulk.mentorId());
+      case AcceptInviteRequest accept -> limit(Route.ACCEPT, accept.studentId());
+      default -> {
+      }
+    }
+    return body;
+  }
+
+  private void limit(Route route, UUID key) {
+    if (key != null) {
+      long wait = rateLimiter.acquire(route, key);
+      if (wait > 0) {
+        throw RateLimitFilter.rejected(wait);
+      }
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.mentorship.controller;
+
+import com.mentorship.config.RateLimitProperties.Route;
+import com.mentorship.exception.TooManyRequestsException;
+import com.mentorship.service.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Turns away requests over their route's rate limit with 429 and Retry-After before they
+ * reach a controller. Routes limited per client address are checked here; routes limited per
+ * mentor or student, whose id is in the request body, are checked by
+ * {@link RateLimitBodyAdvice} as soon as the body is read. Invites and accepts are limited
+ * both ways, since the body's id is whatever the client chooses to send. The client address is the
+ * connection's, or the forwarded one when {@code server.forward-headers-strategy} is set.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private static final String TOKEN_LOOKUP_PREFIX = "/api/mentorship/invitations/token/";
+  private static final String SIGN_UP_PATH = "/api/users";
+  private static final String INVITE_PATH = "/api/mentorship/invite";
+  private static final String BULK_INVITE_PATH = "/api/mentorship/invite/bulk";
+  private static final String ACCEPT_PATH = "/api/mentorship/accept";
+
+  private final RateLimiter rateLimiter;
+  private final HandlerExceptionResolver exceptionResolver;
+
+  public RateLimitFilter(RateLimiter rateLimiter,
+                         @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+    this.rateLimiter = rateLimiter;
+    this.exceptionResolver = exceptionResolver;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+          throws ServletException, IOException {
+    Route route = route(request);
+    if (route != null) {
+      long wait = rateLimiter.acquire(route, request.getRemoteAddr());
+      if (wait > 0) {
+        // Answered by GlobalExceptionHandler, like every other error
+        exceptionResolver.resolveException(request, response, null, rejected(wait));
+        return;
+      }
+    }
+    chain.doFilter(request, response);
+  }
+
+  static TooManyRequestsException rejected(long waitNanos) {
+    return new TooManyRequestsException("Too many requests; try again later", Duration.ofNanos(waitNanos));
+  }
+
+  private static Route route(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    String method = request.getMethod();
+    if (path.startsWith(TOKEN_LOOKUP_PREFIX) && "GET".equals(method)) {
+      return Route.TOKEN_LOOKUP;
+    }
+    if (!"POST".equals(method)) {
+      return null;
+    }
+    return switch (path) {
+      case SIGN_UP_PATH -> Route.SIGN_UP;
+      case INVITE_PATH, BULK_INVITE_PATH -> Route.INVITE_BY_ADDRESS;
+      case ACCEPT_PATH -> Route.ACCEPT_BY_ADDRESS;
+      default -> null;
+    };
+  }
+}
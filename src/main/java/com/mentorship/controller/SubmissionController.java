@@ -0,0 +1,115 @@
+package com.mentorship.controller;
+
+import com.mentorship.dto.FeedbackCreateRequest;
+import com.mentorship.dto.FeedbackResponse;
+import com.mentorship.dto.FeedbackSummaryResponse;
+import com.mentorship.dto.SubmissionCreateRequest;
+import com.mentorship.dto.SubmissionFeedbackResponse;
+import com.mentorship.dto.SubmissionResponse;
+import com.mentorship.dto.SubmissionVersionResponse;
+import com.mentorship.service.FeedbackService;
+import com.mentorship.service.SubmissionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/submissions")
+@RequiredArgsConstructor
+@Tag(name = "Submissions", description = "Submit work on assigned problems and review it")
+public class SubmissionController {
+
+  private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+  private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+  private final SubmissionService submissionService;
+  private final FeedbackService feedbackService;
+
+  @PostMapping
+  @Operation(
+          summary = "Submit a solution",
+          description = "Student submits code for one problem of an assignment; each resubmission becomes a new version."
+  )
+  public ResponseEntity<SubmissionResponse> submit(@Valid @RequestBody SubmissionCreateRequest request) {
+    return ResponseEntity.status(HttpStatus.CREATED).body(submissionService.submit(request));
+  }
+
+  @GetMapping
+  @Operation(
+          summary = "Get submission history",
+          description = "Version, timestamp, code size and feedback count of every submission of a student assignment, "
+                  + "per problem in version order. Code is not included; fetch it per version."
+  )
+  public ResponseEntity<List<SubmissionVersionResponse>> getHistory(@RequestParam UUID studentAssignmentId,
+                                                                    @RequestParam(required = false) UUID problemId) {
+    return ResponseEntity.ok(submissionService.getHistory(studentAssignmentId, problemId));
+  }
+
+  @GetMapping("/{submissionId}/code")
+  @Operation(
+          summary = "Get submitted code",
+          description = "Returns the code of one submission version as UTF-8 text. Versions never change, so the "
+                  + "response is cacheable indefinitely, honours If-None-Match and serves byte ranges (Range header)."
+  )
+  public ResponseEntity<Resource> getCode(@PathVariable UUID submissionId, WebRequest webRequest) {
+    // The version ID is a strong validator, so a revalidation is answered without reading the code
+    String etag = "\"" + submissionId + "\"";
+    if (webRequest.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(IMMUTABLE).build();
+    }
+    byte[] code = submissionService.getCode(submissionId).getBytes(StandardCharsets.UTF_8);
+    return ResponseEntity.ok()
+            .contentType(TEXT_PLAIN_UTF8)
+            .eTag(etag)
+            .cacheControl(IMMUTABLE)
+            .body(new ByteArrayResource(code));
+  }
+
+  @GetMapping("/{submissionId}/feedback")
+  @Operation(
+          summary = "Get feedback",
+          description = "All comments on a submission, grouped by line in line order, followed by the overall comments."
+  )
+  public ResponseEntity<SubmissionFeedbackResponse> getFeedback(@PathVariable UUID submissionId) {
+    return ResponseEntity.ok(feedbackService.getFeedback(submissionId));
+  }
+
+  @GetMapping("/{submissionId}/feedback/summary")
+  @Operation(
+          summary = "Get feedback summary",
+          description = "Comment count per line and overall, for gutter markers; comment texts are not included."
+  )
+  public ResponseEntity<FeedbackSummaryResponse> getFeedbackSummary(@PathVariable UUID submissionId) {
+    return ResponseEntity.ok(feedbackService.getFeedbackSummary(submissionId));
+  }
+
+  @PostMapping("/{submissionId}/feedback")
+  @Operation(
+          summary = "Leave feedback",
+          description = "Mentor comments on a submission, either on one line or overall (no line number)."
+  )
+  public ResponseEntity<FeedbackResponse> addFeedback(@PathVariable UUID submissionId,
+                                                      @Valid @RequestBody FeedbackCreateRequest request) {
+    return ResponseEntity.status(HttpStatus.CREATED).body(feedbackService.addFeedback(submissionId, request));
+  }
+}
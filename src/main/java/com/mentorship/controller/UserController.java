@@ -1,22 +1,37 @@
 package com.mentorship.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mentorship.domain.UserRole;
 import com.mentorship.dto.UserCreateRequest; // 1. Import new DTO
+import com.mentorship.dto.UserPageResponse;
 import com.mentorship.dto.UserResponse;
+import com.mentorship.service.IdempotencyService;
+import com.mentorship.service.IdempotencyService.Result;
+import com.mentorship.service.ResourceVersions.Resource;
 import com.mentorship.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid; // 2. Import Valid
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping; // 3. Import PostMapping
 import org.springframework.web.bind.annotation.RequestBody; // 4. Import RequestBody
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI; // 5. Import URI
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -25,17 +40,28 @@ import java.util.UUID;
 @Tag(name = "Users", description = "Discover and create mentors and students")
 public class UserController {
 
+  // User data holds emails: stored privately, revalidated on every use
+  private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
   private final UserService userService;
+  private final IdempotencyService idempotencyService;
+  private final ObjectMapper objectMapper;
+  private final ConditionalResponses conditionalResponses;
 
   // --- NEW POST METHOD ---
   @PostMapping
   @Operation(
           summary = "Create a new user",
-          description = "Creates a new mentor or student. Note: In production, this is normally handled by an auth sign-up flow."
+          description = "Creates a new mentor or student. Note: In production, this is normally handled by an auth sign-up flow. "
+                  + "A retry with the same Idempotency-Key gets the first response back."
   )
-  public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserCreateRequest request) {
-    // 6. Delegate creation to the service
-    UserResponse createdUser = userService.createUser(request);
+  public ResponseEntity<UserResponse> createUser(
+          @Valid @RequestBody UserCreateRequest request,
+          @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+    // 6. Delegate creation to the service, once per idempotency key
+    Result<UserResponse> result = idempotencyService.execute("create-user", idempotencyKey, request,
+            UserResponse.class, () -> userService.createUser(request));
+    UserResponse createdUser = result.body();
 
     // 7. Create a "Location" URL for the new resource
     URI location = URI.create(
@@ -43,27 +69,64 @@ public class UserController {
     );
 
     // 8. Return a 201 Created response
-    return ResponseEntity.created(location).body(createdUser);
+    return ResponseEntity.created(location)
+            .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+            .body(createdUser);
   }
 
   // --- EXISTING GET METHODS ---
   @GetMapping
   @Operation(
           summary = "List users",
-          description = "Returns every user available to the mentorship workflow."
+          description = "Returns one page of users ordered by creation time. Pass the returned nextCursor to fetch the following page. "
+                  + "Send the ETag back in If-None-Match to get a 304 while no user has signed up."
+  )
+  public ResponseEntity<UserPageResponse> listUsers(
+          @RequestParam(required = false) UserRole role,
+          @RequestParam(required = false) String emailPrefix,
+          @RequestParam(required = false) String cursor,
+          @RequestParam(defaultValue = "50") int limit,
+          WebRequest request) {
+    return conditionalResponses.respond(request, Resource.USERS, null, REVALIDATE,
+            version -> Optional.of(userService.listUsers(role, emailPrefix, cursor, limit)));
+  }
+
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(
+          summary = "Export users",
+          description = "Streams every matching user as newline-delimited JSON for admin exports. "
+                  + "Send the ETag back in If-None-Match to get a 304 while no user has signed up."
   )
-  public ResponseEntity<List<UserResponse>> listUsers() {
-    return ResponseEntity.ok(userService.listUsers());
+  public ResponseEntity<StreamingResponseBody> exportUsers(
+          @RequestParam(required = false) UserRole role,
+          @RequestParam(required = false) String emailPrefix,
+          WebRequest request) {
+    StreamingResponseBody body = out -> userService.exportUsers(role, emailPrefix, user -> {
+      try {
+        out.write(objectMapper.writeValueAsBytes(user));
+        out.write('\n');
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    });
+    ResponseEntity<StreamingResponseBody> response =
+            conditionalResponses.respond(request, Resource.USERS, null, REVALIDATE, version -> Optional.of(body));
+    if (response.getStatusCode() != HttpStatus.OK) {
+      return response;
+    }
+    return ResponseEntity.ok()
+            .headers(response.getHeaders())
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
   }
 
   @GetMapping("/{id}")
   @Operation(
           summary = "Fetch user by ID",
-          description = "Returns one user when the provided UUID exists."
+          description = "Returns one user when the provided UUID exists. "
+                  + "Send the ETag back in If-None-Match to get a 304 while the user is unchanged."
   )
-  public ResponseEntity<UserResponse> getUser(@PathVariable UUID id) {
-    return userService.getUser(id)
-            .map(ResponseEntity::ok)
-            .orElseGet(() -> ResponseEntity.notFound().build());
+  public ResponseEntity<UserResponse> getUser(@PathVariable UUID id, WebRequest request) {
+    return conditionalResponses.respond(request, Resource.USER, id, REVALIDATE, version -> userService.getUser(id));
   }
 }
\ No newline at end of file
@@ -4,11 +4,16 @@ import com.mentorship.dto.ErrorResponse;
 import com.mentorship.exception.ConflictException;
 import com.mentorship.exception.ForbiddenException;
 import com.mentorship.exception.ResourceNotFoundException;
+import com.mentorship.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -20,32 +25,46 @@ import java.time.Instant;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
   private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+  private final MeterRegistry meterRegistry;
+
   @ExceptionHandler(ResourceNotFoundException.class)
   public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFoundException ex, HttpServletRequest request) {
     log.warn("Resource not found: {} (Request: {} {})", ex.getMessage(), request.getMethod(), request.getRequestURI());
-    return buildResponseEntity(HttpStatus.NOT_FOUND, ex.getMessage(), request);
+    return buildResponseEntity(HttpStatus.NOT_FOUND, ex, ex.getMessage(), request);
   }
 
   @ExceptionHandler(ConflictException.class)
   public ResponseEntity<ErrorResponse> handleConflict(ConflictException ex, HttpServletRequest request) {
     log.warn("Conflict detected: {} (Request: {} {})", ex.getMessage(), request.getMethod(), request.getRequestURI());
-    return buildResponseEntity(HttpStatus.CONFLICT, ex.getMessage(), request);
+    return buildResponseEntity(HttpStatus.CONFLICT, ex, ex.getMessage(), request);
   }
 
   @ExceptionHandler(ForbiddenException.class)
   public ResponseEntity<ErrorResponse> handleForbidden(ForbiddenException ex, HttpServletRequest request) {
     log.warn("Forbidden access: {} (Request: {} {})", ex.getMessage(), request.getMethod(), request.getRequestURI());
-    return buildResponseEntity(HttpStatus.FORBIDDEN, ex.getMessage(), request);
+    return buildResponseEntity(HttpStatus.FORBIDDEN, ex, ex.getMessage(), request);
+  }
+
+  @ExceptionHandler(TooManyRequestsException.class)
+  public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex, HttpServletRequest request) {
+    // Debug only: a client being throttled would otherwise flood the log
+    log.debug("Rate limited (Request: {} {})", request.getMethod(), request.getRequestURI());
+    ResponseEntity<ErrorResponse> response = buildResponseEntity(HttpStatus.TOO_MANY_REQUESTS, ex, ex.getMessage(), request);
+    long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+    return ResponseEntity.status(response.getStatusCode())
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .body(response.getBody());
   }
 
   @ExceptionHandler(IllegalArgumentException.class)
   public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex, HttpServletRequest request) {
     log.warn("Bad request: {} (Request: {} {})", ex.getMessage(), request.getMethod(), request.getRequestURI());
-    return buildResponseEntity(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+    return buildResponseEntity(HttpStatus.BAD_REQUEST, ex, ex.getMessage(), request);
   }
 
   @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -59,7 +78,7 @@ public class GlobalExceptionHandler {
             })
             .collect(Collectors.joining("; "));
     log.warn("Validation failed: {} (Request: {} {})", message, request.getMethod(), request.getRequestURI());
-    return buildResponseEntity(HttpStatus.BAD_REQUEST, message, request);
+    return buildResponseEntity(HttpStatus.BAD_REQUEST, ex, message, request);
   }
 
   @ExceptionHandler(ConstraintViolationException.class)
@@ -68,7 +87,7 @@ public class GlobalExceptionHandler {
             .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
             .collect(Collectors.joining("; "));
     log.warn("Constraint violation: {} (Request: {} {})", message, request.getMethod(), request.getRequestURI());
-    return buildResponseEntity(HttpStatus.BAD_REQUEST, message, request);
+    return buildResponseEntity(HttpStatus.BAD_REQUEST, ex, message, request);
   }
 
   /**
@@ -83,12 +102,20 @@ public class GlobalExceptionHandler {
 
     return buildResponseEntity(
             HttpStatus.INTERNAL_SERVER_ERROR,
+            ex,
             "An unexpected internal server error occurred. Please try again later.",
             request
     );
   }
 
-  private ResponseEntity<ErrorResponse> buildResponseEntity(HttpStatus status, String message, HttpServletRequest request) {
+  private ResponseEntity<ErrorResponse> buildResponseEntity(HttpStatus status, Exception ex, String message, HttpServletRequest request) {
+    Counter.builder("mentorship.http.errors")
+            .description("Exceptions mapped to an error response, by status and exception type")
+            .tag("status", String.valueOf(status.value()))
+            .tag("exception", ex.getClass().getSimpleName())
+            .register(meterRegistry)
+            .increment();
+
     ErrorResponse errorResponse = new ErrorResponse(
             Instant.now(),
             status.value(),
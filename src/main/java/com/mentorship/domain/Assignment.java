@@ -0,0 +1,115 @@
+package com.mentorship.domain;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.Length;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The template of a piece of work: title, description, links and problems.
+ * Who it is given to lives in {@link StudentAssignment}.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "assignments", indexes = {
+  @Index(name = "idx_assignments_mentor_created", columnList = "mentor_id, created_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class Assignment {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  @Column(name = "id")
+  private UUID id;
+
+  // The author
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "mentor_id", nullable = false)
+  private User mentor;
+
+  @Column(name = "title", nullable = false, length = 100)
+  private String title;
+
+  // TEXT; see Problem.description for why this is a length and not LONG32VARCHAR
+  @Column(name = "description", length = Length.LONG32)
+  private String description;
+
+  // Normalized by AssignmentService: trimmed, lower-case, distinct, in the order given
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "tags", nullable = false, length = 50)
+  @Builder.Default
+  private List<String> tags = new ArrayList<>();
+
+  // Archived assignments stay readable but leave listings and tag counts
+  @Column(name = "archived_at")
+  private Instant archivedAt;
+
+  @CreatedDate
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt;
+
+  @LastModifiedDate
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  @OneToMany(mappedBy = "assignment", cascade = CascadeType.ALL, orphanRemoval = true)
+  @OrderBy("createdAt, id")
+  @Builder.Default
+  private List<AssignmentLink> links = new ArrayList<>();
+
+  @OneToMany(mappedBy = "assignment", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Builder.Default
+  private List<AssignmentProblemLink> problemLinks = new ArrayList<>();
+
+  public void addLink(String url, String note) {
+    links.add(AssignmentLink.builder().assignment(this).url(url).note(note).build());
+  }
+
+  public void addProblem(Problem problem) {
+    problemLinks.add(AssignmentProblemLink.builder().assignment(this).problem(problem).build());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    Assignment that = (Assignment) o;
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
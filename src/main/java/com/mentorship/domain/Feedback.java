@@ -0,0 +1,81 @@
+package com.mentorship.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/** A mentor's comment on a submission. A null line number marks an overall comment. */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "feedback", indexes = {
+  @Index(name = "idx_feedback_submission_line", columnList = "submission_id, line_number, created_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class Feedback {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  @Column(name = "id")
+  private UUID id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "submission_id", nullable = false)
+  private Submission submission;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "mentor_id", nullable = false)
+  private User mentor;
+
+  @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+  @Column(name = "comment_text", nullable = false)
+  private String commentText;
+
+  @Column(name = "line_number")
+  private Integer lineNumber;
+
+  @CreatedDate
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt;
+
+  // Set once the student has opened the feedback; null means unread
+  @Column(name = "read_at")
+  private Instant readAt;
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    Feedback feedback = (Feedback) o;
+    return Objects.equals(id, feedback.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
@@ -1,5 +1,6 @@
 package com.mentorship.domain;
 
+import com.mentorship.util.Tokens;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -13,6 +14,7 @@ import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -32,7 +34,10 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Table(name = "invitations", indexes = {
-  @Index(name = "idx_invitation_token", columnList = "token", unique = true)
+  @Index(name = "uq_invitations_token_hash", columnList = "token_hash", unique = true),
+  @Index(name = "idx_invitations_mentor_created", columnList = "mentor_id, created_at"),
+  @Index(name = "idx_invitations_pending_expiry", columnList = "expires_at"),
+  @Index(name = "idx_invitations_settled_expiry", columnList = "expires_at")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class Invitation {
@@ -54,13 +59,26 @@ public class Invitation {
   @Builder.Default
   private InvitationStatus status = InvitationStatus.PENDING;
 
-  @Column(name = "token", nullable = false, unique = true)
+  // SHA-256 of the token (Tokens.hash); the token itself is not stored
+  @Column(name = "token_hash", nullable = false, length = Tokens.HASH_BYTES)
+  private byte[] tokenHash;
+
+  // The plain token, known only in the request that created the invitation
+  @Transient
   private String token;
 
   @CreatedDate
   @Column(name = "created_at", nullable = false, updatable = false)
   private Instant createdAt;
 
+  // Past this a PENDING invitation reads as EXPIRED, whether or not the sweeper has marked it yet
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+
+  public boolean isExpiredAt(Instant now) {
+    return status == InvitationStatus.PENDING && !now.isBefore(expiresAt);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -0,0 +1,71 @@
+package com.mentorship.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.Length;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An invitation email waiting to be sent. Written in the invitation's transaction and drained
+ * by {@code InvitationMailDispatcher}, both with plain JDBC through
+ * {@code InvitationOutboxRepository}; mapped here for the schema.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "invitation_outbox", indexes = {
+  @Index(name = "idx_invitation_outbox_due", columnList = "next_attempt_at"),
+  @Index(name = "idx_invitation_outbox_invitation", columnList = "invitation_id")
+})
+public class InvitationOutboxMessage {
+
+  @Id
+  @Column(name = "id")
+  private UUID id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "invitation_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Invitation invitation;
+
+  @Column(name = "recipient", nullable = false, length = 100)
+  private String recipient;
+
+  @Column(name = "subject", nullable = false, length = 200)
+  private String subject;
+
+  @Column(name = "body", nullable = false, length = Length.LONG32)
+  private String body;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private Instant nextAttemptAt;
+
+  @Column(name = "last_error", length = 500)
+  private String lastError;
+
+  // Set once the dispatcher gives up; the row then stays for inspection and is never retried
+  @Column(name = "failed_at")
+  private Instant failedAt;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+}
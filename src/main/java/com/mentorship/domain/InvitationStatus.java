@@ -1,5 +1,5 @@
 package com.mentorship.domain;
 
 public enum InvitationStatus {
-  PENDING, ACCEPTED, DECLINED
+  PENDING, ACCEPTED, DECLINED, EXPIRED
 }
@@ -0,0 +1,133 @@
+package com.mentorship.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Denormalized row of the mentee dashboard: one per student assignment, carrying everything
+ * the dashboard shows so it is served from a single index range scan. It is written only by
+ * {@code MenteeDashboardProjector}, never by request handlers directly.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "mentee_dashboard_items", indexes = {
+  @Index(name = "idx_mentee_dashboard_student_due", columnList = "student_id, due_date, assigned_at"),
+  @Index(name = "idx_mentee_dashboard_assignment", columnList = "assignment_id")
+})
+public class MenteeDashboardItem implements Persistable<UUID> {
+
+  @Id
+  @Column(name = "student_assignment_id")
+  private UUID studentAssignmentId;
+
+  @Column(name = "student_id", nullable = false)
+  private UUID studentId;
+
+  @Column(name = "assignment_id", nullable = false)
+  private UUID assignmentId;
+
+  @Column(name = "mentor_id", nullable = false)
+  private UUID mentorId;
+
+  @Column(name = "title", nullable = false, length = 100)
+  private String title;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 20)
+  private StudentAssignmentStatus status;
+
+  @Column(name = "assigned_at", nullable = false)
+  private Instant assignedAt;
+
+  @Column(name = "due_date")
+  private Instant dueDate;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "links", nullable = false)
+  @Builder.Default
+  private List<Link> links = new ArrayList<>();
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "problems", nullable = false)
+  @Builder.Default
+  private List<ProblemRef> problems = new ArrayList<>();
+
+  @Column(name = "latest_submission_version")
+  private Integer latestSubmissionVersion;
+
+  @Column(name = "latest_submitted_at")
+  private Instant latestSubmittedAt;
+
+  @Column(name = "unread_feedback_count", nullable = false)
+  private int unreadFeedbackCount;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  // Keyed by the student assignment ID, so save() would merge (SELECT first) without this
+  @Transient
+  @Builder.Default
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean persisted = false;
+
+  @Override
+  public UUID getId() {
+    return studentAssignmentId;
+  }
+
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    persisted = true;
+  }
+
+  public record Link(String url, String note) {}
+
+  public record ProblemRef(UUID id, String title) {}
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    MenteeDashboardItem that = (MenteeDashboardItem) o;
+    return Objects.equals(studentAssignmentId, that.studentAssignmentId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(studentAssignmentId);
+  }
+}
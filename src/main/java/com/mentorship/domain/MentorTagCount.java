@@ -0,0 +1,37 @@
+package com.mentorship.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * How many of a mentor's live assignments carry a tag. Maintained incrementally with plain
+ * JDBC by {@code MentorTagCountRepository}; mapped here for the schema.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "mentor_tag_counts")
+public class MentorTagCount {
+
+  @EmbeddedId
+  private Key key;
+
+  @Column(name = "assignment_count", nullable = false)
+  private int assignmentCount;
+
+  @Embeddable
+  public record Key(
+          @Column(name = "mentor_id") UUID mentorId,
+          @Column(name = "tag", length = 50) String tag
+  ) implements Serializable {}
+}
@@ -0,0 +1,25 @@
+package com.mentorship.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Locale;
+
+public enum ProblemDifficulty {
+  EASY, MEDIUM, HARD;
+
+  /** The problems table stores difficulty in lower case (see its CHECK constraint). */
+  @Converter(autoApply = true)
+  public static class DatabaseConverter implements AttributeConverter<ProblemDifficulty, String> {
+
+    @Override
+    public String convertToDatabaseColumn(ProblemDifficulty difficulty) {
+      return difficulty == null ? null : difficulty.name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public ProblemDifficulty convertToEntityAttribute(String value) {
+      return value == null ? null : ProblemDifficulty.valueOf(value.toUpperCase(Locale.ROOT));
+    }
+  }
+}
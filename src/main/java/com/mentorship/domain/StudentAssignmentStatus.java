@@ -0,0 +1,5 @@
+package com.mentorship.domain;
+
+public enum StudentAssignmentStatus {
+  PENDING, IN_PROGRESS, SUBMITTED, COMPLETED
+}
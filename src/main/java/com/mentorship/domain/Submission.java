@@ -0,0 +1,106 @@
+package com.mentorship.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/** One version of a student's work on one problem of a student assignment. Versions are never updated. */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "submissions", uniqueConstraints = {
+  @UniqueConstraint(name = "uq_submission_version", columnNames = {"student_assignment_id", "problem_id", "version"})
+})
+@EntityListeners(AuditingEntityListener.class)
+public class Submission {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  @Column(name = "id")
+  private UUID id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "student_assignment_id", nullable = false)
+  private StudentAssignment studentAssignment;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "problem_id", nullable = false)
+  private Problem problem;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "student_id", nullable = false)
+  private User student;
+
+  // Only set on rows written before blob storage; newer code is read through SubmissionContentStore
+  @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+  @Column(name = "code_content")
+  private String codeContent;
+
+  @Column(name = "blob_hash", length = 64)
+  private String blobHash;
+
+  // The version this one is a delta against; null for snapshots
+  @Column(name = "base_submission_id")
+  private UUID baseSubmissionId;
+
+  // Deltas back to the nearest snapshot; 0 for snapshots
+  @Column(name = "delta_depth", nullable = false)
+  private int deltaDepth;
+
+  // UTF-8 bytes of the code
+  @Column(name = "code_size", nullable = false)
+  private int codeSize;
+
+  @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+  @Column(name = "write_up")
+  private String writeUp;
+
+  @Column(name = "version", nullable = false)
+  private int version;
+
+  @CreatedDate
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt;
+
+  @LastModifiedDate
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    Submission that = (Submission) o;
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
@@ -0,0 +1,47 @@
+package com.mentorship.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Immutable, content-addressed payload of a submission version: either the full code
+ * (a snapshot) or a line delta against the previous version. Whether it is a snapshot or a
+ * delta is recorded on the submission, so identical payloads are stored once whoever wrote them.
+ * Written with plain JDBC by {@code SubmissionBlobRepository}; mapped here for the schema.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "submission_blobs")
+public class SubmissionBlob {
+
+  // Hex SHA-256 of the uncompressed payload
+  @Id
+  @Column(name = "hash", length = 64)
+  private String hash;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "encoding", nullable = false, length = 10)
+  private Encoding encoding;
+
+  @Column(name = "raw_length", nullable = false)
+  private int rawLength;
+
+  // bytea on PostgreSQL; the length only sizes schemas generated for other databases
+  @Column(name = "data", nullable = false, length = 1_000_000)
+  private byte[] data;
+
+  public enum Encoding {
+    RAW, DEFLATE
+  }
+}
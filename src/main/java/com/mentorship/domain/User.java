@@ -1,22 +1,30 @@
 package com.mentorship.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener; // Keep this
 
 import java.time.Instant;
@@ -31,9 +39,16 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+  @Index(name = "idx_users_created_at_id", columnList = "created_at, id")
+})
 @EntityListeners(AuditingEntityListener.class)
-public class User {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+public class User implements Persistable<UUID> {
+
+  // Locked reads (findAndLockById) always go to the database
+  public static final String CACHE_REGION = "users";
 
   @Id
   @Column(name = "id")
@@ -69,9 +84,28 @@ public class User {
   @JsonIgnore
   private Set<Mentorship> mentorConnections = new HashSet<>();
 
-  @OneToOne(mappedBy = "student")
+  // IDs are assigned by the auth provider, so Spring Data cannot tell a new user from an
+  // existing one by a null ID. Without this, save() merges and issues a SELECT before the INSERT.
+  @Transient
+  @Builder.Default
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean persisted = false;
+
+  @Override
   @JsonIgnore
-  private Mentorship studentConnection;
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    persisted = true;
+  }
+
+  // No inverse side for Mentorship.student: Hibernate cannot proxy a mappedBy @OneToOne,
+  // so it would cost an extra select on every User load. Use MentorshipRepository.findByStudent_Id.
 
   @Override
   public boolean equals(Object o) {
@@ -0,0 +1,36 @@
+package com.mentorship.dto;
+
+import java.util.UUID;
+
+/**
+ * Outcome for one student of an assign request, in the order the students were submitted.
+ * @param studentId The student as submitted.
+ * @param outcome Whether the assignment was handed out, was already assigned, or was refused.
+ * @param studentAssignment The student's assignment, new or existing; null when not mentored.
+ * @param message Why the student was skipped or refused; null when assigned.
+ */
+public record AssignStudentResult(
+        UUID studentId,
+        Outcome outcome,
+        StudentAssignmentResponse studentAssignment,
+        String message
+) {
+
+  public enum Outcome {
+    ASSIGNED, ALREADY_ASSIGNED, NOT_MENTORED
+  }
+
+  public static AssignStudentResult assigned(UUID studentId, StudentAssignmentResponse studentAssignment) {
+    return new AssignStudentResult(studentId, Outcome.ASSIGNED, studentAssignment, null);
+  }
+
+  public static AssignStudentResult alreadyAssigned(UUID studentId, StudentAssignmentResponse studentAssignment) {
+    return new AssignStudentResult(studentId, Outcome.ALREADY_ASSIGNED, studentAssignment,
+            "Assignment was already given to this student");
+  }
+
+  public static AssignStudentResult notMentored(UUID studentId) {
+    return new AssignStudentResult(studentId, Outcome.NOT_MENTORED, null,
+            "Student is not mentored by the assignment's author");
+  }
+}
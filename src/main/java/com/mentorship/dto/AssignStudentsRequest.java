@@ -0,0 +1,20 @@
+package com.mentorship.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @param studentIds Mentees to give the assignment to; repeated IDs are assigned once.
+ * @param dueDate Optional due date applied to every new student assignment.
+ */
+public record AssignStudentsRequest(
+        @NotEmpty @Size(max = AssignStudentsRequest.MAX_STUDENTS) List<@NotNull UUID> studentIds,
+        Instant dueDate
+) {
+  public static final int MAX_STUDENTS = 1000;
+}
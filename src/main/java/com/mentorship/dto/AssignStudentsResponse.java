@@ -0,0 +1,25 @@
+package com.mentorship.dto;
+
+import java.util.List;
+
+public record AssignStudentsResponse(
+        int assigned,
+        int alreadyAssigned,
+        int notMentored,
+        List<AssignStudentResult> results
+) {
+
+  public static AssignStudentsResponse of(List<AssignStudentResult> results) {
+    int assigned = 0;
+    int alreadyAssigned = 0;
+    int notMentored = 0;
+    for (AssignStudentResult result : results) {
+      switch (result.outcome()) {
+        case ASSIGNED -> assigned++;
+        case ALREADY_ASSIGNED -> alreadyAssigned++;
+        case NOT_MENTORED -> notMentored++;
+      }
+    }
+    return new AssignStudentsResponse(assigned, alreadyAssigned, notMentored, results);
+  }
+}
@@ -0,0 +1,24 @@
+package com.mentorship.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record AssignmentCreateRequest(
+        @NotNull UUID mentorId,
+        @NotBlank @Size(max = 100) String title,
+        String description,
+        List<@Valid Link> links,
+        List<@NotNull UUID> problemIds,
+        @Size(max = 20) List<@NotBlank @Size(max = 50) String> tags
+) {
+
+  public record Link(
+          @NotBlank @Size(max = 255) String url,
+          @Size(max = 255) String note
+  ) {}
+}
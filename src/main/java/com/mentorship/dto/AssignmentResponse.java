@@ -0,0 +1,38 @@
+package com.mentorship.dto;
+
+import com.mentorship.domain.Assignment;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record AssignmentResponse(
+        UUID id,
+        UUID mentorId,
+        String title,
+        String description,
+        List<AssignmentCreateRequest.Link> links,
+        List<UUID> problemIds,
+        List<String> tags,
+        Instant archivedAt,
+        Instant createdAt
+) {
+
+  public static AssignmentResponse from(Assignment assignment) {
+    return new AssignmentResponse(
+            assignment.getId(),
+            assignment.getMentor().getId(),
+            assignment.getTitle(),
+            assignment.getDescription(),
+            assignment.getLinks().stream()
+                    .map(link -> new AssignmentCreateRequest.Link(link.getUrl(), link.getNote()))
+                    .toList(),
+            assignment.getProblemLinks().stream()
+                    .map(problemLink -> problemLink.getProblem().getId())
+                    .toList(),
+            List.copyOf(assignment.getTags()),
+            assignment.getArchivedAt(),
+            assignment.getCreatedAt()
+    );
+  }
+}
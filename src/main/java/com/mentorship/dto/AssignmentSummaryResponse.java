@@ -0,0 +1,15 @@
+package com.mentorship.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One row of a mentor's assignment listing; links and problems are left to {@link AssignmentResponse}.
+ */
+public record AssignmentSummaryResponse(
+        UUID id,
+        String title,
+        List<String> tags,
+        Instant createdAt
+) {}
@@ -0,0 +1,18 @@
+package com.mentorship.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Replaces the template's title, description and tags. Only its author may edit it.
+ */
+public record AssignmentUpdateRequest(
+        @NotNull UUID mentorId,
+        @NotBlank @Size(max = 100) String title,
+        String description,
+        @Size(max = 20) List<@NotBlank @Size(max = 50) String> tags
+) {}
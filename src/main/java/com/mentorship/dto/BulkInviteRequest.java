@@ -0,0 +1,15 @@
+package com.mentorship.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkInviteRequest(
+        @NotNull UUID mentorId,
+        @NotEmpty @Size(max = BulkInviteRequest.MAX_EMAILS) List<String> studentEmails
+) {
+  public static final int MAX_EMAILS = 5000;
+}
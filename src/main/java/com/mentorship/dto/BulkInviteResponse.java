@@ -0,0 +1,31 @@
+package com.mentorship.dto;
+
+import java.util.List;
+
+public record BulkInviteResponse(
+        int created,
+        int duplicates,
+        int invalid,
+        List<BulkInviteResult> results
+) {
+
+  public static BulkInviteResponse of(List<BulkInviteResult> results) {
+    int created = 0;
+    int duplicates = 0;
+    int invalid = 0;
+    for (BulkInviteResult result : results) {
+      switch (result.outcome()) {
+        case CREATED -> created++;
+        case DUPLICATE -> duplicates++;
+        case INVALID -> invalid++;
+      }
+    }
+    return new BulkInviteResponse(created, duplicates, invalid, results);
+  }
+
+  /** These outcomes as they may be stored: without invitation tokens. */
+  public BulkInviteResponse withoutTokens() {
+    return new BulkInviteResponse(created, duplicates, invalid,
+            results.stream().map(BulkInviteResult::withoutToken).toList());
+  }
+}
@@ -0,0 +1,37 @@
+package com.mentorship.dto;
+
+/**
+ * Outcome for one email of a bulk invite, in the order the emails were submitted.
+ * @param studentEmail The email as submitted.
+ * @param outcome Whether an invitation was created, skipped as a duplicate, or rejected.
+ * @param invitation The created invitation; null unless the outcome is CREATED.
+ * @param message Why the email was skipped or rejected; null when created.
+ */
+public record BulkInviteResult(
+        String studentEmail,
+        Outcome outcome,
+        InvitationResponse invitation,
+        String message
+) {
+
+  public enum Outcome {
+    CREATED, DUPLICATE, INVALID
+  }
+
+  public static BulkInviteResult created(String studentEmail, InvitationResponse invitation) {
+    return new BulkInviteResult(studentEmail, Outcome.CREATED, invitation, null);
+  }
+
+  public static BulkInviteResult duplicate(String studentEmail, String message) {
+    return new BulkInviteResult(studentEmail, Outcome.DUPLICATE, null, message);
+  }
+
+  /** This outcome as it may be stored: without the invitation's token. */
+  public BulkInviteResult withoutToken() {
+    return invitation == null ? this : new BulkInviteResult(studentEmail, outcome, invitation.withoutToken(), message);
+  }
+
+  public static BulkInviteResult invalid(String studentEmail, String message) {
+    return new BulkInviteResult(studentEmail, Outcome.INVALID, null, message);
+  }
+}
@@ -0,0 +1,14 @@
+package com.mentorship.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.util.UUID;
+
+/** {@code lineNumber} is 1-based; leave it null for an overall comment. */
+public record FeedbackCreateRequest(
+        @NotNull UUID mentorId,
+        @NotBlank String commentText,
+        @Positive Integer lineNumber
+) {}
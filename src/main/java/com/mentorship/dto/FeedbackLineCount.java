@@ -0,0 +1,10 @@
+package com.mentorship.dto;
+
+/**
+ * Number of comments on one line of a submission.
+ * @param lineNumber The line; null counts the overall comments.
+ */
+public record FeedbackLineCount(
+        Integer lineNumber,
+        long count
+) {}
@@ -0,0 +1,27 @@
+package com.mentorship.dto;
+
+import com.mentorship.domain.Feedback;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record FeedbackResponse(
+        UUID id,
+        UUID submissionId,
+        UUID mentorId,
+        String commentText,
+        Integer lineNumber,
+        Instant createdAt
+) {
+
+  public static FeedbackResponse from(Feedback feedback) {
+    return new FeedbackResponse(
+            feedback.getId(),
+            feedback.getSubmission().getId(),
+            feedback.getMentor().getId(),
+            feedback.getCommentText(),
+            feedback.getLineNumber(),
+            feedback.getCreatedAt()
+    );
+  }
+}
@@ -0,0 +1,17 @@
+package com.mentorship.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Comment counts of a submission, enough to draw gutter markers without loading comment texts.
+ * @param total Every comment, line and overall.
+ * @param overall Comments not anchored to a line.
+ * @param lines Lines with at least one comment, in line order.
+ */
+public record FeedbackSummaryResponse(
+        UUID submissionId,
+        long total,
+        long overall,
+        List<FeedbackLineCount> lines
+) {}
@@ -0,0 +1,12 @@
+package com.mentorship.dto;
+
+import java.util.UUID;
+
+/**
+ * The data of an InvitationAccepted event.
+ */
+public record InvitationAcceptedResponse(
+        UUID invitationId,
+        UUID mentorId,
+        UUID studentId
+) {}
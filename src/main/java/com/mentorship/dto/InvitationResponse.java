@@ -6,15 +6,27 @@ import com.mentorship.domain.InvitationStatus;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * An invitation. {@code token} is only known to the request that created the invitation and
+ * to a lookup by token; elsewhere it is null, since only its hash is stored. That includes a
+ * replay of the creating request recorded in the database, see {@link #withoutToken()}.
+ */
 public record InvitationResponse(
         UUID id,
         UUID mentorId,
         String studentEmail,
         InvitationStatus status,
         String token,
-        Instant createdAt
+        Instant createdAt,
+        Instant expiresAt
 ) {
 
+  // Read-side projections, which cannot see the token
+  public InvitationResponse(UUID id, UUID mentorId, String studentEmail, InvitationStatus status,
+                            Instant createdAt, Instant expiresAt) {
+    this(id, mentorId, studentEmail, status, null, createdAt, expiresAt);
+  }
+
   public static InvitationResponse from(Invitation invitation) {
     if (invitation.getMentor() == null) {
       throw new IllegalStateException("Invitation mentor cannot be null");
@@ -26,7 +38,27 @@ public record InvitationResponse(
             invitation.getStudentEmail(),
             invitation.getStatus(),
             invitation.getToken(),
-            invitation.getCreatedAt()
+            invitation.getCreatedAt(),
+            invitation.getExpiresAt()
     );
   }
+
+  public InvitationResponse withToken(String token) {
+    return new InvitationResponse(id, mentorId, studentEmail, status, token, createdAt, expiresAt);
+  }
+
+  /** This invitation as it may be stored: without its token. */
+  public InvitationResponse withoutToken() {
+    return withToken(null);
+  }
+
+  /**
+   * This invitation as of {@code now}: one still pending past its expiry is reported as EXPIRED,
+   * so readers never depend on the sweeper having run, nor on a cached copy being fresh.
+   */
+  public InvitationResponse asOf(Instant now) {
+    return status == InvitationStatus.PENDING && !now.isBefore(expiresAt)
+            ? new InvitationResponse(id, mentorId, studentEmail, InvitationStatus.EXPIRED, token, createdAt, expiresAt)
+            : this;
+  }
 }
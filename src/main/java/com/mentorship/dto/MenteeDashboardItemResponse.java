@@ -0,0 +1,41 @@
+package com.mentorship.dto;
+
+import com.mentorship.domain.MenteeDashboardItem;
+import com.mentorship.domain.StudentAssignmentStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record MenteeDashboardItemResponse(
+        UUID studentAssignmentId,
+        UUID assignmentId,
+        UUID mentorId,
+        String title,
+        StudentAssignmentStatus status,
+        Instant assignedAt,
+        Instant dueDate,
+        List<MenteeDashboardItem.Link> links,
+        List<MenteeDashboardItem.ProblemRef> problems,
+        Integer latestSubmissionVersion,
+        Instant latestSubmittedAt,
+        int unreadFeedbackCount
+) {
+
+  public static MenteeDashboardItemResponse from(MenteeDashboardItem item) {
+    return new MenteeDashboardItemResponse(
+            item.getStudentAssignmentId(),
+            item.getAssignmentId(),
+            item.getMentorId(),
+            item.getTitle(),
+            item.getStatus(),
+            item.getAssignedAt(),
+            item.getDueDate(),
+            item.getLinks(),
+            item.getProblems(),
+            item.getLatestSubmissionVersion(),
+            item.getLatestSubmittedAt(),
+            item.getUnreadFeedbackCount()
+    );
+  }
+}
@@ -0,0 +1,20 @@
+package com.mentorship.dto;
+
+import com.mentorship.domain.ProblemDifficulty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.UUID;
+
+/**
+ * @param inBank whether the problem is listed in the mentor's searchable bank; defaults to true
+ */
+public record ProblemCreateRequest(
+        @NotNull UUID mentorId,
+        @NotBlank @Size(max = 100) String title,
+        String description,
+        @NotNull ProblemDifficulty difficulty,
+        @Size(max = 255) String externalUrl,
+        Boolean inBank
+) {}
@@ -0,0 +1,32 @@
+package com.mentorship.dto;
+
+import com.mentorship.domain.Problem;
+import com.mentorship.domain.ProblemDifficulty;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ProblemResponse(
+        UUID id,
+        UUID mentorId,
+        String title,
+        String description,
+        ProblemDifficulty difficulty,
+        String externalUrl,
+        boolean inBank,
+        Instant createdAt
+) {
+
+  public static ProblemResponse from(Problem problem) {
+    return new ProblemResponse(
+            problem.getId(),
+            problem.getMentor().getId(),
+            problem.getTitle(),
+            problem.getDescription(),
+            problem.getDifficulty(),
+            problem.getExternalUrl(),
+            problem.isInBank(),
+            problem.getCreatedAt()
+    );
+  }
+}
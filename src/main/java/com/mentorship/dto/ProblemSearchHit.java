@@ -0,0 +1,15 @@
+package com.mentorship.dto;
+
+import com.mentorship.domain.ProblemDifficulty;
+
+import java.util.UUID;
+
+/**
+ * @param score relevance within this result list; not comparable across queries or backends
+ */
+public record ProblemSearchHit(
+        UUID id,
+        String title,
+        ProblemDifficulty difficulty,
+        double score
+) {}
@@ -0,0 +1,18 @@
+package com.mentorship.dto;
+
+import com.mentorship.domain.ProblemDifficulty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @param hits         the best matches, most relevant first
+ * @param total        matches for the query and difficulty filter, of which {@code hits} is the head
+ * @param difficulties matches per difficulty for the query alone, so a client can show what each
+ *                     difficulty filter would return; difficulties without matches are omitted
+ */
+public record ProblemSearchResponse(
+        List<ProblemSearchHit> hits,
+        long total,
+        Map<ProblemDifficulty, Long> difficulties
+) {}
@@ -0,0 +1,11 @@
+package com.mentorship.dto;
+
+import com.mentorship.domain.ProblemDifficulty;
+
+import java.util.UUID;
+
+public record ProblemSuggestion(
+        UUID id,
+        String title,
+        ProblemDifficulty difficulty
+) {}
@@ -0,0 +1,20 @@
+package com.mentorship.dto;
+
+import com.mentorship.domain.ProblemDifficulty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.UUID;
+
+/**
+ * Replaces every editable field of a problem. Only its author may update it.
+ */
+public record ProblemUpdateRequest(
+        @NotNull UUID mentorId,
+        @NotBlank @Size(max = 100) String title,
+        String description,
+        @NotNull ProblemDifficulty difficulty,
+        @Size(max = 255) String externalUrl,
+        boolean inBank
+) {}
@@ -0,0 +1,30 @@
+package com.mentorship.dto;
+
+import com.mentorship.domain.StudentAssignment;
+import com.mentorship.domain.StudentAssignmentStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record StudentAssignmentResponse(
+        UUID id,
+        UUID assignmentId,
+        UUID studentId,
+        UUID mentorId,
+        StudentAssignmentStatus status,
+        Instant assignedAt,
+        Instant dueDate
+) {
+
+  public static StudentAssignmentResponse from(StudentAssignment studentAssignment) {
+    return new StudentAssignmentResponse(
+            studentAssignment.getId(),
+            studentAssignment.getAssignment().getId(),
+            studentAssignment.getStudent().getId(),
+            studentAssignment.getMentor().getId(),
+            studentAssignment.getStatus(),
+            studentAssignment.getAssignedAt(),
+            studentAssignment.getDueDate()
+    );
+  }
+}
@@ -0,0 +1,14 @@
+package com.mentorship.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record SubmissionCreateRequest(
+        @NotNull UUID studentAssignmentId,
+        @NotNull UUID problemId,
+        @NotNull UUID studentId,
+        @NotBlank String codeContent,
+        String writeUp
+) {}
@@ -0,0 +1,21 @@
+package com.mentorship.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * All feedback on a submission, as the code viewer renders it.
+ * @param lines Comments anchored to a line, grouped per line in line order, oldest first within a line.
+ * @param overall Comments on the submission as a whole, oldest first.
+ */
+public record SubmissionFeedbackResponse(
+        UUID submissionId,
+        List<LineFeedback> lines,
+        List<FeedbackResponse> overall
+) {
+
+  public record LineFeedback(
+          int lineNumber,
+          List<FeedbackResponse> comments
+  ) {}
+}
@@ -0,0 +1,27 @@
+package com.mentorship.dto;
+
+import com.mentorship.domain.Submission;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record SubmissionResponse(
+        UUID id,
+        UUID studentAssignmentId,
+        UUID problemId,
+        UUID studentId,
+        int version,
+        Instant createdAt
+) {
+
+  public static SubmissionResponse from(Submission submission) {
+    return new SubmissionResponse(
+            submission.getId(),
+            submission.getStudentAssignment().getId(),
+            submission.getProblem().getId(),
+            submission.getStudent().getId(),
+            submission.getVersion(),
+            submission.getCreatedAt()
+    );
+  }
+}
@@ -0,0 +1,19 @@
+package com.mentorship.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One entry of a submission history. Metadata only: the code is fetched per version
+ * from {@code GET /api/submissions/{id}/code}.
+ * @param codeSize Size of the code in UTF-8 bytes.
+ * @param feedbackCount Mentor comments on this version, line and overall.
+ */
+public record SubmissionVersionResponse(
+        UUID id,
+        UUID problemId,
+        int version,
+        Instant createdAt,
+        int codeSize,
+        long feedbackCount
+) {}
@@ -0,0 +1,9 @@
+package com.mentorship.dto;
+
+/**
+ * @param assignments how many of the mentor's live assignments carry the tag
+ */
+public record TagCount(
+        String tag,
+        long assignments
+) {}
@@ -0,0 +1,13 @@
+package com.mentorship.dto;
+
+import java.util.List;
+
+/**
+ * One page of the user listing.
+ * @param items The users on this page, ordered by creation time.
+ * @param nextCursor Opaque token for the following page, or null when this is the last page.
+ */
+public record UserPageResponse(
+        List<UserResponse> items,
+        String nextCursor
+) {}
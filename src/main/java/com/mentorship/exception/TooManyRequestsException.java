@@ -0,0 +1,22 @@
+package com.mentorship.exception;
+
+import java.time.Duration;
+
+/**
+ * A base exception for 429 - Too Many Requests. Thrown for every rejected request, so it
+ * skips the stack trace.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public TooManyRequestsException(String message, Duration retryAfter) {
+    super(message, null, false, false);
+    this.retryAfter = retryAfter;
+  }
+
+  /** How long until the request would be let through. */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
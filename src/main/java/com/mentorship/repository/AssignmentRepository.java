@@ -0,0 +1,69 @@
+package com.mentorship.repository;
+
+import com.mentorship.domain.Assignment;
+import com.mentorship.domain.MenteeDashboardItem;
+import com.mentorship.dto.AssignmentSummaryResponse;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AssignmentRepository extends JpaRepository<Assignment, UUID> {
+
+  // Edits and archiving lock the template so concurrent writers agree on the tags being replaced
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select a from Assignment a where a.id = :id")
+  Optional<Assignment> findAndLockById(@Param("id") UUID id);
+
+  // Range scan on idx_assignments_mentor_created
+  @Query("""
+          select new com.mentorship.dto.AssignmentSummaryResponse(a.id, a.title, a.tags, a.createdAt)
+          from Assignment a
+          where a.mentor.id = :mentorId and a.archivedAt is null
+          order by a.createdAt desc, a.id
+          """)
+  List<AssignmentSummaryResponse> findLive(@Param("mentorId") UUID mentorId);
+
+  // tags_overlap renders as tags && :tags on PostgreSQL, served by idx_assignments_tags (see TagArrayFunctions)
+  @Query("""
+          select new com.mentorship.dto.AssignmentSummaryResponse(a.id, a.title, a.tags, a.createdAt)
+          from Assignment a
+          where a.mentor.id = :mentorId and a.archivedAt is null and tags_overlap(a.tags, :tags)
+          order by a.createdAt desc, a.id
+          """)
+  List<AssignmentSummaryResponse> findLiveTaggedWithAny(@Param("mentorId") UUID mentorId,
+                                                        @Param("tags") String[] tags);
+
+  // tags_contain renders as tags @> :tags on PostgreSQL, served by idx_assignments_tags
+  @Query("""
+          select new com.mentorship.dto.AssignmentSummaryResponse(a.id, a.title, a.tags, a.createdAt)
+          from Assignment a
+          where a.mentor.id = :mentorId and a.archivedAt is null and tags_contain(a.tags, :tags)
+          order by a.createdAt desc, a.id
+          """)
+  List<AssignmentSummaryResponse> findLiveTaggedWithAll(@Param("mentorId") UUID mentorId,
+                                                        @Param("tags") String[] tags);
+
+  @Query("select new com.mentorship.domain.MenteeDashboardItem$Link(l.url, l.note) "
+          + "from AssignmentLink l where l.assignment.id = :assignmentId order by l.createdAt, l.id")
+  List<MenteeDashboardItem.Link> findLinks(@Param("assignmentId") UUID assignmentId);
+
+  @Query("select new com.mentorship.domain.MenteeDashboardItem$ProblemRef(p.id, p.title) "
+          + "from AssignmentProblemLink apl join apl.problem p where apl.assignment.id = :assignmentId order by p.title, p.id")
+  List<MenteeDashboardItem.ProblemRef> findProblemRefs(@Param("assignmentId") UUID assignmentId);
+
+  // Served by idx_assignment_problem_links_problem (V16)
+  @Query("select apl.assignment.id from AssignmentProblemLink apl where apl.problem.id = :problemId")
+  List<UUID> findIdsLinkingProblem(@Param("problemId") UUID problemId);
+
+  @Query("select count(apl) > 0 from AssignmentProblemLink apl "
+          + "where apl.assignment.id = :assignmentId and apl.problem.id = :problemId")
+  boolean containsProblem(@Param("assignmentId") UUID assignmentId, @Param("problemId") UUID problemId);
+}
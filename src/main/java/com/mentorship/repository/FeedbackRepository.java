@@ -0,0 +1,43 @@
+package com.mentorship.repository;
+
+import com.mentorship.domain.Feedback;
+import com.mentorship.dto.FeedbackLineCount;
+import com.mentorship.dto.FeedbackResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface FeedbackRepository extends JpaRepository<Feedback, UUID> {
+
+  // Range scan on idx_feedback_submission_line, already in this order: no sort, overall comments (null line) last
+  @Query("""
+          select new com.mentorship.dto.FeedbackResponse(f.id, f.submission.id, f.mentor.id, f.commentText, f.lineNumber, f.createdAt)
+          from Feedback f
+          where f.submission.id = :submissionId
+          order by f.lineNumber asc nulls last, f.createdAt asc""")
+  List<FeedbackResponse> findInLineOrder(@Param("submissionId") UUID submissionId);
+
+  // Bitmap heap scan on idx_feedback_submission_line in the verified plan; comment texts are not selected
+  @Query("""
+          select new com.mentorship.dto.FeedbackLineCount(f.lineNumber, count(*))
+          from Feedback f
+          where f.submission.id = :submissionId
+          group by f.lineNumber
+          order by f.lineNumber asc nulls last""")
+  List<FeedbackLineCount> countByLine(@Param("submissionId") UUID submissionId);
+
+  @Modifying
+  @Query("""
+          update Feedback f set f.readAt = :readAt
+          where f.readAt is null
+            and f.submission.id in (select s.id from Submission s where s.studentAssignment.id = :studentAssignmentId)
+          """)
+  int markRead(@Param("studentAssignmentId") UUID studentAssignmentId, @Param("readAt") Instant readAt);
+}
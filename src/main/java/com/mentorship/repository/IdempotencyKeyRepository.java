@@ -0,0 +1,100 @@
+package com.mentorship.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Idempotency keys shared between instances (V14). Every statement runs on its own, outside
+ * the request's transaction, so a claim is visible to other instances before the request runs
+ * and survives its rollback. Uses PostgreSQL syntax (INSERT ... ON CONFLICT).
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+  private static final String CLAIM = """
+          INSERT INTO idempotency_keys (scope, idempotency_key, fingerprint, expires_at)
+          VALUES (:scope, :key, :fingerprint, :leaseUntil)
+          ON CONFLICT (scope, idempotency_key) DO NOTHING
+          """;
+
+  // Only an abandoned claim or an expired response; a live claim or response is left alone
+  private static final String TAKE_OVER = """
+          UPDATE idempotency_keys
+             SET fingerprint = :fingerprint, response = NULL, expires_at = :leaseUntil
+           WHERE scope = :scope AND idempotency_key = :key AND expires_at <= :now
+          """;
+
+  private static final String FIND = """
+          SELECT fingerprint, response
+            FROM idempotency_keys
+           WHERE scope = :scope AND idempotency_key = :key
+          """;
+
+  private static final String COMPLETE = """
+          UPDATE idempotency_keys
+             SET response = :response, expires_at = :expiresAt
+           WHERE scope = :scope AND idempotency_key = :key
+          """;
+
+  private static final String RELEASE = """
+          DELETE FROM idempotency_keys
+           WHERE scope = :scope AND idempotency_key = :key AND response IS NULL
+          """;
+
+  private static final String PURGE = "DELETE FROM idempotency_keys WHERE expires_at <= :now";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /** What is recorded for a key: a claim while {@code response} is null, a replayable response after. */
+  public record Entry(String fingerprint, String response) {}
+
+  /**
+   * Claims the key until {@code leaseUntil}, unless another live claim or response holds it.
+   * @return empty when this caller now holds the claim, else what holds the key
+   */
+  public Optional<Entry> claim(String scope, String key, String fingerprint, Instant now, Instant leaseUntil) {
+    MapSqlParameterSource parameters = keyParameters(scope, key)
+            .addValue("fingerprint", fingerprint)
+            .addValue("now", Timestamp.from(now))
+            .addValue("leaseUntil", Timestamp.from(leaseUntil));
+    if (jdbcTemplate.update(CLAIM, parameters) == 1 || jdbcTemplate.update(TAKE_OVER, parameters) == 1) {
+      return Optional.empty();
+    }
+    List<Entry> entries = jdbcTemplate.query(FIND, parameters, (rs, rowNum) -> new Entry(
+            rs.getString("fingerprint"),
+            rs.getString("response")));
+    // Deleted since the claim failed (its request failed); report it as still in progress
+    return Optional.of(entries.stream().findFirst().orElse(new Entry(fingerprint, null)));
+  }
+
+  /** Records the response for replay until {@code expiresAt}. */
+  public void complete(String scope, String key, String response, Instant expiresAt) {
+    jdbcTemplate.update(COMPLETE, keyParameters(scope, key)
+            .addValue("response", response)
+            .addValue("expiresAt", Timestamp.from(expiresAt)));
+  }
+
+  /** Drops this caller's claim so the key can be used again. */
+  public void release(String scope, String key) {
+    jdbcTemplate.update(RELEASE, keyParameters(scope, key));
+  }
+
+  /** @return how many expired keys and abandoned claims were deleted */
+  public int purgeExpired(Instant now) {
+    return jdbcTemplate.update(PURGE, new MapSqlParameterSource("now", Timestamp.from(now)));
+  }
+
+  private static MapSqlParameterSource keyParameters(String scope, String key) {
+    return new MapSqlParameterSource()
+            .addValue("scope", scope)
+            .addValue("key", key);
+  }
+}
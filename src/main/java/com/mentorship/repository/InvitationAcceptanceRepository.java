@@ -0,0 +1,81 @@
+package com.mentorship.repository;
+
+import com.mentorship.service.CacheInvalidationBus;
+import com.mentorship.service.CacheInvalidationBus.Invalidation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Lock-free accept path. The invitation state transition and every eligibility rule
+ * (pending and unexpired, student role, matching email) are folded into one conditional UPDATE, and
+ * the one-mentor-per-student rule is left to uq_student via ON CONFLICT. Uses
+ * PostgreSQL syntax (UPDATE ... FROM ... RETURNING, INSERT ... ON CONFLICT).
+ * Hibernate does not see these writes, so cached queries over mentorships are invalidated here.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InvitationAcceptanceRepository {
+
+  private static final String MARK_ACCEPTED = """
+          UPDATE invitations i
+             SET status = 'ACCEPTED'
+            FROM users s
+           WHERE i.token_hash = :tokenHash
+             AND i.status = 'PENDING'
+             AND i.expires_at > :now
+             AND s.id = :studentId
+             AND s.role = 'STUDENT'
+             AND lower(s.email) = lower(i.student_email)
+          RETURNING i.id, i.mentor_id
+          """;
+
+  private static final String INSERT_MENTORSHIP = """
+          INSERT INTO mentorships (id, mentor_id, student_id, created_at)
+          VALUES (:id, :mentorId, :studentId, :createdAt)
+          ON CONFLICT (student_id) DO NOTHING
+          """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final CacheInvalidationBus cacheInvalidationBus;
+
+  public record AcceptedInvitation(UUID invitationId, UUID mentorId) {}
+
+  /**
+   * Flips the invitation to ACCEPTED if, and only if, it is still pending, unexpired at {@code now}
+   * and addressed to this student.
+   * Empty when any of those conditions does not hold; nothing is written in that case.
+   */
+  public Optional<AcceptedInvitation> markAccepted(byte[] tokenHash, UUID studentId, Instant now) {
+    List<AcceptedInvitation> rows = jdbcTemplate.query(MARK_ACCEPTED,
+            new MapSqlParameterSource()
+                    .addValue("tokenHash", tokenHash)
+                    .addValue("studentId", studentId)
+                    .addValue("now", Timestamp.from(now)),
+            (rs, rowNum) -> new AcceptedInvitation(rs.getObject("id", UUID.class), rs.getObject("mentor_id", UUID.class)));
+    return rows.stream().findFirst();
+  }
+
+  /**
+   * @return false when the student already has a mentor
+   */
+  public boolean insertMentorshipIfAbsent(UUID id, UUID mentorId, UUID studentId, Instant createdAt) {
+    boolean inserted = jdbcTemplate.update(INSERT_MENTORSHIP,
+            new MapSqlParameterSource()
+                    .addValue("id", id)
+                    .addValue("mentorId", mentorId)
+                    .addValue("studentId", studentId)
+                    .addValue("createdAt", Timestamp.from(createdAt))) == 1;
+    if (inserted) {
+      cacheInvalidationBus.publish(Invalidation.tables("mentorships"));
+    }
+    return inserted;
+  }
+}
@@ -0,0 +1,127 @@
+package com.mentorship.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The invitation email outbox (V12). Messages are queued in the caller's transaction, and
+ * claimed in batches with {@code FOR UPDATE SKIP LOCKED}, so concurrent dispatchers on any
+ * number of instances each get rows nobody else is holding. A claim pushes the rows'
+ * {@code next_attempt_at} out by a lease before its transaction commits, which keeps them
+ * away from other dispatchers while they are being sent without holding any lock, and
+ * brings them back if the dispatcher dies mid-batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InvitationOutboxRepository {
+
+  private static final String INSERT = """
+          INSERT INTO invitation_outbox (id, invitation_id, recipient, subject, body, attempts, next_attempt_at, created_at)
+          VALUES (:id, :invitationId, :recipient, :subject, :body, 0, :now, :now)
+          """;
+
+  static final String FIND_DUE_FOR_CLAIM = """
+          SELECT id, recipient, subject, body, attempts
+            FROM invitation_outbox
+           WHERE failed_at IS NULL AND next_attempt_at <= :now
+           ORDER BY next_attempt_at
+           LIMIT :limit
+             FOR UPDATE SKIP LOCKED
+          """;
+
+  private static final String LEASE = """
+          UPDATE invitation_outbox
+             SET attempts = attempts + 1, next_attempt_at = :leaseUntil
+           WHERE id IN (:ids)
+          """;
+
+  private static final String DELETE = "DELETE FROM invitation_outbox WHERE id IN (:ids)";
+
+  private static final String RETRY = """
+          UPDATE invitation_outbox
+             SET next_attempt_at = :nextAttemptAt, last_error = :error
+           WHERE id = :id
+          """;
+
+  // The body carries the invitation token, which a parked row never needs again
+  private static final String GIVE_UP = """
+          UPDATE invitation_outbox
+             SET failed_at = :now, last_error = :error, body = ''
+           WHERE id = :id
+          """;
+
+  private static final int MAX_ERROR_LENGTH = 500;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /** A queued email; {@code attempts} counts the claim that returned it. */
+  public record Message(UUID id, String recipient, String subject, String body, int attempts) {}
+
+  /** A message to queue for an invitation. */
+  public record NewMessage(UUID invitationId, String recipient, String subject, String body) {}
+
+  /** Queues the messages, due at once. The invitations must already be written. */
+  public void enqueue(List<NewMessage> messages, Instant now) {
+    Timestamp timestamp = Timestamp.from(now);
+    jdbcTemplate.batchUpdate(INSERT, messages.stream()
+            .map(message -> new MapSqlParameterSource()
+                    .addValue("id", UUID.randomUUID())
+                    .addValue("invitationId", message.invitationId())
+                    .addValue("recipient", message.recipient())
+                    .addValue("subject", message.subject())
+                    .addValue("body", message.body())
+                    .addValue("now", timestamp))
+            .toArray(MapSqlParameterSource[]::new));
+  }
+
+  /**
+   * Up to {@code limit} due messages, oldest first, skipping rows another dispatcher has locked,
+   * and leases them until {@code leaseUntil}. Must run in a transaction, which should commit
+   * right after so the row locks are released before anything is sent.
+   */
+  public List<Message> claimDue(Instant now, Instant leaseUntil, int limit) {
+    List<Message> due = jdbcTemplate.query(FIND_DUE_FOR_CLAIM,
+            Map.of("now", Timestamp.from(now), "limit", limit),
+            (rs, rowNum) -> new Message(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("recipient"),
+                    rs.getString("subject"),
+                    rs.getString("body"),
+                    rs.getInt("attempts") + 1));
+    if (!due.isEmpty()) {
+      jdbcTemplate.update(LEASE, Map.of("ids", due.stream().map(Message::id).toList(),
+              "leaseUntil", Timestamp.from(leaseUntil)));
+    }
+    return due;
+  }
+
+  /** Removes sent messages. */
+  public void delete(Collection<UUID> ids) {
+    if (!ids.isEmpty()) {
+      jdbcTemplate.update(DELETE, Map.of("ids", ids));
+    }
+  }
+
+  /** Releases a message that failed to send, to be claimed again at {@code nextAttemptAt}. */
+  public void retryAt(UUID id, Instant nextAttemptAt, String error) {
+    jdbcTemplate.update(RETRY, Map.of("id", id, "nextAttemptAt", Timestamp.from(nextAttemptAt), "error", truncate(error)));
+  }
+
+  /** Parks a message that will not be retried, blanking its body. */
+  public void giveUp(UUID id, Instant now, String error) {
+    jdbcTemplate.update(GIVE_UP, Map.of("id", id, "now", Timestamp.from(now), "error", truncate(error)));
+  }
+
+  private static String truncate(String error) {
+    return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+  }
+}
@@ -1,26 +1,58 @@
 package com.mentorship.repository;
 
 import com.mentorship.domain.Invitation;
-import com.mentorship.domain.InvitationStatus;
+import com.mentorship.dto.InvitationResponse;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface InvitationRepository extends JpaRepository<Invitation, UUID> {
-  Optional<Invitation> findByToken(String token);
+  // Tokens are looked up by their hash (Tokens.hash), the only form in which they are stored
+  Optional<Invitation> findByTokenHash(byte[] tokenHash);
 
   @Lock(LockModeType.PESSIMISTIC_WRITE)
-  @Query("select i from Invitation i where i.token = :token")
-  Optional<Invitation> findAndLockByToken(@Param("token") String token);
+  @Query("select i from Invitation i where i.tokenHash = :tokenHash")
+  Optional<Invitation> findAndLockByTokenHash(@Param("tokenHash") byte[] tokenHash);
 
   List<Invitation> findByMentor_Id(UUID mentorId);
-  Optional<Invitation> findByMentor_IdAndStudentEmailIgnoreCaseAndStatus(UUID mentorId, String studentEmail, InvitationStatus status);
+
+  // lower(...) and the literal PENDING match the partial index uq_invitations_pending_email;
+  // a derived IgnoreCase query would compile to upper(...) and bypass it.
+  @Query("select count(i) > 0 from Invitation i where i.mentor.id = :mentorId "
+          + "and lower(i.studentEmail) = lower(:email) and i.status = com.mentorship.domain.InvitationStatus.PENDING")
+  boolean existsPendingByMentorIdAndEmail(@Param("mentorId") UUID mentorId, @Param("email") String email);
+
+  // Bulk variant of the above; callers pass normalized (lower-case) emails
+  @Query("select lower(i.studentEmail) from Invitation i where i.mentor.id = :mentorId "
+          + "and lower(i.studentEmail) in :emails and i.status = com.mentorship.domain.InvitationStatus.PENDING")
+  Set<String> findPendingStudentEmails(@Param("mentorId") UUID mentorId, @Param("emails") Collection<String> emails);
+
+  // Frees the pending slot (uq_invitations_pending_email) of invitations that have expired but not been swept yet
+  @Modifying(flushAutomatically = true)
+  @Query("update Invitation i set i.status = com.mentorship.domain.InvitationStatus.EXPIRED "
+          + "where i.mentor.id = :mentorId and lower(i.studentEmail) in :emails "
+          + "and i.status = com.mentorship.domain.InvitationStatus.PENDING and i.expiresAt <= :now")
+  int expireOverduePending(@Param("mentorId") UUID mentorId, @Param("emails") Collection<String> emails,
+                           @Param("now") Instant now);
+
+  // Read-side projections: i.mentor.id resolves to the FK column, so the mentor is never loaded.
+  @Query("select new com.mentorship.dto.InvitationResponse(i.id, i.mentor.id, i.studentEmail, i.status, i.createdAt, i.expiresAt) "
+          + "from Invitation i where i.mentor.id = :mentorId order by i.createdAt")
+  List<InvitationResponse> findResponsesByMentorId(@Param("mentorId") UUID mentorId);
+
+  @Query("select new com.mentorship.dto.InvitationResponse(i.id, i.mentor.id, i.studentEmail, i.status, i.createdAt, i.expiresAt) "
+          + "from Invitation i where i.tokenHash = :tokenHash")
+  Optional<InvitationResponse> findResponseByTokenHash(@Param("tokenHash") byte[] tokenHash);
 }
@@ -0,0 +1,115 @@
+package com.mentorship.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Chunked maintenance of the invitations table (V13). Each chunk selects at most
+ * {@code limit} ids, oldest expiry first, through the partial expiry indexes, locking them
+ * with {@code FOR UPDATE SKIP LOCKED}, then updates or deletes exactly those ids. A chunk
+ * never waits on a row an accept is holding, concurrent sweepers take disjoint rows, and the
+ * caller's transaction, with its locks and WAL, stays one chunk long.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InvitationSweepRepository {
+
+  static final String FIND_OVERDUE_PENDING = """
+          SELECT id
+            FROM invitations
+           WHERE status = 'PENDING' AND expires_at <= :now
+           ORDER BY expires_at
+           LIMIT :limit
+             FOR UPDATE SKIP LOCKED
+          """;
+
+  static final String FIND_PURGEABLE = """
+          SELECT id, mentor_id
+            FROM invitations
+           WHERE status <> 'PENDING' AND expires_at <= :cutoff
+           ORDER BY expires_at
+           LIMIT :limit
+             FOR UPDATE SKIP LOCKED
+          """;
+
+  static final String OLDEST_OVERDUE_PENDING = """
+          SELECT min(expires_at) FROM invitations WHERE status = 'PENDING' AND expires_at <= :now
+          """;
+
+  static final String OLDEST_PURGEABLE = """
+          SELECT min(expires_at) FROM invitations WHERE status <> 'PENDING' AND expires_at <= :cutoff
+          """;
+
+  private static final String MARK_EXPIRED = "UPDATE invitations SET status = 'EXPIRED' WHERE id IN (:ids)";
+
+  // Parked outbox messages would otherwise block the delete on schemas without the V12 cascade
+  private static final String DELETE_OUTBOX = "DELETE FROM invitation_outbox WHERE invitation_id IN (:ids)";
+
+  private static final String DELETE = "DELETE FROM invitations WHERE id IN (:ids)";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Marks up to {@code limit} pending invitations that expired by {@code now} as EXPIRED.
+   * @return how many were marked
+   */
+  public int expireOverdue(Instant now, int limit) {
+    List<UUID> ids = lockIds(FIND_OVERDUE_PENDING, "now", now, limit);
+    return ids.isEmpty() ? 0 : jdbcTemplate.update(MARK_EXPIRED, new MapSqlParameterSource("ids", ids));
+  }
+
+  /**
+   * Deletes up to {@code limit} invitations that are no longer pending and expired by {@code cutoff}.
+   * @return how many were deleted, and whose they were
+   */
+  public Purge purgeSettled(Instant cutoff, int limit) {
+    Map<UUID, UUID> mentorIdsById = new HashMap<>();
+    jdbcTemplate.query(FIND_PURGEABLE, new MapSqlParameterSource()
+            .addValue("cutoff", Timestamp.from(cutoff))
+            .addValue("limit", limit), rs -> {
+      mentorIdsById.put(rs.getObject("id", UUID.class), rs.getObject("mentor_id", UUID.class));
+    });
+    if (mentorIdsById.isEmpty()) {
+      return new Purge(0, Set.of());
+    }
+    MapSqlParameterSource parameters = new MapSqlParameterSource("ids", mentorIdsById.keySet());
+    jdbcTemplate.update(DELETE_OUTBOX, parameters);
+    return new Purge(jdbcTemplate.update(DELETE, parameters), Set.copyOf(mentorIdsById.values()));
+  }
+
+  public record Purge(int deleted, Set<UUID> mentorIds) {}
+
+  /** Expiry of the oldest pending invitation still waiting to be marked EXPIRED at {@code now}. */
+  public Optional<Instant> oldestOverduePending(Instant now) {
+    return oldest(OLDEST_OVERDUE_PENDING, "now", now);
+  }
+
+  /** Expiry of the oldest settled invitation still waiting to be deleted at {@code cutoff}. */
+  public Optional<Instant> oldestPurgeable(Instant cutoff) {
+    return oldest(OLDEST_PURGEABLE, "cutoff", cutoff);
+  }
+
+  private List<UUID> lockIds(String sql, String boundName, Instant bound, int limit) {
+    return jdbcTemplate.queryForList(sql, new MapSqlParameterSource()
+            .addValue(boundName, Timestamp.from(bound))
+            .addValue("limit", limit), UUID.class);
+  }
+
+  private Optional<Instant> oldest(String sql, String boundName, Instant bound) {
+    OffsetDateTime oldest = jdbcTemplate.queryForObject(sql,
+            new MapSqlParameterSource(boundName, Timestamp.from(bound)), OffsetDateTime.class);
+    return Optional.ofNullable(oldest).map(OffsetDateTime::toInstant);
+  }
+}
@@ -0,0 +1,60 @@
+package com.mentorship.repository;
+
+import com.mentorship.domain.MenteeDashboardItem;
+import com.mentorship.domain.StudentAssignmentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read model behind the mentee dashboard. The incremental updates are single-row UPDATEs,
+ * so concurrent writers serialize on the row lock instead of overwriting each other's counts.
+ */
+@Repository
+public interface MenteeDashboardRepository extends JpaRepository<MenteeDashboardItem, UUID> {
+
+  // Range scan on idx_mentee_dashboard_student_due; nulls last matches the index's ascending order
+  @Query("select d from MenteeDashboardItem d where d.studentId = :studentId "
+          + "order by d.dueDate asc nulls last, d.assignedAt asc")
+  List<MenteeDashboardItem> findByStudentId(@Param("studentId") UUID studentId);
+
+  List<MenteeDashboardItem> findByAssignmentId(UUID assignmentId);
+
+  @Modifying
+  @Query("""
+          update MenteeDashboardItem d
+          set d.latestSubmissionVersion = case
+                when d.latestSubmissionVersion is null or d.latestSubmissionVersion < :version then :version
+                else d.latestSubmissionVersion end,
+              d.latestSubmittedAt = :submittedAt,
+              d.status = :status,
+              d.updatedAt = :submittedAt
+          where d.studentAssignmentId = :studentAssignmentId
+          """)
+  int recordSubmission(@Param("studentAssignmentId") UUID studentAssignmentId,
+                       @Param("version") int version,
+                       @Param("submittedAt") Instant submittedAt,
+                       @Param("status") StudentAssignmentStatus status);
+
+  @Modifying
+  @Query("""
+          update MenteeDashboardItem d
+          set d.unreadFeedbackCount = d.unreadFeedbackCount + 1, d.updatedAt = :now
+          where d.studentAssignmentId = :studentAssignmentId
+          """)
+  int incrementUnreadFeedback(@Param("studentAssignmentId") UUID studentAssignmentId, @Param("now") Instant now);
+
+  @Modifying
+  @Query("""
+          update MenteeDashboardItem d
+          set d.unreadFeedbackCount = 0, d.updatedAt = :now
+          where d.studentAssignmentId = :studentAssignmentId
+          """)
+  int clearUnreadFeedback(@Param("studentAssignmentId") UUID studentAssignmentId, @Param("now") Instant now);
+}
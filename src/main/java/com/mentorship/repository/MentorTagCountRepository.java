@@ -0,0 +1,85 @@
+package com.mentorship.repository;
+
+import com.mentorship.dto.TagCount;
+import com.mentorship.util.LikePatterns;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * The per-mentor tag histogram. Each adjustment makes sure the row exists (ON CONFLICT DO
+ * NOTHING, which H2 accepts too) and then moves the count with a single-row UPDATE, so
+ * concurrent writers serialize on the row lock instead of losing increments. Rows are
+ * visited in tag order so two writers touching the same tags cannot deadlock. Rows at zero
+ * are kept and filtered out on read.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MentorTagCountRepository {
+
+  private static final String INSERT_IF_ABSENT = """
+          INSERT INTO mentor_tag_counts (mentor_id, tag, assignment_count)
+          VALUES (:mentorId, :tag, 0)
+          ON CONFLICT DO NOTHING
+          """;
+
+  private static final String ADJUST = """
+          UPDATE mentor_tag_counts
+             SET assignment_count = assignment_count + :delta
+           WHERE mentor_id = :mentorId AND tag = :tag
+          """;
+
+  private static final String FIND_BY_MENTOR = """
+          SELECT tag, assignment_count
+            FROM mentor_tag_counts
+           WHERE mentor_id = :mentorId AND assignment_count > 0
+           ORDER BY assignment_count DESC, tag
+          """;
+
+  private static final String FIND_BY_PREFIX = """
+          SELECT tag, assignment_count
+            FROM mentor_tag_counts
+           WHERE mentor_id = :mentorId AND tag LIKE :pattern ESCAPE '\\' AND assignment_count > 0
+           ORDER BY assignment_count DESC, tag
+           LIMIT :limit
+          """;
+
+  private static final RowMapper<TagCount> TAG_COUNT = (rs, rowNum) ->
+          new TagCount(rs.getString("tag"), rs.getLong("assignment_count"));
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /** @param deltas change in count per tag; zero deltas are skipped */
+  public void adjust(UUID mentorId, SortedMap<String, Integer> deltas) {
+    MapSqlParameterSource[] rows = deltas.entrySet().stream()
+            .filter(entry -> entry.getValue() != 0)
+            .map(entry -> new MapSqlParameterSource()
+                    .addValue("mentorId", mentorId)
+                    .addValue("tag", entry.getKey())
+                    .addValue("delta", entry.getValue()))
+            .toArray(MapSqlParameterSource[]::new);
+    if (rows.length == 0) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, rows);
+    jdbcTemplate.batchUpdate(ADJUST, rows);
+  }
+
+  /** Every tag the mentor uses, most used first. */
+  public List<TagCount> findByMentor(UUID mentorId) {
+    return jdbcTemplate.query(FIND_BY_MENTOR, Map.of("mentorId", mentorId), TAG_COUNT);
+  }
+
+  /** The mentor's most used tags starting with {@code prefix}. */
+  public List<TagCount> findByPrefix(UUID mentorId, String prefix, int limit) {
+    return jdbcTemplate.query(FIND_BY_PREFIX,
+            Map.of("mentorId", mentorId, "pattern", LikePatterns.startingWith(prefix), "limit", limit), TAG_COUNT);
+  }
+}
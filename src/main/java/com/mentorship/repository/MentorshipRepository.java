@@ -1,15 +1,45 @@
 package com.mentorship.repository;
 
 import com.mentorship.domain.Mentorship;
+import com.mentorship.dto.MentorshipResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface MentorshipRepository extends JpaRepository<Mentorship, UUID> {
+
+  String BY_STUDENT_QUERY_REGION = "mentorshipsByStudent";
+
   List<Mentorship> findByMentor_Id(UUID mentorId);
+
+  // Cached: the result is only the mentorship's id, loaded in turn from its entity region
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+          @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_STUDENT_QUERY_REGION)
+  })
   Optional<Mentorship> findByStudent_Id(UUID studentId);
+
+  // Read-side projections: m.mentor.id / m.student.id resolve to the FK columns, so no User proxy is touched.
+  @Query("select new com.mentorship.dto.MentorshipResponse(m.id, m.mentor.id, m.student.id, m.createdAt) "
+          + "from Mentorship m where m.mentor.id = :mentorId order by m.createdAt")
+  List<MentorshipResponse> findResponsesByMentorId(@Param("mentorId") UUID mentorId);
+
+  @Query("select new com.mentorship.dto.MentorshipResponse(m.id, m.mentor.id, m.student.id, m.createdAt) "
+          + "from Mentorship m where m.student.id = :studentId")
+  Optional<MentorshipResponse> findResponseByStudentId(@Param("studentId") UUID studentId);
+
+  // Which of these students the mentor actually mentors; one probe of uq_mentor_student per student
+  @Query("select m.student.id from Mentorship m where m.mentor.id = :mentorId and m.student.id in :studentIds")
+  Set<UUID> findMenteeIds(@Param("mentorId") UUID mentorId, @Param("studentIds") Collection<UUID> studentIds);
 }
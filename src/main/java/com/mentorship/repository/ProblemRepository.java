@@ -0,0 +1,42 @@
+package com.mentorship.repository;
+
+import com.mentorship.domain.Problem;
+import com.mentorship.domain.ProblemDifficulty;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+public interface ProblemRepository extends JpaRepository<Problem, UUID> {
+
+  // Full scan of every bank used to warm the in-memory search index; must be consumed inside a transaction.
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("""
+          select p.id as id, p.mentor.id as mentorId, p.title as title,
+                 p.description as description, p.difficulty as difficulty
+          from Problem p
+          where p.inBank = true
+          """)
+  Stream<BankDocument> streamBank();
+
+  interface BankDocument {
+    UUID getId();
+
+    UUID getMentorId();
+
+    String getTitle();
+
+    String getDescription();
+
+    ProblemDifficulty getDifficulty();
+  }
+}
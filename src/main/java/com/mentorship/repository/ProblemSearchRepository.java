@@ -0,0 +1,114 @@
+package com.mentorship.repository;
+
+import com.mentorship.domain.ProblemDifficulty;
+import com.mentorship.dto.ProblemSearchHit;
+import com.mentorship.dto.ProblemSuggestion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Problem bank search on PostgreSQL, over the generated {@code search_vector} column and its
+ * partial GIN index (V10). Every term must match. Search matches the stemmed title and
+ * description lexemes and ranks with {@code ts_rank}, titles weighing more; autocomplete
+ * matches the unstemmed title words, the last term as a prefix.
+ *
+ * <p>Terms come from {@link com.mentorship.util.SearchTerms}, so they hold only letters and
+ * digits and are safe to splice into a {@code to_tsquery} expression.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProblemSearchRepository {
+
+  static final String SEARCH = """
+          SELECT p.id, p.title, p.difficulty, ts_rank(p.search_vector, q) AS score
+            FROM problems p, to_tsquery('english', :query) q
+           WHERE p.mentor_id = :mentorId
+             AND p.in_bank
+             AND p.search_vector @@ q
+             AND p.difficulty = coalesce(:difficulty, p.difficulty)
+           ORDER BY score DESC, p.title, p.id
+           LIMIT :limit
+          """;
+
+  static final String COUNT_BY_DIFFICULTY = """
+          SELECT p.difficulty, count(*) AS matches
+            FROM problems p
+           WHERE p.mentor_id = :mentorId
+             AND p.in_bank
+             AND p.search_vector @@ to_tsquery('english', :query)
+           GROUP BY p.difficulty
+          """;
+
+  static final String AUTOCOMPLETE = """
+          SELECT p.id, p.title, p.difficulty
+            FROM problems p
+           WHERE p.mentor_id = :mentorId
+             AND p.in_bank
+             AND p.search_vector @@ to_tsquery('simple', :query)
+           ORDER BY length(p.title), p.title, p.id
+           LIMIT :limit
+          """;
+
+  private static final ProblemDifficulty.DatabaseConverter DIFFICULTY = new ProblemDifficulty.DatabaseConverter();
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /** The best {@code limit} matches of every term in title or description, optionally of one difficulty. */
+  public List<ProblemSearchHit> search(UUID mentorId, List<String> terms, ProblemDifficulty difficulty, int limit) {
+    MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("mentorId", mentorId)
+            .addValue("query", tsquery(terms, ":AB", ":AB"))
+            .addValue("difficulty", DIFFICULTY.convertToDatabaseColumn(difficulty), Types.VARCHAR)
+            .addValue("limit", limit);
+    return jdbcTemplate.query(SEARCH, parameters, (rs, rowNum) -> new ProblemSearchHit(
+            rs.getObject("id", UUID.class),
+            rs.getString("title"),
+            DIFFICULTY.convertToEntityAttribute(rs.getString("difficulty")),
+            rs.getDouble("score")));
+  }
+
+  /** How many problems match every term, per difficulty. */
+  public Map<ProblemDifficulty, Long> countByDifficulty(UUID mentorId, List<String> terms) {
+    MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("mentorId", mentorId)
+            .addValue("query", tsquery(terms, ":AB", ":AB"));
+    return jdbcTemplate.query(COUNT_BY_DIFFICULTY, parameters, (rs, rowNum) -> Map.entry(
+                    DIFFICULTY.convertToEntityAttribute(rs.getString("difficulty")), rs.getLong("matches")))
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+                    Long::sum, () -> new EnumMap<>(ProblemDifficulty.class)));
+  }
+
+  /** Titles containing every term as a word, the last one as a word prefix; shortest titles first. */
+  public List<ProblemSuggestion> autocomplete(UUID mentorId, List<String> terms, int limit) {
+    MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("mentorId", mentorId)
+            .addValue("query", tsquery(terms, ":D", ":*D"))
+            .addValue("limit", limit);
+    return jdbcTemplate.query(AUTOCOMPLETE, parameters, (rs, rowNum) -> new ProblemSuggestion(
+            rs.getObject("id", UUID.class),
+            rs.getString("title"),
+            DIFFICULTY.convertToEntityAttribute(rs.getString("difficulty"))));
+  }
+
+  // "graph & search" with each term restricted to the given weights; the last may also be a prefix
+  private static String tsquery(List<String> terms, String termSuffix, String lastTermSuffix) {
+    StringBuilder query = new StringBuilder();
+    for (int i = 0; i < terms.size(); i++) {
+      if (i > 0) {
+        query.append(" & ");
+      }
+      query.append(terms.get(i)).append(i == terms.size() - 1 ? lastTermSuffix : termSuffix);
+    }
+    return query.toString();
+  }
+}
@@ -0,0 +1,54 @@
+package com.mentorship.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fan-out insert of student assignments as one JDBC batch. Rows that would violate
+ * uq_student_assignment are skipped by ON CONFLICT instead of failing the batch, so
+ * re-assigning to a student who already has the assignment is harmless. With
+ * {@code reWriteBatchedInserts=true} on the PostgreSQL URL the batch is sent as a
+ * single multi-row INSERT.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StudentAssignmentBatchRepository {
+
+  private static final String INSERT_IF_ABSENT = """
+          INSERT INTO student_assignments (id, assignment_id, student_id, mentor_id, status, assigned_at, due_date)
+          VALUES (:id, :assignmentId, :studentId, :mentorId, 'PENDING', :assignedAt, :dueDate)
+          ON CONFLICT DO NOTHING
+          """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * @param idsByStudent the ID to give each student's new row; a student whose row already
+   *                     exists keeps the old one, which is how callers tell the two apart
+   */
+  public void insertIfAbsent(UUID assignmentId, UUID mentorId, Map<UUID, UUID> idsByStudent,
+                             Instant assignedAt, Instant dueDate) {
+    if (idsByStudent.isEmpty()) {
+      return;
+    }
+    Timestamp assigned = Timestamp.from(assignedAt);
+    Timestamp due = dueDate == null ? null : Timestamp.from(dueDate);
+    MapSqlParameterSource[] rows = idsByStudent.entrySet().stream()
+            .map(entry -> new MapSqlParameterSource()
+                    .addValue("id", entry.getValue())
+                    .addValue("assignmentId", assignmentId)
+                    .addValue("studentId", entry.getKey())
+                    .addValue("mentorId", mentorId)
+                    .addValue("assignedAt", assigned)
+                    .addValue("dueDate", due))
+            .toArray(MapSqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, rows);
+  }
+}
@@ -0,0 +1,16 @@
+package com.mentorship.repository;
+
+import com.mentorship.domain.StudentAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StudentAssignmentRepository extends JpaRepository<StudentAssignment, UUID> {
+
+  // Served by uq_student_assignment (assignment_id, student_id)
+  List<StudentAssignment> findByAssignment_IdAndStudent_IdIn(UUID assignmentId, Collection<UUID> studentIds);
+}
@@ -0,0 +1,72 @@
+package com.mentorship.repository;
+
+import com.mentorship.domain.SubmissionBlob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Content-addressed blobs behind submission code. A blob's key is the hash of its payload,
+ * so writing one that already exists is a no-op, and a version's whole delta chain is read
+ * in a single recursive query instead of one round trip per link.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SubmissionBlobRepository {
+
+  private static final String INSERT_IF_ABSENT = """
+          INSERT INTO submission_blobs (hash, encoding, raw_length, data)
+          VALUES (:hash, :encoding, :rawLength, :data)
+          ON CONFLICT DO NOTHING
+          """;
+
+  // Walks base_submission_id from the version back to its snapshot; bounded by the chain length
+  private static final String FIND_CHAIN = """
+          WITH RECURSIVE chain (id, base_submission_id, delta_depth, code_content, blob_hash) AS (
+              SELECT id, base_submission_id, delta_depth, code_content, blob_hash
+                FROM submissions
+               WHERE id = :submissionId
+              UNION ALL
+              SELECT s.id, s.base_submission_id, s.delta_depth, s.code_content, s.blob_hash
+                FROM submissions s
+                JOIN chain c ON s.id = c.base_submission_id
+          )
+          SELECT c.delta_depth, c.code_content, b.encoding, b.raw_length, b.data
+            FROM chain c
+            LEFT JOIN submission_blobs b ON b.hash = c.blob_hash
+           ORDER BY c.delta_depth
+          """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * One link of a delta chain. Rows written before blob storage carry their code inline
+   * and have no blob.
+   */
+  public record ChainLink(int deltaDepth, String inlineCode, SubmissionBlob.Encoding encoding, int rawLength, byte[] data) {}
+
+  public void insertIfAbsent(SubmissionBlob blob) {
+    jdbcTemplate.update(INSERT_IF_ABSENT, new MapSqlParameterSource()
+            .addValue("hash", blob.getHash())
+            .addValue("encoding", blob.getEncoding().name())
+            .addValue("rawLength", blob.getRawLength())
+            .addValue("data", blob.getData()));
+  }
+
+  /** The version's chain from its snapshot (depth 0) up to the version itself; empty if it does not exist. */
+  public List<ChainLink> findChain(UUID submissionId) {
+    return jdbcTemplate.query(FIND_CHAIN, new MapSqlParameterSource("submissionId", submissionId), (rs, rowNum) -> {
+      String encoding = rs.getString("encoding");
+      return new ChainLink(
+              rs.getInt("delta_depth"),
+              rs.getString("code_content"),
+              encoding == null ? null : SubmissionBlob.Encoding.valueOf(encoding),
+              rs.getInt("raw_length"),
+              rs.getBytes("data"));
+    });
+  }
+}
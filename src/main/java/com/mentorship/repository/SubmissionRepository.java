@@ -0,0 +1,37 @@
+package com.mentorship.repository;
+
+import com.mentorship.domain.Submission;
+import com.mentorship.dto.SubmissionVersionResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SubmissionRepository extends JpaRepository<Submission, UUID> {
+
+  // Served by uq_submission_version (student_assignment_id, problem_id, version), read backwards
+  Optional<Submission> findFirstByStudentAssignment_IdAndProblem_IdOrderByVersionDesc(UUID studentAssignmentId, UUID problemId);
+
+  // Index-only scan on uq_submission_version, which carries every returned column; counts use idx_feedback_submission_line
+  @Query("""
+          select new com.mentorship.dto.SubmissionVersionResponse(s.id, s.problem.id, s.version, s.createdAt, s.codeSize,
+                 (select count(f) from Feedback f where f.submission.id = s.id))
+          from Submission s
+          where s.studentAssignment.id = :studentAssignmentId
+          order by s.problem.id, s.version""")
+  List<SubmissionVersionResponse> findHistory(@Param("studentAssignmentId") UUID studentAssignmentId);
+
+  @Query("""
+          select new com.mentorship.dto.SubmissionVersionResponse(s.id, s.problem.id, s.version, s.createdAt, s.codeSize,
+                 (select count(f) from Feedback f where f.submission.id = s.id))
+          from Submission s
+          where s.studentAssignment.id = :studentAssignmentId and s.problem.id = :problemId
+          order by s.version""")
+  List<SubmissionVersionResponse> findHistory(@Param("studentAssignmentId") UUID studentAssignmentId,
+                                              @Param("problemId") UUID problemId);
+}
@@ -1,25 +1,80 @@
 package com.mentorship.repository;
 
 import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.UserResponse;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
 
-  boolean existsByEmailIgnoreCase(@NotBlank(message = "Email cannot be blank") @Email(message = "Must be a valid email format") String email);
+  // lower(...) rather than the derived upper(...) so uq_users_email_lower can serve it
+  @Query("select count(u) > 0 from User u where lower(u.email) = lower(:email)")
+  boolean existsByEmailIgnoreCase(@Param("email") @NotBlank(message = "Email cannot be blank") @Email(message = "Must be a valid email format") String email);
 
   @Lock(LockModeType.PESSIMISTIC_WRITE)
   @Query("select u from User u where u.id = :id")
   Optional<User> findAndLockById(@Param("id") UUID id);
 
+  // Keyset page over (created_at, id); projects straight into the DTO so no User entity is hydrated.
+  @Query("""
+          select new com.mentorship.dto.UserResponse(u.id, u.name, u.email, u.role, u.createdAt)
+          from User u
+          where u.role in :roles
+            and u.email like :emailPattern escape '\\'
+            and (u.createdAt, u.id) > (:afterCreatedAt, :afterId)
+          order by u.createdAt, u.id
+          """)
+  List<UserResponse> findPageAfter(@Param("roles") Collection<UserRole> roles,
+                                   @Param("emailPattern") String emailPattern,
+                                   @Param("afterCreatedAt") Instant afterCreatedAt,
+                                   @Param("afterId") UUID afterId,
+                                   Pageable pageable);
+
+  // Must be consumed inside a transaction; the fetch size keeps the JDBC cursor from buffering the whole table.
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("""
+          select new com.mentorship.dto.UserResponse(u.id, u.name, u.email, u.role, u.createdAt)
+          from User u
+          where u.role in :roles
+            and u.email like :emailPattern escape '\\'
+          order by u.createdAt, u.id
+          """)
+  Stream<UserResponse> streamAll(@Param("roles") Collection<UserRole> roles,
+                                 @Param("emailPattern") String emailPattern);
+
+  // Unordered full scan used to warm the in-memory existence filter; same transaction rule as streamAll.
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select u.id as id, u.email as email from User u")
+  Stream<UserKey> streamKeys();
+
+  interface UserKey {
+    UUID getId();
+
+    String getEmail();
+  }
 }
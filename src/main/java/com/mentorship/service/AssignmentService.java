@@ -0,0 +1,240 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.Assignment;
+import com.mentorship.domain.Problem;
+import com.mentorship.domain.StudentAssignment;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AssignStudentResult;
+import com.mentorship.dto.AssignStudentsRequest;
+import com.mentorship.dto.AssignStudentsResponse;
+import com.mentorship.dto.AssignmentCreateRequest;
+import com.mentorship.dto.AssignmentResponse;
+import com.mentorship.dto.AssignmentSummaryResponse;
+import com.mentorship.dto.AssignmentUpdateRequest;
+import com.mentorship.dto.StudentAssignmentResponse;
+import com.mentorship.dto.TagCount;
+import com.mentorship.exception.ConflictException;
+import com.mentorship.exception.ForbiddenException;
+import com.mentorship.exception.ResourceNotFoundException;
+import com.mentorship.repository.AssignmentRepository;
+import com.mentorship.repository.MentorTagCountRepository;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.repository.ProblemRepository;
+import com.mentorship.repository.StudentAssignmentBatchRepository;
+import com.mentorship.repository.StudentAssignmentRepository;
+import com.mentorship.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Timed("mentorship.service")
+public class AssignmentService {
+
+  private final UserRepository userRepository;
+  private final MentorshipRepository mentorshipRepository;
+  private final ProblemRepository problemRepository;
+  private final AssignmentRepository assignmentRepository;
+  private final StudentAssignmentRepository studentAssignmentRepository;
+  private final StudentAssignmentBatchRepository studentAssignmentBatchRepository;
+  private final MentorTagCountRepository tagCountRepository;
+  private final MenteeDashboardProjector dashboardProjector;
+
+  @Transactional
+  public AssignmentResponse createAssignment(AssignmentCreateRequest request) {
+    User mentor = userRepository.findById(request.mentorId())
+            .orElseThrow(() -> new ResourceNotFoundException("Mentor not found"));
+    if (mentor.getRole() != UserRole.MENTOR) {
+      throw new IllegalArgumentException("Only mentors can create assignments");
+    }
+
+    Assignment assignment = Assignment.builder()
+            .mentor(mentor)
+            .title(request.title().trim())
+            .description(request.description())
+            .tags(normalizeTags(request.tags()))
+            .build();
+    if (request.links() != null) {
+      request.links().forEach(link -> assignment.addLink(link.url().trim(), link.note()));
+    }
+    if (request.problemIds() != null) {
+      Set<UUID> problemIds = new LinkedHashSet<>(request.problemIds());
+      List<Problem> problems = problemRepository.findAllById(problemIds);
+      if (problems.size() != problemIds.size()) {
+        throw new ResourceNotFoundException("Problem not found");
+      }
+      for (Problem problem : problems) {
+        if (!problem.getMentor().getId().equals(mentor.getId())) {
+          throw new ForbiddenException("Problem " + problem.getId() + " belongs to another mentor");
+        }
+        assignment.addProblem(problem);
+      }
+    }
+
+    // The histogram goes straight to JDBC, so the mentor row it references must be written first
+    Assignment saved = assignmentRepository.saveAndFlush(assignment);
+    tagCountRepository.adjust(mentor.getId(), tagDeltas(List.of(), saved.getTags()));
+    return AssignmentResponse.from(saved);
+  }
+
+  /** Replaces title, description and tags; the tag histogram moves by the difference. */
+  @Transactional
+  public AssignmentResponse updateAssignment(UUID assignmentId, AssignmentUpdateRequest request) {
+    Assignment assignment = lockOwnAssignment(assignmentId, request.mentorId());
+    if (assignment.getArchivedAt() != null) {
+      throw new ConflictException("Archived assignments cannot be edited");
+    }
+
+    List<String> previousTags = List.copyOf(assignment.getTags());
+    assignment.setTitle(request.title().trim());
+    assignment.setDescription(request.description());
+    assignment.setTags(normalizeTags(request.tags()));
+    tagCountRepository.adjust(request.mentorId(), tagDeltas(previousTags, assignment.getTags()));
+    dashboardProjector.onAssignmentChanged(assignment);
+    return AssignmentResponse.from(assignment);
+  }
+
+  /**
+   * Takes the template out of listings and tag counts. Students who already have it keep it.
+   * Archiving an archived assignment changes nothing.
+   */
+  @Transactional
+  public AssignmentResponse archiveAssignment(UUID assignmentId, UUID mentorId) {
+    Assignment assignment = lockOwnAssignment(assignmentId, mentorId);
+    if (assignment.getArchivedAt() == null) {
+      assignment.setArchivedAt(Instant.now());
+      tagCountRepository.adjust(mentorId, tagDeltas(assignment.getTags(), List.of()));
+    }
+    return AssignmentResponse.from(assignment);
+  }
+
+  /**
+   * The mentor's live assignments, newest first.
+   * @param tags when not empty, keep only assignments carrying any (or, with {@link TagMatch#ALL}, all) of them
+   */
+  @Transactional(readOnly = true)
+  public List<AssignmentSummaryResponse> listAssignments(UUID mentorId, List<String> tags, TagMatch match) {
+    List<String> filter = normalizeTags(tags);
+    if (filter.isEmpty()) {
+      return assignmentRepository.findLive(mentorId);
+    }
+    String[] tagArray = filter.toArray(String[]::new);
+    return match == TagMatch.ALL
+            ? assignmentRepository.findLiveTaggedWithAll(mentorId, tagArray)
+            : assignmentRepository.findLiveTaggedWithAny(mentorId, tagArray);
+  }
+
+  /** Every tag on the mentor's live assignments with its use count, read from the precomputed histogram. */
+  @Transactional(readOnly = true)
+  public List<TagCount> getTagCounts(UUID mentorId) {
+    return tagCountRepository.findByMentor(mentorId);
+  }
+
+  /** The mentor's most used tags starting with the prefix. */
+  @Transactional(readOnly = true)
+  public List<TagCount> autocompleteTags(UUID mentorId, String prefix, int limit) {
+    if (limit < 1 || limit > 50) {
+      throw new IllegalArgumentException("limit must be between 1 and 50");
+    }
+    return tagCountRepository.findByPrefix(mentorId, prefix.trim().toLowerCase(Locale.ROOT), limit);
+  }
+
+  /**
+   * Gives the assignment to many mentees in a bounded number of round trips, however many
+   * students there are: one query checks every mentorship, one JDBC batch inserts every
+   * row, and one query reads the rows back to tell new assignments from existing ones.
+   */
+  @Transactional
+  public AssignStudentsResponse assign(UUID assignmentId, AssignStudentsRequest request) {
+    Assignment assignment = assignmentRepository.findById(assignmentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Assignment not found"));
+    if (assignment.getArchivedAt() != null) {
+      throw new ConflictException("Archived assignments cannot be assigned");
+    }
+    UUID mentorId = assignment.getMentor().getId();
+
+    Set<UUID> studentIds = new LinkedHashSet<>(request.studentIds());
+    Set<UUID> menteeIds = mentorshipRepository.findMenteeIds(mentorId, studentIds);
+
+    Map<UUID, UUID> proposedIds = new HashMap<>();
+    menteeIds.forEach(studentId -> proposedIds.put(studentId, UUID.randomUUID()));
+    Instant assignedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    // The batch goes straight to JDBC, so anything pending in this transaction must be written first
+    assignmentRepository.flush();
+    studentAssignmentBatchRepository.insertIfAbsent(assignmentId, mentorId, proposedIds, assignedAt, request.dueDate());
+
+    Map<UUID, StudentAssignment> byStudent = new HashMap<>();
+    List<StudentAssignment> created = new ArrayList<>();
+    if (!menteeIds.isEmpty()) {
+      for (StudentAssignment row : studentAssignmentRepository.findByAssignment_IdAndStudent_IdIn(assignmentId, menteeIds)) {
+        UUID studentId = row.getStudent().getId();
+        byStudent.put(studentId, row);
+        if (row.getId().equals(proposedIds.get(studentId))) {
+          created.add(row);
+        }
+      }
+    }
+    dashboardProjector.onAssigned(assignment, created);
+
+    List<AssignStudentResult> results = new ArrayList<>(studentIds.size());
+    for (UUID studentId : studentIds) {
+      StudentAssignment row = byStudent.get(studentId);
+      if (row == null) {
+        results.add(AssignStudentResult.notMentored(studentId));
+      } else if (row.getId().equals(proposedIds.get(studentId))) {
+        results.add(AssignStudentResult.assigned(studentId, StudentAssignmentResponse.from(row)));
+      } else {
+        results.add(AssignStudentResult.alreadyAssigned(studentId, StudentAssignmentResponse.from(row)));
+      }
+    }
+    return AssignStudentsResponse.of(results);
+  }
+
+  private Assignment lockOwnAssignment(UUID assignmentId, UUID mentorId) {
+    Assignment assignment = assignmentRepository.findAndLockById(assignmentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Assignment not found"));
+    if (!assignment.getMentor().getId().equals(mentorId)) {
+      throw new ForbiddenException("Only the author can change this assignment");
+    }
+    return assignment;
+  }
+
+  // Trimmed, lower-case and distinct, keeping the order given
+  private static List<String> normalizeTags(List<String> tags) {
+    if (tags == null) {
+      return new ArrayList<>();
+    }
+    Set<String> normalized = new LinkedHashSet<>();
+    for (String tag : tags) {
+      normalized.add(tag.trim().toLowerCase(Locale.ROOT));
+    }
+    return new ArrayList<>(normalized);
+  }
+
+  private static SortedMap<String, Integer> tagDeltas(List<String> before, List<String> after) {
+    SortedMap<String, Integer> deltas = new TreeMap<>();
+    before.forEach(tag -> deltas.merge(tag, -1, Integer::sum));
+    after.forEach(tag -> deltas.merge(tag, 1, Integer::sum));
+    return deltas;
+  }
+
+  public enum TagMatch {
+    ANY, ALL
+  }
+}
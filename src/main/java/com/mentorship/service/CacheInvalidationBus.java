@@ -0,0 +1,56 @@
+package com.mentorship.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries changes that caches kept in each instance must hear about, whichever instance made
+ * them. An invalidation published inside a transaction is delivered only once it commits:
+ * right after the commit on this instance, and as soon as the message arrives on the others.
+ * Delivery to other instances is best effort, so caches fed by it also expire on their own.
+ */
+public interface CacheInvalidationBus {
+
+  /** Delivers the invalidation to every subscriber on every instance, this one included. */
+  void publish(Invalidation invalidation);
+
+  /** Delivers the invalidation to the other instances only, for a change this one has already applied. */
+  void publishElsewhere(Invalidation invalidation);
+
+  /** Registers a subscriber; it is called on whatever thread delivers, and should be quick. */
+  void subscribe(Consumer<Invalidation> subscriber);
+
+  /**
+   * @param kind What changed
+   * @param name The entity name, the resource name, or the comma-separated tables; null for ALL
+   * @param key The entity id or resource id, if any
+   */
+  record Invalidation(Kind kind, String name, String key) {
+
+    public enum Kind {
+      /** One cached entity changed or went away. */
+      ENTITY,
+      /** Rows of these tables changed, so cached query results over them are stale. */
+      TABLES,
+      /** A {@link ResourceVersions} resource changed. */
+      VERSION,
+      /** Anything may have changed, e.g. while an instance was not listening. */
+      ALL
+    }
+
+    public static Invalidation entity(String entityName, Object id) {
+      return new Invalidation(Kind.ENTITY, entityName, id.toString());
+    }
+
+    public static Invalidation tables(String... tables) {
+      return new Invalidation(Kind.TABLES, String.join(",", tables), null);
+    }
+
+    public static Invalidation version(String resource, Object id) {
+      return new Invalidation(Kind.VERSION, resource, id == null ? null : id.toString());
+    }
+
+    public static Invalidation all() {
+      return new Invalidation(Kind.ALL, null, null);
+    }
+  }
+}
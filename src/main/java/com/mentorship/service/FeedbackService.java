@@ -0,0 +1,122 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.Feedback;
+import com.mentorship.domain.StudentAssignment;
+import com.mentorship.domain.Submission;
+import com.mentorship.dto.FeedbackCreateRequest;
+import com.mentorship.dto.FeedbackLineCount;
+import com.mentorship.dto.FeedbackResponse;
+import com.mentorship.dto.FeedbackSummaryResponse;
+import com.mentorship.dto.SubmissionFeedbackResponse;
+import com.mentorship.exception.ForbiddenException;
+import com.mentorship.exception.ResourceNotFoundException;
+import com.mentorship.repository.FeedbackRepository;
+import com.mentorship.repository.StudentAssignmentRepository;
+import com.mentorship.repository.SubmissionRepository;
+import com.mentorship.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Timed("mentorship.service")
+public class FeedbackService {
+
+  private final UserRepository userRepository;
+  private final SubmissionRepository submissionRepository;
+  private final StudentAssignmentRepository studentAssignmentRepository;
+  private final FeedbackRepository feedbackRepository;
+  private final MenteeDashboardProjector dashboardProjector;
+
+  @Transactional
+  public FeedbackResponse addFeedback(UUID submissionId, FeedbackCreateRequest request) {
+    Submission submission = submissionRepository.findById(submissionId)
+            .orElseThrow(() -> new ResourceNotFoundException("Submission not found"));
+    StudentAssignment studentAssignment = submission.getStudentAssignment();
+
+    if (!studentAssignment.getMentor().getId().equals(request.mentorId())) {
+      throw new ForbiddenException("Only the student's mentor can leave feedback");
+    }
+
+    Feedback feedback = feedbackRepository.save(Feedback.builder()
+            .submission(submission)
+            .mentor(userRepository.getReferenceById(request.mentorId()))
+            .commentText(request.commentText())
+            .lineNumber(request.lineNumber())
+            .build());
+
+    dashboardProjector.onFeedback(feedback, studentAssignment.getId());
+    return FeedbackResponse.from(feedback);
+  }
+
+  /**
+   * A submission's feedback grouped by line in one pass: the query already returns it in
+   * line order, so each group ends where the line number changes.
+   */
+  @Transactional(readOnly = true)
+  public SubmissionFeedbackResponse getFeedback(UUID submissionId) {
+    List<FeedbackResponse> comments = feedbackRepository.findInLineOrder(submissionId);
+    requireSubmission(submissionId, comments);
+
+    List<SubmissionFeedbackResponse.LineFeedback> lines = new ArrayList<>();
+    int start = 0;
+    while (start < comments.size() && comments.get(start).lineNumber() != null) {
+      int lineNumber = comments.get(start).lineNumber();
+      int end = start + 1;
+      while (end < comments.size() && Objects.equals(comments.get(end).lineNumber(), lineNumber)) {
+        end++;
+      }
+      lines.add(new SubmissionFeedbackResponse.LineFeedback(lineNumber, comments.subList(start, end)));
+      start = end;
+    }
+    return new SubmissionFeedbackResponse(submissionId, lines, comments.subList(start, comments.size()));
+  }
+
+  /** Per-line comment counts for gutter markers; found through the line index, without selecting the comment texts. */
+  @Transactional(readOnly = true)
+  public FeedbackSummaryResponse getFeedbackSummary(UUID submissionId) {
+    List<FeedbackLineCount> counts = feedbackRepository.countByLine(submissionId);
+    requireSubmission(submissionId, counts);
+
+    long total = 0;
+    long overall = 0;
+    List<FeedbackLineCount> lines = new ArrayList<>(counts.size());
+    for (FeedbackLineCount count : counts) {
+      total += count.count();
+      if (count.lineNumber() == null) {
+        overall = count.count();
+      } else {
+        lines.add(count);
+      }
+    }
+    return new FeedbackSummaryResponse(submissionId, total, overall, lines);
+  }
+
+  @Transactional
+  public void markFeedbackRead(UUID studentId, UUID studentAssignmentId) {
+    StudentAssignment studentAssignment = studentAssignmentRepository.findById(studentAssignmentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Student assignment not found"));
+    if (!studentAssignment.getStudent().getId().equals(studentId)) {
+      throw new ForbiddenException("Only the assigned student can read this feedback");
+    }
+
+    // Dashboard row first: see MenteeDashboardProjector.onFeedbackRead
+    dashboardProjector.onFeedbackRead(studentAssignmentId);
+    feedbackRepository.markRead(studentAssignmentId, Instant.now());
+  }
+
+  // No feedback is the common case, so existence is only checked when the result is empty
+  private void requireSubmission(UUID submissionId, List<?> result) {
+    if (result.isEmpty() && !submissionRepository.existsById(submissionId)) {
+      throw new ResourceNotFoundException("Submission not found");
+    }
+  }
+}
@@ -0,0 +1,271 @@
+package com.mentorship.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mentorship.config.IdempotencyProperties;
+import com.mentorship.exception.ConflictException;
+import com.mentorship.repository.IdempotencyKeyRepository;
+import com.mentorship.repository.IdempotencyKeyRepository.Entry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key}, so clients can retry a POST that
+ * timed out. The first successful response is kept, as JSON, and replayed to later requests
+ * with the same key without running the request again or touching its tables. A duplicate
+ * that arrives while the first is still running waits for it and shares its outcome, success
+ * or failure. Failures are not kept: a retry after one runs the request afresh.
+ *
+ * <p>Keys are scoped per endpoint and bound to the request they came with; reusing one for a
+ * different request is refused. Responses live in a bounded in-memory cache, and with
+ * {@code store=database} also in {@link IdempotencyKeyRepository}, which lets duplicates that
+ * reach other instances be answered too. What goes to the database can be stripped of secrets,
+ * such as invitation tokens, that must not be stored; a replay from there goes without them.
+ */
+@Service
+public class IdempotencyService {
+
+  private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+  public static final String HEADER = "Idempotency-Key";
+  /** Response header telling a replayed response from a fresh one. */
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  static final String CACHE_NAME = "idempotencyKeys";
+  private static final int MAX_KEY_LENGTH = 255;
+
+  private final IdempotencyKeyRepository keyRepository;
+  private final IdempotencyProperties properties;
+  private final ObjectMapper objectMapper;
+  private final boolean database;
+  private final Cache<String, Completed> completed;
+  private final ConcurrentMap<String, CompletableFuture<Completed>> inFlight = new ConcurrentHashMap<>();
+  private final Counter executed;
+  private final Counter replayed;
+  private final Counter coalesced;
+
+  public IdempotencyService(IdempotencyKeyRepository keyRepository,
+                            IdempotencyProperties properties,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+    this.keyRepository = keyRepository;
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.database = properties.store() == IdempotencyProperties.Store.DATABASE;
+    this.completed = Caffeine.newBuilder()
+            .maximumWeight(properties.maximumMemory().toBytes())
+            .weigher((String key, Completed response) -> key.length() + response.json().length())
+            .expireAfterWrite(properties.ttl())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, completed, CACHE_NAME);
+    this.executed = outcomeCounter(meterRegistry, "executed");
+    this.replayed = outcomeCounter(meterRegistry, "replayed");
+    this.coalesced = outcomeCounter(meterRegistry, "coalesced");
+  }
+
+  /** A response, and whether it was replayed rather than produced by this call. */
+  public record Result<T>(T body, boolean replayed) {}
+
+  // The response as recorded, with the fingerprint of the request that produced it
+  private record Completed(String fingerprint, String json) {}
+
+  /**
+   * Runs {@code action} unless a request with the same scope and key already ran, or is running.
+   * Without a key the action simply runs.
+   * @param scope The endpoint, so one key can be used once per endpoint.
+   * @param request The request body, which the key is bound to.
+   * @throws IllegalArgumentException when the key is malformed or was used for a different request
+   * @throws ConflictException when another instance is still running a request with this key
+   */
+  public <T> Result<T> execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action) {
+    return execute(scope, key, request, responseType, UnaryOperator.identity(), action);
+  }
+
+  /**
+   * Like {@link #execute(String, String, Object, Class, Supplier)}, recording in the database only
+   * what {@code storable} leaves of the response. Replays on this instance get the whole response.
+   */
+  public <T> Result<T> execute(String scope, String key, Object request, Class<T> responseType,
+                               UnaryOperator<T> storable, Supplier<T> action) {
+    if (key == null) {
+      return new Result<>(action.get(), false);
+    }
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+    }
+    String id = scope + ' ' + key;
+    String fingerprint = fingerprint(scope, request);
+
+    Completed done = completed.getIfPresent(id);
+    if (done != null) {
+      replayed.increment();
+      return replay(done, fingerprint, responseType);
+    }
+
+    CompletableFuture<Completed> mine = new CompletableFuture<>();
+    CompletableFuture<Completed> running = inFlight.putIfAbsent(id, mine);
+    if (running != null) {
+      coalesced.increment();
+      return replay(await(running), fingerprint, responseType);
+    }
+    try {
+      // Finished between the cache check and registering as in flight
+      done = completed.getIfPresent(id);
+      if (done == null && database) {
+        done = claim(scope, key, fingerprint).orElse(null);
+      }
+      if (done != null) {
+        mine.complete(done);
+        replayed.increment();
+        return replay(done, fingerprint, responseType);
+      }
+      return new Result<>(run(scope, key, id, fingerprint, storable, action, mine), false);
+    } catch (RuntimeException ex) {
+      // Duplicates waiting on this request fail with it; a no-op once it has completed
+      mine.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(id, mine);
+    }
+  }
+
+  private <T> T run(String scope, String key, String id, String fingerprint, UnaryOperator<T> storable,
+                    Supplier<T> action, CompletableFuture<Completed> mine) {
+    T response;
+    try {
+      response = action.get();
+    } catch (RuntimeException ex) {
+      if (database) {
+        release(scope, key);
+      }
+      throw ex;
+    }
+    executed.increment();
+    Completed done = new Completed(fingerprint, toJson(response));
+    // Cached before the in-flight entry is removed, so a duplicate always finds one of them
+    completed.put(id, done);
+    mine.complete(done);
+    if (database) {
+      try {
+        keyRepository.complete(scope, key, toJson(storable.apply(response)), Instant.now().plus(properties.ttl()));
+      } catch (RuntimeException ex) {
+        // The request itself succeeded; other instances see the claim until its lease runs out
+        log.warn("Could not record the response for idempotency key {}", key, ex);
+      }
+    }
+    return response;
+  }
+
+  // Empty when this instance now holds the key; the recorded response when another already completed it
+  private Optional<Completed> claim(String scope, String key, String fingerprint) {
+    Instant now = Instant.now();
+    Optional<Entry> holder = keyRepository.claim(scope, key, fingerprint, now, now.plus(properties.lease()));
+    if (holder.isEmpty()) {
+      return Optional.empty();
+    }
+    Entry entry = holder.get();
+    if (entry.response() == null) {
+      if (!entry.fingerprint().equals(fingerprint)) {
+        throw reusedKey();
+      }
+      throw new ConflictException("A request with this Idempotency-Key is still in progress");
+    }
+    return Optional.of(new Completed(entry.fingerprint(), entry.response()));
+  }
+
+  private void release(String scope, String key) {
+    try {
+      keyRepository.release(scope, key);
+    } catch (RuntimeException ex) {
+      // The claim blocks retries on other instances until its lease runs out
+      log.warn("Could not release idempotency key {}", key, ex);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${mentorship.idempotency.purge-interval:10m}")
+  public void purgeExpired() {
+    if (!database) {
+      return;
+    }
+    try {
+      int purged = keyRepository.purgeExpired(Instant.now());
+      log.debug("Purged {} expired idempotency keys", purged);
+    } catch (RuntimeException ex) {
+      log.warn("Idempotency key purge failed", ex);
+    }
+  }
+
+  private <T> Result<T> replay(Completed done, String fingerprint, Class<T> responseType) {
+    if (!done.fingerprint().equals(fingerprint)) {
+      throw reusedKey();
+    }
+    try {
+      return new Result<>(objectMapper.readValue(done.json(), responseType), true);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Unreadable recorded response", ex);
+    }
+  }
+
+  private static Completed await(CompletableFuture<Completed> running) {
+    try {
+      return running.join();
+    } catch (CompletionException ex) {
+      // The duplicate fails the way the request it waited on did
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  private String fingerprint(String scope, Object request) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(scope.getBytes(StandardCharsets.UTF_8));
+      digest.update(objectMapper.writeValueAsBytes(request));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot fingerprint request", ex);
+    }
+  }
+
+  private String toJson(Object response) {
+    try {
+      return objectMapper.writeValueAsString(response);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot record response", ex);
+    }
+  }
+
+  private static IllegalArgumentException reusedKey() {
+    return new IllegalArgumentException("Idempotency-Key was already used for a different request");
+  }
+
+  private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+    return Counter.builder("mentorship.idempotency")
+            .description("Requests carrying an Idempotency-Key, by outcome")
+            .tag("outcome", outcome)
+            .register(registry);
+  }
+}
@@ -0,0 +1,127 @@
+package com.mentorship.service;
+
+import com.mentorship.config.InvitationOutboxProperties;
+import com.mentorship.repository.InvitationOutboxRepository;
+import com.mentorship.repository.InvitationOutboxRepository.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends the invitation emails queued in the outbox. Each batch is claimed in a short
+ * transaction of its own, then sent with no transaction or connection held, so a slow mail
+ * provider only slows this job, never an invite request. Failed sends are retried with
+ * exponential backoff and jitter until {@code maxAttempts}, then parked.
+ *
+ * <p>Delivery is at least once: a dispatcher that dies after sending but before deleting
+ * the message sends it again once the lease runs out.
+ */
+@Component
+public class InvitationMailDispatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(InvitationMailDispatcher.class);
+
+  private final InvitationOutboxRepository outboxRepository;
+  private final MailSender mailSender;
+  private final InvitationOutboxProperties properties;
+  private final TransactionTemplate transaction;
+  private final Counter sent;
+  private final Counter retried;
+  private final Counter failed;
+
+  public InvitationMailDispatcher(InvitationOutboxRepository outboxRepository,
+                                  MailSender mailSender,
+                                  InvitationOutboxProperties properties,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+    this.outboxRepository = outboxRepository;
+    this.mailSender = mailSender;
+    this.properties = properties;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.sent = outcomeCounter(meterRegistry, "sent");
+    this.retried = outcomeCounter(meterRegistry, "retried");
+    this.failed = outcomeCounter(meterRegistry, "failed");
+  }
+
+  /** Drains every due message, batch after batch, then waits {@code pollInterval}. */
+  @Scheduled(fixedDelayString = "${mentorship.invitations.outbox.poll-interval:1s}")
+  public void poll() {
+    if (!properties.enabled()) {
+      return;
+    }
+    try {
+      int claimed;
+      do {
+        claimed = dispatchDue();
+      } while (claimed == properties.batchSize()); // a full batch suggests more are due
+    } catch (RuntimeException ex) {
+      // Database trouble; the claimed messages come back when their lease runs out
+      log.warn("Invitation outbox poll failed", ex);
+    }
+  }
+
+  /**
+   * Claims one batch of due messages and sends them.
+   * @return how many messages were claimed
+   */
+  public int dispatchDue() {
+    Instant now = Instant.now();
+    List<Message> claimed = transaction.execute(status ->
+            outboxRepository.claimDue(now, now.plus(properties.lease()), properties.batchSize()));
+
+    List<UUID> delivered = new ArrayList<>(claimed.size());
+    for (Message message : claimed) {
+      try {
+        mailSender.send(new MailSender.Message(message.recipient(), message.subject(), message.body()));
+        delivered.add(message.id());
+        sent.increment();
+      } catch (RuntimeException ex) {
+        handleFailure(message, ex);
+      }
+    }
+    outboxRepository.delete(delivered);
+    return claimed.size();
+  }
+
+  private void handleFailure(Message message, RuntimeException ex) {
+    String error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+    Instant now = Instant.now();
+    if (message.attempts() >= properties.maxAttempts()) {
+      log.error("Giving up on invitation email {} to {} after {} attempts: {}",
+              message.id(), message.recipient(), message.attempts(), error);
+      outboxRepository.giveUp(message.id(), now, error);
+      failed.increment();
+    } else {
+      outboxRepository.retryAt(message.id(), now.plus(backoff(message.attempts())), error);
+      retried.increment();
+    }
+  }
+
+  // Doubles per attempt up to maxBackoff; the upper half is random so failed batches spread out
+  Duration backoff(int attempts) {
+    long initial = properties.initialBackoff().toMillis();
+    long max = properties.maxBackoff().toMillis();
+    long ceiling = attempts > 30 ? max : Math.min(max, initial << (attempts - 1));
+    long half = ceiling / 2;
+    return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+  }
+
+  private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+    return Counter.builder("mentorship.invitations.outbox")
+            .description("Invitation email send attempts, by outcome")
+            .tag("outcome", outcome)
+            .register(registry);
+  }
+}
@@ -1,79 +1,200 @@
 package com.mentorship.service;
 
+import com.mentorship.config.InvitationAcceptProperties;
+import com.mentorship.config.InvitationExpiryProperties;
 import com.mentorship.domain.Invitation;
 import com.mentorship.domain.InvitationStatus;
 import com.mentorship.domain.Mentorship;
 import com.mentorship.domain.User;
 import com.mentorship.domain.UserRole;
 import com.mentorship.dto.AcceptInviteRequest;
+import com.mentorship.dto.BulkInviteRequest;
+import com.mentorship.dto.BulkInviteResponse;
+import com.mentorship.dto.BulkInviteResult;
+import com.mentorship.dto.InvitationAcceptedResponse;
 import com.mentorship.dto.InviteRequest;
 import com.mentorship.dto.InvitationResponse;
 import com.mentorship.dto.MentorshipResponse;
 import com.mentorship.exception.ConflictException;
 import com.mentorship.exception.ForbiddenException;
 import com.mentorship.exception.ResourceNotFoundException;
+import com.mentorship.repository.InvitationAcceptanceRepository;
+import com.mentorship.repository.InvitationAcceptanceRepository.AcceptedInvitation;
+import com.mentorship.repository.InvitationOutboxRepository;
+import com.mentorship.repository.InvitationOutboxRepository.NewMessage;
 import com.mentorship.repository.InvitationRepository;
 import com.mentorship.repository.MentorshipRepository;
 import com.mentorship.repository.UserRepository;
+import com.mentorship.service.MentorshipEventHub.EventType;
+import com.mentorship.service.ResourceVersions.Resource;
+import com.mentorship.util.Emails;
+import com.mentorship.util.Tokens;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Timed("mentorship.service")
 public class InvitationService {
 
   private final UserRepository userRepository;
   private final InvitationRepository invitationRepository;
   private final MentorshipRepository mentorshipRepository;
+  private final InvitationAcceptanceRepository invitationAcceptanceRepository;
+  private final InvitationOutboxRepository outboxRepository;
+  private final InvitationTokenCache invitationTokenCache;
+  private final ResourceVersions resourceVersions;
+  private final MentorshipEventHub eventHub;
+  private final InvitationAcceptProperties acceptProperties;
+  private final InvitationExpiryProperties expiryProperties;
+  private final Validator validator;
 
   @Transactional
   public InvitationResponse createInvitation(InviteRequest request) {
-    User mentor = userRepository.findById(request.mentorId())
-            .orElseThrow(() -> new ResourceNotFoundException("Mentor not found"));
-
-    if (mentor.getRole() != UserRole.MENTOR) {
-      throw new IllegalArgumentException("Only mentors can send invitations");
-    }
+    User mentor = requireMentor(request.mentorId());
 
-    String trimmedEmail = request.studentEmail().trim();
-    String normalizedEmail = trimmedEmail.toLowerCase(Locale.ROOT);
+    String normalizedEmail = Emails.normalize(request.studentEmail());
 
     if (mentor.getEmail().equalsIgnoreCase(normalizedEmail)) {
       throw new IllegalArgumentException("Mentors cannot invite themselves");
     }
 
-    // Check for existing pending invite
-    invitationRepository.findByMentor_IdAndStudentEmailIgnoreCaseAndStatus(
-                    mentor.getId(), normalizedEmail, InvitationStatus.PENDING)
-            .ifPresent(invitation -> {
-              throw new ConflictException("You already have a pending invite for that email");
-            });
+    // Check for existing pending invite; one that has expired but not been swept yet gives way
+    Instant now = Instant.now();
+    if (invitationRepository.existsPendingByMentorIdAndEmail(mentor.getId(), normalizedEmail)
+            && invitationRepository.expireOverduePending(mentor.getId(), List.of(normalizedEmail), now) == 0) {
+      throw new ConflictException("You already have a pending invite for that email");
+    }
 
-    String uniqueToken = UUID.randomUUID().toString(); // Simple token
+    Invitation savedInvitation;
+    try {
+      savedInvitation = invitationRepository.saveAndFlush(newInvitation(mentor, normalizedEmail, now));
+    } catch (DataIntegrityViolationException ex) {
+      // uq_invitations_pending_email: a concurrent invite for the same email won
+      throw new ConflictException("You already have a pending invite for that email", ex);
+    }
+    queueInvitationEmails(mentor, List.of(savedInvitation));
+    resourceVersions.changed(Resource.MENTOR, mentor.getId());
+    InvitationResponse created = InvitationResponse.from(savedInvitation);
+    // Events are not credentials, so they never carry the token
+    eventHub.publish(EventType.INVITATION_CREATED, created.withoutToken(), mentor.getId());
+    return created;
+  }
 
-    Invitation newInvitation = Invitation.builder()
-            .mentor(mentor)
-            .studentEmail(normalizedEmail)
-            .status(InvitationStatus.PENDING)
-            .token(uniqueToken)
-            .build();
+  /**
+   * Invites many students at once: the mentor is loaded once, existing pending
+   * invites are checked for the whole set in one query, and the new rows are
+   * written through JDBC batching. Every submitted email gets a result, in order.
+   */
+  @Transactional
+  public BulkInviteResponse createInvitations(BulkInviteRequest request) {
+    User mentor = requireMentor(request.mentorId());
+
+    List<String> submitted = request.studentEmails();
+    BulkInviteResult[] results = new BulkInviteResult[submitted.size()];
+    String[] normalizedByIndex = new String[submitted.size()];
+    Set<String> candidates = new LinkedHashSet<>();
+
+    for (int i = 0; i < submitted.size(); i++) {
+      String raw = submitted.get(i);
+      // Reuse the single-invite @Email constraint so both paths accept the same addresses
+      if (raw == null || raw.isBlank()
+              || !validator.validateValue(InviteRequest.class, "studentEmail", raw.trim()).isEmpty()) {
+        results[i] = BulkInviteResult.invalid(raw, "Must be a valid email format");
+        continue;
+      }
+      String normalizedEmail = Emails.normalize(raw);
+      if (mentor.getEmail().equalsIgnoreCase(normalizedEmail)) {
+        results[i] = BulkInviteResult.invalid(raw, "Mentors cannot invite themselves");
+      } else if (!candidates.add(normalizedEmail)) {
+        results[i] = BulkInviteResult.duplicate(raw, "Email is listed more than once");
+      } else {
+        normalizedByIndex[i] = normalizedEmail;
+      }
+    }
 
-    Invitation savedInvitation = invitationRepository.save(newInvitation);
-    return InvitationResponse.from(savedInvitation);
+    Instant now = Instant.now();
+    Set<String> alreadyPending = candidates.isEmpty()
+            ? Set.of()
+            : invitationRepository.findPendingStudentEmails(mentor.getId(), candidates);
+    if (!alreadyPending.isEmpty()
+            && invitationRepository.expireOverduePending(mentor.getId(), alreadyPending, now) > 0) {
+      alreadyPending = invitationRepository.findPendingStudentEmails(mentor.getId(), alreadyPending);
+    }
+
+    List<Invitation> toCreate = new ArrayList<>(candidates.size());
+    for (String email : candidates) {
+      if (!alreadyPending.contains(email)) {
+        toCreate.add(newInvitation(mentor, email, now));
+      }
+    }
+
+    List<Invitation> saved;
+    try {
+      saved = invitationRepository.saveAllAndFlush(toCreate);
+    } catch (DataIntegrityViolationException ex) {
+      // uq_invitations_pending_email: a concurrent invite took one of the emails after the check above
+      throw new ConflictException("Another invite for one of these emails was sent concurrently; please retry", ex);
+    }
+    queueInvitationEmails(mentor, saved);
+    if (!saved.isEmpty()) {
+      resourceVersions.changed(Resource.MENTOR, mentor.getId());
+    }
+    Map<String, InvitationResponse> createdByEmail = new HashMap<>();
+    for (Invitation invitation : saved) {
+      InvitationResponse created = InvitationResponse.from(invitation);
+      createdByEmail.put(invitation.getStudentEmail(), created);
+      eventHub.publish(EventType.INVITATION_CREATED, created.withoutToken(), mentor.getId());
+    }
+
+    for (int i = 0; i < results.length; i++) {
+      if (results[i] == null) {
+        InvitationResponse created = createdByEmail.get(normalizedByIndex[i]);
+        results[i] = created != null
+                ? BulkInviteResult.created(submitted.get(i), created)
+                : BulkInviteResult.duplicate(submitted.get(i), "You already have a pending invite for that email");
+      }
+    }
+    return BulkInviteResponse.of(List.of(results));
   }
 
   @Transactional
   public MentorshipResponse acceptInvitation(AcceptInviteRequest request) {
-    Invitation invitation = invitationRepository.findAndLockByToken(request.token())
+    Instant now = Instant.now();
+    // Expiry is final, so a cached copy that has expired settles it without a query
+    if (invitationTokenCache.peek(request.token())
+            .filter(cached -> cached.asOf(now).status() == InvitationStatus.EXPIRED).isPresent()) {
+      throw new ConflictException("Invitation has expired");
+    }
+
+    byte[] tokenHash = Tokens.hash(request.token());
+    if (acceptProperties.mode() == InvitationAcceptProperties.Mode.CONDITIONAL_UPDATE) {
+      return acceptWithConditionalUpdate(request, tokenHash, now);
+    }
+
+    Invitation invitation = invitationRepository.findAndLockByTokenHash(tokenHash)
             .orElseThrow(() -> new ResourceNotFoundException("Invitation token not found"));
 
+    if (invitation.isExpiredAt(now)) {
+      // Left for the sweeper to mark, so rejecting it writes nothing
+      throw new ConflictException("Invitation has expired");
+    }
+
     if (invitation.getStatus() != InvitationStatus.PENDING) {
       throw new ConflictException("Invitation is no longer pending");
     }
@@ -109,33 +230,138 @@ public class InvitationService {
 
     invitation.setStatus(InvitationStatus.ACCEPTED);
     invitationRepository.save(invitation);
+    invitationTokenCache.invalidate(request.token());
+    resourceVersions.changed(Resource.MENTOR, invitation.getMentor().getId());
+    resourceVersions.changed(Resource.STUDENT, student.getId());
+
+    MentorshipResponse mentorship = MentorshipResponse.from(savedMentorship);
+    publishAccepted(invitation.getId(), mentorship);
+    return mentorship;
+  }
+
+  /**
+   * Same outcomes as the locking path in at most two statements and without explicit locks:
+   * a conditional UPDATE that only matches an unexpired pending invitation addressed to this
+   * student, then an INSERT that yields to uq_student. Rejections are explained by a read-only
+   * diagnosis that only runs on the failure path.
+   */
+  private MentorshipResponse acceptWithConditionalUpdate(AcceptInviteRequest request, byte[] tokenHash, Instant now) {
+    AcceptedInvitation accepted = invitationAcceptanceRepository.markAccepted(tokenHash, request.studentId(), now)
+            .orElseThrow(() -> explainRejectedAccept(request, tokenHash, now));
+
+    UUID mentorshipId = UUID.randomUUID();
+    Instant createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    if (!invitationAcceptanceRepository.insertMentorshipIfAbsent(mentorshipId, accepted.mentorId(), request.studentId(), createdAt)) {
+      // Rolls back the status change above
+      throw new ConflictException("Student already has a mentor");
+    }
+
+    invitationTokenCache.invalidate(request.token());
+    resourceVersions.changed(Resource.MENTOR, accepted.mentorId());
+    resourceVersions.changed(Resource.STUDENT, request.studentId());
+    MentorshipResponse mentorship = new MentorshipResponse(mentorshipId, accepted.mentorId(), request.studentId(), createdAt);
+    publishAccepted(accepted.invitationId(), mentorship);
+    return mentorship;
+  }
 
-    return MentorshipResponse.from(savedMentorship);
+  private void publishAccepted(UUID invitationId, MentorshipResponse mentorship) {
+    eventHub.publish(EventType.INVITATION_ACCEPTED,
+            new InvitationAcceptedResponse(invitationId, mentorship.mentorId(), mentorship.studentId()),
+            mentorship.mentorId(), mentorship.studentId());
+    eventHub.publish(EventType.MENTORSHIP_CREATED, mentorship, mentorship.mentorId(), mentorship.studentId());
+  }
+
+  private RuntimeException explainRejectedAccept(AcceptInviteRequest request, byte[] tokenHash, Instant now) {
+    Invitation invitation = invitationRepository.findByTokenHash(tokenHash).orElse(null);
+    if (invitation == null) {
+      return new ResourceNotFoundException("Invitation token not found");
+    }
+    if (invitation.isExpiredAt(now)) {
+      return new ConflictException("Invitation has expired");
+    }
+    if (invitation.getStatus() != InvitationStatus.PENDING) {
+      return new ConflictException("Invitation is no longer pending");
+    }
+    User student = userRepository.findById(request.studentId()).orElse(null);
+    if (student == null) {
+      return new ResourceNotFoundException("Student not found");
+    }
+    if (student.getRole() != UserRole.STUDENT) {
+      return new IllegalArgumentException("Only students can accept invitations");
+    }
+    if (!invitation.getStudentEmail().equalsIgnoreCase(student.getEmail())) {
+      return new ForbiddenException("This invitation is not for you.");
+    }
+    // Everything matches now, so a concurrent accept won the race
+    return new ConflictException("Invitation is no longer pending");
   }
 
   @Transactional(readOnly = true)
   public List<InvitationResponse> getInvitationsForMentor(UUID mentorId) {
-    return invitationRepository.findByMentor_Id(mentorId)
-            .stream()
-            .map(InvitationResponse::from)
+    Instant now = Instant.now();
+    return invitationRepository.findResponsesByMentorId(mentorId).stream()
+            .map(invitation -> invitation.asOf(now))
             .toList();
   }
 
-  @Transactional(readOnly = true)
+  // Not transactional on purpose: a cache hit must not open a transaction or borrow a connection.
+  // Expiry is applied on the way out, so cached entries need no invalidation when it passes.
   public Optional<InvitationResponse> getInvitationByToken(String token) {
-    return invitationRepository.findByToken(token).map(InvitationResponse::from);
+    return invitationTokenCache.get(token, key -> invitationRepository.findResponseByTokenHash(Tokens.hash(key))
+                    .map(invitation -> invitation.withToken(key)))
+            .map(invitation -> invitation.asOf(Instant.now()));
   }
 
   @Transactional(readOnly = true)
   public List<MentorshipResponse> getMentorshipsForMentor(UUID mentorId) {
-    return mentorshipRepository.findByMentor_Id(mentorId)
-            .stream()
-            .map(MentorshipResponse::from)
-            .toList();
+    return mentorshipRepository.findResponsesByMentorId(mentorId);
   }
 
   @Transactional(readOnly = true)
   public Optional<MentorshipResponse> getMentorshipForStudent(UUID studentId) {
-    return mentorshipRepository.findByStudent_Id(studentId).map(MentorshipResponse::from);
+    return mentorshipRepository.findResponseByStudentId(studentId);
+  }
+
+  private User requireMentor(UUID mentorId) {
+    User mentor = userRepository.findById(mentorId)
+            .orElseThrow(() -> new ResourceNotFoundException("Mentor not found"));
+
+    if (mentor.getRole() != UserRole.MENTOR) {
+      throw new IllegalArgumentException("Only mentors can send invitations");
+    }
+    return mentor;
+  }
+
+  /**
+   * Writes each invitation's email to the outbox in the current transaction, for
+   * {@link InvitationMailDispatcher} to send once it commits. The outbox goes through JDBC,
+   * so the invitations must already be flushed.
+   */
+  private void queueInvitationEmails(User mentor, List<Invitation> invitations) {
+    if (invitations.isEmpty()) {
+      return;
+    }
+    String subject = mentor.getName() + " invited you to a mentorship";
+    outboxRepository.enqueue(invitations.stream()
+            .map(invitation -> new NewMessage(invitation.getId(), invitation.getStudentEmail(), subject, """
+                    %s invited you to be their mentee.
+
+                    Sign up as a student with this email address, then accept the invitation with this code:
+
+                        %s
+                    """.formatted(mentor.getName(), invitation.getToken())))
+            .toList(), Instant.now());
+  }
+
+  private Invitation newInvitation(User mentor, String normalizedEmail, Instant now) {
+    String token = Tokens.generate();
+    return Invitation.builder()
+            .mentor(mentor)
+            .studentEmail(normalizedEmail)
+            .status(InvitationStatus.PENDING)
+            .token(token)
+            .tokenHash(Tokens.hash(token))
+            .expiresAt(now.plus(expiryProperties.ttl()))
+            .build();
   }
 }
@@ -0,0 +1,145 @@
+package com.mentorship.service;
+
+import com.mentorship.config.InvitationExpiryProperties;
+import com.mentorship.repository.InvitationSweepRepository;
+import com.mentorship.repository.InvitationSweepRepository.Purge;
+import com.mentorship.service.ResourceVersions.Resource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Marks pending invitations past their expiry as EXPIRED, then deletes invitations that have
+ * been settled (accepted, declined or expired) for longer than the retention period. Both
+ * passes work in chunks of {@code chunkSize} rows, each in a transaction of its own, with
+ * {@code chunkPause} between chunks, so a large backlog turns into many short transactions
+ * rather than one long one holding locks and a burst of WAL.
+ *
+ * <p>Nothing depends on the sweep for correctness: reads and accepts already treat a pending
+ * invitation past its expiry as expired. The lag gauges report, in seconds, how long the
+ * oldest row still due has been waiting for the sweep, as of the start of the last sweep.
+ */
+@Component
+public class InvitationSweeper {
+
+  private static final Logger log = LoggerFactory.getLogger(InvitationSweeper.class);
+
+  private final InvitationSweepRepository sweepRepository;
+  private final InvitationExpiryProperties properties;
+  private final ResourceVersions resourceVersions;
+  private final TransactionTemplate transaction;
+  private final Counter expired;
+  private final Counter purged;
+  private final AtomicLong expireLagSeconds = new AtomicLong();
+  private final AtomicLong purgeLagSeconds = new AtomicLong();
+
+  public InvitationSweeper(InvitationSweepRepository sweepRepository,
+                           InvitationExpiryProperties properties,
+                           ResourceVersions resourceVersions,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+    this.sweepRepository = sweepRepository;
+    this.properties = properties;
+    this.resourceVersions = resourceVersions;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.expired = actionCounter(meterRegistry, "expired");
+    this.purged = actionCounter(meterRegistry, "purged");
+    lagGauge(meterRegistry, "expired", expireLagSeconds);
+    lagGauge(meterRegistry, "purged", purgeLagSeconds);
+  }
+
+  @Scheduled(fixedDelayString = "${mentorship.invitations.expiry.sweep-interval:5m}")
+  public void poll() {
+    if (!properties.sweepEnabled()) {
+      return;
+    }
+    try {
+      sweep();
+    } catch (RuntimeException ex) {
+      // Database trouble; committed chunks stay done and the next sweep picks up the rest
+      log.warn("Invitation sweep failed", ex);
+    }
+  }
+
+  /**
+   * Runs both passes to completion.
+   * @return how many invitations were expired and how many deleted
+   */
+  public SweepResult sweep() {
+    Instant now = Instant.now();
+    Instant cutoff = now.minus(properties.retention());
+    expireLagSeconds.set(lagSeconds(sweepRepository.oldestOverduePending(now), now));
+    purgeLagSeconds.set(lagSeconds(sweepRepository.oldestPurgeable(cutoff), cutoff));
+
+    int expiredRows = inChunks(() -> transaction.execute(status ->
+            sweepRepository.expireOverdue(now, properties.chunkSize())), expired);
+    // Marking expired rows leaves the mentors' listings as they were, but deleting rows does not
+    int purgedRows = inChunks(() -> transaction.execute(status -> {
+      Purge purge = sweepRepository.purgeSettled(cutoff, properties.chunkSize());
+      purge.mentorIds().forEach(mentorId -> resourceVersions.changed(Resource.MENTOR, mentorId));
+      return purge.deleted();
+    }), purged);
+    if (expiredRows > 0 || purgedRows > 0) {
+      log.info("Invitation sweep expired {} and deleted {} invitations", expiredRows, purgedRows);
+    }
+    return new SweepResult(expiredRows, purgedRows);
+  }
+
+  public record SweepResult(int expired, int purged) {}
+
+  private int inChunks(IntSupplier chunk, Counter counter) {
+    int total = 0;
+    int rows;
+    do {
+      rows = chunk.getAsInt();
+      counter.increment(rows);
+      total += rows;
+    } while (rows == properties.chunkSize() && pause()); // a full chunk suggests more are due
+    return total;
+  }
+
+  private boolean pause() {
+    Duration pause = properties.chunkPause();
+    if (pause.isZero()) {
+      return true;
+    }
+    try {
+      Thread.sleep(pause);
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static long lagSeconds(Optional<Instant> oldest, Instant due) {
+    return oldest.map(instant -> Duration.between(instant, due).toSeconds()).orElse(0L);
+  }
+
+  private static Counter actionCounter(MeterRegistry registry, String action) {
+    return Counter.builder("mentorship.invitations.sweep")
+            .description("Invitations processed by the sweeper, by action")
+            .tag("action", action)
+            .register(registry);
+  }
+
+  private static void lagGauge(MeterRegistry registry, String action, AtomicLong seconds) {
+    Gauge.builder("mentorship.invitations.sweep.lag", seconds, AtomicLong::get)
+            .description("How long the oldest invitation due for the sweeper had waited when the last sweep started")
+            .baseUnit("seconds")
+            .tag("action", action)
+            .register(registry);
+  }
+}
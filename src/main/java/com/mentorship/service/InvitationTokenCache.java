@@ -0,0 +1,67 @@
+package com.mentorship.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mentorship.config.InvitationTokenCacheProperties;
+import com.mentorship.dto.InvitationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of {@link InvitationResponse} keyed by invitation token.
+ * Only tokens that exist are cached, so probing unknown tokens cannot fill it.
+ * Hit, miss and eviction counters are published under the {@value #CACHE_NAME} cache name.
+ */
+@Component
+public class InvitationTokenCache {
+
+  static final String CACHE_NAME = "invitationTokens";
+
+  private final Cache<String, InvitationResponse> cache;
+
+  public InvitationTokenCache(InvitationTokenCacheProperties properties, MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.ttl())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  public Optional<InvitationResponse> get(String token, Function<String, Optional<InvitationResponse>> loader) {
+    // An invalidation racing with this load waits for it to finish and then removes the result
+    return Optional.ofNullable(cache.get(token, key -> loader.apply(key).orElse(null)));
+  }
+
+  /** The cached invitation for the token, if any, without loading it. */
+  public Optional<InvitationResponse> peek(String token) {
+    return Optional.ofNullable(cache.getIfPresent(token));
+  }
+
+  /**
+   * Drops the token now and again once the surrounding transaction commits, so a
+   * concurrent reader cannot re-populate the entry with the pre-commit state.
+   */
+  public void invalidate(String token) {
+    cache.invalidate(token);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          cache.invalidate(token);
+        }
+      });
+    }
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+}
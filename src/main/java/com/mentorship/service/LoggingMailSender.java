@@ -0,0 +1,20 @@
+package com.mentorship.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stand-in {@link MailSender} for deployments without a mail provider: logs who would have
+ * been emailed. The body is not logged because it carries the invitation token.
+ */
+@Component
+public class LoggingMailSender implements MailSender {
+
+  private static final Logger log = LoggerFactory.getLogger(LoggingMailSender.class);
+
+  @Override
+  public void send(Message message) {
+    log.info("No mail provider configured; not sending \"{}\" to {}", message.subject(), message.recipient());
+  }
+}
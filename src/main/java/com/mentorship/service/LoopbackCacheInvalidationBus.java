@@ -0,0 +1,57 @@
+package com.mentorship.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidations to this instance's subscribers only, after the publishing transaction
+ * commits. Enough for a single instance, and for tests.
+ */
+public class LoopbackCacheInvalidationBus implements CacheInvalidationBus {
+
+  private static final Logger log = LoggerFactory.getLogger(LoopbackCacheInvalidationBus.class);
+
+  private final List<Consumer<Invalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(Invalidation invalidation) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          deliver(invalidation);
+        }
+      });
+    } else {
+      deliver(invalidation);
+    }
+  }
+
+  @Override
+  public void publishElsewhere(Invalidation invalidation) {
+    // There is no elsewhere
+  }
+
+  @Override
+  public void subscribe(Consumer<Invalidation> subscriber) {
+    subscribers.add(subscriber);
+  }
+
+  /** Hands the invalidation to every subscriber here, now. */
+  protected void deliver(Invalidation invalidation) {
+    for (Consumer<Invalidation> subscriber : subscribers) {
+      try {
+        subscriber.accept(invalidation);
+      } catch (RuntimeException ex) {
+        // One broken subscriber must not keep the others from dropping their entries
+        log.warn("Cache invalidation subscriber failed on {}", invalidation, ex);
+      }
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.mentorship.service;
+
+/**
+ * Delivers one email. Called by {@link InvitationMailDispatcher} outside any transaction;
+ * throwing means the message was not delivered and will be retried. Implementations should
+ * bound their own network timeouts, since the dispatcher sends one message at a time.
+ *
+ * <p>{@link LoggingMailSender} is used unless a {@code @Primary} implementation is declared,
+ * for example one backed by SMTP or a provider API.
+ */
+public interface MailSender {
+
+  void send(Message message);
+
+  record Message(String recipient, String subject, String body) {}
+}
@@ -0,0 +1,105 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.Assignment;
+import com.mentorship.domain.Feedback;
+import com.mentorship.domain.MenteeDashboardItem;
+import com.mentorship.domain.StudentAssignment;
+import com.mentorship.domain.StudentAssignmentStatus;
+import com.mentorship.domain.Submission;
+import com.mentorship.repository.AssignmentRepository;
+import com.mentorship.repository.MenteeDashboardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps {@code mentee_dashboard_items} in step with the write model. Every hook must be
+ * called inside the transaction that performs the write, so the dashboard commits or rolls
+ * back together with it. Counters and versions are changed with single-row UPDATEs rather
+ * than read-modify-write, so concurrent feedback on one assignment cannot lose increments.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class MenteeDashboardProjector {
+
+  private final MenteeDashboardRepository dashboardRepository;
+  private final AssignmentRepository assignmentRepository;
+
+  /** Adds a dashboard row per newly assigned student; the template is read once for all of them. */
+  public void onAssigned(Assignment assignment, Collection<StudentAssignment> assigned) {
+    if (assigned.isEmpty()) {
+      return;
+    }
+    List<MenteeDashboardItem.Link> links = assignmentRepository.findLinks(assignment.getId());
+    List<MenteeDashboardItem.ProblemRef> problems = assignmentRepository.findProblemRefs(assignment.getId());
+    Instant now = Instant.now();
+
+    dashboardRepository.saveAll(assigned.stream()
+            .map(studentAssignment -> MenteeDashboardItem.builder()
+                    .studentAssignmentId(studentAssignment.getId())
+                    .studentId(studentAssignment.getStudent().getId())
+                    .assignmentId(assignment.getId())
+                    .mentorId(studentAssignment.getMentor().getId())
+                    .title(assignment.getTitle())
+                    .status(studentAssignment.getStatus())
+                    .assignedAt(studentAssignment.getAssignedAt())
+                    .dueDate(studentAssignment.getDueDate())
+                    .links(links)
+                    .problems(problems)
+                    .updatedAt(now)
+                    .build())
+            .toList());
+  }
+
+  /** Re-copies title, links and problems after the template was edited. */
+  public void onAssignmentChanged(Assignment assignment) {
+    List<MenteeDashboardItem.Link> links = assignmentRepository.findLinks(assignment.getId());
+    List<MenteeDashboardItem.ProblemRef> problems = assignmentRepository.findProblemRefs(assignment.getId());
+    Instant now = Instant.now();
+
+    for (MenteeDashboardItem item : dashboardRepository.findByAssignmentId(assignment.getId())) {
+      item.setTitle(assignment.getTitle());
+      item.setLinks(links);
+      item.setProblems(problems);
+      item.setUpdatedAt(now);
+    }
+  }
+
+  /** Re-copies the problem list of every assignment linking a problem that was renamed. */
+  public void onProblemRenamed(UUID problemId) {
+    Instant now = Instant.now();
+    for (UUID assignmentId : assignmentRepository.findIdsLinkingProblem(problemId)) {
+      // Re-read rather than patched in place: the list is ordered by title
+      List<MenteeDashboardItem.ProblemRef> problems = assignmentRepository.findProblemRefs(assignmentId);
+      for (MenteeDashboardItem item : dashboardRepository.findByAssignmentId(assignmentId)) {
+        item.setProblems(problems);
+        item.setUpdatedAt(now);
+      }
+    }
+  }
+
+  public void onSubmitted(Submission submission) {
+    dashboardRepository.recordSubmission(submission.getStudentAssignment().getId(), submission.getVersion(),
+            submission.getCreatedAt(), StudentAssignmentStatus.SUBMITTED);
+  }
+
+  public void onFeedback(Feedback feedback, UUID studentAssignmentId) {
+    dashboardRepository.incrementUnreadFeedback(studentAssignmentId, feedback.getCreatedAt());
+  }
+
+  /**
+   * Must run before the feedback rows are marked read: the UPDATE takes the row lock first,
+   * so feedback committed concurrently is either marked read by this transaction or counted
+   * again after it.
+   */
+  public void onFeedbackRead(UUID studentAssignmentId) {
+    dashboardRepository.clearUnreadFeedback(studentAssignmentId, Instant.now());
+  }
+}
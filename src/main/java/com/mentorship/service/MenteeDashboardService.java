@@ -0,0 +1,27 @@
+package com.mentorship.service;
+
+import com.mentorship.dto.MenteeDashboardItemResponse;
+import com.mentorship.repository.MenteeDashboardRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Timed("mentorship.service")
+public class MenteeDashboardService {
+
+  private final MenteeDashboardRepository dashboardRepository;
+
+  /** One indexed query against the read model, whatever the number of assignments. */
+  @Transactional(readOnly = true)
+  public List<MenteeDashboardItemResponse> getDashboard(UUID studentId) {
+    return dashboardRepository.findByStudentId(studentId).stream()
+            .map(MenteeDashboardItemResponse::from)
+            .toList();
+  }
+}
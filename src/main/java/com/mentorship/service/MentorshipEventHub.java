@@ -0,0 +1,361 @@
+package com.mentorship.service;
+
+import com.mentorship.config.MentorshipEventProperties;
+import com.mentorship.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Pushes invitation and mentorship events to the users they concern over Server-Sent Events,
+ * so dashboards need not poll. Events are published once the writing transaction commits, to
+ * the connections held by this instance.
+ *
+ * <p>An idle connection is an async request holding no thread. Each connection has a bounded
+ * queue, drained by a virtual thread only while there is something to send; when a client
+ * falls behind, the oldest queued events are dropped and it is sent a Resync event, after
+ * which it should reload what it shows. Event ids increase, and the last few events of each
+ * user are kept so a client reconnecting with {@code Last-Event-ID} gets what it missed, or a
+ * Resync when that is no longer known.
+ *
+ * <p>The sequence starts over with the process, so ids carry a random per-process epoch, as
+ * the ETags of {@link ResourceVersions} do: an id issued before a restart, or by another
+ * instance, is never taken for one of ours, and gets a Resync.
+ */
+@Component
+public class MentorshipEventHub {
+
+  public enum EventType {
+    INVITATION_CREATED("InvitationCreated"),
+    INVITATION_ACCEPTED("InvitationAccepted"),
+    MENTORSHIP_CREATED("MentorshipCreated"),
+    /** Events were missed; reload, then carry on with the events that follow. */
+    RESYNC("Resync");
+
+    private final String eventName;
+
+    EventType(String eventName) {
+      this.eventName = eventName;
+    }
+
+    public String eventName() {
+      return eventName;
+    }
+  }
+
+  private final UserRepository userRepository;
+  private final MentorshipEventProperties properties;
+  private final ConcurrentMap<UUID, Channel> channels = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+  private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+  private final AtomicInteger connections = new AtomicInteger();
+  private final Counter sent;
+  private final Counter dropped;
+
+  public MentorshipEventHub(UserRepository userRepository, MentorshipEventProperties properties,
+                            MeterRegistry meterRegistry) {
+    this.userRepository = userRepository;
+    this.properties = properties;
+    this.sent = outcomeCounter(meterRegistry, "sent");
+    this.dropped = outcomeCounter(meterRegistry, "dropped");
+    Gauge.builder("mentorship.events.connections", connections, AtomicInteger::get)
+            .description("Open event stream connections")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Sends the event to every connection of the recipients once the surrounding transaction
+   * commits, or now if there is none.
+   */
+  public void publish(EventType type, Object data, UUID... recipients) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          deliver(type, data, recipients);
+        }
+      });
+    } else {
+      deliver(type, data, recipients);
+    }
+  }
+
+  /**
+   * Opens an event stream for the user, unless there is no such user.
+   * @param lastEventId The id of the last event the client saw, if it is resuming
+   */
+  public Optional<SseEmitter> subscribe(UUID userId, String lastEventId) {
+    if (userRepository.findById(userId).isEmpty()) {
+      return Optional.empty();
+    }
+    SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+    Subscriber subscriber = new Subscriber(emitter);
+    emitter.onCompletion(subscriber::close);
+    emitter.onTimeout(emitter::complete);
+    emitter.onError(error -> subscriber.close());
+
+    Long resumeAfter = resumeAfter(lastEventId);
+    connections.incrementAndGet();
+    withChannel(userId, channel -> {
+      subscriber.channel = channel;
+      channel.subscribers.add(subscriber);
+      if (resumeAfter != null) {
+        if (resumeAfter < channel.floor) {
+          subscriber.offer(new Event(0, EventType.RESYNC, Map.of()));
+        }
+        channel.recent.stream().filter(event -> event.id() > resumeAfter).forEach(subscriber::offer);
+      }
+    });
+    // Commits the response headers straight away
+    subscriber.heartbeat();
+    return Optional.of(emitter);
+  }
+
+  /** Keeps idle connections open, finds those that are gone, and forgets users left idle. */
+  @Scheduled(fixedDelayString = "${mentorship.events.heartbeat-interval:15s}")
+  public void heartbeat() {
+    Instant forgetBefore = Instant.now().minus(properties.replayWindow());
+    List<Subscriber> idle = new ArrayList<>();
+    channels.forEach((userId, channel) -> {
+      synchronized (channel) {
+        if (channel.subscribers.isEmpty() && channel.lastActive.isBefore(forgetBefore)) {
+          channel.removed = true;
+          channels.remove(userId, channel);
+        } else {
+          idle.addAll(channel.subscribers);
+        }
+      }
+    });
+    idle.forEach(Subscriber::heartbeat);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    channels.values().forEach(channel -> {
+      List<Subscriber> subscribers;
+      synchronized (channel) {
+        subscribers = List.copyOf(channel.subscribers);
+      }
+      subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    });
+    senders.shutdownNow();
+  }
+
+  private void deliver(EventType type, Object data, UUID... recipients) {
+    for (UUID recipient : recipients) {
+      withChannel(recipient, channel -> {
+        // Numbered under the channel lock, so each user's events are queued in id order
+        Event event = new Event(sequence.incrementAndGet(), type, data);
+        if (channel.recent.size() == properties.replayCapacity()) {
+          channel.floor = channel.recent.removeFirst().id();
+        }
+        channel.recent.addLast(event);
+        channel.lastActive = Instant.now();
+        channel.subscribers.forEach(subscriber -> subscriber.offer(event));
+      });
+    }
+  }
+
+  // Runs the action under the user's channel lock, creating the channel if needed
+  private void withChannel(UUID userId, Consumer<Channel> action) {
+    while (true) {
+      Channel channel = channels.computeIfAbsent(userId, id -> new Channel(sequence.get()));
+      synchronized (channel) {
+        // Lost a race with heartbeat(), which has just forgotten it
+        if (!channel.removed) {
+          action.accept(channel);
+          return;
+        }
+      }
+    }
+  }
+
+  // The sequence number of the client's last event, or -1 when the id is not one this process issued
+  private Long resumeAfter(String lastEventId) {
+    if (lastEventId == null || lastEventId.isBlank()) {
+      return null;
+    }
+    String id = lastEventId.trim();
+    int separator = id.lastIndexOf('-');
+    if (separator < 0 || !id.substring(0, separator).equals(epoch)) {
+      return -1L;
+    }
+    try {
+      long resumeAfter = Long.parseLong(id.substring(separator + 1), 36);
+      return resumeAfter > sequence.get() ? -1L : resumeAfter;
+    } catch (NumberFormatException ex) {
+      return -1L;
+    }
+  }
+
+  private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+    return Counter.builder("mentorship.events")
+            .description("Events for event stream connections, by whether they were sent or dropped for a slow client")
+            .tag("outcome", outcome)
+            .register(registry);
+  }
+
+  private record Event(long id, EventType type, Object data) {}
+
+  /** One user's connections and recent events; guarded by its own lock. */
+  private static final class Channel {
+
+    private final ArrayDeque<Event> recent = new ArrayDeque<>();
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    // A client that saw nothing after this may have missed events no longer kept
+    private long floor;
+    private Instant lastActive = Instant.now();
+    private boolean removed;
+
+    Channel(long floor) {
+      this.floor = floor;
+    }
+  }
+
+  /** One connection and what is queued for it; guarded by its own lock. */
+  private final class Subscriber {
+
+    private final SseEmitter emitter;
+    private final ArrayDeque<Event> pending = new ArrayDeque<>();
+    private volatile Channel channel;
+    private boolean resync;
+    private boolean heartbeatDue;
+    private boolean sending;
+    private boolean closed;
+
+    Subscriber(SseEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    void offer(Event event) {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        if (pending.size() == properties.bufferCapacity()) {
+          pending.removeFirst();
+          resync = true;
+          dropped.increment();
+        }
+        pending.addLast(event);
+        if (!startSending()) {
+          return;
+        }
+      }
+      senders.execute(this::drain);
+    }
+
+    void heartbeat() {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        heartbeatDue = true;
+        if (!startSending()) {
+          return;
+        }
+      }
+      senders.execute(this::drain);
+    }
+
+    void close() {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        pending.clear();
+      }
+      connections.decrementAndGet();
+      Channel subscribed = channel;
+      if (subscribed == null) {
+        return;
+      }
+      synchronized (subscribed) {
+        subscribed.subscribers.remove(this);
+        subscribed.lastActive = Instant.now();
+      }
+    }
+
+    // Caller holds the lock; true if the caller must start the drain
+    private boolean startSending() {
+      if (sending) {
+        return false;
+      }
+      sending = true;
+      return true;
+    }
+
+    // Sends outside the lock, so a slow client only ever holds up its own virtual thread
+    private void drain() {
+      while (true) {
+        SseEventBuilder next;
+        boolean isEvent = true;
+        synchronized (this) {
+          if (closed) {
+            sending = false;
+            return;
+          }
+          if (resync) {
+            resync = false;
+            next = SseEmitter.event().name(EventType.RESYNC.eventName()).data(Map.of(), MediaType.APPLICATION_JSON);
+          } else if (!pending.isEmpty()) {
+            next = toSse(pending.removeFirst());
+          } else if (heartbeatDue) {
+            heartbeatDue = false;
+            isEvent = false;
+            next = SseEmitter.event().comment("heartbeat");
+          } else {
+            sending = false;
+            return;
+          }
+        }
+        try {
+          emitter.send(next);
+          if (isEvent) {
+            sent.increment();
+          }
+        } catch (IOException | IllegalStateException ex) {
+          // The client has gone, or the emitter completed; onCompletion/onError clean up too
+          close();
+          return;
+        }
+      }
+    }
+
+    private SseEventBuilder toSse(Event event) {
+      SseEventBuilder builder = SseEmitter.event();
+      // A Resync has no id of its own, so resuming continues after the last real event
+      if (event.type() != EventType.RESYNC) {
+        builder.id(epoch + "-" + Long.toString(event.id(), 36));
+      }
+      return builder.name(event.type().eventName()).data(event.data(), MediaType.APPLICATION_JSON);
+    }
+  }
+}
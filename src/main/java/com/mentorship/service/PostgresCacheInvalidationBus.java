@@ -0,0 +1,157 @@
+package com.mentorship.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Sends invalidations to the other instances with PostgreSQL NOTIFY. The NOTIFY is issued on
+ * the writing transaction's connection, so PostgreSQL only delivers it if that transaction
+ * commits, and delivers it after the commit. Every instance LISTENs on a connection of its
+ * own, outside the pool, and drops what it is told.
+ *
+ * <p>Notifications sent while an instance is not listening, e.g. while it reconnects, are
+ * lost, so after every (re)connect it drops everything it caches.
+ */
+public class PostgresCacheInvalidationBus extends LoopbackCacheInvalidationBus implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(PostgresCacheInvalidationBus.class);
+
+  private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+  private static final int POLL_MILLIS = 500;
+  // Field separator; none of the fields can contain it
+  private static final String SEPARATOR = " ";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String url;
+  private final Properties connectionProperties = new Properties();
+  private final String channel;
+  private final Duration reconnectDelay;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  private volatile boolean running;
+  private Thread listener;
+
+  public PostgresCacheInvalidationBus(JdbcTemplate jdbcTemplate, String url, String username, String password,
+                                     String channel, Duration reconnectDelay) {
+    if (!CHANNEL.matcher(channel).matches()) {
+      throw new IllegalArgumentException("Cache invalidation channel must be a lower-case identifier: " + channel);
+    }
+    this.jdbcTemplate = jdbcTemplate;
+    this.url = url;
+    if (username != null) {
+      connectionProperties.setProperty("user", username);
+    }
+    if (password != null) {
+      connectionProperties.setProperty("password", password);
+    }
+    this.channel = channel;
+    this.reconnectDelay = reconnectDelay;
+  }
+
+  @Override
+  public void publish(Invalidation invalidation) {
+    super.publish(invalidation);
+    publishElsewhere(invalidation);
+  }
+
+  @Override
+  public void publishElsewhere(Invalidation invalidation) {
+    // Joins the surrounding transaction, if any; without one it is sent at once
+    jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, encode(invalidation));
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    listener = Thread.ofPlatform().daemon().name("cache-invalidation-listener").start(this::listen);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    Thread thread = listener;
+    if (thread != null) {
+      thread.interrupt();
+      try {
+        thread.join(Duration.ofMillis(POLL_MILLIS * 4L));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void listen() {
+    while (running) {
+      try (Connection connection = DriverManager.getConnection(url, connectionProperties)) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + channel);
+        }
+        // Whatever was sent before LISTEN took effect is lost
+        deliver(Invalidation.all());
+        PGConnection notifications = connection.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+          if (received != null) {
+            for (PGNotification notification : received) {
+              receive(notification.getParameter());
+            }
+          }
+        }
+      } catch (SQLException ex) {
+        if (!running) {
+          return;
+        }
+        log.warn("Cache invalidation listener lost its connection; reconnecting in {}", reconnectDelay, ex);
+        try {
+          Thread.sleep(reconnectDelay);
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+      }
+    }
+  }
+
+  private void receive(String payload) {
+    String[] fields = payload.split(SEPARATOR, -1);
+    if (fields.length != 4) {
+      log.warn("Ignoring malformed cache invalidation: {}", payload);
+      return;
+    }
+    if (nodeId.equals(fields[0])) {
+      // Our own; applied here already
+      return;
+    }
+    deliver(new Invalidation(Invalidation.Kind.valueOf(fields[1]), decode(fields[2]), decode(fields[3])));
+  }
+
+  private String encode(Invalidation invalidation) {
+    return String.join(SEPARATOR, nodeId, invalidation.kind().name(),
+            encodeField(invalidation.name()), encodeField(invalidation.key()));
+  }
+
+  private static String encodeField(String value) {
+    return value == null ? "" : value;
+  }
+
+  private static String decode(String field) {
+    return field.isEmpty() ? null : field;
+  }
+}
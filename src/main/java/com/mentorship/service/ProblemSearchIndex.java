@@ -0,0 +1,364 @@
+package com.mentorship.service;
+
+import com.mentorship.config.ProblemSearchProperties;
+import com.mentorship.domain.Problem;
+import com.mentorship.domain.ProblemDifficulty;
+import com.mentorship.dto.ProblemSearchHit;
+import com.mentorship.dto.ProblemSearchResponse;
+import com.mentorship.dto.ProblemSuggestion;
+import com.mentorship.repository.ProblemRepository;
+import com.mentorship.repository.ProblemRepository.BankDocument;
+import com.mentorship.util.SearchTerms;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over every mentor's problem bank, used when
+ * {@code mentorship.problems.search.backend=in-memory}. Each bank is indexed on its own,
+ * so a query only ever touches the postings of the mentor it is scoped to.
+ *
+ * <p>Search requires every term and ranks with BM25 term saturation (no length
+ * normalization), a title occurrence counting {@value #TITLE_WEIGHT} times a description
+ * one. Autocomplete matches title words, the last term as a prefix over a sorted map of
+ * words, each holding its problems in suggestion order. Terms are not stemmed.
+ *
+ * <p>The index is warmed from the problems table at startup and updated by
+ * {@link #onSaved(Problem)} as writes happen, undone again if their transaction rolls back.
+ * Writes made by other instances are not seen, so this backend suits a single instance.
+ */
+@Component
+public class ProblemSearchIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(ProblemSearchIndex.class);
+
+  static final float TITLE_WEIGHT = 3f;
+  private static final double K1 = 1.2;
+
+  private static final Comparator<Scored> BY_RELEVANCE = Comparator.comparingDouble(Scored::score).reversed()
+          .thenComparing(scored -> scored.document().title())
+          .thenComparing(scored -> scored.document().id());
+  private static final Comparator<Document> BY_TITLE_LENGTH = Comparator.comparingInt((Document d) -> d.title().length())
+          .thenComparing(Document::title)
+          .thenComparing(Document::id);
+
+  private final ProblemRepository problemRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final boolean enabled;
+  private final Map<UUID, Bank> banks = new ConcurrentHashMap<>();
+
+  public ProblemSearchIndex(ProblemRepository problemRepository,
+                            PlatformTransactionManager transactionManager,
+                            ProblemSearchProperties properties) {
+    this.problemRepository = problemRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.enabled = properties.backend() == ProblemSearchProperties.Backend.IN_MEMORY;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warm() {
+    if (!enabled) {
+      return;
+    }
+    long started = System.nanoTime();
+    long count = readOnlyTransaction.execute(status -> {
+      try (Stream<BankDocument> problems = problemRepository.streamBank()) {
+        return problems.mapToLong(problem -> {
+          bank(problem.getMentorId()).put(Document.of(
+                  problem.getId(), problem.getTitle(), problem.getDescription(), problem.getDifficulty()));
+          return 1;
+        }).sum();
+      }
+    });
+    log.info("Problem search index warmed with {} problems in {} banks in {} ms",
+            count, banks.size(), (System.nanoTime() - started) / 1_000_000);
+  }
+
+  /**
+   * Indexes the problem as saved, or drops it if it is no longer in the bank. Takes effect
+   * immediately so the writer's own transaction sees it, and is reverted if that transaction
+   * does not commit.
+   */
+  public void onSaved(Problem problem) {
+    if (!enabled) {
+      return;
+    }
+    Bank bank = bank(problem.getMentor().getId());
+    Document previous = problem.isInBank()
+            ? bank.put(Document.of(problem.getId(), problem.getTitle(), problem.getDescription(), problem.getDifficulty()))
+            : bank.remove(problem.getId());
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          if (status != STATUS_COMMITTED) {
+            if (previous == null) {
+              bank.remove(problem.getId());
+            } else {
+              bank.put(previous);
+            }
+          }
+        }
+      });
+    }
+  }
+
+  public ProblemSearchResponse search(UUID mentorId, List<String> terms, ProblemDifficulty difficulty, int limit) {
+    Bank bank = banks.get(mentorId);
+    if (bank == null || terms.isEmpty()) {
+      return new ProblemSearchResponse(List.of(), 0, Map.of());
+    }
+    return bank.search(terms, difficulty, limit);
+  }
+
+  public List<ProblemSuggestion> autocomplete(UUID mentorId, List<String> terms, int limit) {
+    Bank bank = banks.get(mentorId);
+    if (bank == null || terms.isEmpty()) {
+      return List.of();
+    }
+    return bank.autocomplete(terms, limit);
+  }
+
+  private Bank bank(UUID mentorId) {
+    return banks.computeIfAbsent(mentorId, id -> new Bank());
+  }
+
+  /**
+   * @param terms      weighted occurrences of each term in title and description
+   * @param titleWords the distinct title terms, which autocomplete matches against
+   */
+  private record Document(UUID id, String title, ProblemDifficulty difficulty,
+                          Map<String, Float> terms, Set<String> titleWords) {
+
+    static Document of(UUID id, String title, String description, ProblemDifficulty difficulty) {
+      Map<String, Float> terms = new HashMap<>();
+      List<String> titleTerms = SearchTerms.of(title);
+      titleTerms.forEach(term -> terms.merge(term, TITLE_WEIGHT, Float::sum));
+      SearchTerms.of(description).forEach(term -> terms.merge(term, 1f, Float::sum));
+      return new Document(id, title, difficulty, terms, Set.copyOf(titleTerms));
+    }
+  }
+
+  private record Scored(Document document, double score) {}
+
+  // One word's problems during the autocomplete merge; never empty while queued
+  private static final class Cursor {
+
+    private final Iterator<Document> documents;
+    private Document head;
+
+    Cursor(Iterator<Document> documents) {
+      this.documents = documents;
+      this.head = documents.next();
+    }
+
+    Document head() {
+      return head;
+    }
+
+    boolean advance() {
+      head = documents.hasNext() ? documents.next() : null;
+      return head != null;
+    }
+  }
+
+  private static final class Bank {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private final Map<String, Map<UUID, Float>> postings = new HashMap<>();
+    // Sorted, so the title words starting with a prefix are one contiguous range, and each
+    // word's problems in suggestion order, so autocomplete can stop at the first few
+    private final NavigableMap<String, NavigableSet<Document>> titleWords = new TreeMap<>();
+
+    /** @return the document it replaces, if any */
+    Document put(Document document) {
+      lock.writeLock().lock();
+      try {
+        Document previous = unindex(document.id());
+        documents.put(document.id(), document);
+        document.terms().forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.id(), weight));
+        document.titleWords().forEach(word -> titleWords.computeIfAbsent(word, w -> new TreeSet<>(BY_TITLE_LENGTH)).add(document));
+        return previous;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    /** @return the removed document, if it was indexed */
+    Document remove(UUID id) {
+      lock.writeLock().lock();
+      try {
+        return unindex(id);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    private Document unindex(UUID id) {
+      Document document = documents.remove(id);
+      if (document != null) {
+        document.terms().keySet().forEach(term -> postings.computeIfPresent(term, (t, posting) -> {
+          posting.remove(id);
+          return posting.isEmpty() ? null : posting;
+        }));
+        document.titleWords().forEach(word -> titleWords.computeIfPresent(word, (w, documents) -> {
+          documents.remove(document);
+          return documents.isEmpty() ? null : documents;
+        }));
+      }
+      return document;
+    }
+
+    ProblemSearchResponse search(List<String> terms, ProblemDifficulty difficulty, int limit) {
+      lock.readLock().lock();
+      try {
+        List<Map<UUID, Float>> termPostings = new ArrayList<>(terms.size());
+        for (String term : terms) {
+          Map<UUID, Float> posting = postings.get(term);
+          if (posting == null) {
+            return new ProblemSearchResponse(List.of(), 0, Map.of());
+          }
+          termPostings.add(posting);
+        }
+        termPostings.sort(Comparator.comparingInt(Map::size));
+        double[] idf = termPostings.stream()
+                .mapToDouble(posting -> Math.log(1 + (documents.size() - posting.size() + 0.5) / (posting.size() + 0.5)))
+                .toArray();
+
+        Map<ProblemDifficulty, Long> difficulties = new EnumMap<>(ProblemDifficulty.class);
+        PriorityQueue<Scored> best = new PriorityQueue<>(BY_RELEVANCE.reversed());
+        long total = 0;
+        // Walk the rarest term's posting and look the others up
+        candidates:
+        for (Map.Entry<UUID, Float> candidate : termPostings.getFirst().entrySet()) {
+          double score = idf[0] * saturate(candidate.getValue());
+          for (int i = 1; i < termPostings.size(); i++) {
+            Float weight = termPostings.get(i).get(candidate.getKey());
+            if (weight == null) {
+              continue candidates;
+            }
+            score += idf[i] * saturate(weight);
+          }
+          Document document = documents.get(candidate.getKey());
+          difficulties.merge(document.difficulty(), 1L, Long::sum);
+          if (difficulty == null || document.difficulty() == difficulty) {
+            total++;
+            keepBest(best, new Scored(document, score), BY_RELEVANCE, limit);
+          }
+        }
+
+        List<ProblemSearchHit> hits = best.stream()
+                .sorted(BY_RELEVANCE)
+                .map(scored -> new ProblemSearchHit(scored.document().id(), scored.document().title(),
+                        scored.document().difficulty(), scored.score()))
+                .toList();
+        return new ProblemSearchResponse(hits, total, difficulties);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    List<ProblemSuggestion> autocomplete(List<String> terms, int limit) {
+      lock.readLock().lock();
+      try {
+        String prefix = terms.getLast();
+        List<String> words = terms.subList(0, terms.size() - 1);
+        List<Document> suggestions = new ArrayList<>(limit);
+        if (words.isEmpty()) {
+          // Merge the already ordered sets of every word with the prefix, stopping after the first few titles
+          PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparing(Cursor::head, BY_TITLE_LENGTH));
+          for (NavigableSet<Document> documents : titleWords.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            cursors.add(new Cursor(documents.iterator()));
+          }
+          Set<UUID> seen = new HashSet<>();
+          while (!cursors.isEmpty() && suggestions.size() < limit) {
+            Cursor cursor = cursors.poll();
+            if (seen.add(cursor.head().id())) {
+              suggestions.add(cursor.head());
+            }
+            if (cursor.advance()) {
+              cursors.add(cursor);
+            }
+          }
+        } else {
+          // Whole words narrow the candidates far more than a prefix does; walk the rarest in order
+          NavigableSet<Document> rarest = null;
+          for (String word : words) {
+            NavigableSet<Document> documents = titleWords.get(word);
+            if (documents == null) {
+              return List.of();
+            }
+            if (rarest == null || documents.size() < rarest.size()) {
+              rarest = documents;
+            }
+          }
+          for (Document document : rarest) {
+            if (document.titleWords().containsAll(words) && hasPrefix(document.titleWords(), prefix)) {
+              suggestions.add(document);
+              if (suggestions.size() == limit) {
+                break;
+              }
+            }
+          }
+        }
+        return suggestions.stream()
+                .map(document -> new ProblemSuggestion(document.id(), document.title(), document.difficulty()))
+                .toList();
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    private static boolean hasPrefix(Set<String> words, String prefix) {
+      for (String word : words) {
+        if (word.startsWith(prefix)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static double saturate(float weight) {
+      return weight * (K1 + 1) / (weight + K1);
+    }
+
+    // Bounded heap whose head is the worst of the best so far
+    private static <T> void keepBest(PriorityQueue<T> best, T candidate, Comparator<T> order, int limit) {
+      if (best.size() < limit) {
+        best.add(candidate);
+      } else if (order.compare(candidate, best.peek()) < 0) {
+        best.poll();
+        best.add(candidate);
+      }
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.mentorship.service;
+
+import com.mentorship.config.ProblemSearchProperties;
+import com.mentorship.domain.Problem;
+import com.mentorship.domain.ProblemDifficulty;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.ProblemCreateRequest;
+import com.mentorship.dto.ProblemResponse;
+import com.mentorship.dto.ProblemSearchHit;
+import com.mentorship.dto.ProblemSearchResponse;
+import com.mentorship.dto.ProblemSuggestion;
+import com.mentorship.dto.ProblemUpdateRequest;
+import com.mentorship.exception.ForbiddenException;
+import com.mentorship.exception.ResourceNotFoundException;
+import com.mentorship.repository.ProblemRepository;
+import com.mentorship.repository.ProblemSearchRepository;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.util.SearchTerms;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Timed("mentorship.service")
+public class ProblemService {
+
+  private final UserRepository userRepository;
+  private final ProblemRepository problemRepository;
+  private final ProblemSearchRepository problemSearchRepository;
+  private final ProblemSearchIndex problemSearchIndex;
+  private final ProblemSearchProperties searchProperties;
+  private final MenteeDashboardProjector dashboardProjector;
+
+  @Transactional
+  public ProblemResponse createProblem(ProblemCreateRequest request) {
+    User mentor = userRepository.findById(request.mentorId())
+            .orElseThrow(() -> new ResourceNotFoundException("Mentor not found"));
+    if (mentor.getRole() != UserRole.MENTOR) {
+      throw new IllegalArgumentException("Only mentors can create problems");
+    }
+
+    // Written now rather than at commit: the PostgreSQL search reads through JDBC, which would not see it
+    Problem problem = problemRepository.saveAndFlush(Problem.builder()
+            .mentor(mentor)
+            .title(request.title().trim())
+            .description(request.description())
+            .difficulty(request.difficulty())
+            .externalUrl(request.externalUrl())
+            .inBank(request.inBank() == null || request.inBank())
+            .build());
+    problemSearchIndex.onSaved(problem);
+    return ProblemResponse.from(problem);
+  }
+
+  @Transactional
+  public ProblemResponse updateProblem(UUID problemId, ProblemUpdateRequest request) {
+    Problem problem = problemRepository.findById(problemId)
+            .orElseThrow(() -> new ResourceNotFoundException("Problem not found"));
+    if (!problem.getMentor().getId().equals(request.mentorId())) {
+      throw new ForbiddenException("Only the author can edit this problem");
+    }
+
+    String title = request.title().trim();
+    boolean renamed = !title.equals(problem.getTitle());
+    problem.setTitle(title);
+    problem.setDescription(request.description());
+    problem.setDifficulty(request.difficulty());
+    problem.setExternalUrl(request.externalUrl());
+    problem.setInBank(request.inBank());
+    problemRepository.flush();
+    problemSearchIndex.onSaved(problem);
+    if (renamed) {
+      // Mentee dashboards carry copies of the titles of their assignments' problems
+      dashboardProjector.onProblemRenamed(problem.getId());
+    }
+    return ProblemResponse.from(problem);
+  }
+
+  /**
+   * Ranked full-text search of one mentor's bank: every word of the query must appear in
+   * the title or description. Facet counts ignore the difficulty filter.
+   */
+  @Transactional(readOnly = true)
+  public ProblemSearchResponse search(UUID mentorId, String query, ProblemDifficulty difficulty, int limit) {
+    checkLimit(limit);
+    List<String> terms = SearchTerms.distinct(query);
+    if (terms.isEmpty()) {
+      return new ProblemSearchResponse(List.of(), 0, Map.of());
+    }
+    if (searchProperties.backend() == ProblemSearchProperties.Backend.IN_MEMORY) {
+      return problemSearchIndex.search(mentorId, terms, difficulty, limit);
+    }
+    Map<ProblemDifficulty, Long> difficulties = problemSearchRepository.countByDifficulty(mentorId, terms);
+    long total = difficulty == null
+            ? difficulties.values().stream().mapToLong(Long::longValue).sum()
+            : difficulties.getOrDefault(difficulty, 0L);
+    List<ProblemSearchHit> hits = total == 0
+            ? List.of()
+            : problemSearchRepository.search(mentorId, terms, difficulty, limit);
+    return new ProblemSearchResponse(hits, total, difficulties);
+  }
+
+  /** Typeahead over bank titles: the last word of the input is matched as a prefix. */
+  @Transactional(readOnly = true)
+  public List<ProblemSuggestion> autocomplete(UUID mentorId, String prefix, int limit) {
+    checkLimit(limit);
+    List<String> terms = SearchTerms.distinct(prefix);
+    if (terms.isEmpty()) {
+      return List.of();
+    }
+    if (searchProperties.backend() == ProblemSearchProperties.Backend.IN_MEMORY) {
+      return problemSearchIndex.autocomplete(mentorId, terms, limit);
+    }
+    return problemSearchRepository.autocomplete(mentorId, terms, limit);
+  }
+
+  private void checkLimit(int limit) {
+    if (limit < 1 || limit > searchProperties.maxLimit()) {
+      throw new IllegalArgumentException("limit must be between 1 and " + searchProperties.maxLimit());
+    }
+  }
+}
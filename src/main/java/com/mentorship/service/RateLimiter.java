@@ -0,0 +1,98 @@
+package com.mentorship.service;
+
+import com.mentorship.config.RateLimitProperties;
+import com.mentorship.config.RateLimitProperties.Policy;
+import com.mentorship.config.RateLimitProperties.Route;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per route and client key, kept in this instance. Each bucket is a single
+ * {@link AtomicLong} holding the time at which it will be full again (the generic cell rate
+ * algorithm), so taking a token is one read and one compare-and-set, with no lock and no
+ * allocation once the bucket exists. Buckets live in a {@link ConcurrentHashMap} per route,
+ * whose lookups never block; full ones are swept away, since a full bucket is the same as none.
+ */
+@Component
+public class RateLimiter {
+
+  private final boolean enabled;
+  private final Limit[] limits;
+
+  public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+    this.enabled = properties.enabled();
+    Route[] routes = Route.values();
+    this.limits = new Limit[routes.length];
+    for (Route route : routes) {
+      limits[route.ordinal()] = new Limit(properties.policy(route), rejectedCounter(meterRegistry, route));
+    }
+  }
+
+  /**
+   * Takes a token from the client's bucket for the route.
+   * @param key Whom the route is limited by: a client address, a mentor or student id
+   * @return 0 if the request may go ahead, otherwise the nanoseconds until it would
+   */
+  public long acquire(Route route, Object key) {
+    if (!enabled) {
+      return 0;
+    }
+    Limit limit = limits[route.ordinal()];
+    long now = System.nanoTime();
+    AtomicLong bucket = limit.buckets.get(key);
+    if (bucket == null) {
+      bucket = limit.buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+    while (true) {
+      long fullAt = bucket.get();
+      long from = fullAt - now > 0 ? fullAt : now;
+      long wait = from - limit.tolerance - now;
+      if (wait > 0) {
+        limit.rejected.increment();
+        return wait;
+      }
+      if (bucket.compareAndSet(fullAt, from + limit.interval)) {
+        return 0;
+      }
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${mentorship.rate-limit.sweep-interval:1m}")
+  public void sweep() {
+    long now = System.nanoTime();
+    // A request racing the removal of its full bucket may go unrecorded, which costs at most one token
+    for (Limit limit : limits) {
+      limit.buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+  }
+
+  private static Counter rejectedCounter(MeterRegistry registry, Route route) {
+    return Counter.builder("mentorship.http.rate_limited")
+            .description("Requests turned away by a rate limit, by route")
+            .tag("route", route.name().toLowerCase(Locale.ROOT))
+            .register(registry);
+  }
+
+  private static final class Limit {
+
+    // Time one token takes to come back
+    private final long interval;
+    // How far ahead of now the bucket's full time may run: capacity minus the token being taken
+    private final long tolerance;
+    private final ConcurrentMap<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    Limit(Policy policy, Counter rejected) {
+      this.interval = Math.max(1, policy.period().toNanos() / policy.capacity());
+      this.tolerance = interval * (policy.capacity() - 1);
+      this.rejected = rejected;
+    }
+  }
+}
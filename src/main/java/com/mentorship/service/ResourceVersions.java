@@ -0,0 +1,144 @@
+package com.mentorship.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mentorship.config.ResourceVersionProperties;
+import com.mentorship.config.SecondLevelCacheProperties;
+import com.mentorship.service.CacheInvalidationBus.Invalidation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamps for the data behind the read endpoints, so a client's ETag can be checked
+ * without running the query. Writers call {@link #changed} for every aggregate they touch;
+ * the stamp moves once the transaction commits, so a reader that takes the stamp before
+ * querying never pairs a new stamp with old data.
+ *
+ * <p>Stamps come from one sequence and ETags carry a random per-process prefix, so a stamp
+ * is never reused: not after an entry is evicted, nor after a restart. They are kept per
+ * instance; changes reach the other instances through the {@link CacheInvalidationBus}, and
+ * each moves its own stamp when told. Only the PostgreSQL bus tells them, so a stamp moves by
+ * itself once it is as old as {@code mentorship.cache.ttl}, like the entries the second-level
+ * cache serves: a write made elsewhere is seen within that time at worst.
+ */
+@Component
+public class ResourceVersions {
+
+  public enum Resource {
+    /** A mentor's invitations and mentorships. */
+    MENTOR,
+    /** A student's mentorship. */
+    STUDENT,
+    /** One user. */
+    USER,
+    /** The user directory as a whole; the id is ignored. */
+    USERS
+  }
+
+  private final ConcurrentMap<Key, Stamp> stamps;
+  private final AtomicLong sequence = new AtomicLong();
+  private final String prefix = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+
+  private final CacheInvalidationBus bus;
+
+  public ResourceVersions(ResourceVersionProperties properties, SecondLevelCacheProperties cacheProperties,
+                          CacheInvalidationBus bus) {
+    Duration ttl = cacheProperties.ttl();
+    this.stamps = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            // Counted from when the version was taken, so setting a deadline does not keep it alive
+            .expireAfter(Expiry.writing((Key key, Stamp stamp) -> stamp.remainingOf(ttl)))
+            .<Key, Stamp>build()
+            .asMap();
+    this.bus = bus;
+    bus.subscribe(this::apply);
+  }
+
+  /**
+   * The current version of the resource. Take it before reading the data it describes.
+   * {@link Version#lastModified()} is left out while the stamp is younger than a whole second,
+   * because a change later in the same second would not move the HTTP date.
+   */
+  public Version current(Resource resource, UUID id) {
+    Key key = new Key(resource, resource == Resource.USERS ? null : id);
+    Instant[] readAt = new Instant[1];
+    // Under the entry's lock, so any later change is stamped no earlier than readAt
+    Stamp stamp = stamps.compute(key, (k, existing) -> {
+      readAt[0] = Instant.now();
+      return existing == null || existing.isStaleAt(readAt[0]) ? next(readAt[0]) : existing;
+    });
+    Instant modifiedAt = stamp.modifiedAt().truncatedTo(ChronoUnit.SECONDS);
+    return new Version(key, stamp.value(), prefix,
+            modifiedAt.isBefore(readAt[0].truncatedTo(ChronoUnit.SECONDS)) ? modifiedAt : null);
+  }
+
+  /** Moves the resource to a new version once the surrounding transaction commits, or now if there is none. */
+  public void changed(Resource resource, UUID id) {
+    bus.publish(Invalidation.version(resource.name(), resource == Resource.USERS ? null : id));
+  }
+
+  /**
+   * Records that what was read at {@code version} changes by itself at {@code deadline}, as a
+   * pending invitation does when it expires, so the version moves on then without a write.
+   */
+  public void staleAt(Version version, Instant deadline) {
+    stamps.computeIfPresent(version.key(), (k, existing) -> existing.value() == version.stamp()
+            ? existing.withDeadline(deadline)
+            : existing);
+  }
+
+  private void apply(Invalidation invalidation) {
+    switch (invalidation.kind()) {
+      case VERSION -> {
+        Key key = new Key(Resource.valueOf(invalidation.name()),
+                invalidation.key() == null ? null : UUID.fromString(invalidation.key()));
+        stamps.compute(key, (k, existing) -> next(Instant.now()));
+      }
+      // Changes may have been missed; every stamp moves when next read
+      case ALL -> stamps.clear();
+      case ENTITY, TABLES -> {
+      }
+    }
+  }
+
+  private Stamp next(Instant now) {
+    return new Stamp(sequence.incrementAndGet(), now, null);
+  }
+
+  /**
+   * @param lastModified The time of the last change, to the second, or null while that second
+   *                     has not yet passed
+   */
+  public record Version(Key key, long stamp, String prefix, Instant lastModified) {
+
+    /** A strong ETag, quoted. */
+    public String etag() {
+      return "\"" + prefix + "-" + Long.toString(stamp, 36) + "\"";
+    }
+  }
+
+  record Key(Resource resource, UUID id) {}
+
+  private record Stamp(long value, Instant modifiedAt, Instant deadline) {
+
+    boolean isStaleAt(Instant now) {
+      return deadline != null && !now.isBefore(deadline);
+    }
+
+    Stamp withDeadline(Instant candidate) {
+      return deadline == null || candidate.isBefore(deadline) ? new Stamp(value, modifiedAt, candidate) : this;
+    }
+
+    Duration remainingOf(Duration ttl) {
+      Duration remaining = ttl.minus(Duration.between(modifiedAt, Instant.now()));
+      return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+  }
+}
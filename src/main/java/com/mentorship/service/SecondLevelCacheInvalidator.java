@@ -0,0 +1,103 @@
+package com.mentorship.service;
+
+import com.mentorship.config.SecondLevelCacheProperties;
+import com.mentorship.service.CacheInvalidationBus.Invalidation;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.BasicType;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Keeps the second-level caches of every instance in step with writes. Hibernate updates the
+ * caches of the instance that writes; this tells the other instances of each write to a cached
+ * entity through the {@link CacheInvalidationBus}, and on receipt evicts the entity and marks
+ * its tables changed, which retires every cached query result over them.
+ *
+ * <p>Cacheable queries must only read the tables of cached entities: writes to other tables
+ * are not published.
+ */
+@Component
+public class SecondLevelCacheInvalidator
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+  private final SessionFactoryImplementor sessionFactory;
+  private final CacheInvalidationBus bus;
+
+  public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory, CacheInvalidationBus bus,
+                                     SecondLevelCacheProperties properties) {
+    this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    this.bus = bus;
+    if (properties.enabled()) {
+      EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+      listeners.appendListeners(EventType.POST_INSERT, this);
+      listeners.appendListeners(EventType.POST_UPDATE, this);
+      listeners.appendListeners(EventType.POST_DELETE, this);
+      bus.subscribe(this::apply);
+    }
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    published(event.getPersister(), event.getId());
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    published(event.getPersister(), event.getId());
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    published(event.getPersister(), event.getId());
+  }
+
+  // Sent during the flush, as part of the transaction, so the other instances only hear of committed writes
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+
+  private void published(EntityPersister persister, Object id) {
+    if (persister.canWriteToCache()) {
+      bus.publishElsewhere(Invalidation.entity(persister.getEntityName(), id));
+      bus.publishElsewhere(Invalidation.tables(Arrays.stream(persister.getQuerySpaces())
+              .map(Serializable::toString)
+              .toArray(String[]::new)));
+    }
+  }
+
+  private void apply(Invalidation invalidation) {
+    switch (invalidation.kind()) {
+      case ENTITY -> {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(invalidation.name());
+        Object id = ((BasicType<?>) persister.getIdentifierType()).getJavaTypeDescriptor().fromString(invalidation.key());
+        sessionFactory.getCache().evictEntityData(invalidation.name(), id);
+      }
+      case TABLES -> {
+        // The timestamps cache wants a session for its statistics and events; no connection is taken
+        try (Session session = sessionFactory.openSession()) {
+          sessionFactory.getCache().getTimestampsCache()
+                  .invalidate(invalidation.name().split(","), session.unwrap(SharedSessionContractImplementor.class));
+        }
+      }
+      case ALL -> sessionFactory.getCache().evictAllRegions();
+      case VERSION -> {
+        // For ResourceVersions
+      }
+    }
+  }
+}
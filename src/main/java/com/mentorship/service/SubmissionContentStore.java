@@ -0,0 +1,99 @@
+package com.mentorship.service;
+
+import com.mentorship.config.SubmissionStorageProperties;
+import com.mentorship.domain.Submission;
+import com.mentorship.domain.SubmissionBlob;
+import com.mentorship.exception.ResourceNotFoundException;
+import com.mentorship.repository.SubmissionBlobRepository;
+import com.mentorship.repository.SubmissionBlobRepository.ChainLink;
+import com.mentorship.util.Deflate;
+import com.mentorship.util.LineDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stores submission code as content-addressed blobs. A resubmission is written as a line
+ * delta against the previous version unless the chain back to the last snapshot is already
+ * {@code maxChainLength} long or the delta saves less than half, in which case a fresh
+ * snapshot starts a new chain. Reading a version is one query plus applying at most
+ * {@code maxChainLength} deltas in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class SubmissionContentStore {
+
+  private final SubmissionBlobRepository blobRepository;
+  private final SubmissionStorageProperties properties;
+
+  /** Where a version's code went; copied onto the submission row. */
+  public record StoredCode(String blobHash, UUID baseSubmissionId, int deltaDepth, int codeSize) {}
+
+  /**
+   * @param previous the version this code follows, or null for a first submission
+   */
+  public StoredCode write(Submission previous, String code) {
+    byte[] raw = code.getBytes(StandardCharsets.UTF_8);
+    if (previous != null && previous.getDeltaDepth() < properties.maxChainLength()) {
+      byte[] delta = LineDelta.diff(read(previous.getId()), code);
+      if (delta.length < raw.length / 2) {
+        return new StoredCode(writeBlob(delta), previous.getId(), previous.getDeltaDepth() + 1, raw.length);
+      }
+    }
+    return new StoredCode(writeBlob(raw), null, 0, raw.length);
+  }
+
+  public String read(UUID submissionId) {
+    List<ChainLink> chain = blobRepository.findChain(submissionId);
+    if (chain.isEmpty()) {
+      throw new ResourceNotFoundException("Submission not found");
+    }
+    ChainLink snapshot = chain.getFirst();
+    if (snapshot.deltaDepth() != 0) {
+      throw new IllegalStateException("Delta chain of submission " + submissionId + " has no snapshot");
+    }
+    String code = snapshot.inlineCode() != null
+            ? snapshot.inlineCode()
+            : new String(payload(snapshot), StandardCharsets.UTF_8);
+    for (ChainLink delta : chain.subList(1, chain.size())) {
+      code = LineDelta.apply(code, payload(delta));
+    }
+    return code;
+  }
+
+  private String writeBlob(byte[] payload) {
+    SubmissionBlob.Encoding encoding = SubmissionBlob.Encoding.RAW;
+    byte[] data = payload;
+    if (payload.length >= properties.compressionThreshold()) {
+      byte[] compressed = Deflate.compress(payload);
+      if (compressed.length < payload.length) {
+        encoding = SubmissionBlob.Encoding.DEFLATE;
+        data = compressed;
+      }
+    }
+    String hash = sha256(payload);
+    blobRepository.insertIfAbsent(SubmissionBlob.builder()
+            .hash(hash).encoding(encoding).rawLength(payload.length).data(data).build());
+    return hash;
+  }
+
+  private static byte[] payload(ChainLink link) {
+    return link.encoding() == SubmissionBlob.Encoding.DEFLATE
+            ? Deflate.decompress(link.data(), link.rawLength())
+            : link.data();
+  }
+
+  private static String sha256(byte[] payload) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+}
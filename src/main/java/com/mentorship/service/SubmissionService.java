@@ -0,0 +1,96 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.StudentAssignment;
+import com.mentorship.domain.StudentAssignmentStatus;
+import com.mentorship.domain.Submission;
+import com.mentorship.dto.SubmissionCreateRequest;
+import com.mentorship.dto.SubmissionResponse;
+import com.mentorship.dto.SubmissionVersionResponse;
+import com.mentorship.exception.ConflictException;
+import com.mentorship.exception.ForbiddenException;
+import com.mentorship.exception.ResourceNotFoundException;
+import com.mentorship.repository.AssignmentRepository;
+import com.mentorship.repository.ProblemRepository;
+import com.mentorship.repository.StudentAssignmentRepository;
+import com.mentorship.repository.SubmissionRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Timed("mentorship.service")
+public class SubmissionService {
+
+  private final StudentAssignmentRepository studentAssignmentRepository;
+  private final AssignmentRepository assignmentRepository;
+  private final ProblemRepository problemRepository;
+  private final SubmissionRepository submissionRepository;
+  private final SubmissionContentStore contentStore;
+  private final MenteeDashboardProjector dashboardProjector;
+
+  @Transactional
+  public SubmissionResponse submit(SubmissionCreateRequest request) {
+    StudentAssignment studentAssignment = studentAssignmentRepository.findById(request.studentAssignmentId())
+            .orElseThrow(() -> new ResourceNotFoundException("Student assignment not found"));
+
+    if (!studentAssignment.getStudent().getId().equals(request.studentId())) {
+      throw new ForbiddenException("Only the assigned student can submit");
+    }
+    if (!assignmentRepository.containsProblem(studentAssignment.getAssignment().getId(), request.problemId())) {
+      throw new IllegalArgumentException("Problem is not part of this assignment");
+    }
+
+    Submission previous = submissionRepository
+            .findFirstByStudentAssignment_IdAndProblem_IdOrderByVersionDesc(studentAssignment.getId(), request.problemId())
+            .orElse(null);
+    SubmissionContentStore.StoredCode code = contentStore.write(previous, request.codeContent());
+    Submission submission = Submission.builder()
+            .studentAssignment(studentAssignment)
+            .problem(problemRepository.getReferenceById(request.problemId()))
+            .student(studentAssignment.getStudent())
+            .blobHash(code.blobHash())
+            .baseSubmissionId(code.baseSubmissionId())
+            .deltaDepth(code.deltaDepth())
+            .codeSize(code.codeSize())
+            .writeUp(request.writeUp())
+            .version(previous == null ? 1 : previous.getVersion() + 1)
+            .build();
+    try {
+      submission = submissionRepository.saveAndFlush(submission);
+    } catch (DataIntegrityViolationException ex) {
+      // uq_submission_version: another submission for this problem took the same version
+      throw new ConflictException("A newer version was submitted concurrently; please retry", ex);
+    }
+
+    studentAssignment.setStatus(StudentAssignmentStatus.SUBMITTED);
+    dashboardProjector.onSubmitted(submission);
+    return SubmissionResponse.from(submission);
+  }
+
+  /**
+   * Version metadata of a student assignment's submissions, per problem in version order,
+   * in one statement that never reads code or write-ups.
+   * @param problemId Restricts the history to one problem; null for all of them.
+   */
+  @Transactional(readOnly = true)
+  public List<SubmissionVersionResponse> getHistory(UUID studentAssignmentId, UUID problemId) {
+    List<SubmissionVersionResponse> history = problemId == null
+            ? submissionRepository.findHistory(studentAssignmentId)
+            : submissionRepository.findHistory(studentAssignmentId, problemId);
+    if (history.isEmpty() && !studentAssignmentRepository.existsById(studentAssignmentId)) {
+      throw new ResourceNotFoundException("Student assignment not found");
+    }
+    return history;
+  }
+
+  @Transactional(readOnly = true)
+  public String getCode(UUID submissionId) {
+    return contentStore.read(submissionId);
+  }
+}
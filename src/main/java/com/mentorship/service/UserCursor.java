@@ -0,0 +1,34 @@
+package com.mentorship.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the user listing: the (created_at, id) of the last row a client has seen.
+ * Encoded as an opaque URL-safe string so clients cannot depend on its layout.
+ */
+record UserCursor(Instant createdAt, UUID id) {
+
+  static final UserCursor START = new UserCursor(Instant.EPOCH, new UUID(0L, 0L));
+
+  String encode() {
+    String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static UserCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      return START;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = raw.split(":", 3);
+      Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+      return new UserCursor(createdAt, UUID.fromString(parts[2]));
+    } catch (RuntimeException ex) {
+      throw new IllegalArgumentException("Invalid cursor", ex);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.mentorship.service;
+
+import com.mentorship.config.UserPrecheckProperties;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.repository.UserRepository.UserKey;
+import com.mentorship.util.BloomFilter;
+import com.mentorship.util.Emails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * In-memory membership filters over user IDs and normalized emails, so that sign-ups with
+ * unused keys can skip the existence queries. A negative answer is only trusted once the
+ * filters have been warmed from the users table; until then every key is reported as possibly
+ * taken. Rows written by another instance are not seen here, which is why callers still
+ * treat a unique-constraint violation on insert as a conflict.
+ */
+@Component
+public class UserExistenceFilter {
+
+  private static final Logger log = LoggerFactory.getLogger(UserExistenceFilter.class);
+
+  private final UserRepository userRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final boolean enabled;
+  private final BloomFilter ids;
+  private final BloomFilter emails;
+  private final Counter skipped;
+  private final Counter queried;
+  private volatile boolean warmed;
+
+  public UserExistenceFilter(UserRepository userRepository,
+                             PlatformTransactionManager transactionManager,
+                             UserPrecheckProperties properties,
+                             MeterRegistry meterRegistry) {
+    this.userRepository = userRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.enabled = properties.mode() == UserPrecheckProperties.Mode.FILTER;
+    this.ids = enabled ? new BloomFilter(properties.expectedUsers(), properties.falsePositiveRate()) : null;
+    this.emails = enabled ? new BloomFilter(properties.expectedUsers(), properties.falsePositiveRate()) : null;
+    this.skipped = precheckCounter(meterRegistry, "skipped");
+    this.queried = precheckCounter(meterRegistry, "queried");
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warm() {
+    if (!enabled) {
+      return;
+    }
+    long started = System.nanoTime();
+    long count = readOnlyTransaction.execute(status -> {
+      try (Stream<UserKey> keys = userRepository.streamKeys()) {
+        return keys.mapToLong(key -> {
+          put(key.getId(), Emails.normalize(key.getEmail()));
+          return 1;
+        }).sum();
+      }
+    });
+    warmed = true;
+    log.info("User existence filter warmed with {} users in {} ms",
+            count, (System.nanoTime() - started) / 1_000_000);
+  }
+
+  /** Records a user that is being inserted. Safe to call before the insert commits. */
+  public void put(UUID id, String normalizedEmail) {
+    if (enabled) {
+      ids.put(id);
+      emails.put(normalizedEmail);
+    }
+  }
+
+  /** {@code false} only when no user with this ID exists (as far as this instance knows). */
+  public boolean mightContainId(UUID id) {
+    return record(!enabled || !warmed || ids.mightContain(id));
+  }
+
+  /** {@code false} only when no user with this normalized email exists (as far as this instance knows). */
+  public boolean mightContainEmail(String normalizedEmail) {
+    return record(!enabled || !warmed || emails.mightContain(normalizedEmail));
+  }
+
+  private boolean record(boolean maybe) {
+    (maybe ? queried : skipped).increment();
+    return maybe;
+  }
+
+  private static Counter precheckCounter(MeterRegistry registry, String outcome) {
+    return Counter.builder("mentorship.users.precheck")
+            .description("Duplicate-user existence checks, by whether the database had to be queried")
+            .tag("outcome", outcome)
+            .register(registry);
+  }
+}
@@ -1,31 +1,73 @@
 package com.mentorship.service;
 
+import com.mentorship.config.UserPrecheckProperties;
 import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
 import com.mentorship.dto.UserCreateRequest;
+import com.mentorship.dto.UserPageResponse;
 import com.mentorship.dto.UserResponse;
 import com.mentorship.exception.ConflictException;
 import com.mentorship.repository.UserRepository;
+import com.mentorship.service.ResourceVersions.Resource;
+import com.mentorship.util.Emails;
+import com.mentorship.util.LikePatterns;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed("mentorship.service")
 public class UserService {
 
+  static final int MAX_PAGE_SIZE = 500;
+
   private final UserRepository userRepository;
+  private final UserExistenceFilter userExistenceFilter;
+  private final ResourceVersions resourceVersions;
+  private final UserPrecheckProperties precheckProperties;
+
+  @Transactional(readOnly = true)
+  public UserPageResponse listUsers(UserRole role, String emailPrefix, String cursor, int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    UserCursor after = UserCursor.decode(cursor);
+
+    // Fetch one extra row to learn whether another page exists without a count query
+    List<UserResponse> rows = userRepository.findPageAfter(
+            rolesFor(role), emailPattern(emailPrefix), after.createdAt(), after.id(), PageRequest.ofSize(limit + 1));
 
+    if (rows.size() <= limit) {
+      return new UserPageResponse(rows, null);
+    }
+    List<UserResponse> page = rows.subList(0, limit);
+    UserResponse last = page.get(limit - 1);
+    return new UserPageResponse(List.copyOf(page), new UserCursor(last.createdAt(), last.id()).encode());
+  }
+
+  /**
+   * Streams every matching user to {@code sink} while the JDBC cursor is open,
+   * so memory use stays flat regardless of table size.
+   */
   @Transactional(readOnly = true)
-  public List<UserResponse> listUsers() {
-    return userRepository.findAll()
-            .stream()
-            .map(UserResponse::from)
-            .toList();
+  public void exportUsers(UserRole role, String emailPrefix, Consumer<UserResponse> sink) {
+    try (Stream<UserResponse> users = userRepository.streamAll(rolesFor(role), emailPattern(emailPrefix))) {
+      users.forEach(sink);
+    }
   }
 
   @Transactional(readOnly = true)
@@ -35,13 +77,17 @@ public class UserService {
 
   @Transactional
   public UserResponse createUser(UserCreateRequest request) {
-    // Check for conflicts
-    if (userRepository.existsById(request.id())) {
-      throw new ConflictException("User with ID " + request.id() + " already exists");
-    }
-    String normalizedEmail = request.email().trim().toLowerCase(Locale.ROOT);
-    if (userRepository.existsByEmailIgnoreCase(normalizedEmail)) {
-      throw new ConflictException("User with email " + normalizedEmail + " already exists");
+    String normalizedEmail = Emails.normalize(request.email());
+
+    // Check for conflicts. The pre-checks only produce the friendlier message; the unique
+    // constraints below catch whatever they skip or race with.
+    if (precheckProperties.mode() != UserPrecheckProperties.Mode.CONSTRAINT) {
+      if (userExistenceFilter.mightContainId(request.id()) && userRepository.existsById(request.id())) {
+        throw new ConflictException("User with ID " + request.id() + " already exists");
+      }
+      if (userExistenceFilter.mightContainEmail(normalizedEmail) && userRepository.existsByEmailIgnoreCase(normalizedEmail)) {
+        throw new ConflictException("User with email " + normalizedEmail + " already exists");
+      }
     }
 
     // Create new user entity
@@ -52,9 +98,40 @@ public class UserService {
             .role(request.role())
             .build();
 
-    User savedUser = userRepository.save(newUser);
+    User savedUser;
+    try {
+      // Flush so a duplicate surfaces here rather than at commit
+      savedUser = userRepository.saveAndFlush(newUser);
+    } catch (DataIntegrityViolationException ex) {
+      throw duplicateUser(request.id(), normalizedEmail, ex);
+    }
+    userExistenceFilter.put(savedUser.getId(), normalizedEmail);
+    resourceVersions.changed(Resource.USER, savedUser.getId());
+    resourceVersions.changed(Resource.USERS, null);
 
     // Convert to response DTO
     return UserResponse.from(savedUser);
   }
+
+  private static ConflictException duplicateUser(UUID id, String email, DataIntegrityViolationException ex) {
+    // users has exactly two unique keys: the primary key (users_pkey on PostgreSQL, PRIMARY_KEY_n on H2) and the email
+    String constraint = ex.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+            ? violation.getConstraintName().toLowerCase(Locale.ROOT)
+            : "";
+    if (constraint.contains("pkey") || constraint.contains("primary")) {
+      return new ConflictException("User with ID " + id + " already exists", ex);
+    }
+    return new ConflictException("User with email " + email + " already exists", ex);
+  }
+
+  private static Set<UserRole> rolesFor(UserRole role) {
+    return role == null ? EnumSet.allOf(UserRole.class) : EnumSet.of(role);
+  }
+
+  private static String emailPattern(String emailPrefix) {
+    if (emailPrefix == null || emailPrefix.isBlank()) {
+      return "%";
+    }
+    return LikePatterns.startingWith(Emails.normalize(emailPrefix));
+  }
 }
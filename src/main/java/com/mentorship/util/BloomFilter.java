@@ -0,0 +1,93 @@
+package com.mentorship.util;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings and UUIDs.
+ * {@link #mightContain} never returns {@code false} for a key that was {@link #put}; it returns
+ * {@code true} for an absent key with roughly the configured probability while the filter holds
+ * no more than the expected number of keys. Keys cannot be removed.
+ */
+public final class BloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+
+  public BloomFilter(long expectedKeys, double falsePositiveRate) {
+    if (expectedKeys < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("expectedKeys must be positive and falsePositiveRate within (0, 1)");
+    }
+    long bits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    int wordCount = Math.toIntExact(Math.max(1, (bits + 63) >>> 6));
+    this.words = new AtomicLongArray(wordCount);
+    this.bitCount = (long) wordCount << 6;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * Math.log(2)));
+  }
+
+  public void put(String key) {
+    put(hash(key));
+  }
+
+  public void put(UUID key) {
+    put(hash(key));
+  }
+
+  public boolean mightContain(String key) {
+    return mightContain(hash(key));
+  }
+
+  public boolean mightContain(UUID key) {
+    return mightContain(hash(key));
+  }
+
+  public long bitSize() {
+    return bitCount;
+  }
+
+  private void put(long hash) {
+    // Kirsch-Mitzenmacher: derive the k indexes from two halves of one 64-bit hash
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      if ((words.get(word) & mask) == 0) {
+        words.getAndAccumulate(word, mask, (current, m) -> current | m);
+      }
+    }
+  }
+
+  private boolean mightContain(long hash) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long hash(String key) {
+    // FNV-1a over UTF-16 units, then a finalizer so both 32-bit halves are well mixed
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      h = (h ^ key.charAt(i)) * 0x100000001b3L;
+    }
+    return mix(h);
+  }
+
+  private static long hash(UUID key) {
+    return mix(key.getMostSignificantBits() ^ mix(key.getLeastSignificantBits()));
+  }
+
+  private static long mix(long h) {
+    h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+    h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return h ^ (h >>> 33);
+  }
+}
@@ -0,0 +1,56 @@
+package com.mentorship.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Raw DEFLATE (no zlib header or checksum) for stored payloads. Callers keep the
+ * uncompressed length, so inflating can size its buffer exactly.
+ */
+public final class Deflate {
+
+  private Deflate() {
+  }
+
+  public static byte[] compress(byte[] input) {
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    try {
+      deflater.setInput(input);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 2));
+      byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  public static byte[] decompress(byte[] input, int length) {
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(input);
+      byte[] output = new byte[length];
+      int read = 0;
+      while (read < length && !inflater.finished()) {
+        int n = inflater.inflate(output, read, length - read);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        read += n;
+      }
+      if (read != length) {
+        throw new IllegalStateException("Inflated " + read + " bytes, expected " + length);
+      }
+      return output;
+    } catch (DataFormatException ex) {
+      throw new IllegalStateException("Corrupt compressed payload", ex);
+    } finally {
+      inflater.end();
+    }
+  }
+}
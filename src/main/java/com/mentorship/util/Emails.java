@@ -0,0 +1,17 @@
+package com.mentorship.util;
+
+import java.util.Locale;
+
+/**
+ * Email helpers shared by the user and invitation flows.
+ * Emails are stored trimmed and lower-cased, so lookups can compare them exactly.
+ */
+public final class Emails {
+
+  private Emails() {
+  }
+
+  public static String normalize(String email) {
+    return email.trim().toLowerCase(Locale.ROOT);
+  }
+}
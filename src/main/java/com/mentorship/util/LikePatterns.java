@@ -0,0 +1,16 @@
+package com.mentorship.util;
+
+/**
+ * SQL LIKE helpers. Patterns built here escape with a backslash; queries using them say
+ * {@code ESCAPE '\'}.
+ */
+public final class LikePatterns {
+
+  private LikePatterns() {
+  }
+
+  /** A pattern matching every string that starts with {@code prefix}, taken literally. */
+  public static String startingWith(String prefix) {
+    return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+  }
+}
@@ -0,0 +1,154 @@
+package com.mentorship.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Line-level deltas between two versions of a text. A delta is a list of operations that
+ * rebuild the target from the base: COPY a run of base lines, or INSERT literal lines.
+ * Lines keep their terminators, so {@code apply(base, diff(base, target))} is exact.
+ *
+ * <p>Matching is greedy over a hash index of the base lines rather than a minimal edit
+ * script: for each target line the longest run starting at one of its base occurrences
+ * is copied. That finds edited, inserted, deleted and moved blocks in linear time, which
+ * is what resubmissions of pasted code look like.
+ *
+ * <p>Encoding: a sequence of {@code 0 start count} (COPY) and {@code 1 count (length bytes)*}
+ * (INSERT) records, all integers as unsigned varints, line bytes in UTF-8.
+ */
+public final class LineDelta {
+
+  private static final int COPY = 0;
+  private static final int INSERT = 1;
+  // Probing every occurrence of a common line ("}" or blank) would make diffs quadratic
+  private static final int MAX_CANDIDATES = 8;
+
+  private LineDelta() {
+  }
+
+  public static byte[] diff(String base, String target) {
+    List<String> baseLines = lines(base);
+    List<String> targetLines = lines(target);
+    Map<String, List<Integer>> occurrences = new HashMap<>();
+    for (int i = 0; i < baseLines.size(); i++) {
+      List<Integer> positions = occurrences.computeIfAbsent(baseLines.get(i), line -> new ArrayList<>(1));
+      if (positions.size() < MAX_CANDIDATES) {
+        positions.add(i);
+      }
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(16, target.length() / 8));
+    List<String> pending = new ArrayList<>();
+    int t = 0;
+    while (t < targetLines.size()) {
+      int bestStart = -1;
+      int bestLength = 0;
+      for (int start : occurrences.getOrDefault(targetLines.get(t), List.of())) {
+        int length = 1;
+        while (start + length < baseLines.size() && t + length < targetLines.size()
+                && baseLines.get(start + length).equals(targetLines.get(t + length))) {
+          length++;
+        }
+        if (length > bestLength) {
+          bestStart = start;
+          bestLength = length;
+        }
+      }
+      if (bestLength == 0) {
+        pending.add(targetLines.get(t++));
+        continue;
+      }
+      writeInsert(out, pending);
+      writeVarint(out, COPY);
+      writeVarint(out, bestStart);
+      writeVarint(out, bestLength);
+      t += bestLength;
+    }
+    writeInsert(out, pending);
+    return out.toByteArray();
+  }
+
+  public static String apply(String base, byte[] delta) {
+    List<String> baseLines = lines(base);
+    ByteBuffer in = ByteBuffer.wrap(delta);
+    StringBuilder target = new StringBuilder(base.length() + delta.length);
+    while (in.hasRemaining()) {
+      int op = readVarint(in);
+      if (op == COPY) {
+        int start = readVarint(in);
+        int count = readVarint(in);
+        if (start + count > baseLines.size()) {
+          throw new IllegalStateException("Delta copies lines past the end of its base");
+        }
+        for (int i = start; i < start + count; i++) {
+          target.append(baseLines.get(i));
+        }
+      } else if (op == INSERT) {
+        int count = readVarint(in);
+        for (int i = 0; i < count; i++) {
+          int length = readVarint(in);
+          target.append(new String(delta, in.position(), length, StandardCharsets.UTF_8));
+          in.position(in.position() + length);
+        }
+      } else {
+        throw new IllegalStateException("Unknown delta operation " + op);
+      }
+    }
+    return target.toString();
+  }
+
+  /** Splits after every '\n', so the last line has no terminator when the text does not end with one. */
+  static List<String> lines(String text) {
+    List<String> lines = new ArrayList<>();
+    int start = 0;
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == '\n') {
+        lines.add(text.substring(start, i + 1));
+        start = i + 1;
+      }
+    }
+    if (start < text.length()) {
+      lines.add(text.substring(start));
+    }
+    return lines;
+  }
+
+  private static void writeInsert(ByteArrayOutputStream out, List<String> lines) {
+    if (lines.isEmpty()) {
+      return;
+    }
+    writeVarint(out, INSERT);
+    writeVarint(out, lines.size());
+    for (String line : lines) {
+      byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+      writeVarint(out, bytes.length);
+      out.writeBytes(bytes);
+    }
+    lines.clear();
+  }
+
+  private static void writeVarint(ByteArrayOutputStream out, int value) {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  private static int readVarint(ByteBuffer in) {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte b = in.get();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Malformed varint in delta");
+  }
+}
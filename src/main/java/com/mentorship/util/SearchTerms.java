@@ -0,0 +1,43 @@
+package com.mentorship.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits search text into terms: maximal runs of letters and digits, lower-cased.
+ * Both search backends see the same terms, and since a term never contains punctuation
+ * it can be placed in a {@code to_tsquery} expression without escaping.
+ */
+public final class SearchTerms {
+
+  private SearchTerms() {
+  }
+
+  /** Every term in order of appearance, repeats included. */
+  public static List<String> of(String text) {
+    List<String> terms = new ArrayList<>();
+    if (text == null) {
+      return terms;
+    }
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+      if (wordChar && start < 0) {
+        start = i;
+      } else if (!wordChar && start >= 0) {
+        terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+        start = -1;
+      }
+    }
+    return terms;
+  }
+
+  /** The distinct terms of a query, in order of appearance. */
+  public static List<String> distinct(String text) {
+    Set<String> terms = new LinkedHashSet<>(of(text));
+    return List.copyOf(terms);
+  }
+}
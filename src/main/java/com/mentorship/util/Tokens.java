@@ -0,0 +1,116 @@
+package com.mentorship.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DrbgParameters;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Random URL-safe tokens, and the hashes they are stored as.
+ *
+ * <p>A token is {@value #TOKEN_BYTES} random bytes (192 bits, against 122 in a random UUID)
+ * in unpadded base64url: {@value #TOKEN_LENGTH} characters from {@code [A-Za-z0-9_-]}. The
+ * bytes come from a set of independent DRBG instances, each filling a buffer
+ * {@value #REFILL_TOKENS} tokens at a time. A caller takes whichever stripe is free, so
+ * concurrent callers neither share one generator nor queue behind one lock, and most tokens
+ * cost a copy out of a buffer. Stripes rather than thread-locals, so that virtual threads do
+ * not each seed a generator of their own.
+ *
+ * <p>Only {@link #hash} of a token is stored: tokens carry enough entropy that a plain SHA-256
+ * cannot be reversed, and a copy of the table reveals no token that could still be used.
+ */
+public final class Tokens {
+
+  public static final int TOKEN_BYTES = 24;
+  public static final int TOKEN_LENGTH = TOKEN_BYTES / 3 * 4;
+  public static final int HASH_BYTES = 32;
+
+  private static final int REFILL_TOKENS = 128;
+  private static final byte[] ALPHABET =
+          "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+  private static final Stripe[] STRIPES = stripes(Runtime.getRuntime().availableProcessors() * 2);
+
+  private Tokens() {
+  }
+
+  public static String generate() {
+    byte[] encoded = new byte[TOKEN_LENGTH];
+    Stripe stripe = acquire();
+    try {
+      stripe.next(encoded);
+    } finally {
+      stripe.lock.unlock();
+    }
+    return new String(encoded, StandardCharsets.US_ASCII);
+  }
+
+  /** SHA-256 of the token's UTF-8 bytes; tokens issued before this format hash the same way. */
+  public static byte[] hash(String token) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  // The first free stripe from a random start, else wait on that start
+  private static Stripe acquire() {
+    int mask = STRIPES.length - 1;
+    int start = ThreadLocalRandom.current().nextInt();
+    for (int i = 0; i <= mask; i++) {
+      Stripe stripe = STRIPES[(start + i) & mask];
+      if (stripe.lock.tryLock()) {
+        return stripe;
+      }
+    }
+    Stripe stripe = STRIPES[start & mask];
+    stripe.lock.lock();
+    return stripe;
+  }
+
+  private static Stripe[] stripes(int minimum) {
+    Stripe[] stripes = new Stripe[Integer.highestOneBit(Math.max(1, minimum - 1)) << 1];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Stripe();
+    }
+    return stripes;
+  }
+
+  private static final class Stripe {
+
+    final ReentrantLock lock = new ReentrantLock();
+    private final SecureRandom random;
+    private final byte[] buffer = new byte[TOKEN_BYTES * REFILL_TOKENS];
+    private int position = buffer.length;
+
+    Stripe() {
+      try {
+        random = SecureRandom.getInstance("DRBG",
+                DrbgParameters.instantiation(256, DrbgParameters.Capability.RESEED_ONLY, null));
+      } catch (NoSuchAlgorithmException ex) {
+        throw new IllegalStateException("DRBG is not available", ex);
+      }
+    }
+
+    // Encodes the next TOKEN_BYTES of the buffer, then wipes them; called with the lock held
+    void next(byte[] encoded) {
+      if (position == buffer.length) {
+        random.nextBytes(buffer);
+        position = 0;
+      }
+      for (int in = position, out = 0; out < TOKEN_LENGTH; in += 3, out += 4) {
+        int bits = (buffer[in] & 0xff) << 16 | (buffer[in + 1] & 0xff) << 8 | (buffer[in + 2] & 0xff);
+        encoded[out] = ALPHABET[bits >>> 18];
+        encoded[out + 1] = ALPHABET[(bits >>> 12) & 0x3f];
+        encoded[out + 2] = ALPHABET[(bits >>> 6) & 0x3f];
+        encoded[out + 3] = ALPHABET[bits & 0x3f];
+      }
+      Arrays.fill(buffer, position, position + TOKEN_BYTES, (byte) 0);
+      position += TOKEN_BYTES;
+    }
+  }
+}
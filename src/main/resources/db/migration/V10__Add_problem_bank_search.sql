@@ -0,0 +1,16 @@
+/*
+ * Full-text search over mentors' problem banks.
+ *
+ * search_vector holds the English-stemmed title (weight A) and description (weight B) for
+ * ranked search, plus the unstemmed title words (weight D) for typeahead: a prefix of what the
+ * user typed only matches reliably against the words as written, not against their stems.
+ * Queries pick the weights they match on, so the two never mix.
+*/
+ALTER TABLE problems ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', title), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B') ||
+    setweight(to_tsvector('simple', title), 'D')
+) STORED;
+
+-- Only bank problems are searched.
+CREATE INDEX idx_problems_bank_search ON problems USING GIN (search_vector) WHERE in_bank;
@@ -0,0 +1,38 @@
+/*
+ * Assignment tags.
+ *
+ * Tag filters use the array operators, && for any-of and @> for all-of, which a GIN index on
+ * the array serves. Archived assignments drop out of listings and tag counts, and out of the
+ * indexes behind them.
+ *
+ * mentor_tag_counts is a per-mentor histogram of tags over live assignments, so tag counts and
+ * tag autocomplete never unnest the assignments. AssignmentService keeps it current in the same
+ * transaction as the write: counts move by single-row UPDATEs, and rows that reach zero are kept
+ * rather than deleted, so a concurrent increment cannot be lost to a delete.
+*/
+
+ALTER TABLE assignments ADD COLUMN archived_at TIMESTAMPTZ;
+
+UPDATE assignments SET tags = '{}' WHERE tags IS NULL;
+ALTER TABLE assignments ALTER COLUMN tags SET DEFAULT '{}';
+ALTER TABLE assignments ALTER COLUMN tags SET NOT NULL;
+
+CREATE INDEX idx_assignments_tags ON assignments USING GIN (tags) WHERE archived_at IS NULL;
+
+-- A mentor's live assignments, newest first, when no tag filter applies.
+CREATE INDEX idx_assignments_mentor_created ON assignments (mentor_id, created_at DESC) WHERE archived_at IS NULL;
+
+CREATE TABLE mentor_tag_counts (
+     mentor_id UUID NOT NULL,
+     tag VARCHAR(50) NOT NULL,
+     assignment_count INT NOT NULL DEFAULT 0,
+
+     CONSTRAINT pk_mentor_tag_counts PRIMARY KEY (mentor_id, tag),
+     CONSTRAINT fk_tag_count_mentor FOREIGN KEY (mentor_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+INSERT INTO mentor_tag_counts (mentor_id, tag, assignment_count)
+SELECT a.mentor_id, t.tag, count(DISTINCT a.id)
+  FROM assignments a, unnest(a.tags) AS t(tag)
+ WHERE a.archived_at IS NULL
+ GROUP BY a.mentor_id, t.tag;
@@ -0,0 +1,32 @@
+/*
+ * Invitation email outbox.
+ *
+ * Inviting writes the email here in the same transaction as the invitation, so the request
+ * never waits on mail delivery and an invitation is never committed without its email (or
+ * the other way round). InvitationMailDispatcher drains due rows in batches: it claims them
+ * with FOR UPDATE SKIP LOCKED and pushes next_attempt_at out by a lease, so several instances
+ * can drain concurrently without picking the same row and without holding locks while mail is
+ * sent. A sent row is deleted; its body carries the invitation token. A row that keeps failing
+ * is retried with backoff and finally parked with failed_at set.
+*/
+
+CREATE TABLE invitation_outbox (
+     id UUID PRIMARY KEY,
+     invitation_id UUID NOT NULL,
+     recipient VARCHAR(100) NOT NULL,
+     subject VARCHAR(200) NOT NULL,
+     body TEXT NOT NULL,
+     attempts INT NOT NULL DEFAULT 0,
+     next_attempt_at TIMESTAMPTZ NOT NULL,
+     last_error VARCHAR(500),
+     failed_at TIMESTAMPTZ,
+     created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+
+     CONSTRAINT fk_outbox_invitation FOREIGN KEY (invitation_id) REFERENCES invitations(id) ON DELETE CASCADE
+);
+
+-- The dispatcher's claim: due rows, oldest first. Parked rows stay out of the index.
+CREATE INDEX idx_invitation_outbox_due ON invitation_outbox (next_attempt_at) WHERE failed_at IS NULL;
+
+-- Deleting an invitation cascades here.
+CREATE INDEX idx_invitation_outbox_invitation ON invitation_outbox (invitation_id);
@@ -0,0 +1,27 @@
+/*
+ * Invitation expiry and purge.
+ *
+ * Invitations now expire: expires_at is set from the configured TTL when they are created. Past
+ * it a PENDING invitation can no longer be accepted, and reads already report it as EXPIRED.
+ * InvitationSweeper later writes the EXPIRED status, then deletes invitations that left PENDING
+ * once their expires_at is older than the retention period. Both work in small chunks, each its
+ * own short transaction, and skip rows that are locked (an accept in progress).
+ *
+ * uq_pending_invite made (mentor, email, status) unique for every status, so a mentor could not
+ * re-invite a student whose earlier invitation had been accepted, declined or expired. The
+ * one-pending-invite rule is enforced by uq_invitations_pending_email (V5) alone.
+*/
+
+ALTER TABLE invitations DROP CONSTRAINT uq_pending_invite;
+
+ALTER TABLE invitations DROP CONSTRAINT invitations_status_check;
+ALTER TABLE invitations ADD CONSTRAINT chk_invitation_status
+    CHECK (status IN ('PENDING', 'ACCEPTED', 'DECLINED', 'EXPIRED'));
+
+ALTER TABLE invitations ADD COLUMN expires_at TIMESTAMPTZ;
+UPDATE invitations SET expires_at = created_at + INTERVAL '14 days';
+ALTER TABLE invitations ALTER COLUMN expires_at SET NOT NULL;
+
+-- The sweeper's two scans: pending invitations past expiry, and settled ones past retention.
+CREATE INDEX idx_invitations_pending_expiry ON invitations (expires_at) WHERE status = 'PENDING';
+CREATE INDEX idx_invitations_settled_expiry ON invitations (expires_at) WHERE status <> 'PENDING';
@@ -0,0 +1,24 @@
+/*
+ * Idempotency keys, for mentorship.idempotency.store=database.
+ *
+ * A POST carrying an Idempotency-Key first claims (scope, key) here, with a NULL response and
+ * a short lease in expires_at, so a duplicate arriving at another instance sees the request is
+ * in progress instead of running it again. Once the request succeeds its response is stored
+ * and expires_at moves out to the retention TTL; if it fails the claim is deleted so that a
+ * retry runs afresh. A claim whose lease ran out (its instance died) may be taken over.
+ * fingerprint is a SHA-256 of the request, so a key reused for a different request is refused.
+*/
+
+CREATE TABLE idempotency_keys (
+     scope VARCHAR(50) NOT NULL,
+     idempotency_key VARCHAR(255) NOT NULL,
+     fingerprint CHAR(64) NOT NULL,
+     response TEXT,
+     expires_at TIMESTAMPTZ NOT NULL,
+     created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+
+     CONSTRAINT pk_idempotency_keys PRIMARY KEY (scope, idempotency_key)
+);
+
+-- The purge of expired keys and abandoned claims.
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys (expires_at);
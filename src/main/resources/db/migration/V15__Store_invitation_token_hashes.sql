@@ -0,0 +1,18 @@
+/*
+ * Invitation tokens are stored as their SHA-256 only.
+ *
+ * New tokens are 24 random bytes in base64url (32 characters) instead of a random UUID. The
+ * application hashes whatever token it is given and looks it up by token_hash, so tokens
+ * already sent (UUID strings) keep working: their hashes are computed here. The token column
+ * goes, so a copy of the table no longer holds any token that could be accepted, and the
+ * unique index shrinks from 36-character strings to 32-byte hashes.
+*/
+
+ALTER TABLE invitations ADD COLUMN token_hash BYTEA;
+UPDATE invitations SET token_hash = sha256(convert_to(token, 'UTF8'));
+ALTER TABLE invitations ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE invitations ADD CONSTRAINT chk_invitation_token_hash CHECK (octet_length(token_hash) = 32);
+
+CREATE UNIQUE INDEX uq_invitations_token_hash ON invitations (token_hash);
+
+ALTER TABLE invitations DROP COLUMN token;
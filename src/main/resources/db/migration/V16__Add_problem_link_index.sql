@@ -0,0 +1,9 @@
+/*
+ * Problem renames.
+ *
+ * Mentee dashboards copy the titles of their assignments' problems, so renaming a problem
+ * looks up every assignment linking it. uq_assignment_problem leads with assignment_id and
+ * cannot serve that; this index can, and also serves the ON DELETE CASCADE from problems.
+*/
+
+CREATE INDEX idx_assignment_problem_links_problem ON assignment_problem_links (problem_id);
@@ -0,0 +1,21 @@
+/*
+ * Indexes for the mentor-scoped listings and the normalized-email lookups.
+ *
+ * mentor_id lookups alone are already served by uq_mentor_student and uq_pending_invite,
+ * which both lead with mentor_id. What was missing is ordering by created_at and any
+ * index that a case-insensitive email comparison can use.
+*/
+
+-- At most one PENDING invite per mentor and email, compared case-insensitively.
+-- Serves InvitationRepository's pending-invite checks, which filter on lower(student_email) and a literal 'PENDING'.
+CREATE UNIQUE INDEX uq_invitations_pending_email ON invitations (mentor_id, lower(student_email)) WHERE status = 'PENDING';
+
+-- Mentor dashboards list invitations and connections oldest-first.
+CREATE INDEX idx_invitations_mentor_created ON invitations (mentor_id, created_at);
+CREATE INDEX idx_mentorships_mentor_created ON mentorships (mentor_id, created_at);
+
+-- Duplicate-user checks compare lower(email); also makes email uniqueness case-insensitive.
+CREATE UNIQUE INDEX uq_users_email_lower ON users (lower(email));
+
+-- Keyset pagination of GET /api/users.
+CREATE INDEX idx_users_created_at_id ON users (created_at, id);
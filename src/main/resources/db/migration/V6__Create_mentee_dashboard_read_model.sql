@@ -0,0 +1,68 @@
+/*
+ * Mentee dashboard read model.
+ *
+ * One row per student assignment holding everything the dashboard renders: title, status,
+ * due date, links, problem titles, latest submission version and unread-feedback count.
+ * The dashboard is then a single range scan on (student_id, due_date, assigned_at) instead
+ * of a join across seven tables. Rows are kept current by MenteeDashboardProjector in the
+ * same transaction as the write that changes them.
+*/
+
+-- Unread feedback needs a read marker; NULL means the student has not opened it yet.
+ALTER TABLE feedback ADD COLUMN read_at TIMESTAMPTZ;
+
+-- Marking an assignment's feedback read only touches unread rows.
+CREATE INDEX idx_feedback_unread ON feedback (submission_id) WHERE read_at IS NULL;
+
+CREATE TABLE mentee_dashboard_items (
+     student_assignment_id UUID PRIMARY KEY,
+     student_id UUID NOT NULL,
+     assignment_id UUID NOT NULL,
+     mentor_id UUID NOT NULL,
+     title VARCHAR(100) NOT NULL,
+     status VARCHAR(20) NOT NULL,
+     assigned_at TIMESTAMPTZ NOT NULL,
+     due_date TIMESTAMPTZ,
+     links JSONB NOT NULL DEFAULT '[]', -- [{"url": ..., "note": ...}]
+     problems JSONB NOT NULL DEFAULT '[]', -- [{"id": ..., "title": ...}]
+     latest_submission_version INT,
+     latest_submitted_at TIMESTAMPTZ,
+     unread_feedback_count INT NOT NULL DEFAULT 0,
+     updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+
+     CONSTRAINT fk_dashboard_student_assignment FOREIGN KEY (student_assignment_id) REFERENCES student_assignments(id) ON DELETE CASCADE
+);
+
+-- The dashboard query: WHERE student_id = ? ORDER BY due_date NULLS LAST, assigned_at
+CREATE INDEX idx_mentee_dashboard_student_due ON mentee_dashboard_items (student_id, due_date, assigned_at);
+
+-- Template edits are fanned out to every copy of the assignment.
+CREATE INDEX idx_mentee_dashboard_assignment ON mentee_dashboard_items (assignment_id);
+
+-- Backfill from whatever already exists. Existing feedback has no read marker, so it counts as unread.
+INSERT INTO mentee_dashboard_items (
+     student_assignment_id, student_id, assignment_id, mentor_id, title, status, assigned_at, due_date,
+     links, problems, latest_submission_version, latest_submitted_at, unread_feedback_count, updated_at
+)
+SELECT sa.id, sa.student_id, sa.assignment_id, sa.mentor_id, a.title, sa.status, sa.assigned_at, sa.due_date,
+       COALESCE((SELECT jsonb_agg(jsonb_build_object('url', l.url, 'note', l.note) ORDER BY l.created_at, l.id)
+                 FROM assignment_links l
+                 WHERE l.assignment_id = a.id), '[]'),
+       COALESCE((SELECT jsonb_agg(jsonb_build_object('id', p.id, 'title', p.title) ORDER BY p.title, p.id)
+                 FROM assignment_problem_links apl
+                 JOIN problems p ON p.id = apl.problem_id
+                 WHERE apl.assignment_id = a.id), '[]'),
+       s.latest_version,
+       s.latest_submitted_at,
+       (SELECT count(*)
+        FROM feedback f
+        JOIN submissions fs ON fs.id = f.submission_id
+        WHERE fs.student_assignment_id = sa.id),
+       NOW()
+FROM student_assignments sa
+JOIN assignments a ON a.id = sa.assignment_id
+LEFT JOIN LATERAL (
+     SELECT max(version) AS latest_version, max(created_at) AS latest_submitted_at
+     FROM submissions
+     WHERE student_assignment_id = sa.id
+) s ON TRUE;
@@ -0,0 +1,35 @@
+/*
+ * Submission code storage.
+ *
+ * Code moves out of submissions.code_content into content-addressed blobs. A version is either
+ * a snapshot (full code) or a line delta against the version before it (base_submission_id).
+ * delta_depth counts the deltas back to the nearest snapshot and is capped by configuration,
+ * so any version is rebuilt from at most one snapshot plus that many small deltas. Payloads
+ * are deflated when that pays off, and identical payloads are stored once.
+ *
+ * Existing rows keep their inline code_content and act as snapshots (depth 0) for later deltas.
+*/
+
+CREATE TABLE submission_blobs (
+     hash VARCHAR(64) PRIMARY KEY, -- hex SHA-256 of the uncompressed payload
+     encoding VARCHAR(10) NOT NULL CHECK (encoding IN ('RAW', 'DEFLATE')),
+     raw_length INT NOT NULL,
+     data BYTEA NOT NULL
+);
+
+-- Blobs are already compressed (or too small to bother), so keep them out of TOAST compression.
+ALTER TABLE submission_blobs ALTER COLUMN data SET STORAGE EXTERNAL;
+
+ALTER TABLE submissions ALTER COLUMN code_content DROP NOT NULL;
+ALTER TABLE submissions ADD COLUMN blob_hash VARCHAR(64);
+ALTER TABLE submissions ADD COLUMN base_submission_id UUID;
+ALTER TABLE submissions ADD COLUMN delta_depth INT NOT NULL DEFAULT 0;
+ALTER TABLE submissions ADD COLUMN code_size INT; -- UTF-8 bytes of the reconstructed code
+
+UPDATE submissions SET code_size = octet_length(code_content);
+ALTER TABLE submissions ALTER COLUMN code_size SET NOT NULL;
+
+ALTER TABLE submissions ADD CONSTRAINT fk_submission_blob FOREIGN KEY (blob_hash) REFERENCES submission_blobs(hash);
+-- Deleting a version also deletes the versions rebuilt from it, which could no longer be read.
+ALTER TABLE submissions ADD CONSTRAINT fk_submission_base FOREIGN KEY (base_submission_id) REFERENCES submissions(id) ON DELETE CASCADE;
+ALTER TABLE submissions ADD CONSTRAINT chk_submission_code CHECK ((code_content IS NULL) <> (blob_hash IS NULL));
@@ -0,0 +1,14 @@
+/*
+ * Covering indexes for the submission history.
+ *
+ * The history lists version metadata only (no code, no write-up), so it can be answered from
+ * indexes alone: an index-only scan never touches the heap rows or their TOASTed text.
+*/
+
+-- Same uniqueness as before, now also carrying the columns the history returns.
+ALTER TABLE submissions DROP CONSTRAINT uq_submission_version;
+ALTER TABLE submissions ADD CONSTRAINT uq_submission_version
+     UNIQUE (student_assignment_id, problem_id, version) INCLUDE (id, created_at, code_size);
+
+-- Feedback counts per version, and any other lookup of a submission's feedback.
+CREATE INDEX idx_feedback_submission ON feedback (submission_id);
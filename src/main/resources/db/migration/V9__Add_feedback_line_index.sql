@@ -0,0 +1,12 @@
+/*
+ * Line-anchored feedback.
+ *
+ * The code viewer renders a submission's comments grouped by line, and gutter markers from
+ * per-line counts. Both read feedback in (line_number, created_at) order for one submission,
+ * which this index returns without a sort; the counts are a bitmap heap scan over it.
+*/
+
+CREATE INDEX idx_feedback_submission_line ON feedback (submission_id, line_number, created_at);
+
+-- A prefix of the new index, so it no longer earns its write cost.
+DROP INDEX idx_feedback_submission;
@@ -0,0 +1,184 @@
+package com.mentorship.controller;
+
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AcceptInviteRequest;
+import com.mentorship.dto.InvitationResponse;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.service.InvitationService;
+import com.mentorship.support.SqlStatementCounter;
+import com.mentorship.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against committed data: version stamps only move once a write commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SqlStatementCounter.class)
+@DisplayName("Conditional GET Endpoint Tests")
+class ConditionalGetEndpointIntegrationTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private InvitationService invitationService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private SqlStatementCounter sqlStatementCounter;
+
+  private final List<UUID> userIds = new ArrayList<>();
+  private User mentor;
+  private User student;
+
+  @BeforeEach
+  void setUp() {
+    mentor = saveUser(UserRole.MENTOR);
+    student = saveUser(UserRole.STUDENT);
+  }
+
+  // The generated H2 schema has no ON DELETE CASCADE, so delete children first
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM invitation_outbox WHERE invitation_id IN "
+            + "(SELECT id FROM invitations WHERE mentor_id = ?)", mentor.getId());
+    jdbcTemplate.update("DELETE FROM mentorships WHERE mentor_id = ?", mentor.getId());
+    jdbcTemplate.update("DELETE FROM invitations WHERE mentor_id = ?", mentor.getId());
+    userIds.forEach(id -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", id));
+  }
+
+  @Test
+  @DisplayName("Should answer a current ETag with 304 without touching the tables, until an invite or accept moves it")
+  void shouldRevalidateMentorAndStudentViews() throws Exception {
+    String invitations = "/api/mentorship/mentor/" + mentor.getId() + "/invitations";
+    String connections = "/api/mentorship/mentor/" + mentor.getId() + "/connections";
+    String connection = "/api/mentorship/student/" + student.getId() + "/connection";
+
+    String empty = mockMvc.perform(get(invitations))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertThat(empty).startsWith("\"");
+    assertNotModified(invitations, empty);
+    assertNotModified(connections, empty);
+    String unmatched = mockMvc.perform(get(connection))
+            .andExpect(status().isNotFound())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    InvitationResponse invitation = invitationService.createInvitation(new InviteRequest(mentor.getId(), student.getEmail()));
+    String invited = mockMvc.perform(get(invitations).header(HttpHeaders.IF_NONE_MATCH, empty))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("PENDING"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertThat(invited).isNotEqualTo(empty);
+
+    invitationService.acceptInvitation(new AcceptInviteRequest(invitation.token(), student.getId()));
+    mockMvc.perform(get(invitations).header(HttpHeaders.IF_NONE_MATCH, invited))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("ACCEPTED"));
+    mockMvc.perform(get(connections).header(HttpHeaders.IF_NONE_MATCH, invited))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].studentId").value(student.getId().toString()));
+    String accepted = mockMvc.perform(get(connection).header(HttpHeaders.IF_NONE_MATCH, unmatched))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertNotModified(connection, accepted);
+  }
+
+  @Test
+  @DisplayName("Should move the listing's ETag once a pending invitation expires, though nothing was written")
+  void shouldMoveListingWhenInvitationExpires() throws Exception {
+    String invitations = "/api/mentorship/mentor/" + mentor.getId() + "/invitations";
+    InvitationResponse invitation = invitationService.createInvitation(new InviteRequest(mentor.getId(), student.getEmail()));
+    Instant expiresAt = Instant.now().plusMillis(500);
+    jdbcTemplate.update("UPDATE invitations SET expires_at = ? WHERE id = ?", Timestamp.from(expiresAt), invitation.id());
+
+    String pending = mockMvc.perform(get(invitations))
+            .andExpect(jsonPath("$[0].status").value("PENDING"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    Thread.sleep(Math.max(0, expiresAt.toEpochMilli() - System.currentTimeMillis() + 50));
+
+    mockMvc.perform(get(invitations).header(HttpHeaders.IF_NONE_MATCH, pending))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("EXPIRED"));
+  }
+
+  @Test
+  @DisplayName("Should version user reads by sign-ups, and never keep token lookups")
+  void shouldVersionUsersAndNotStoreTokenLookups() throws Exception {
+    String user = "/api/users/" + mentor.getId();
+    String mentorTag = mockMvc.perform(get(user))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertNotModified(user, mentorTag);
+
+    String directory = mockMvc.perform(get("/api/users").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertNotModified("/api/users?limit=5", directory);
+
+    UUID id = UUID.randomUUID();
+    userIds.add(id);
+    mockMvc.perform(post("/api/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"id\":\"%s\",\"name\":\"New\",\"email\":\"%s@example.com\",\"role\":\"STUDENT\"}".formatted(id, id)))
+            .andExpect(status().isCreated());
+    mockMvc.perform(get("/api/users").param("limit", "5").header(HttpHeaders.IF_NONE_MATCH, directory))
+            .andExpect(status().isOk());
+    assertNotModified(user, mentorTag);
+
+    String token = invitationService.createInvitation(new InviteRequest(mentor.getId(), student.getEmail())).token();
+    mockMvc.perform(get("/api/mentorship/invitations/token/" + token))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+  }
+
+  private void assertNotModified(String path, String etag) {
+    long statements = sqlStatementCounter.count(() -> {
+      try {
+        MvcResult result = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn();
+        assertThat(result.getResponse().getContentLength()).isZero();
+      } catch (Exception ex) {
+        throw new IllegalStateException(ex);
+      }
+    });
+    assertThat(statements).as("statements for a 304 on %s", path).isZero();
+  }
+
+  private User saveUser(UserRole role) {
+    User user = TestUsers.save(userRepository, role);
+    userIds.add(user.getId());
+    return user;
+  }
+}
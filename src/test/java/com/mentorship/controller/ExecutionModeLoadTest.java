@@ -0,0 +1,170 @@
+package com.mentorship.controller;
+
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.dto.UserCreateRequest;
+import com.mentorship.service.InvitationService;
+import com.mentorship.service.UserService;
+import com.mentorship.support.EmbeddedPostgresDatabase;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares p99 latency and peak in-flight requests between platform-thread and
+ * virtual-thread request execution. Opt-in, because it is slow and its numbers are
+ * only meaningful on a quiet multi-core machine (one core leaves a single carrier thread):
+ * <pre>./mvnw test -Dtest=ExecutionModeLoadTest -Dloadtest=true</pre>
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@DisplayName("Execution Mode Load Test")
+class ExecutionModeLoadTest {
+
+  private static final Logger log = LoggerFactory.getLogger(ExecutionModeLoadTest.class);
+  private static final int CLIENTS = 1000;
+  private static final int REQUESTS_PER_CLIENT = 20;
+  private static final Map<String, String> RESULTS = new ConcurrentHashMap<>();
+
+  @AfterAll
+  static void report() {
+    RESULTS.forEach((mode, result) -> log.info("{}: {}", mode, result));
+  }
+
+  @Nested
+  @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+  @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+  @DisplayName("platform threads")
+  class PlatformThreads extends LoadScenario {
+  }
+
+  @Nested
+  @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+  @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+  @DisplayName("virtual threads")
+  class VirtualThreads extends LoadScenario {
+  }
+
+  @Import(InFlightTracking.class)
+  abstract static class LoadScenario {
+
+    // A real network database, so request threads actually block on socket I/O
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+      EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @LocalServerPort private int port;
+    @Autowired private UserService userService;
+    @Autowired private InvitationService invitationService;
+    @Autowired private InFlightTracking inFlight;
+
+    @Test
+    @DisplayName("serves a burst of concurrent mentor dashboard reads")
+    void concurrentDashboardReads() throws Exception {
+      UUID mentorId = userService.createUser(new UserCreateRequest(
+              UUID.randomUUID(), "Load Mentor", "load-mentor-" + UUID.randomUUID() + "@example.com", UserRole.MENTOR)).id();
+      for (int i = 0; i < 20; i++) {
+        invitationService.createInvitation(new InviteRequest(mentorId, "load-" + i + "-" + mentorId + "@example.com"));
+      }
+      URI invitations = URI.create("http://localhost:" + port + "/api/mentorship/mentor/" + mentorId + "/invitations");
+
+      long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+      AtomicInteger next = new AtomicInteger();
+      AtomicInteger failures = new AtomicInteger();
+
+      try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+           HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+          futures.add(clients.submit(() -> {
+            for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+              long started = System.nanoTime();
+              try {
+                HttpResponse<Void> response = http.send(HttpRequest.newBuilder(invitations).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                  failures.incrementAndGet();
+                }
+              } catch (Exception ex) {
+                failures.incrementAndGet();
+              }
+              latencies[next.getAndIncrement()] = System.nanoTime() - started;
+            }
+            return null;
+          }));
+        }
+        for (Future<?> future : futures) {
+          future.get();
+        }
+      }
+
+      Arrays.sort(latencies);
+      RESULTS.put(getClass().getSimpleName(), String.format("p50=%.1fms p99=%.1fms max=%.1fms peakInFlight=%d failures=%d",
+              latencies[latencies.length / 2] / 1e6,
+              latencies[(int) (latencies.length * 0.99)] / 1e6,
+              latencies[latencies.length - 1] / 1e6,
+              inFlight.peak(),
+              failures.get()));
+      assertThat(failures.get()).isZero();
+    }
+  }
+
+  /**
+   * Tracks how many requests the server is executing at the same moment.
+   */
+  @TestConfiguration
+  static class InFlightTracking {
+
+    private final AtomicInteger current = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @Bean
+    FilterRegistrationBean<Filter> inFlightFilter() {
+      Filter filter = (request, response, chain) -> {
+        peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+        try {
+          chain.doFilter(request, response);
+        } finally {
+          current.decrementAndGet();
+        }
+      };
+      return new FilterRegistrationBean<>(filter);
+    }
+
+    int peak() {
+      return peak.get();
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package com.mentorship.controller;
+
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.service.IdempotencyService;
+import com.mentorship.service.InvitationService;
+import com.mentorship.support.SqlStatementCounter;
+import com.mentorship.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@Import(SqlStatementCounter.class)
+@DisplayName("Idempotency Endpoint Tests")
+class IdempotencyEndpointIntegrationTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private InvitationService invitationService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private SqlStatementCounter sqlStatementCounter;
+
+  private User mentor;
+  private User student;
+
+  @BeforeEach
+  void setUp() {
+    mentor = TestUsers.save(userRepository, UserRole.MENTOR);
+    student = TestUsers.save(userRepository, UserRole.STUDENT);
+  }
+
+  @Test
+  @DisplayName("Should replay a retried accept with its first response, without touching the tables")
+  void shouldReplayAccept() throws Exception {
+    String token = invitationService.createInvitation(new InviteRequest(mentor.getId(), student.getEmail())).token();
+    String body = "{\"token\":\"%s\",\"studentId\":\"%s\"}".formatted(token, student.getId());
+    String key = UUID.randomUUID().toString();
+
+    String first = send("/api/mentorship/accept", key, body)
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "false"))
+            .andReturn().getResponse().getContentAsString();
+
+    long statements = sqlStatementCounter.count(() -> {
+      try {
+        String replayed = send("/api/mentorship/accept", key, body)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(replayed).isEqualTo(first);
+      } catch (Exception ex) {
+        throw new IllegalStateException(ex);
+      }
+    });
+    assertThat(statements).isZero();
+
+    // A retry without the key still runs again, and finds the invitation taken
+    send("/api/mentorship/accept", null, body).andExpect(status().isConflict());
+    send("/api/mentorship/accept", UUID.randomUUID().toString(), body).andExpect(status().isConflict());
+  }
+
+  @Test
+  @DisplayName("Should replay a retried sign-up and invite instead of reporting a conflict")
+  void shouldReplayCreates() throws Exception {
+    UUID id = UUID.randomUUID();
+    String user = "{\"id\":\"%s\",\"name\":\"Retry\",\"email\":\"%s@example.com\",\"role\":\"STUDENT\"}".formatted(id, id);
+    String key = UUID.randomUUID().toString();
+
+    send("/api/users", key, user).andExpect(status().isCreated());
+    send("/api/users", key, user)
+            .andExpect(status().isCreated())
+            .andExpect(header().string(HttpHeaders.LOCATION, "/api/users/" + id))
+            .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+            .andExpect(jsonPath("$.id").value(id.toString()));
+    send("/api/users", null, user).andExpect(status().isConflict());
+
+    String invite = "{\"mentorId\":\"%s\",\"studentEmail\":\"%s\"}".formatted(mentor.getId(), student.getEmail());
+    String invitation = send("/api/mentorship/invite", key, invite)
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+    send("/api/mentorship/invite", key, invite)
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+            .andExpect(result -> assertThat(result.getResponse().getContentAsString()).isEqualTo(invitation));
+  }
+
+  @Test
+  @DisplayName("Should refuse a key reused for a different request, and a malformed key")
+  void shouldRejectReusedKey() throws Exception {
+    String key = UUID.randomUUID().toString();
+    String template = "{\"id\":\"%s\",\"name\":\"Reuse\",\"email\":\"%s@example.com\",\"role\":\"STUDENT\"}";
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+
+    send("/api/users", key, template.formatted(first, first)).andExpect(status().isCreated());
+    send("/api/users", key, template.formatted(second, second))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Idempotency-Key was already used for a different request"));
+    send("/api/users", "x".repeat(256), template.formatted(second, second)).andExpect(status().isBadRequest());
+
+    assertThat(userRepository.existsById(second)).isFalse();
+  }
+
+  private ResultActions send(String path, String idempotencyKey, String body) throws Exception {
+    MockHttpServletRequestBuilder request = post(path)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body);
+    if (idempotencyKey != null) {
+      request.header(IdempotencyService.HEADER, idempotencyKey);
+    }
+    return mockMvc.perform(request);
+  }
+}
@@ -0,0 +1,176 @@
+package com.mentorship.controller;
+
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AcceptInviteRequest;
+import com.mentorship.dto.InvitationResponse;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.service.InvitationService;
+import com.mentorship.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against committed data: events are only published once a write commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "mentorship.events.replay-capacity=2")
+@DisplayName("Mentorship Event Stream Tests")
+class MentorshipEventStreamIntegrationTest {
+
+  private static final Pattern EVENT_ID = Pattern.compile("id:(([0-9a-z]+)-([0-9a-z]+))\\nevent:InvitationCreated");
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private InvitationService invitationService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final List<UUID> userIds = new ArrayList<>();
+  private User mentor;
+  private User student;
+
+  @BeforeEach
+  void setUp() {
+    mentor = saveUser(UserRole.MENTOR);
+    student = saveUser(UserRole.STUDENT);
+  }
+
+  // The generated H2 schema has no ON DELETE CASCADE, so delete children first
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM invitation_outbox WHERE invitation_id IN "
+            + "(SELECT id FROM invitations WHERE mentor_id = ?)", mentor.getId());
+    jdbcTemplate.update("DELETE FROM mentorships WHERE mentor_id = ?", mentor.getId());
+    jdbcTemplate.update("DELETE FROM invitations WHERE mentor_id = ?", mentor.getId());
+    userIds.forEach(id -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", id));
+  }
+
+  @Test
+  @DisplayName("Should push invitation and mentorship events to the mentor and the student")
+  void shouldPushEventsToBothSides() throws Exception {
+    MockHttpServletResponse mentorStream = open(mentor.getId(), null);
+    MockHttpServletResponse studentStream = open(student.getId(), null);
+    assertThat(mentorStream.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+
+    InvitationResponse invitation = invitationService.createInvitation(new InviteRequest(mentor.getId(), student.getEmail()));
+    awaitContent(mentorStream, "\"id\":\"" + invitation.id() + "\"");
+    assertThat(mentorStream.getContentAsString())
+            .contains("event:InvitationCreated")
+            .doesNotContain(invitation.token());
+
+    invitationService.acceptInvitation(new AcceptInviteRequest(invitation.token(), student.getId()));
+    awaitContent(mentorStream, "event:MentorshipCreated");
+    awaitContent(studentStream, "event:MentorshipCreated");
+    assertThat(mentorStream.getContentAsString()).contains("event:InvitationAccepted");
+    assertThat(studentStream.getContentAsString())
+            .contains("event:InvitationAccepted")
+            .doesNotContain("event:InvitationCreated");
+  }
+
+  @Test
+  @DisplayName("Should replay missed events after Last-Event-ID, and ask for a resync once they are gone")
+  void shouldReplayFromLastEventId() throws Exception {
+    MockHttpServletResponse first = open(mentor.getId(), null);
+    invitationService.createInvitation(new InviteRequest(mentor.getId(), "one-" + UUID.randomUUID() + "@example.com"));
+    awaitContent(first, "event:InvitationCreated");
+    Matcher seen = EVENT_ID.matcher(first.getContentAsString());
+    assertThat(seen.find()).isTrue();
+    String lastEventId = seen.group(1);
+
+    invitationService.createInvitation(new InviteRequest(mentor.getId(), "two-" + UUID.randomUUID() + "@example.com"));
+    MockHttpServletResponse resumed = open(mentor.getId(), lastEventId);
+    awaitContent(resumed, "two-");
+    assertThat(resumed.getContentAsString()).doesNotContain("one-").doesNotContain("event:Resync");
+
+    // Only the last two are kept, so the first two are gone by now
+    invitationService.createInvitation(new InviteRequest(mentor.getId(), "three-" + UUID.randomUUID() + "@example.com"));
+    invitationService.createInvitation(new InviteRequest(mentor.getId(), "four-" + UUID.randomUUID() + "@example.com"));
+    MockHttpServletResponse lagging = open(mentor.getId(), lastEventId);
+    awaitContent(lagging, "four-");
+    assertThat(lagging.getContentAsString()).contains("event:Resync").contains("three-").doesNotContain("two-");
+  }
+
+  @Test
+  @DisplayName("Should ask for a resync when Last-Event-ID is from another process, or ahead of this one")
+  void shouldResyncForForeignEventIds() throws Exception {
+    MockHttpServletResponse first = open(mentor.getId(), null);
+    invitationService.createInvitation(new InviteRequest(mentor.getId(), "one-" + UUID.randomUUID() + "@example.com"));
+    awaitContent(first, "one-");
+    Matcher seen = EVENT_ID.matcher(first.getContentAsString());
+    assertThat(seen.find()).isTrue();
+    String epoch = seen.group(2);
+    long sequence = Long.parseLong(seen.group(3), 36);
+
+    // As from before a restart: the same sequence number under another epoch
+    String restarted = (epoch.equals("0") ? "1" : "0") + "-" + seen.group(3);
+    String ahead = epoch + "-" + Long.toString(sequence + 1000, 36);
+    for (String lastEventId : List.of(restarted, ahead, Long.toString(sequence))) {
+      MockHttpServletResponse resumed = open(mentor.getId(), lastEventId);
+      awaitContent(resumed, "event:Resync");
+    }
+    assertThat(open(mentor.getId(), seen.group(1)).getContentAsString()).doesNotContain("event:Resync");
+  }
+
+  @Test
+  @DisplayName("Should answer 404 for an unknown user")
+  void shouldRejectUnknownUser() throws Exception {
+    mockMvc.perform(get("/api/mentorship/users/{id}/events", UUID.randomUUID()).accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isNotFound());
+  }
+
+  private MockHttpServletResponse open(UUID userId, String lastEventId) throws Exception {
+    var request = get("/api/mentorship/users/{id}/events", userId).accept(MediaType.TEXT_EVENT_STREAM);
+    if (lastEventId != null) {
+      request.header("Last-Event-ID", lastEventId);
+    }
+    MvcResult result = mockMvc.perform(request)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    awaitContent(result.getResponse(), ":heartbeat");
+    return result.getResponse();
+  }
+
+  private static void awaitContent(MockHttpServletResponse response, String expected)
+          throws InterruptedException, UnsupportedEncodingException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!response.getContentAsString().contains(expected)) {
+      assertThat(System.nanoTime()).as("%s within 5s, got %s", expected, response.getContentAsString())
+              .isLessThan(deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private User saveUser(UserRole role) {
+    User user = TestUsers.save(userRepository, role);
+    userIds.add(user.getId());
+    return user;
+  }
+}
@@ -0,0 +1,61 @@
+package com.mentorship.controller;
+
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DisplayName("Metrics Endpoint Tests")
+class MetricsEndpointIntegrationTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private UserRepository userRepository;
+
+  @Test
+  @DisplayName("Should expose service, repository, error, pool, Hibernate and cache metrics for scraping")
+  void shouldExposeHotPathMetrics() throws Exception {
+    User mentor = userRepository.save(User.builder()
+            .id(UUID.randomUUID()).name("Metrics Mentor").email("metrics-" + UUID.randomUUID() + "@example.com")
+            .role(UserRole.MENTOR).build());
+
+    mockMvc.perform(get("/api/mentorship/mentor/{id}/invitations", mentor.getId())).andExpect(status().isOk());
+    mockMvc.perform(post("/api/mentorship/invite")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"mentorId\":\"" + UUID.randomUUID() + "\",\"studentEmail\":\"nobody@example.com\"}"))
+            .andExpect(status().isNotFound());
+
+    mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString(
+                    "mentorship_service_seconds_bucket{class=\"com.mentorship.service.InvitationService\"")))
+            .andExpect(content().string(containsString("method=\"getInvitationsForMentor\"")))
+            .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+            .andExpect(content().string(containsString("repository=\"InvitationRepository\"")))
+            .andExpect(content().string(containsString("mentorship_http_errors_total")))
+            .andExpect(content().string(containsString("exception=\"ResourceNotFoundException\"")))
+            .andExpect(content().string(containsString("hikaricp_connections_active")))
+            .andExpect(content().string(containsString("hibernate_statements_total")))
+            .andExpect(content().string(containsString("hibernate_second_level_cache_requests_total{")))
+            .andExpect(content().string(containsString("region=\"users\"")));
+  }
+}
@@ -0,0 +1,122 @@
+package com.mentorship.controller;
+
+import com.mentorship.support.SqlStatementCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SqlStatementCounter.class)
+@TestPropertySource(properties = {
+        "mentorship.rate-limit.policies.token-lookup.capacity=2",
+        "mentorship.rate-limit.policies.token-lookup.period=1h",
+        "mentorship.rate-limit.policies.invite.capacity=1",
+        "mentorship.rate-limit.policies.invite.period=1h",
+        "mentorship.rate-limit.policies.accept-by-address.capacity=2",
+        "mentorship.rate-limit.policies.accept-by-address.period=1h"
+})
+@DisplayName("Rate Limit Endpoint Tests")
+class RateLimitEndpointIntegrationTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private SqlStatementCounter sqlStatementCounter;
+
+  @Test
+  @DisplayName("Should answer token probes past the limit with 429 and Retry-After, without a query")
+  void shouldLimitTokenProbesPerClientAddress() throws Exception {
+    String address = "192.0.2.1";
+    probe(address).andExpect(status().isNotFound());
+    probe(address).andExpect(status().isNotFound());
+
+    long statements = sqlStatementCounter.count(() -> {
+      try {
+        probe(address)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1800"))
+                .andExpect(jsonPath("$.status").value(429));
+      } catch (Exception ex) {
+        throw new IllegalStateException(ex);
+      }
+    });
+    assertThat(statements).isZero();
+
+    probe("192.0.2.2").andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("Should limit invites per mentor, before the mentor is even looked up")
+  void shouldLimitInvitesPerMentor() throws Exception {
+    UUID mentorId = UUID.randomUUID();
+    invite(mentorId).andExpect(status().isNotFound());
+    invite(mentorId)
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+    invite(UUID.randomUUID()).andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("Should limit accepts per client address, whatever student id each one names")
+  void shouldLimitAcceptsPerClientAddressAcrossStudents() throws Exception {
+    String address = "198.51.100.7";
+    accept(address, UUID.randomUUID()).andExpect(status().isNotFound());
+    accept(address, UUID.randomUUID()).andExpect(status().isNotFound());
+
+    long statements = sqlStatementCounter.count(() -> {
+      try {
+        accept(address, UUID.randomUUID())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+      } catch (Exception ex) {
+        throw new IllegalStateException(ex);
+      }
+    });
+    assertThat(statements).isZero();
+
+    accept("198.51.100.8", UUID.randomUUID()).andExpect(status().isNotFound());
+  }
+
+  private ResultActions probe(String address) throws Exception {
+    return mockMvc.perform(get("/api/mentorship/invitations/token/{token}", "guess-" + UUID.randomUUID())
+            .with(request -> {
+              request.setRemoteAddr(address);
+              return request;
+            }));
+  }
+
+  private ResultActions invite(UUID mentorId) throws Exception {
+    return mockMvc.perform(post("/api/mentorship/invite")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"mentorId\":\"" + mentorId + "\",\"studentEmail\":\"student@example.com\"}"));
+  }
+
+  private ResultActions accept(String address, UUID studentId) throws Exception {
+    return mockMvc.perform(post("/api/mentorship/accept")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"token\":\"guess-" + UUID.randomUUID() + "\",\"studentId\":\"" + studentId + "\"}")
+            .with(request -> {
+              request.setRemoteAddr(address);
+              return request;
+            }));
+  }
+}
@@ -0,0 +1,169 @@
+package com.mentorship.controller;
+
+import com.mentorship.domain.Mentorship;
+import com.mentorship.domain.Problem;
+import com.mentorship.domain.ProblemDifficulty;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AssignStudentsRequest;
+import com.mentorship.dto.AssignmentCreateRequest;
+import com.mentorship.dto.FeedbackCreateRequest;
+import com.mentorship.dto.StudentAssignmentResponse;
+import com.mentorship.dto.SubmissionCreateRequest;
+import com.mentorship.dto.SubmissionResponse;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.repository.ProblemRepository;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.service.AssignmentService;
+import com.mentorship.service.FeedbackService;
+import com.mentorship.service.SubmissionService;
+import com.mentorship.support.SqlStatementCounter;
+import com.mentorship.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@Import(SqlStatementCounter.class)
+@DisplayName("Submission History Endpoint Tests")
+class SubmissionHistoryEndpointIntegrationTest {
+
+  private static final String CODE = "class Solution {\n  // naïve first try\n}\n";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private AssignmentService assignmentService;
+  @Autowired private SubmissionService submissionService;
+  @Autowired private FeedbackService feedbackService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private MentorshipRepository mentorshipRepository;
+  @Autowired private ProblemRepository problemRepository;
+  @Autowired private SqlStatementCounter sqlStatementCounter;
+
+  private User mentor;
+  private User student;
+  private Problem twoSum;
+  private Problem lruCache;
+  private StudentAssignmentResponse assigned;
+
+  @BeforeEach
+  void setUp() {
+    mentor = TestUsers.save(userRepository, UserRole.MENTOR);
+    student = TestUsers.save(userRepository, UserRole.STUDENT);
+    mentorshipRepository.save(Mentorship.builder().mentor(mentor).student(student).build());
+    twoSum = saveProblem("Two Sum");
+    lruCache = saveProblem("LRU Cache");
+    UUID assignmentId = assignmentService.createAssignment(new AssignmentCreateRequest(
+            mentor.getId(), "History", null, List.of(), List.of(twoSum.getId(), lruCache.getId()), List.of())).id();
+    assigned = assignmentService.assign(assignmentId, new AssignStudentsRequest(List.of(student.getId()), null))
+            .results().getFirst().studentAssignment();
+  }
+
+  @Test
+  @DisplayName("Should list version metadata per problem in version order")
+  void shouldListHistory() throws Exception {
+    SubmissionResponse first = submit(twoSum, CODE);
+    submit(twoSum, CODE + "// second\n");
+    submit(lruCache, "class LRUCache {}\n");
+    feedbackService.addFeedback(first.id(), new FeedbackCreateRequest(mentor.getId(), "Why naïve?", 2));
+    feedbackService.addFeedback(first.id(), new FeedbackCreateRequest(mentor.getId(), "Good start", null));
+
+    mockMvc.perform(get("/api/submissions")
+                    .param("studentAssignmentId", assigned.id().toString())
+                    .param("problemId", twoSum.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].id").value(first.id().toString()))
+            .andExpect(jsonPath("$[0].version").value(1))
+            .andExpect(jsonPath("$[0].codeSize").value(CODE.getBytes(StandardCharsets.UTF_8).length))
+            .andExpect(jsonPath("$[0].feedbackCount").value(2))
+            .andExpect(jsonPath("$[1].version").value(2))
+            .andExpect(jsonPath("$[1].feedbackCount").value(0))
+            .andExpect(jsonPath("$[0].codeContent").doesNotExist());
+
+    mockMvc.perform(get("/api/submissions").param("studentAssignmentId", assigned.id().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3));
+    mockMvc.perform(get("/api/submissions").param("studentAssignmentId", UUID.randomUUID().toString()))
+            .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("Should load a history of any length in one statement")
+  void shouldLoadHistoryInOneStatement() {
+    for (int i = 0; i < 30; i++) {
+      submit(i % 2 == 0 ? twoSum : lruCache, CODE + "// round " + i + "\n");
+    }
+
+    assertThat(sqlStatementCounter.count(() ->
+            assertThat(submissionService.getHistory(assigned.id(), null)).hasSize(30))).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should serve code with a strong ETag and answer revalidation with 304")
+  void shouldRevalidateCode() throws Exception {
+    SubmissionResponse submission = submit(twoSum, CODE);
+    String etag = "\"" + submission.id() + "\"";
+
+    mockMvc.perform(get("/api/submissions/{id}/code", submission.id()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/plain;charset=UTF-8"))
+            .andExpect(content().string(CODE));
+
+    mockMvc.perform(get("/api/submissions/{id}/code", submission.id()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+  }
+
+  @Test
+  @DisplayName("Should serve byte ranges of the code")
+  void shouldServeRanges() throws Exception {
+    SubmissionResponse submission = submit(twoSum, CODE);
+
+    mockMvc.perform(get("/api/submissions/{id}/code", submission.id()).header(HttpHeaders.RANGE, "bytes=0-15"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE,
+                    "bytes 0-15/" + CODE.getBytes(StandardCharsets.UTF_8).length))
+            .andExpect(content().string("class Solution {"));
+  }
+
+  @Test
+  @DisplayName("Should return 404 for code of an unknown version")
+  void shouldRejectUnknownVersion() throws Exception {
+    mockMvc.perform(get("/api/submissions/{id}/code", UUID.randomUUID()))
+            .andExpect(status().isNotFound());
+  }
+
+  private SubmissionResponse submit(Problem problem, String code) {
+    return submissionService.submit(new SubmissionCreateRequest(assigned.id(), problem.getId(), student.getId(), code, null));
+  }
+
+  private Problem saveProblem(String title) {
+    return problemRepository.save(Problem.builder()
+            .title(title).difficulty(ProblemDifficulty.EASY).mentor(mentor).inBank(true).build());
+  }
+}
@@ -0,0 +1,255 @@
+package com.mentorship.repository;
+
+import com.mentorship.domain.Invitation;
+import com.mentorship.domain.InvitationStatus;
+import com.mentorship.domain.Mentorship;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.support.CapturingStatementInspector;
+import com.mentorship.util.Tokens;
+import com.mentorship.support.EmbeddedPostgresDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the exact SQL each repository method sends to PostgreSQL and
+ * asserts that an index serves it. Sequential scans are disabled for the
+ * transaction, so a plan without the index means the index cannot be used at all
+ * (wrong expression, predicate or column order), not merely that the table is small.
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("Repository Query Plan Tests")
+class RepositoryQueryPlanIntegrationTest {
+
+  @DynamicPropertySource
+  static void postgres(DynamicPropertyRegistry registry) {
+    EmbeddedPostgresDatabase.register(registry);
+    registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+            CapturingStatementInspector.class::getName);
+  }
+
+  @Autowired private UserRepository userRepository;
+  @Autowired private InvitationRepository invitationRepository;
+  @Autowired private MentorshipRepository mentorshipRepository;
+  @Autowired private MenteeDashboardRepository menteeDashboardRepository;
+  @Autowired private SubmissionRepository submissionRepository;
+  @Autowired private FeedbackRepository feedbackRepository;
+  @Autowired private AssignmentRepository assignmentRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private User mentor;
+  private User student;
+  private Invitation invitation;
+
+  @BeforeEach
+  void setUp() {
+    mentor = userRepository.save(User.builder()
+            .id(UUID.randomUUID()).name("Plan Mentor").email("plan-mentor@example.com").role(UserRole.MENTOR).build());
+    student = userRepository.save(User.builder()
+            .id(UUID.randomUUID()).name("Plan Student").email("plan-student@example.com").role(UserRole.STUDENT).build());
+    invitation = invitationRepository.save(Invitation.builder()
+            .mentor(mentor).studentEmail(student.getEmail()).status(InvitationStatus.PENDING)
+            .tokenHash(Tokens.hash(UUID.randomUUID().toString())).expiresAt(Instant.now().plusSeconds(3600)).build());
+    mentorshipRepository.save(Mentorship.builder().mentor(mentor).student(student).build());
+    userRepository.flush();
+
+    jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+  }
+
+  @Test
+  @DisplayName("invitation lookups by token use the unique token index")
+  void invitationTokenLookups() {
+    byte[] tokenHash = invitation.getTokenHash();
+    assertIndexUsed(() -> invitationRepository.findByTokenHash(tokenHash), List.of(tokenHash), "uq_invitations_token_hash");
+    assertIndexUsed(() -> invitationRepository.findAndLockByTokenHash(tokenHash), List.of(tokenHash), "uq_invitations_token_hash");
+    assertIndexUsed(() -> invitationRepository.findResponseByTokenHash(tokenHash), List.of(tokenHash), "uq_invitations_token_hash");
+  }
+
+  @Test
+  @DisplayName("mentor-scoped invitation queries lead with mentor_id")
+  void invitationMentorLookups() {
+    UUID mentorId = mentor.getId();
+    assertIndexUsed(() -> invitationRepository.findByMentor_Id(mentorId), List.of(mentorId),
+            "idx_invitations_mentor_created");
+    assertIndexUsed(() -> invitationRepository.findResponsesByMentorId(mentorId), List.of(mentorId),
+            "idx_invitations_mentor_created");
+  }
+
+  @Test
+  @DisplayName("pending-invite checks use the partial lower(student_email) index")
+  void pendingInviteLookups() {
+    UUID mentorId = mentor.getId();
+    String email = student.getEmail();
+    assertIndexUsed(() -> invitationRepository.existsPendingByMentorIdAndEmail(mentorId, email),
+            List.of(mentorId, email), "uq_invitations_pending_email");
+    assertIndexUsed(() -> invitationRepository.findPendingStudentEmails(mentorId, Set.of(email)),
+            List.of(mentorId, email), "uq_invitations_pending_email");
+  }
+
+  @Test
+  @DisplayName("mentorship lookups use the mentor and student indexes")
+  void mentorshipLookups() {
+    UUID mentorId = mentor.getId();
+    UUID studentId = student.getId();
+    assertIndexUsed(() -> mentorshipRepository.findByMentor_Id(mentorId), List.of(mentorId),
+            "idx_mentorships_mentor_created", "uq_mentor_student");
+    assertIndexUsed(() -> mentorshipRepository.findResponsesByMentorId(mentorId), List.of(mentorId),
+            "idx_mentorships_mentor_created");
+    assertIndexUsed(() -> mentorshipRepository.findByStudent_Id(studentId), List.of(studentId), "uq_student");
+    assertIndexUsed(() -> mentorshipRepository.findResponseByStudentId(studentId), List.of(studentId), "uq_student");
+  }
+
+  @Test
+  @DisplayName("user queries use the lower(email) and keyset indexes")
+  void userLookups() {
+    String email = student.getEmail();
+    UUID studentId = student.getId();
+    assertIndexUsed(() -> userRepository.existsByEmailIgnoreCase(email), List.of(email), "uq_users_email_lower");
+    assertIndexUsed(() -> userRepository.findAndLockById(studentId), List.of(studentId), "users_pkey");
+
+    Timestamp epoch = Timestamp.from(Instant.EPOCH);
+    UUID nil = new UUID(0L, 0L);
+    assertIndexUsed(() -> userRepository.findPageAfter(EnumSet.of(UserRole.STUDENT), "%", Instant.EPOCH, nil, PageRequest.ofSize(10)),
+            List.of(UserRole.STUDENT.name(), "%", epoch, nil, 10), "idx_users_created_at_id");
+    assertIndexUsed(() -> {
+      try (var users = userRepository.streamAll(EnumSet.of(UserRole.STUDENT), "%")) {
+        users.forEach(user -> { });
+      }
+    }, List.of(UserRole.STUDENT.name(), "%"), "idx_users_created_at_id");
+  }
+
+  @Test
+  @DisplayName("the mentee dashboard is one range scan on the read model")
+  void menteeDashboardLookups() {
+    UUID studentId = student.getId();
+    assertIndexUsed(() -> menteeDashboardRepository.findByStudentId(studentId), List.of(studentId),
+            "idx_mentee_dashboard_student_due");
+  }
+
+  @Test
+  @DisplayName("submission history is answered from indexes alone")
+  void submissionHistoryLookups() {
+    UUID studentAssignmentId = UUID.randomUUID();
+    UUID problemId = UUID.randomUUID();
+    assertIndexUsed(() -> submissionRepository.findHistory(studentAssignmentId), List.of(studentAssignmentId),
+            "Index Only Scan using uq_submission_version");
+    assertIndexUsed(() -> submissionRepository.findHistory(studentAssignmentId, problemId),
+            List.of(studentAssignmentId, problemId), "Index Only Scan using uq_submission_version");
+  }
+
+  @Test
+  @DisplayName("feedback reads and per-line counts use the line index")
+  void feedbackLineLookups() {
+    UUID submissionId = UUID.randomUUID();
+    assertIndexUsed(() -> feedbackRepository.findInLineOrder(submissionId), List.of(submissionId),
+            "idx_feedback_submission_line");
+    assertIndexUsed(() -> feedbackRepository.countByLine(submissionId), List.of(submissionId),
+            "idx_feedback_submission_line");
+  }
+
+  @Test
+  @DisplayName("problem bank search, facets and autocomplete use the partial GIN index")
+  void problemSearchLookups() {
+    NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("mentorId", mentor.getId())
+            .addValue("query", "graph:AB & search:*AB")
+            .addValue("difficulty", null, Types.VARCHAR)
+            .addValue("limit", 20);
+    for (String sql : List.of(ProblemSearchRepository.SEARCH, ProblemSearchRepository.COUNT_BY_DIFFICULTY,
+            ProblemSearchRepository.AUTOCOMPLETE)) {
+      String plan = String.join("\n", namedJdbcTemplate.queryForList("EXPLAIN " + sql, parameters, String.class));
+
+      assertThat(plan).as("plan for %s", sql).doesNotContain("Seq Scan").contains("idx_problems_bank_search");
+    }
+  }
+
+  @Test
+  @DisplayName("assignment listings use the live-assignment index, tag filters the GIN index")
+  void assignmentTagLookups() {
+    UUID mentorId = mentor.getId();
+    // GIN costs are estimated from statistics, so give the planner a realistic table to look at
+    jdbcTemplate.update("""
+            INSERT INTO assignments (id, mentor_id, title, tags, created_at, updated_at)
+            SELECT gen_random_uuid(), ?, 'Assignment ' || n, ARRAY['tag' || n % 50, 'tag' || n % 37]::varchar[], now(), now()
+              FROM generate_series(1, 5000) n
+            """, mentorId);
+    jdbcTemplate.execute("ANALYZE assignments");
+
+    String[] tags = {"graphs", "dp"};
+    assertIndexUsed(() -> assignmentRepository.findLive(mentorId), List.of(mentorId), "idx_assignments_mentor_created");
+    assertIndexUsed(() -> assignmentRepository.findLiveTaggedWithAny(mentorId, tags), List.of(mentorId, tags),
+            "idx_assignments_tags");
+    assertIndexUsed(() -> assignmentRepository.findLiveTaggedWithAll(mentorId, tags), List.of(mentorId, tags),
+            "idx_assignments_tags");
+  }
+
+  @Test
+  @DisplayName("the outbox claim reads due messages from the partial due index")
+  void outboxClaim() {
+    MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("now", Timestamp.from(Instant.now()))
+            .addValue("limit", 50);
+    String plan = String.join("\n", new NamedParameterJdbcTemplate(jdbcTemplate)
+            .queryForList("EXPLAIN " + InvitationOutboxRepository.FIND_DUE_FOR_CLAIM, parameters, String.class));
+
+    assertThat(plan).doesNotContain("Seq Scan").doesNotContain("Sort").contains("idx_invitation_outbox_due");
+  }
+
+  @Test
+  @DisplayName("the invitation sweep reads through the partial expiry indexes")
+  void invitationSweep() {
+    NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+    MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("now", Timestamp.from(Instant.now()))
+            .addValue("cutoff", Timestamp.from(Instant.now()))
+            .addValue("limit", 5000);
+    // On a near-empty table the planner may read the oldest pending row off either partial index
+    // over pending invitations; both keep the sweep away from the settled history
+    Map<String, List<String>> indexesBySql = Map.of(
+            InvitationSweepRepository.FIND_OVERDUE_PENDING, List.of("idx_invitations_pending_expiry"),
+            InvitationSweepRepository.OLDEST_OVERDUE_PENDING,
+            List.of("idx_invitations_pending_expiry", "uq_invitations_pending_email"),
+            InvitationSweepRepository.FIND_PURGEABLE, List.of("idx_invitations_settled_expiry"),
+            InvitationSweepRepository.OLDEST_PURGEABLE, List.of("idx_invitations_settled_expiry"));
+
+    indexesBySql.forEach((sql, indexes) -> {
+      String plan = String.join("\n", named.queryForList("EXPLAIN " + sql, parameters, String.class));
+      assertThat(plan).as("plan for %s", sql).doesNotContain("Seq Scan");
+      assertThat(indexes).as("plan for %s:%n%s", sql, plan).anyMatch(plan::contains);
+    });
+  }
+
+  private void assertIndexUsed(Runnable repositoryCall, List<Object> parameters, String... acceptableIndexes) {
+    CapturingStatementInspector.clear();
+    repositoryCall.run();
+    String sql = CapturingStatementInspector.lastStatement();
+
+    String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters.toArray()));
+
+    assertThat(plan).as("plan for %s", sql).doesNotContain("Seq Scan");
+    assertThat(List.of(acceptableIndexes)).as("plan for %s:%n%s", sql, plan).anyMatch(plan::contains);
+  }
+}
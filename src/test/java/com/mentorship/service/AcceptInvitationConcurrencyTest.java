@@ -0,0 +1,262 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AcceptInviteRequest;
+import com.mentorship.dto.InvitationResponse;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.dto.UserCreateRequest;
+import com.mentorship.exception.ConflictException;
+import com.mentorship.exception.ForbiddenException;
+import com.mentorship.exception.ResourceNotFoundException;
+import com.mentorship.support.EmbeddedPostgresDatabase;
+import com.mentorship.util.Tokens;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the same accept scenarios against both accept modes on PostgreSQL with real
+ * commits, so row locks and unique constraints behave as in production.
+ * Throughput of each mode is logged at the end for comparison.
+ */
+@DisplayName("Accept Invitation Concurrency Tests")
+class AcceptInvitationConcurrencyTest {
+
+  private static final Logger log = LoggerFactory.getLogger(AcceptInvitationConcurrencyTest.class);
+  private static final int THREADS = 16;
+  private static final int STUDENTS = 200;
+  private static final Map<String, Double> ACCEPTS_PER_SECOND = new ConcurrentHashMap<>();
+
+  @AfterAll
+  static void reportThroughput() {
+    ACCEPTS_PER_SECOND.forEach((mode, rate) -> log.info("accept mode {}: {} accepts/sec", mode, String.format("%.0f", rate)));
+  }
+
+  @Nested
+  @SpringBootTest
+  @TestPropertySource(properties = "mentorship.invitations.accept.mode=locking")
+  @DisplayName("locking mode")
+  class Locking extends Scenarios {
+  }
+
+  @Nested
+  @SpringBootTest
+  @TestPropertySource(properties = "mentorship.invitations.accept.mode=conditional-update")
+  @DisplayName("conditional-update mode")
+  class ConditionalUpdate extends Scenarios {
+  }
+
+  abstract static class Scenarios {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+      EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @Autowired private InvitationService invitationService;
+    @Autowired private UserService userService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    // Every row hangs off these users through ON DELETE CASCADE
+    private final List<UUID> createdUsers = new ArrayList<>();
+    private final String run = UUID.randomUUID().toString().substring(0, 8);
+
+    @AfterEach
+    void cleanUp() {
+      createdUsers.forEach(id -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", id));
+    }
+
+    @Test
+    @DisplayName("accepts many independent invitations concurrently")
+    void acceptsIndependentInvitationsConcurrently() throws Exception {
+      UUID mentorId = user("mentor", UserRole.MENTOR);
+      List<AcceptInviteRequest> requests = new ArrayList<>();
+      for (int i = 0; i < STUDENTS; i++) {
+        UUID studentId = user("student" + i, UserRole.STUDENT);
+        InvitationResponse invite = invitationService.createInvitation(new InviteRequest(mentorId, email("student" + i)));
+        requests.add(new AcceptInviteRequest(invite.token(), studentId));
+      }
+
+      long started = System.nanoTime();
+      Outcomes outcomes = runConcurrently(requests);
+      double seconds = (System.nanoTime() - started) / 1e9;
+      ACCEPTS_PER_SECOND.put(getClass().getSimpleName(), STUDENTS / seconds);
+
+      assertThat(outcomes.accepted.get()).isEqualTo(STUDENTS);
+      assertThat(mentorshipsOf(mentorId)).isEqualTo(STUDENTS);
+    }
+
+    @Test
+    @DisplayName("lets exactly one of several mentors win the same student")
+    void competingMentors_produceOneMentorship() throws Exception {
+      UUID studentId = user("contested", UserRole.STUDENT);
+      List<AcceptInviteRequest> requests = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        UUID mentorId = user("mentor" + i, UserRole.MENTOR);
+        requests.add(new AcceptInviteRequest(
+                invitationService.createInvitation(new InviteRequest(mentorId, email("contested"))).token(), studentId));
+      }
+
+      Outcomes outcomes = runConcurrently(requests);
+
+      assertThat(outcomes.accepted.get()).isEqualTo(1);
+      assertThat(outcomes.conflicts.get()).isEqualTo(THREADS - 1);
+      assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM mentorships WHERE student_id = ?", Long.class, studentId)).isEqualTo(1);
+      assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM invitations WHERE status = 'ACCEPTED' AND student_email = ?",
+              Long.class, email("contested"))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("accepts a token once when it is clicked many times at once")
+    void repeatedClicks_acceptOnce() throws Exception {
+      UUID mentorId = user("mentor", UserRole.MENTOR);
+      UUID studentId = user("clicker", UserRole.STUDENT);
+      String token = invitationService.createInvitation(new InviteRequest(mentorId, email("clicker"))).token();
+
+      List<AcceptInviteRequest> requests = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        requests.add(new AcceptInviteRequest(token, studentId));
+      }
+      Outcomes outcomes = runConcurrently(requests);
+
+      assertThat(outcomes.accepted.get()).isEqualTo(1);
+      assertThat(outcomes.conflicts.get()).isEqualTo(THREADS - 1);
+      assertThat(mentorshipsOf(mentorId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("keeps the not-found, bad-request, forbidden and conflict outcomes")
+    void rejectionsMatchTheLockingSemantics() {
+      UUID mentorId = user("mentor", UserRole.MENTOR);
+      UUID studentId = user("student", UserRole.STUDENT);
+      UUID imposterId = user("imposter", UserRole.STUDENT);
+      String token = invitationService.createInvitation(new InviteRequest(mentorId, email("student"))).token();
+
+      assertThatThrownBy(() -> invitationService.acceptInvitation(new AcceptInviteRequest("missing", studentId)))
+              .isInstanceOf(ResourceNotFoundException.class).hasMessageContaining("token not found");
+      assertThatThrownBy(() -> invitationService.acceptInvitation(new AcceptInviteRequest(token, UUID.randomUUID())))
+              .isInstanceOf(ResourceNotFoundException.class).hasMessageContaining("Student not found");
+      assertThatThrownBy(() -> invitationService.acceptInvitation(new AcceptInviteRequest(token, mentorId)))
+              .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Only students");
+      assertThatThrownBy(() -> invitationService.acceptInvitation(new AcceptInviteRequest(token, imposterId)))
+              .isInstanceOf(ForbiddenException.class).hasMessageContaining("not for you");
+
+      invitationService.acceptInvitation(new AcceptInviteRequest(token, studentId));
+      assertThatThrownBy(() -> invitationService.acceptInvitation(new AcceptInviteRequest(token, studentId)))
+              .isInstanceOf(ConflictException.class).hasMessageContaining("no longer pending");
+
+      UUID secondMentorId = user("second-mentor", UserRole.MENTOR);
+      String secondToken = invitationService.createInvitation(new InviteRequest(secondMentorId, email("student"))).token();
+      assertThatThrownBy(() -> invitationService.acceptInvitation(new AcceptInviteRequest(secondToken, studentId)))
+              .isInstanceOf(ConflictException.class).hasMessageContaining("already has a mentor");
+      // The rejected accept must not leave the second invitation flipped
+      assertThat(invitationService.getInvitationByToken(secondToken)).get()
+              .extracting(InvitationResponse::status).hasToString("PENDING");
+    }
+
+    @Test
+    @DisplayName("accepts a UUID token issued before tokens were stored hashed")
+    void legacyToken_accepted() {
+      UUID mentorId = user("mentor", UserRole.MENTOR);
+      UUID studentId = user("legacy", UserRole.STUDENT);
+      String legacyToken = UUID.randomUUID().toString();
+      // Hashed the way V15 backfilled existing rows
+      jdbcTemplate.update("INSERT INTO invitations (id, mentor_id, student_email, status, token_hash, created_at, expires_at) "
+                      + "VALUES (?, ?, ?, 'PENDING', sha256(convert_to(?, 'UTF8')), now(), now() + INTERVAL '1 day')",
+              UUID.randomUUID(), mentorId, email("legacy"), legacyToken);
+
+      assertThat(invitationService.acceptInvitation(new AcceptInviteRequest(legacyToken, studentId)).mentorId())
+              .isEqualTo(mentorId);
+    }
+
+    @Test
+    @DisplayName("rejects an expired invitation without writing to it")
+    void expiredInvitation_rejectedWithoutWrite() {
+      UUID mentorId = user("mentor", UserRole.MENTOR);
+      UUID studentId = user("late", UserRole.STUDENT);
+      String token = invitationService.createInvitation(new InviteRequest(mentorId, email("late"))).token();
+      jdbcTemplate.update("UPDATE invitations SET expires_at = now() - INTERVAL '1 second' WHERE token_hash = ?",
+              (Object) Tokens.hash(token));
+
+      assertThatThrownBy(() -> invitationService.acceptInvitation(new AcceptInviteRequest(token, studentId)))
+              .isInstanceOf(ConflictException.class).hasMessageContaining("expired");
+      assertThat(jdbcTemplate.queryForObject("SELECT status FROM invitations WHERE token_hash = ?",
+              String.class, (Object) Tokens.hash(token)))
+              .isEqualTo("PENDING");
+      assertThat(mentorshipsOf(mentorId)).isZero();
+    }
+
+    private Outcomes runConcurrently(List<AcceptInviteRequest> requests) throws Exception {
+      Outcomes outcomes = new Outcomes();
+      CountDownLatch start = new CountDownLatch(1);
+      ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+      try {
+        List<Future<?>> futures = new ArrayList<>();
+        for (AcceptInviteRequest request : requests) {
+          futures.add(executor.submit((Callable<Void>) () -> {
+            start.await();
+            try {
+              invitationService.acceptInvitation(request);
+              outcomes.accepted.incrementAndGet();
+            } catch (ConflictException ex) {
+              outcomes.conflicts.incrementAndGet();
+            }
+            return null;
+          }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+          future.get(60, TimeUnit.SECONDS);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+      return outcomes;
+    }
+
+    private UUID user(String name, UserRole role) {
+      UUID id = userService.createUser(new UserCreateRequest(UUID.randomUUID(), name, email(name), role)).id();
+      createdUsers.add(id);
+      return id;
+    }
+
+    private String email(String name) {
+      return name + "-" + run + "@example.com";
+    }
+
+    private long mentorshipsOf(UUID mentorId) {
+      return jdbcTemplate.queryForObject("SELECT count(*) FROM mentorships WHERE mentor_id = ?", Long.class, mentorId);
+    }
+  }
+
+  private static final class Outcomes {
+    final AtomicInteger accepted = new AtomicInteger();
+    final AtomicInteger conflicts = new AtomicInteger();
+  }
+}
@@ -0,0 +1,128 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.Mentorship;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AssignStudentResult;
+import com.mentorship.dto.AssignStudentsRequest;
+import com.mentorship.dto.AssignStudentsResponse;
+import com.mentorship.dto.AssignmentCreateRequest;
+import com.mentorship.dto.AssignmentResponse;
+import com.mentorship.repository.MenteeDashboardRepository;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.repository.StudentAssignmentRepository;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.support.SqlStatementCounter;
+import com.mentorship.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(SqlStatementCounter.class)
+@DisplayName("Assignment Fan-Out Integration Tests")
+class AssignmentFanOutIntegrationTest {
+
+  @Autowired private AssignmentService assignmentService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private MentorshipRepository mentorshipRepository;
+  @Autowired private StudentAssignmentRepository studentAssignmentRepository;
+  @Autowired private MenteeDashboardRepository dashboardRepository;
+  @Autowired private SqlStatementCounter sqlStatementCounter;
+
+  private User mentor;
+
+  @BeforeEach
+  void setUp() {
+    mentor = TestUsers.save(userRepository, "Fan-Out Mentor", UserRole.MENTOR);
+  }
+
+  @Test
+  @DisplayName("every mentee gets the assignment and a dashboard item")
+  void assign_manyMentees_createsRowsAndDashboardItems() {
+    List<UUID> mentees = saveMentees(200);
+    Instant due = Instant.now().plus(3, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MICROS);
+    AssignmentResponse assignment = createAssignment();
+
+    AssignStudentsResponse response = assignmentService.assign(assignment.id(), new AssignStudentsRequest(mentees, due));
+
+    assertThat(response.assigned()).isEqualTo(200);
+    assertThat(response.results()).extracting(AssignStudentResult::studentId).containsExactlyElementsOf(mentees);
+    assertThat(response.results()).allSatisfy(result -> assertThat(result.studentAssignment().dueDate()).isEqualTo(due));
+    assertThat(studentAssignmentRepository.count()).isEqualTo(200);
+    assertThat(dashboardRepository.findByAssignmentId(assignment.id())).hasSize(200);
+  }
+
+  @Test
+  @DisplayName("strangers are refused and existing assignments are kept, per student")
+  void assign_mixedStudents_reportsOutcomePerStudent() {
+    List<UUID> mentees = saveMentees(3);
+    UUID stranger = TestUsers.save(userRepository, "Stranger", UserRole.STUDENT).getId();
+    AssignmentResponse assignment = createAssignment();
+    AssignStudentsResponse first = assignmentService.assign(assignment.id(),
+            new AssignStudentsRequest(List.of(mentees.get(0)), null));
+
+    AssignStudentsResponse second = assignmentService.assign(assignment.id(), new AssignStudentsRequest(
+            List.of(mentees.get(0), stranger, mentees.get(1), mentees.get(1), mentees.get(2)), null));
+
+    assertThat(second.results())
+            .extracting(AssignStudentResult::studentId, AssignStudentResult::outcome)
+            .containsExactly(
+                    tuple(mentees.get(0), AssignStudentResult.Outcome.ALREADY_ASSIGNED),
+                    tuple(stranger, AssignStudentResult.Outcome.NOT_MENTORED),
+                    tuple(mentees.get(1), AssignStudentResult.Outcome.ASSIGNED),
+                    tuple(mentees.get(2), AssignStudentResult.Outcome.ASSIGNED));
+    assertThat(second.results().getFirst().studentAssignment().id())
+            .isEqualTo(first.results().getFirst().studentAssignment().id());
+    assertThat(second.results().get(1).studentAssignment()).isNull();
+    assertThat(dashboardRepository.findByAssignmentId(assignment.id())).hasSize(3);
+  }
+
+  @Test
+  @DisplayName("the statement count does not grow with the number of students")
+  void assign_statementCountIndependentOfFanOut() {
+    List<UUID> few = saveMentees(2);
+    List<UUID> many = saveMentees(200);
+    AssignmentResponse small = createAssignment();
+    AssignmentResponse large = createAssignment();
+
+    long forFew = sqlStatementCounter.count(() ->
+            assignmentService.assign(small.id(), new AssignStudentsRequest(few, null)));
+    long forMany = sqlStatementCounter.count(() ->
+            assignmentService.assign(large.id(), new AssignStudentsRequest(many, null)));
+
+    assertThat(forMany).isEqualTo(forFew);
+  }
+
+  private List<UUID> saveMentees(int count) {
+    List<UUID> ids = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      User student = TestUsers.save(userRepository, "Mentee " + i, UserRole.STUDENT);
+      mentorshipRepository.save(Mentorship.builder().mentor(mentor).student(student).build());
+      ids.add(student.getId());
+    }
+    return ids;
+  }
+
+  private AssignmentResponse createAssignment() {
+    return assignmentService.createAssignment(new AssignmentCreateRequest(
+            mentor.getId(), "Graphs week", "Practice",
+            List.of(new AssignmentCreateRequest.Link("https://example.com/graphs", null)), List.of(), List.of()));
+  }
+}
@@ -0,0 +1,205 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AssignmentCreateRequest;
+import com.mentorship.dto.AssignmentResponse;
+import com.mentorship.dto.AssignmentSummaryResponse;
+import com.mentorship.dto.AssignmentUpdateRequest;
+import com.mentorship.dto.TagCount;
+import com.mentorship.exception.ConflictException;
+import com.mentorship.exception.ForbiddenException;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.service.AssignmentService.TagMatch;
+import com.mentorship.support.EmbeddedPostgresDatabase;
+import com.mentorship.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the tag scenarios on H2, through the stand-in rendering of the tag predicates, and on
+ * PostgreSQL with the array operators and the schema from the Flyway migrations.
+ */
+@DisplayName("Assignment Tag Integration Tests")
+class AssignmentTagIntegrationTest {
+
+  @Nested
+  @SpringBootTest
+  @ActiveProfiles("test")
+  @DisplayName("H2")
+  class H2 extends Scenarios {
+  }
+
+  @Nested
+  @SpringBootTest
+  @DisplayName("PostgreSQL")
+  class Postgres extends Scenarios {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+      EmbeddedPostgresDatabase.register(registry);
+    }
+  }
+
+  @Transactional
+  abstract static class Scenarios {
+
+    @Autowired private AssignmentService assignmentService;
+    @Autowired private UserRepository userRepository;
+
+    private User mentor;
+
+    @BeforeEach
+    void setUp() {
+      mentor = TestUsers.save(userRepository, "Tag Mentor", UserRole.MENTOR);
+    }
+
+    @Test
+    @DisplayName("listings filter by any or all of the tags and leave archived assignments out")
+    void listAssignments_filtersByTags() {
+      AssignmentResponse graphs = create("Graphs", "graphs", "interview");
+      AssignmentResponse dp = create("DP", "dp", "interview");
+      AssignmentResponse trees = create("Trees", "graphs", "trees");
+      AssignmentResponse archived = create("Old graphs", "graphs", "interview");
+      assignmentService.archiveAssignment(archived.id(), mentor.getId());
+
+      assertThat(titles(List.of("trees", "dp"), TagMatch.ANY)).containsExactlyInAnyOrder("Trees", "DP");
+      assertThat(titles(List.of("graphs", "interview"), TagMatch.ALL)).containsExactly("Graphs");
+      assertThat(titles(List.of("GRAPHS "), TagMatch.ALL)).containsExactlyInAnyOrder("Graphs", "Trees");
+      assertThat(titles(List.of(), TagMatch.ANY)).containsExactlyInAnyOrder("Graphs", "DP", "Trees");
+      assertThat(titles(List.of("unused"), TagMatch.ANY)).isEmpty();
+      assertThat(List.of(graphs, dp, trees)).allSatisfy(a -> assertThat(a.archivedAt()).isNull());
+    }
+
+    @Test
+    @DisplayName("tags are stored trimmed, lower-case and once each")
+    void createAssignment_normalizesTags() {
+      AssignmentResponse created = create("Graphs", " Graphs", "BFS", "graphs ");
+
+      assertThat(created.tags()).containsExactly("graphs", "bfs");
+      assertThat(assignmentService.getTagCounts(mentor.getId()))
+              .containsExactly(new TagCount("bfs", 1), new TagCount("graphs", 1));
+    }
+
+    @Test
+    @DisplayName("the tag histogram follows creates, edits and archiving")
+    void tagCounts_maintainedIncrementally() {
+      AssignmentResponse first = create("First", "graphs", "interview");
+      AssignmentResponse second = create("Second", "graphs");
+
+      assignmentService.updateAssignment(first.id(), new AssignmentUpdateRequest(
+              mentor.getId(), "First", null, List.of("graphs", "dp")));
+      assertThat(assignmentService.getTagCounts(mentor.getId()))
+              .containsExactly(new TagCount("graphs", 2), new TagCount("dp", 1));
+
+      assignmentService.archiveAssignment(second.id(), mentor.getId());
+      assignmentService.archiveAssignment(second.id(), mentor.getId());
+      assertThat(assignmentService.getTagCounts(mentor.getId()))
+              .containsExactly(new TagCount("dp", 1), new TagCount("graphs", 1));
+      assertThat(assignmentService.getTagCounts(TestUsers.save(userRepository, "Tag Mentor", UserRole.MENTOR).getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("after any sequence of writes the histogram equals a recount of the live assignments")
+    void tagCounts_matchRecount() {
+      List<String> vocabulary = List.of("graphs", "dp", "trees", "heaps", "strings", "math");
+      Random random = new Random(7);
+      List<UUID> live = new ArrayList<>();
+      for (int step = 0; step < 60; step++) {
+        int action = live.isEmpty() ? 0 : random.nextInt(3);
+        if (action == 0) {
+          live.add(assignmentService.createAssignment(new AssignmentCreateRequest(
+                  mentor.getId(), "A" + step, null, List.of(), List.of(), sample(vocabulary, random))).id());
+        } else if (action == 1) {
+          assignmentService.updateAssignment(live.get(random.nextInt(live.size())), new AssignmentUpdateRequest(
+                  mentor.getId(), "E" + step, null, sample(vocabulary, random)));
+        } else {
+          assignmentService.archiveAssignment(live.remove(random.nextInt(live.size())), mentor.getId());
+        }
+      }
+
+      Map<String, Long> recount = new HashMap<>();
+      assignmentService.listAssignments(mentor.getId(), List.of(), TagMatch.ANY)
+              .forEach(assignment -> assignment.tags().forEach(tag -> recount.merge(tag, 1L, Long::sum)));
+      assertThat(assignmentService.getTagCounts(mentor.getId()).stream()
+              .collect(Collectors.toMap(TagCount::tag, TagCount::assignments))).isEqualTo(recount);
+    }
+
+    @Test
+    @DisplayName("tag autocomplete suggests the mentor's most used tags with the prefix")
+    void autocompleteTags_byPrefix() {
+      create("One", "graphs", "greedy");
+      create("Two", "greedy", "geometry");
+      create("Three", "greedy", "dp");
+      create("Four", "snake_case");
+
+      assertThat(assignmentService.autocompleteTags(mentor.getId(), "G", 10)).extracting(TagCount::tag)
+              .containsExactly("greedy", "geometry", "graphs");
+      assertThat(assignmentService.autocompleteTags(mentor.getId(), "gr", 1)).extracting(TagCount::tag)
+              .containsExactly("greedy");
+      // A LIKE wildcard in the prefix is matched literally
+      assertThat(assignmentService.autocompleteTags(mentor.getId(), "snake_", 10)).extracting(TagCount::tag)
+              .containsExactly("snake_case");
+      assertThat(assignmentService.autocompleteTags(mentor.getId(), "%", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("only the author edits or archives, and archived assignments are frozen")
+    void editAndArchive_guarded() {
+      AssignmentResponse assignment = create("Graphs", "graphs");
+      UUID otherMentorId = TestUsers.save(userRepository, "Tag Mentor", UserRole.MENTOR).getId();
+
+      assertThatThrownBy(() -> assignmentService.archiveAssignment(assignment.id(), otherMentorId))
+              .isInstanceOf(ForbiddenException.class);
+      assertThatThrownBy(() -> assignmentService.updateAssignment(assignment.id(),
+              new AssignmentUpdateRequest(otherMentorId, "Mine now", null, List.of())))
+              .isInstanceOf(ForbiddenException.class);
+
+      assignmentService.archiveAssignment(assignment.id(), mentor.getId());
+
+      assertThatThrownBy(() -> assignmentService.updateAssignment(assignment.id(),
+              new AssignmentUpdateRequest(mentor.getId(), "Revived", null, List.of("graphs"))))
+              .isInstanceOf(ConflictException.class);
+    }
+
+    private List<String> titles(List<String> tags, TagMatch match) {
+      return assignmentService.listAssignments(mentor.getId(), tags, match).stream()
+              .map(AssignmentSummaryResponse::title)
+              .toList();
+    }
+
+    private AssignmentResponse create(String title, String... tags) {
+      return assignmentService.createAssignment(new AssignmentCreateRequest(
+              mentor.getId(), title, null, List.of(), List.of(), List.of(tags)));
+    }
+
+    private static List<String> sample(List<String> vocabulary, Random random) {
+      List<String> tags = new ArrayList<>();
+      for (String tag : vocabulary) {
+        if (random.nextInt(3) == 0) {
+          tags.add(tag);
+        }
+      }
+      return tags;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.BulkInviteRequest;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.dto.UserCreateRequest;
+import com.mentorship.exception.ConflictException;
+import com.mentorship.support.EmbeddedPostgresDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Races a bulk invite against a single invite for one of its emails on PostgreSQL, so the
+ * pending-email unique index is what settles it, as in production.
+ */
+@SpringBootTest
+@DisplayName("Bulk Invite Concurrency Tests")
+class BulkInviteConcurrencyTest {
+
+  @DynamicPropertySource
+  static void postgres(DynamicPropertyRegistry registry) {
+    EmbeddedPostgresDatabase.register(registry);
+  }
+
+  @Autowired private InvitationService invitationService;
+  @Autowired private UserService userService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  // Every row hangs off these users through ON DELETE CASCADE
+  private final List<UUID> createdUsers = new ArrayList<>();
+  private final String run = UUID.randomUUID().toString().substring(0, 8);
+
+  @AfterEach
+  void cleanUp() {
+    createdUsers.forEach(id -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", id));
+  }
+
+  @Test
+  @DisplayName("a bulk invite that loses an email to a concurrent invite is refused as a conflict, writing nothing")
+  void bulkInvite_losingRace_conflict() throws Exception {
+    UUID mentorId = user("mentor", UserRole.MENTOR);
+    CountDownLatch inserted = new CountDownLatch(1);
+    CountDownLatch commit = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      // The single invite holds its uncommitted row until the bulk invite is waiting on it
+      Future<?> single = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+        invitationService.createInvitation(new InviteRequest(mentorId, email("contested")));
+        inserted.countDown();
+        await(commit);
+      }));
+      assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+      Future<?> bulk = executor.submit(() -> invitationService.createInvitations(
+              new BulkInviteRequest(mentorId, List.of(email("fresh"), email("contested")))));
+      awaitLockWait();
+      commit.countDown();
+      single.get(10, TimeUnit.SECONDS);
+
+      assertThatThrownBy(() -> bulk.get(10, TimeUnit.SECONDS))
+              .isInstanceOf(ExecutionException.class)
+              .cause().isInstanceOf(ConflictException.class).hasMessageContaining("retry");
+    } finally {
+      commit.countDown();
+      executor.shutdownNow();
+    }
+    assertThat(jdbcTemplate.queryForList("SELECT student_email FROM invitations WHERE mentor_id = ?", String.class, mentorId))
+            .containsExactly(email("contested"));
+  }
+
+  // Until the bulk insert is blocked on the single invite's row
+  private void awaitLockWait() throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Long.class) == 0) {
+      assertThat(System.nanoTime()).as("bulk insert waiting on the lock").isLessThan(deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private UUID user(String name, UserRole role) {
+    UUID id = userService.createUser(new UserCreateRequest(UUID.randomUUID(), name, email(name), role)).id();
+    createdUsers.add(id);
+    return id;
+  }
+
+  private String email(String name) {
+    return name + "-" + run + "@example.com";
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AcceptInviteRequest;
+import com.mentorship.dto.InvitationResponse;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.repository.InvitationRepository;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of SQL statements each read endpoint issues, so an N+1
+ * regression (e.g. a DTO mapper touching a lazy association) fails the build.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(SqlStatementCounter.class)
+@DisplayName("Endpoint Query Count Tests")
+class EndpointQueryCountIntegrationTest {
+
+  private static final int ROWS = 10;
+
+  @Autowired private InvitationService invitationService;
+  @Autowired private UserService userService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private InvitationRepository invitationRepository;
+  @Autowired private MentorshipRepository mentorshipRepository;
+  @Autowired private SqlStatementCounter sqlStatementCounter;
+
+  private User mentor;
+  private User student;
+  private String token;
+
+  @BeforeEach
+  void setUp() {
+    mentorshipRepository.deleteAll();
+    invitationRepository.deleteAll();
+    userRepository.deleteAll();
+
+    mentor = userRepository.save(User.builder()
+            .id(UUID.randomUUID()).name("Sarah Mentor").email("sarah@example.com").role(UserRole.MENTOR).build());
+
+    for (int i = 0; i < ROWS; i++) {
+      User s = userRepository.save(User.builder()
+              .id(UUID.randomUUID()).name("Student " + i).email("student" + i + "@example.com").role(UserRole.STUDENT).build());
+      InvitationResponse invitation = invitationService.createInvitation(new InviteRequest(mentor.getId(), s.getEmail()));
+      invitationService.acceptInvitation(new AcceptInviteRequest(invitation.token(), s.getId()));
+      student = s;
+    }
+    token = invitationService.createInvitation(new InviteRequest(mentor.getId(), "pending@example.com")).token();
+  }
+
+  @Test
+  @DisplayName("listing a mentor's invitations costs one statement regardless of row count")
+  void getInvitationsForMentor_singleStatement() {
+    assertThat(sqlStatementCounter.count(() ->
+            assertThat(invitationService.getInvitationsForMentor(mentor.getId())).hasSize(ROWS + 1)
+    )).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("listing a mentor's connections costs one statement regardless of row count")
+  void getMentorshipsForMentor_singleStatement() {
+    assertThat(sqlStatementCounter.count(() ->
+            assertThat(invitationService.getMentorshipsForMentor(mentor.getId())).hasSize(ROWS)
+    )).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("a student's connection costs one statement")
+  void getMentorshipForStudent_singleStatement() {
+    assertThat(sqlStatementCounter.count(() ->
+            assertThat(invitationService.getMentorshipForStudent(student.getId())).isPresent()
+    )).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("a token lookup costs one statement cold and none when cached")
+  void getInvitationByToken_singleStatementThenCached() {
+    assertThat(sqlStatementCounter.count(() -> invitationService.getInvitationByToken(token))).isEqualTo(1);
+    assertThat(sqlStatementCounter.count(() -> invitationService.getInvitationByToken(token))).isZero();
+  }
+
+  @Test
+  @DisplayName("fetching a user does not resolve any mentorship association")
+  void getUser_singleStatement() {
+    assertThat(sqlStatementCounter.count(() ->
+            assertThat(userService.getUser(student.getId())).isPresent()
+    )).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("a page of users costs one statement")
+  void listUsers_singleStatement() {
+    assertThat(sqlStatementCounter.count(() -> userService.listUsers(null, null, null, 50))).isEqualTo(1);
+  }
+}
@@ -0,0 +1,265 @@
+package com.mentorship.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mentorship.config.IdempotencyProperties;
+import com.mentorship.controller.MentorshipController;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.InvitationResponse;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.dto.UserCreateRequest;
+import com.mentorship.dto.UserResponse;
+import com.mentorship.exception.ConflictException;
+import com.mentorship.repository.IdempotencyKeyRepository;
+import com.mentorship.service.IdempotencyService.Result;
+import com.mentorship.support.EmbeddedPostgresDatabase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs requests through the idempotency service against committed data: with the in-memory
+ * store on H2, and with the database store on PostgreSQL, where a second service instance
+ * over the same table stands in for another node.
+ */
+@DisplayName("Idempotency Integration Tests")
+class IdempotencyIntegrationTest {
+
+  @Nested
+  @SpringBootTest
+  @ActiveProfiles("test")
+  @DisplayName("memory store")
+  class Memory extends Scenarios {
+  }
+
+  @Nested
+  @SpringBootTest
+  @TestPropertySource(properties = "mentorship.idempotency.store=database")
+  @DisplayName("database store")
+  class Database extends Scenarios {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+      EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @Autowired private IdempotencyKeyRepository keyRepository;
+    @Autowired private IdempotencyProperties properties;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private MentorshipController mentorshipController;
+
+    @AfterEach
+    void dropKeys() {
+      jdbcTemplate.update("DELETE FROM idempotency_keys WHERE scope = ? OR idempotency_key = ?", scope, scope);
+      jdbcTemplate.update("DELETE FROM invitations WHERE student_email LIKE ?", scope + "%");
+    }
+
+    @Test
+    @DisplayName("an invite is recorded without its token, which only this node replays")
+    void invite_recordedWithoutToken() {
+      UUID mentorId = userService.createUser(userRequest("mentor", UserRole.MENTOR)).id();
+      InviteRequest request = new InviteRequest(mentorId, scope + "-student@example.com");
+
+      InvitationResponse created = mentorshipController.inviteStudent(request, scope).getBody();
+
+      assertThat(created.token()).isNotBlank();
+      String recorded = jdbcTemplate.queryForObject(
+              "SELECT response FROM idempotency_keys WHERE scope = 'invite' AND idempotency_key = ?", String.class, scope);
+      assertThat(recorded).doesNotContain(created.token()).contains("\"token\":null");
+      assertThat(mentorshipController.inviteStudent(request, scope).getBody()).isEqualTo(created);
+      Result<InvitationResponse> elsewhere = otherNode().execute("invite", scope, request, InvitationResponse.class, () -> {
+        throw new AssertionError("must not run again");
+      });
+      assertThat(elsewhere.body()).isEqualTo(created.withoutToken());
+    }
+
+    @Test
+    @DisplayName("another node replays a response recorded by this one")
+    void otherNode_replaysRecordedResponse() {
+      UserCreateRequest request = studentRequest("recorded");
+      UserResponse created = idempotencyService.execute(scope, "recorded", request, UserResponse.class,
+              () -> userService.createUser(request)).body();
+
+      Result<UserResponse> replayed = otherNode().execute(scope, "recorded", request, UserResponse.class, () -> {
+        throw new AssertionError("must not run again");
+      });
+
+      assertThat(replayed.replayed()).isTrue();
+      assertThat(replayed.body()).isEqualTo(created);
+    }
+
+    @Test
+    @DisplayName("another node refuses a key whose request is still running here, and may retry once it failed")
+    void otherNode_refusesKeyInProgress() throws Exception {
+      CountDownLatch entered = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+        Future<?> running = executor.submit(() -> idempotencyService.execute(scope, "busy", "request", String.class, () -> {
+          entered.countDown();
+          await(release);
+          throw new ConflictException("first attempt failed");
+        }));
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> otherNode().execute(scope, "busy", "request", String.class, () -> "second"))
+                .isInstanceOf(ConflictException.class).hasMessageContaining("in progress");
+        release.countDown();
+        assertThatThrownBy(() -> running.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(ConflictException.class);
+      } finally {
+        release.countDown();
+        executor.shutdownNow();
+      }
+
+      assertThat(otherNode().execute(scope, "busy", "request", String.class, () -> "second").body()).isEqualTo("second");
+    }
+
+    @Test
+    @DisplayName("a claim abandoned past its lease is taken over")
+    void abandonedClaim_takenOver() {
+      jdbcTemplate.update("INSERT INTO idempotency_keys (scope, idempotency_key, fingerprint, expires_at) "
+              + "VALUES (?, 'abandoned', ?, ?)", scope, "0".repeat(64), Timestamp.from(Instant.now().minusSeconds(1)));
+
+      assertThat(idempotencyService.execute(scope, "abandoned", "request", String.class, () -> "ran").body())
+              .isEqualTo("ran");
+      assertThat(jdbcTemplate.queryForObject("SELECT response FROM idempotency_keys WHERE scope = ?",
+              String.class, scope)).isEqualTo("\"ran\"");
+    }
+
+    private IdempotencyService otherNode() {
+      return new IdempotencyService(keyRepository, properties, objectMapper, new SimpleMeterRegistry());
+    }
+  }
+
+  abstract static class Scenarios {
+
+    @Autowired protected IdempotencyService idempotencyService;
+    @Autowired protected UserService userService;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired protected JdbcTemplate jdbcTemplate;
+
+    private final String run = UUID.randomUUID().toString().substring(0, 8);
+    protected final String scope = "test-" + run;
+    private final List<UUID> createdUsers = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+      createdUsers.forEach(id -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", id));
+    }
+
+    @Test
+    @DisplayName("concurrent duplicates wait for the first request and share its response")
+    void concurrentDuplicates_coalesced() throws Exception {
+      UserCreateRequest request = studentRequest("coalesced");
+      AtomicInteger runs = new AtomicInteger();
+      CountDownLatch entered = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      double coalescedBefore = outcomes("coalesced");
+
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      try {
+        List<Future<Result<UserResponse>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> idempotencyService.execute(scope, "coalesced", request, UserResponse.class, () -> {
+          runs.incrementAndGet();
+          entered.countDown();
+          await(release);
+          return userService.createUser(request);
+        })));
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 7; i++) {
+          results.add(executor.submit(() -> idempotencyService.execute(scope, "coalesced", request, UserResponse.class, () -> {
+            runs.incrementAndGet();
+            return userService.createUser(request);
+          })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (outcomes("coalesced") - coalescedBefore < 7 && System.nanoTime() < deadline) {
+          Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertThat(runs.get()).isEqualTo(1);
+        for (Future<Result<UserResponse>> result : results) {
+          assertThat(result.get(10, TimeUnit.SECONDS).body().id()).isEqualTo(request.id());
+        }
+        assertThat(results.stream().filter(result -> !result.resultNow().replayed())).hasSize(1);
+      } finally {
+        release.countDown();
+        executor.shutdownNow();
+      }
+      assertThat(outcomes("coalesced") - coalescedBefore).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("a failed request is not recorded, so a retry with its key runs again")
+    void failure_notRecorded() {
+      assertThatThrownBy(() -> idempotencyService.execute(scope, "flaky", "request", String.class, () -> {
+        throw new ConflictException("try again");
+      })).isInstanceOf(ConflictException.class);
+
+      Result<String> retried = idempotencyService.execute(scope, "flaky", "request", String.class, () -> "done");
+      assertThat(retried).isEqualTo(new Result<>("done", false));
+      assertThat(idempotencyService.execute(scope, "flaky", "request", String.class, () -> "again"))
+              .isEqualTo(new Result<>("done", true));
+    }
+
+    @Test
+    @DisplayName("keys are scoped per endpoint and bound to their request")
+    void keys_scopedAndBoundToRequest() {
+      idempotencyService.execute(scope, "key", "request", String.class, () -> "first");
+
+      assertThat(idempotencyService.execute(scope + "-other", "key", "request", String.class, () -> "other").body())
+              .isEqualTo("other");
+      assertThatThrownBy(() -> idempotencyService.execute(scope, "key", "changed", String.class, () -> "changed"))
+              .isInstanceOf(IllegalArgumentException.class);
+      assertThat(idempotencyService.execute(scope, null, "request", String.class, () -> "unkeyed").body())
+              .isEqualTo("unkeyed");
+    }
+
+    protected UserCreateRequest studentRequest(String name) {
+      return userRequest(name, UserRole.STUDENT);
+    }
+
+    protected UserCreateRequest userRequest(String name, UserRole role) {
+      UUID id = UUID.randomUUID();
+      createdUsers.add(id);
+      return new UserCreateRequest(id, name, run + "-" + name + "@example.com", role);
+    }
+
+    private double outcomes(String outcome) {
+      return meterRegistry.get("mentorship.idempotency").tag("outcome", outcome).counter().count();
+    }
+
+    protected static void await(CountDownLatch latch) {
+      try {
+        latch.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
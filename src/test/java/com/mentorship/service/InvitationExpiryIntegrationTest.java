@@ -0,0 +1,292 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.InvitationStatus;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AcceptInviteRequest;
+import com.mentorship.dto.BulkInviteRequest;
+import com.mentorship.dto.BulkInviteResult;
+import com.mentorship.dto.InvitationResponse;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.dto.UserCreateRequest;
+import com.mentorship.exception.ConflictException;
+import com.mentorship.service.InvitationSweeper.SweepResult;
+import com.mentorship.support.EmbeddedPostgresDatabase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Expiry as seen by reads, accepts and new invites, and the sweeper run by hand (the scheduled
+ * sweep is off in tests) against committed data, on H2 and on PostgreSQL with the schema from
+ * the Flyway migrations. Small chunks make every sweep span several transactions.
+ */
+@DisplayName("Invitation Expiry Integration Tests")
+class InvitationExpiryIntegrationTest {
+
+  private static final String CHUNKS = "mentorship.invitations.expiry.chunk-size=3";
+  private static final String NO_PAUSE = "mentorship.invitations.expiry.chunk-pause=0ms";
+
+  @Nested
+  @SpringBootTest
+  @ActiveProfiles("test")
+  @TestPropertySource(properties = {CHUNKS, NO_PAUSE})
+  @DisplayName("H2")
+  class H2 extends Scenarios {
+  }
+
+  @Nested
+  @SpringBootTest
+  @TestPropertySource(properties = {CHUNKS, NO_PAUSE})
+  @DisplayName("PostgreSQL")
+  class Postgres extends Scenarios {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+      EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @Test
+    @DisplayName("the sweep skips an invitation an accept is holding")
+    void sweep_skipsLockedInvitation() throws Exception {
+      List<InvitationResponse> overdue = List.of(invite("held"), invite("free1"), invite("free2"));
+      overdue.forEach(invitation -> expire(invitation, Duration.ofMinutes(1)));
+
+      CountDownLatch locked = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+        Future<?> holder = executor.submit(() -> transaction.executeWithoutResult(status -> {
+          jdbcTemplate.queryForList("SELECT id FROM invitations WHERE id = ? FOR UPDATE", overdue.get(0).id());
+          locked.countDown();
+          await(release);
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Returns at once rather than waiting on the held row
+        sweeper.sweep();
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+      } finally {
+        release.countDown();
+        executor.shutdownNow();
+      }
+
+      assertThat(storedStatus(overdue.get(0))).isEqualTo("PENDING");
+      assertThat(storedStatus(overdue.get(1))).isEqualTo("EXPIRED");
+      assertThat(storedStatus(overdue.get(2))).isEqualTo("EXPIRED");
+    }
+  }
+
+  abstract static class Scenarios {
+
+    @Autowired private InvitationService invitationService;
+    @Autowired private UserService userService;
+    @Autowired protected InvitationSweeper sweeper;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired protected JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    protected TransactionTemplate transaction;
+    private UUID mentorId;
+    private final List<UUID> students = new ArrayList<>();
+    private final String run = UUID.randomUUID().toString().substring(0, 8);
+
+    @BeforeEach
+    void setUp() {
+      transaction = new TransactionTemplate(transactionManager);
+      mentorId = userService.createUser(new UserCreateRequest(UUID.randomUUID(), "Ada Mentor",
+              run + "-mentor@example.com", UserRole.MENTOR)).id();
+    }
+
+    // The generated H2 schema has no ON DELETE CASCADE, so delete children first
+    @AfterEach
+    void cleanUp() {
+      jdbcTemplate.update("DELETE FROM invitation_outbox WHERE invitation_id IN "
+              + "(SELECT id FROM invitations WHERE mentor_id = ?)", mentorId);
+      jdbcTemplate.update("DELETE FROM mentorships WHERE mentor_id = ?", mentorId);
+      jdbcTemplate.update("DELETE FROM invitations WHERE mentor_id = ?", mentorId);
+      students.forEach(id -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", id));
+      jdbcTemplate.update("DELETE FROM users WHERE id = ?", mentorId);
+    }
+
+    @Test
+    @DisplayName("an invitation expires after the TTL and then reads as EXPIRED without being written")
+    void expiredInvitation_readsAsExpired() {
+      Instant before = Instant.now();
+      InvitationResponse invitation = invite("student");
+
+      assertThat(invitation.status()).isEqualTo(InvitationStatus.PENDING);
+      assertThat(invitation.expiresAt()).isBetween(before.plus(Duration.ofDays(14)), Instant.now().plus(Duration.ofDays(14)));
+
+      expire(invitation, Duration.ofSeconds(1));
+
+      assertThat(invitationService.getInvitationByToken(invitation.token())).get()
+              .extracting(InvitationResponse::status).isEqualTo(InvitationStatus.EXPIRED);
+      assertThat(invitationService.getInvitationsForMentor(mentorId)).singleElement()
+              .extracting(InvitationResponse::status).isEqualTo(InvitationStatus.EXPIRED);
+      assertThat(storedStatus(invitation)).isEqualTo("PENDING");
+    }
+
+    @Test
+    @DisplayName("a cached invitation reads as EXPIRED once its expiry passes, and its accept is refused")
+    void cachedInvitation_expiresInPlace() throws InterruptedException {
+      UUID studentId = student("cached");
+      InvitationResponse invitation = invite("cached");
+      // Due in a moment; the read caches it while it is still pending
+      jdbcTemplate.update("UPDATE invitations SET expires_at = ? WHERE id = ?",
+              Timestamp.from(Instant.now().plusMillis(300)), invitation.id());
+      assertThat(invitationService.getInvitationByToken(invitation.token())).get()
+              .extracting(InvitationResponse::status).isEqualTo(InvitationStatus.PENDING);
+
+      Thread.sleep(400);
+      assertThat(invitationService.getInvitationByToken(invitation.token())).get()
+              .extracting(InvitationResponse::status).isEqualTo(InvitationStatus.EXPIRED);
+
+      assertThatThrownBy(() -> invitationService.acceptInvitation(new AcceptInviteRequest(invitation.token(), studentId)))
+              .isInstanceOf(ConflictException.class).hasMessageContaining("expired");
+      assertThat(storedStatus(invitation)).isEqualTo("PENDING");
+    }
+
+    @Test
+    @DisplayName("an expired invitation no longer blocks a new invite to the same student")
+    void expiredInvitation_freesPendingSlot() {
+      InvitationResponse first = invite("again");
+      assertThatThrownBy(() -> invite("again")).isInstanceOf(ConflictException.class);
+
+      expire(first, Duration.ofSeconds(1));
+      InvitationResponse second = invite("again");
+
+      assertThat(second.status()).isEqualTo(InvitationStatus.PENDING);
+      assertThat(storedStatus(first)).isEqualTo("EXPIRED");
+
+      InvitationResponse bulkFirst = invite("bulk");
+      expire(bulkFirst, Duration.ofSeconds(1));
+      List<BulkInviteResult> results = invitationService.createInvitations(new BulkInviteRequest(mentorId,
+              List.of(email("bulk"), email("again")))).results();
+
+      assertThat(results).extracting(BulkInviteResult::outcome)
+              .containsExactly(BulkInviteResult.Outcome.CREATED, BulkInviteResult.Outcome.DUPLICATE);
+      assertThat(storedStatus(bulkFirst)).isEqualTo("EXPIRED");
+    }
+
+    @Test
+    @DisplayName("the sweep expires overdue invitations in chunks and leaves the rest alone")
+    void sweep_expiresOverdueInvitations() {
+      List<InvitationResponse> overdue = new ArrayList<>();
+      for (int i = 0; i < 7; i++) {
+        overdue.add(invite("overdue" + i));
+        expire(overdue.get(i), Duration.ofMinutes(i + 1));
+      }
+      InvitationResponse current = invite("current");
+      double expiredBefore = sweepCount("expired");
+
+      SweepResult result = sweeper.sweep();
+
+      assertThat(result.expired()).isGreaterThanOrEqualTo(7);
+      assertThat(overdue).allSatisfy(invitation -> assertThat(storedStatus(invitation)).isEqualTo("EXPIRED"));
+      assertThat(storedStatus(current)).isEqualTo("PENDING");
+      assertThat(sweepCount("expired") - expiredBefore).isEqualTo(result.expired());
+      assertThat(meterRegistry.get("mentorship.invitations.sweep.lag").tag("action", "expired").gauge().value())
+              .isGreaterThanOrEqualTo(7 * 60);
+
+      assertThat(sweeper.sweep().expired()).isZero();
+      assertThat(meterRegistry.get("mentorship.invitations.sweep.lag").tag("action", "expired").gauge().value())
+              .isZero();
+    }
+
+    @Test
+    @DisplayName("the sweep deletes settled invitations past retention, with their outbox messages")
+    void sweep_purgesSettledInvitations() {
+      UUID studentId = student("accepted");
+      InvitationResponse accepted = invite("accepted");
+      invitationService.acceptInvitation(new AcceptInviteRequest(accepted.token(), studentId));
+      InvitationResponse expired = invite("expired");
+      InvitationResponse declined = invite("declined");
+      InvitationResponse recent = invite("recent");
+      InvitationResponse oldButPending = invite("old-pending");
+      jdbcTemplate.update("UPDATE invitations SET status = 'EXPIRED' WHERE id = ?", expired.id());
+      jdbcTemplate.update("UPDATE invitations SET status = 'DECLINED' WHERE id = ?", declined.id());
+      jdbcTemplate.update("UPDATE invitations SET status = 'EXPIRED' WHERE id = ?", recent.id());
+      List.of(accepted, expired, declined, oldButPending).forEach(invitation -> expire(invitation, Duration.ofDays(91)));
+      expire(recent, Duration.ofDays(89));
+
+      SweepResult result = sweeper.sweep();
+
+      assertThat(result.purged()).isGreaterThanOrEqualTo(4);
+      assertThat(storedStatus(accepted)).isNull();
+      assertThat(storedStatus(expired)).isNull();
+      assertThat(storedStatus(declined)).isNull();
+      assertThat(storedStatus(recent)).isEqualTo("EXPIRED");
+      // Expired by the first pass, then already past retention for the second
+      assertThat(storedStatus(oldButPending)).isNull();
+      assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM invitation_outbox WHERE invitation_id IN (?, ?, ?)",
+              Integer.class, accepted.id(), expired.id(), declined.id())).isZero();
+      assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM mentorships WHERE student_id = ?",
+              Integer.class, studentId)).as("the mentorship outlives its invitation").isEqualTo(1);
+    }
+
+    protected InvitationResponse invite(String name) {
+      return invitationService.createInvitation(new InviteRequest(mentorId, email(name)));
+    }
+
+    private UUID student(String name) {
+      UUID id = userService.createUser(new UserCreateRequest(UUID.randomUUID(), name, email(name), UserRole.STUDENT)).id();
+      students.add(id);
+      return id;
+    }
+
+    private String email(String name) {
+      return run + "-" + name + "@example.com";
+    }
+
+    // Moves the invitation's expiry into the past by the given amount
+    protected void expire(InvitationResponse invitation, Duration ago) {
+      jdbcTemplate.update("UPDATE invitations SET expires_at = ? WHERE id = ?",
+              Timestamp.from(Instant.now().minus(ago)), invitation.id());
+    }
+
+    protected String storedStatus(InvitationResponse invitation) {
+      return jdbcTemplate.queryForList("SELECT status FROM invitations WHERE id = ?", String.class, invitation.id())
+              .stream().findFirst().orElse(null);
+    }
+
+    private double sweepCount(String action) {
+      return meterRegistry.get("mentorship.invitations.sweep").tag("action", action).counter().count();
+    }
+
+    protected static void await(CountDownLatch latch) {
+      try {
+        latch.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,290 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.BulkInviteRequest;
+import com.mentorship.dto.InvitationResponse;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.dto.UserCreateRequest;
+import com.mentorship.repository.InvitationOutboxRepository;
+import com.mentorship.repository.InvitationOutboxRepository.Message;
+import com.mentorship.support.EmbeddedPostgresDatabase;
+import com.mentorship.support.RecordingMailSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the dispatcher by hand (the scheduled poll is off in tests) against committed data,
+ * on H2 and on PostgreSQL with the schema from the Flyway migrations.
+ */
+@DisplayName("Invitation Outbox Integration Tests")
+class InvitationOutboxIntegrationTest {
+
+  @Nested
+  @SpringBootTest
+  @ActiveProfiles("test")
+  @Import(RecordingMailSender.class)
+  @TestPropertySource(properties = "mentorship.invitations.outbox.max-attempts=3")
+  @DisplayName("H2")
+  class H2 extends Scenarios {
+  }
+
+  @Nested
+  @SpringBootTest
+  @Import(RecordingMailSender.class)
+  @TestPropertySource(properties = "mentorship.invitations.outbox.max-attempts=3")
+  @DisplayName("PostgreSQL")
+  class Postgres extends Scenarios {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+      EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @Test
+    @DisplayName("a claim skips rows another open claim holds")
+    void claim_skipsLockedRows() throws Exception {
+      for (int i = 0; i < 4; i++) {
+        invite("held" + i);
+      }
+      CountDownLatch claimed = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+        Future<List<Message>> first = executor.submit(() -> transaction.execute(status -> {
+          List<Message> messages = outboxRepository.claimDue(Instant.now(), Instant.now().plusSeconds(300), 2);
+          claimed.countDown();
+          await(release);
+          return messages;
+        }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Returns at once rather than waiting on the first claim's row locks
+        List<Message> second = transaction.execute(status ->
+                outboxRepository.claimDue(Instant.now(), Instant.now().plusSeconds(300), 10));
+        release.countDown();
+
+        assertThat(second).hasSize(2);
+        assertThat(second).doesNotContainAnyElementsOf(first.get(10, TimeUnit.SECONDS));
+      } finally {
+        release.countDown();
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  abstract static class Scenarios {
+
+    @Autowired private InvitationService invitationService;
+    @Autowired private UserService userService;
+    @Autowired private InvitationMailDispatcher dispatcher;
+    @Autowired private RecordingMailSender mailSender;
+    @Autowired protected InvitationOutboxRepository outboxRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    protected TransactionTemplate transaction;
+    private UUID mentorId;
+    private final String run = UUID.randomUUID().toString().substring(0, 8);
+
+    @BeforeEach
+    void setUp() {
+      transaction = new TransactionTemplate(transactionManager);
+      mailSender.reset();
+      mentorId = UUID.randomUUID();
+      userService.createUser(new UserCreateRequest(mentorId, "Ada Mentor", run + "-mentor@example.com", UserRole.MENTOR));
+    }
+
+    // The generated H2 schema has no ON DELETE CASCADE, so delete children first
+    @AfterEach
+    void cleanUp() {
+      jdbcTemplate.update("DELETE FROM invitation_outbox WHERE invitation_id IN "
+              + "(SELECT id FROM invitations WHERE mentor_id = ?)", mentorId);
+      jdbcTemplate.update("DELETE FROM invitations WHERE mentor_id = ?", mentorId);
+      jdbcTemplate.update("DELETE FROM users WHERE id = ?", mentorId);
+    }
+
+    @Test
+    @DisplayName("an invitation's email is queued with it and sent, with the token, by the dispatcher")
+    void invite_queuesEmailForDispatcher() {
+      InvitationResponse invitation = invite("student");
+
+      assertThat(mailSender.sent()).isEmpty();
+      assertThat(queued()).isEqualTo(1);
+
+      assertThat(dispatcher.dispatchDue()).isEqualTo(1);
+
+      assertThat(mailSender.sent()).singleElement().satisfies(message -> {
+        assertThat(message.recipient()).isEqualTo(email("student"));
+        assertThat(message.subject()).isEqualTo("Ada Mentor invited you to a mentorship");
+        assertThat(message.body()).contains(invitation.token());
+      });
+      assertThat(queued()).isZero();
+      assertThat(dispatcher.dispatchDue()).isZero();
+    }
+
+    @Test
+    @DisplayName("an invitation that rolls back leaves no email behind")
+    void rolledBackInvite_queuesNothing() {
+      transaction.executeWithoutResult(status -> {
+        invitationService.createInvitation(new InviteRequest(mentorId, email("rolled-back")));
+        status.setRollbackOnly();
+      });
+
+      assertThat(queued()).isZero();
+      assertThat(dispatcher.dispatchDue()).isZero();
+    }
+
+    @Test
+    @DisplayName("bulk invites queue one email per invitation created")
+    void bulkInvite_queuesEmailPerCreatedInvitation() {
+      invite("existing");
+      invitationService.createInvitations(new BulkInviteRequest(mentorId,
+              List.of(email("a"), email("b"), email("existing"), "not-an-email")));
+
+      assertThat(queued()).isEqualTo(3);
+      dispatcher.dispatchDue();
+      assertThat(mailSender.sent()).extracting(MailSender.Message::recipient)
+              .containsExactlyInAnyOrder(email("existing"), email("a"), email("b"));
+    }
+
+    @Test
+    @DisplayName("a failed send is retried after a backoff, and parked after the last attempt")
+    void failedSend_retriedWithBackoffThenParked() {
+      invite("flaky");
+      mailSender.failNext(3);
+
+      Instant before = Instant.now();
+      dispatcher.dispatchDue();
+      Map<String, Object> row = outboxRow();
+      assertThat(row.get("attempts")).isEqualTo(1);
+      assertThat(row.get("last_error").toString()).contains("Mail server unavailable");
+      // 30s initial backoff, the upper half jittered
+      assertThat(nextAttemptAt()).isBetween(before.plusSeconds(14), Instant.now().plusSeconds(31));
+      assertThat(dispatcher.dispatchDue()).as("not due yet").isZero();
+
+      makeDue();
+      dispatcher.dispatchDue();
+      assertThat(nextAttemptAt()).isAfter(Instant.now().plusSeconds(29));
+
+      makeDue();
+      dispatcher.dispatchDue();
+      assertThat(outboxRow().get("failed_at")).isNotNull();
+      assertThat(outboxRow().get("body")).as("token-bearing body blanked").isEqualTo("");
+      makeDue();
+      assertThat(dispatcher.dispatchDue()).as("parked").isZero();
+      assertThat(mailSender.sent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a claimed message stays leased until its lease runs out")
+    void claimedMessage_leased() {
+      invite("leased");
+      Instant now = Instant.now();
+      transaction.execute(status -> outboxRepository.claimDue(now, now.plusSeconds(300), 10));
+
+      assertThat(dispatcher.dispatchDue()).isZero();
+
+      makeDue();
+      assertThat(dispatcher.dispatchDue()).isEqualTo(1);
+      assertThat(mailSender.sent()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("concurrent dispatchers send every message exactly once")
+    void concurrentDispatchers_sendEachOnce() throws Exception {
+      List<String> recipients = new ArrayList<>();
+      for (int i = 0; i < 60; i++) {
+        recipients.add(email("bulk" + i));
+      }
+      invitationService.createInvitations(new BulkInviteRequest(mentorId, recipients));
+
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+        List<Future<?>> dispatchers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+          dispatchers.add(executor.submit(() -> {
+            int claimed;
+            do {
+              claimed = dispatcher.dispatchDue();
+            } while (claimed > 0);
+          }));
+        }
+        for (Future<?> future : dispatchers) {
+          future.get(60, TimeUnit.SECONDS);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+
+      assertThat(mailSender.sent()).extracting(MailSender.Message::recipient)
+              .containsExactlyInAnyOrderElementsOf(recipients);
+      assertThat(queued()).isZero();
+    }
+
+    protected InvitationResponse invite(String name) {
+      return invitationService.createInvitation(new InviteRequest(mentorId, email(name)));
+    }
+
+    private String email(String name) {
+      return run + "-" + name + "@example.com";
+    }
+
+    private int queued() {
+      return jdbcTemplate.queryForObject("SELECT count(*) FROM invitation_outbox o JOIN invitations i "
+              + "ON i.id = o.invitation_id WHERE i.mentor_id = ?", Integer.class, mentorId);
+    }
+
+    private Map<String, Object> outboxRow() {
+      return jdbcTemplate.queryForMap("SELECT o.* FROM invitation_outbox o JOIN invitations i "
+              + "ON i.id = o.invitation_id WHERE i.mentor_id = ?", mentorId);
+    }
+
+    private Instant nextAttemptAt() {
+      return jdbcTemplate.queryForObject("SELECT o.next_attempt_at FROM invitation_outbox o JOIN invitations i "
+              + "ON i.id = o.invitation_id WHERE i.mentor_id = ?", OffsetDateTime.class, mentorId).toInstant();
+    }
+
+    private void makeDue() {
+      jdbcTemplate.update("UPDATE invitation_outbox SET next_attempt_at = ? WHERE invitation_id IN "
+                      + "(SELECT id FROM invitations WHERE mentor_id = ?)",
+              Timestamp.from(Instant.now().minus(1, ChronoUnit.SECONDS)), mentorId);
+    }
+
+    protected static void await(CountDownLatch latch) {
+      try {
+        latch.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
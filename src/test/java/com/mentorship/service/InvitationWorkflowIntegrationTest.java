@@ -5,6 +5,9 @@ import com.mentorship.domain.InvitationStatus;
 import com.mentorship.domain.User;
 import com.mentorship.domain.UserRole;
 import com.mentorship.dto.AcceptInviteRequest;
+import com.mentorship.dto.BulkInviteRequest;
+import com.mentorship.dto.BulkInviteResponse;
+import com.mentorship.dto.BulkInviteResult;
 import com.mentorship.dto.InviteRequest;
 import com.mentorship.dto.InvitationResponse;
 import com.mentorship.dto.MentorshipResponse;
@@ -13,6 +16,7 @@ import com.mentorship.exception.ForbiddenException;
 import com.mentorship.repository.InvitationRepository;
 import com.mentorship.repository.MentorshipRepository;
 import com.mentorship.repository.UserRepository;
+import com.mentorship.util.Tokens;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,6 +25,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,6 +44,7 @@ class InvitationWorkflowIntegrationTest {
   @Autowired private UserRepository userRepository;
   @Autowired private InvitationRepository invitationRepository;
   @Autowired private MentorshipRepository mentorshipRepository;
+  @Autowired private InvitationTokenCache invitationTokenCache;
 
   private User mentor;
   private User student;
@@ -83,7 +92,7 @@ class InvitationWorkflowIntegrationTest {
     // Assert 2: Check the final mentorship and side effects
     assertThat(mentorship.mentorId()).isEqualTo(mentor.getId());
     assertThat(mentorship.studentId()).isEqualTo(student.getId());
-    assertThat(invitationRepository.findByToken(invitation.token())).get()
+    assertThat(invitationRepository.findByTokenHash(Tokens.hash(invitation.token()))).get()
             .extracting(Invitation::getStatus).isEqualTo(InvitationStatus.ACCEPTED);
     assertThat(mentorshipRepository.findByStudent_Id(student.getId())).isPresent();
   }
@@ -157,4 +166,83 @@ class InvitationWorkflowIntegrationTest {
             invitationService.acceptInvitation(new AcceptInviteRequest(secondInvite.token(), student.getId()))
     ).isInstanceOf(ConflictException.class).hasMessageContaining("Student already has a mentor");
   }
+
+  @Test
+  @DisplayName("should serve repeated token lookups from the cache and drop the entry on accept")
+  void getInvitationByToken_cachesUntilAccepted() {
+    InvitationResponse invitation = invitationService.createInvitation(new InviteRequest(mentor.getId(), "alex@example.com"));
+    long hitsBefore = invitationTokenCache.stats().hitCount();
+
+    assertThat(invitationService.getInvitationByToken(invitation.token())).get()
+            .extracting(InvitationResponse::status).isEqualTo(InvitationStatus.PENDING);
+    assertThat(invitationService.getInvitationByToken(invitation.token())).isPresent();
+    assertThat(invitationTokenCache.stats().hitCount()).isEqualTo(hitsBefore + 1);
+
+    invitationService.acceptInvitation(new AcceptInviteRequest(invitation.token(), student.getId()));
+
+    assertThat(invitationService.getInvitationByToken(invitation.token())).get()
+            .extracting(InvitationResponse::status).isEqualTo(InvitationStatus.ACCEPTED);
+    assertThat(invitationService.getInvitationByToken("missing-token")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("should issue distinct URL-safe tokens and store only their hashes")
+  void createInvitation_storesTokenHashOnly() {
+    InvitationResponse invitation = invitationService.createInvitation(new InviteRequest(mentor.getId(), "alex@example.com"));
+
+    assertThat(invitation.token()).hasSize(Tokens.TOKEN_LENGTH).matches("[A-Za-z0-9_-]+");
+    assertThat(invitationRepository.findById(invitation.id())).get()
+            .extracting(Invitation::getTokenHash).isEqualTo(Tokens.hash(invitation.token()));
+    // Listings never had the token to show; a lookup by token echoes it back
+    assertThat(invitationService.getInvitationsForMentor(mentor.getId())).singleElement()
+            .extracting(InvitationResponse::token).isNull();
+    assertThat(invitationService.getInvitationByToken(invitation.token())).get()
+            .extracting(InvitationResponse::token).isEqualTo(invitation.token());
+
+    Set<String> tokens = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      tokens.add(Tokens.generate());
+    }
+    assertThat(tokens).hasSize(1000).allMatch(token -> token.length() == Tokens.TOKEN_LENGTH);
+  }
+
+  @Test
+  @DisplayName("should still find and accept an invitation issued with a legacy UUID token")
+  void acceptInvitation_acceptsLegacyToken() {
+    String legacyToken = UUID.randomUUID().toString();
+    invitationRepository.save(Invitation.builder()
+            .mentor(mentor).studentEmail(student.getEmail()).status(InvitationStatus.PENDING)
+            .tokenHash(Tokens.hash(legacyToken)).expiresAt(Instant.now().plusSeconds(3600)).build());
+
+    assertThat(invitationService.getInvitationByToken(legacyToken)).get()
+            .extracting(InvitationResponse::status).isEqualTo(InvitationStatus.PENDING);
+    assertThat(invitationService.acceptInvitation(new AcceptInviteRequest(legacyToken, student.getId())).mentorId())
+            .isEqualTo(mentor.getId());
+  }
+
+  @Test
+  @DisplayName("should report a created, duplicate or invalid outcome for every bulk-invited email")
+  void createInvitations_reportsPerEmailOutcome() {
+    invitationService.createInvitation(new InviteRequest(mentor.getId(), "already@example.com"));
+
+    BulkInviteResponse response = invitationService.createInvitations(new BulkInviteRequest(mentor.getId(), List.of(
+            " Alex@example.com ", "new@example.com", "alex@EXAMPLE.com", "Already@example.com", "not-an-email", mentor.getEmail()
+    )));
+
+    assertThat(response.results()).extracting(BulkInviteResult::outcome).containsExactly(
+            BulkInviteResult.Outcome.CREATED,
+            BulkInviteResult.Outcome.CREATED,
+            BulkInviteResult.Outcome.DUPLICATE,
+            BulkInviteResult.Outcome.DUPLICATE,
+            BulkInviteResult.Outcome.INVALID,
+            BulkInviteResult.Outcome.INVALID);
+    assertThat(response.created()).isEqualTo(2);
+    assertThat(response.results().get(0).invitation().studentEmail()).isEqualTo("alex@example.com");
+    assertThat(invitationService.getInvitationsForMentor(mentor.getId())).hasSize(3);
+
+    // The bulk-created invite is a normal pending invite
+    InvitationResponse created = response.results().get(0).invitation();
+    assertThat(invitationService.acceptInvitation(new AcceptInviteRequest(created.token(), student.getId())).mentorId())
+            .isEqualTo(mentor.getId());
+  }
 }
@@ -0,0 +1,225 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.Assignment;
+import com.mentorship.domain.Mentorship;
+import com.mentorship.domain.MenteeDashboardItem;
+import com.mentorship.domain.Problem;
+import com.mentorship.domain.ProblemDifficulty;
+import com.mentorship.domain.StudentAssignmentStatus;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AssignStudentsRequest;
+import com.mentorship.dto.AssignmentCreateRequest;
+import com.mentorship.dto.AssignmentResponse;
+import com.mentorship.dto.FeedbackCreateRequest;
+import com.mentorship.dto.MenteeDashboardItemResponse;
+import com.mentorship.dto.ProblemUpdateRequest;
+import com.mentorship.dto.StudentAssignmentResponse;
+import com.mentorship.dto.SubmissionCreateRequest;
+import com.mentorship.dto.SubmissionResponse;
+import com.mentorship.exception.ForbiddenException;
+import com.mentorship.repository.AssignmentRepository;
+import com.mentorship.repository.FeedbackRepository;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.repository.ProblemRepository;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.support.SqlStatementCounter;
+import com.mentorship.support.TestUsers;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(SqlStatementCounter.class)
+@DisplayName("Mentee Dashboard Integration Tests")
+class MenteeDashboardIntegrationTest {
+
+  @Autowired private AssignmentService assignmentService;
+  @Autowired private SubmissionService submissionService;
+  @Autowired private ProblemService problemService;
+  @Autowired private FeedbackService feedbackService;
+  @Autowired private MenteeDashboardService dashboardService;
+  @Autowired private MenteeDashboardProjector dashboardProjector;
+  @Autowired private UserRepository userRepository;
+  @Autowired private MentorshipRepository mentorshipRepository;
+  @Autowired private ProblemRepository problemRepository;
+  @Autowired private AssignmentRepository assignmentRepository;
+  @Autowired private FeedbackRepository feedbackRepository;
+  @Autowired private SqlStatementCounter sqlStatementCounter;
+  @Autowired private EntityManager entityManager;
+
+  private User mentor;
+  private User student;
+  private Problem twoSum;
+  private Problem lruCache;
+
+  @BeforeEach
+  void setUp() {
+    mentor = TestUsers.save(userRepository, "Dashboard Mentor", UserRole.MENTOR);
+    student = TestUsers.save(userRepository, "Dashboard Student", UserRole.STUDENT);
+    mentorshipRepository.save(Mentorship.builder().mentor(mentor).student(student).build());
+    twoSum = saveProblem("Two Sum");
+    lruCache = saveProblem("LRU Cache");
+  }
+
+  @Test
+  @DisplayName("an assigned assignment appears with its template copied in")
+  void assign_addsDashboardItem() {
+    Instant due = Instant.now().plus(7, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MICROS);
+    AssignmentResponse assignment = createAssignment("Arrays week");
+
+    StudentAssignmentResponse assigned = assign(assignment, due);
+
+    assertThat(dashboard()).singleElement().satisfies(item -> {
+      assertThat(item.studentAssignmentId()).isEqualTo(assigned.id());
+      assertThat(item.title()).isEqualTo("Arrays week");
+      assertThat(item.status()).isEqualTo(StudentAssignmentStatus.PENDING);
+      assertThat(item.dueDate()).isEqualTo(due);
+      assertThat(item.links()).containsExactly(new MenteeDashboardItem.Link("https://example.com/arrays", "Read first"));
+      assertThat(item.problems()).extracting(MenteeDashboardItem.ProblemRef::title).containsExactly("LRU Cache", "Two Sum");
+      assertThat(item.latestSubmissionVersion()).isNull();
+      assertThat(item.unreadFeedbackCount()).isZero();
+    });
+  }
+
+  @Test
+  @DisplayName("submissions and feedback update the item incrementally")
+  void submissionsAndFeedback_updateItem() {
+    StudentAssignmentResponse assigned = assign(createAssignment("Arrays week"), null);
+
+    submit(assigned, twoSum);
+    SubmissionResponse latest = submit(assigned, twoSum);
+    submit(assigned, lruCache);
+    feedbackService.addFeedback(latest.id(), new FeedbackCreateRequest(mentor.getId(), "Off by one", 3));
+    feedbackService.addFeedback(latest.id(), new FeedbackCreateRequest(mentor.getId(), "Nice write-up", null));
+
+    assertThat(latest.version()).isEqualTo(2);
+    assertThat(dashboard()).singleElement().satisfies(item -> {
+      assertThat(item.status()).isEqualTo(StudentAssignmentStatus.SUBMITTED);
+      assertThat(item.latestSubmissionVersion()).isEqualTo(2);
+      assertThat(item.latestSubmittedAt()).isNotNull();
+      assertThat(item.unreadFeedbackCount()).isEqualTo(2);
+    });
+
+    feedbackService.markFeedbackRead(student.getId(), assigned.id());
+
+    assertThat(dashboard()).singleElement().extracting(MenteeDashboardItemResponse::unreadFeedbackCount).isEqualTo(0);
+    assertThat(feedbackRepository.findAll()).allSatisfy(feedback -> assertThat(feedback.getReadAt()).isNotNull());
+  }
+
+  @Test
+  @DisplayName("items are ordered by due date, undated last")
+  void dashboard_orderedByDueDate() {
+    Instant now = Instant.now();
+    assign(createAssignment("Undated"), null);
+    assign(createAssignment("Later"), now.plus(9, ChronoUnit.DAYS));
+    assign(createAssignment("Sooner"), now.plus(1, ChronoUnit.DAYS));
+
+    assertThat(dashboard()).extracting(MenteeDashboardItemResponse::title).containsExactly("Sooner", "Later", "Undated");
+  }
+
+  @Test
+  @DisplayName("the dashboard costs one statement however many assignments there are")
+  void dashboard_singleStatement() {
+    for (int i = 0; i < 300; i++) {
+      assign(createAssignment("Assignment " + i), null);
+    }
+
+    assertThat(sqlStatementCounter.count(() -> assertThat(dashboardService.getDashboard(student.getId())).hasSize(300)))
+            .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("template edits are copied to every assigned item")
+  void assignmentChanged_refreshesItems() {
+    AssignmentResponse created = createAssignment("Draft title");
+    assign(created, null);
+
+    Assignment assignment = assignmentRepository.findById(created.id()).orElseThrow();
+    assignment.setTitle("Final title");
+    assignment.addLink("https://example.com/extra", null);
+    assignmentRepository.flush();
+    dashboardProjector.onAssignmentChanged(assignment);
+
+    assertThat(dashboard()).singleElement().satisfies(item -> {
+      assertThat(item.title()).isEqualTo("Final title");
+      assertThat(item.links()).hasSize(2);
+    });
+  }
+
+  @Test
+  @DisplayName("a renamed problem is renamed on every dashboard item listing it")
+  void problemRenamed_refreshesItems() {
+    assign(createAssignment("Arrays week"), null);
+    assign(createAssignment("Caching week"), null);
+
+    problemService.updateProblem(twoSum.getId(), new ProblemUpdateRequest(
+            mentor.getId(), "Add Two Numbers", null, ProblemDifficulty.EASY, null, true));
+
+    assertThat(dashboard()).hasSize(2).allSatisfy(item -> assertThat(item.problems())
+            .extracting(MenteeDashboardItem.ProblemRef::title).containsExactly("Add Two Numbers", "LRU Cache"));
+  }
+
+  @Test
+  @DisplayName("only the assigned student submits and only their mentor gives feedback")
+  void submitAndFeedback_checkOwnership() {
+    StudentAssignmentResponse assigned = assign(createAssignment("Arrays week"), null);
+    User otherMentor = TestUsers.save(userRepository, "Other Mentor", UserRole.MENTOR);
+
+    assertThatThrownBy(() -> submissionService.submit(new SubmissionCreateRequest(
+            assigned.id(), twoSum.getId(), UUID.randomUUID(), "code", null)))
+            .isInstanceOf(ForbiddenException.class);
+
+    SubmissionResponse submission = submit(assigned, twoSum);
+    assertThatThrownBy(() -> feedbackService.addFeedback(submission.id(),
+            new FeedbackCreateRequest(otherMentor.getId(), "Hi", null)))
+            .isInstanceOf(ForbiddenException.class);
+    assertThatThrownBy(() -> feedbackService.markFeedbackRead(UUID.randomUUID(), assigned.id()))
+            .isInstanceOf(ForbiddenException.class);
+  }
+
+  private List<MenteeDashboardItemResponse> dashboard() {
+    // The projector writes with bulk UPDATEs, so drop entities cached earlier in this test's transaction
+    entityManager.flush();
+    entityManager.clear();
+    return dashboardService.getDashboard(student.getId());
+  }
+
+  private StudentAssignmentResponse assign(AssignmentResponse assignment, Instant dueDate) {
+    return assignmentService.assign(assignment.id(), new AssignStudentsRequest(List.of(student.getId()), dueDate))
+            .results().getFirst().studentAssignment();
+  }
+
+  private AssignmentResponse createAssignment(String title) {
+    return assignmentService.createAssignment(new AssignmentCreateRequest(
+            mentor.getId(), title, "Practice",
+            List.of(new AssignmentCreateRequest.Link("https://example.com/arrays", "Read first")),
+            List.of(twoSum.getId(), lruCache.getId()), List.of()));
+  }
+
+  private SubmissionResponse submit(StudentAssignmentResponse assigned, Problem problem) {
+    return submissionService.submit(new SubmissionCreateRequest(
+            assigned.id(), problem.getId(), student.getId(), "class Solution {}", null));
+  }
+
+  private Problem saveProblem(String title) {
+    return problemRepository.save(Problem.builder()
+            .title(title).difficulty(ProblemDifficulty.EASY).mentor(mentor).inBank(true).build());
+  }
+}
@@ -0,0 +1,191 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.ProblemDifficulty;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.ProblemCreateRequest;
+import com.mentorship.dto.ProblemResponse;
+import com.mentorship.dto.ProblemSearchHit;
+import com.mentorship.dto.ProblemSearchResponse;
+import com.mentorship.dto.ProblemSuggestion;
+import com.mentorship.dto.ProblemUpdateRequest;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.support.EmbeddedPostgresDatabase;
+import com.mentorship.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the same search scenarios against both backends: the in-memory index on H2, and the
+ * generated tsvector column on PostgreSQL with the schema from the Flyway migrations.
+ */
+@DisplayName("Problem Search Integration Tests")
+class ProblemSearchIntegrationTest {
+
+  @Nested
+  @SpringBootTest
+  @AutoConfigureMockMvc
+  @ActiveProfiles("test")
+  @TestPropertySource(properties = "mentorship.problems.search.backend=in-memory")
+  @DisplayName("in-memory backend")
+  class InMemory extends Scenarios {
+
+    @Autowired private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("a problem created in a transaction that rolls back leaves the index")
+    void rolledBackCreate_notIndexed() {
+      create("Rolled Back Problem", "never committed", ProblemDifficulty.EASY);
+      assertThat(problemService.autocomplete(mentor.getId(), "rolled", 10)).hasSize(1);
+
+      TestTransaction.flagForRollback();
+      TestTransaction.end();
+
+      assertThat(problemService.autocomplete(mentor.getId(), "rolled", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("the endpoints filter by difficulty and reject oversized pages")
+    void endpoints() throws Exception {
+      mockMvc.perform(get("/api/problems/search")
+                      .param("mentorId", mentor.getId().toString())
+                      .param("q", "graph")
+                      .param("difficulty", "HARD"))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.total").value(1))
+              .andExpect(jsonPath("$.hits[0].title").value("Shortest Path"))
+              .andExpect(jsonPath("$.difficulties.MEDIUM").value(1));
+      mockMvc.perform(get("/api/problems/autocomplete")
+                      .param("mentorId", mentor.getId().toString())
+                      .param("prefix", "sho"))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$[0].title").value("Shortest Path"));
+      mockMvc.perform(get("/api/problems/autocomplete")
+                      .param("mentorId", mentor.getId().toString())
+                      .param("prefix", "sho")
+                      .param("limit", "1000"))
+              .andExpect(status().isBadRequest());
+    }
+  }
+
+  @Nested
+  @SpringBootTest
+  @TestPropertySource(properties = "mentorship.problems.search.backend=postgres")
+  @DisplayName("postgres backend")
+  class Postgres extends Scenarios {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+      EmbeddedPostgresDatabase.register(registry);
+    }
+  }
+
+  @Transactional
+  abstract static class Scenarios {
+
+    @Autowired protected ProblemService problemService;
+    @Autowired private UserRepository userRepository;
+
+    protected User mentor;
+    private ProblemResponse graphTraversal;
+
+    @BeforeEach
+    void setUp() {
+      mentor = TestUsers.save(userRepository, "Search Mentor", UserRole.MENTOR);
+      graphTraversal = create("Graph Traversal", "Breadth-first search over an unweighted graph", ProblemDifficulty.MEDIUM);
+      create("Binary Search", "Search a sorted array in logarithmic time", ProblemDifficulty.EASY);
+      create("Shortest Path", "Dijkstra on a weighted graph", ProblemDifficulty.HARD);
+      create("Two Sum", "Use a hash map", ProblemDifficulty.EASY);
+    }
+
+    @Test
+    @DisplayName("title matches rank above description matches, and every word must match")
+    void search_ranksAndRequiresEveryWord() {
+      assertThat(problemService.search(mentor.getId(), "graph", null, 20).hits())
+              .extracting(ProblemSearchHit::title)
+              .containsExactly("Graph Traversal", "Shortest Path");
+      assertThat(problemService.search(mentor.getId(), "Graph, search!", null, 20).hits())
+              .extracting(ProblemSearchHit::title)
+              .containsExactly("Graph Traversal");
+      assertThat(problemService.search(mentor.getId(), "graph trie", null, 20).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("the difficulty filter narrows the hits while the facets count the whole query")
+    void search_facets() {
+      ProblemSearchResponse hard = problemService.search(mentor.getId(), "graph", ProblemDifficulty.HARD, 20);
+
+      assertThat(hard.hits()).extracting(ProblemSearchHit::title).containsExactly("Shortest Path");
+      assertThat(hard.total()).isEqualTo(1);
+      assertThat(hard.difficulties()).isEqualTo(Map.of(ProblemDifficulty.MEDIUM, 1L, ProblemDifficulty.HARD, 1L));
+      assertThat(problemService.search(mentor.getId(), "search", null, 1).hits()).hasSize(1);
+      assertThat(problemService.search(mentor.getId(), "search", null, 1).total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("autocomplete completes the last word of titles, shortest first")
+    void autocomplete_prefix() {
+      assertThat(problemService.autocomplete(mentor.getId(), "s", 10))
+              .extracting(ProblemSuggestion::title)
+              .containsExactly("Two Sum", "Binary Search", "Shortest Path");
+      assertThat(problemService.autocomplete(mentor.getId(), "two s", 10))
+              .extracting(ProblemSuggestion::title)
+              .containsExactly("Two Sum");
+      // Descriptions are not suggested from
+      assertThat(problemService.autocomplete(mentor.getId(), "dijk", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a bank is private to its mentor")
+    void search_scopedToMentor() {
+      User otherMentor = TestUsers.save(userRepository, "Search Mentor", UserRole.MENTOR);
+      problemService.createProblem(new ProblemCreateRequest(
+              otherMentor.getId(), "Graph Coloring", null, ProblemDifficulty.HARD, null, null));
+
+      assertThat(problemService.search(mentor.getId(), "coloring", null, 20).total()).isZero();
+      assertThat(problemService.autocomplete(otherMentor.getId(), "gr", 10))
+              .extracting(ProblemSuggestion::title)
+              .containsExactly("Graph Coloring");
+    }
+
+    @Test
+    @DisplayName("edits are searchable at once, and problems taken out of the bank disappear")
+    void update_keepsSearchInSync() {
+      problemService.updateProblem(graphTraversal.id(), new ProblemUpdateRequest(
+              mentor.getId(), "Topological Sort", "Order a DAG", ProblemDifficulty.MEDIUM, null, true));
+
+      assertThat(problemService.autocomplete(mentor.getId(), "topo", 10))
+              .extracting(ProblemSuggestion::id)
+              .containsExactly(graphTraversal.id());
+      assertThat(problemService.search(mentor.getId(), "traversal", null, 20).total()).isZero();
+
+      problemService.updateProblem(graphTraversal.id(), new ProblemUpdateRequest(
+              mentor.getId(), "Topological Sort", "Order a DAG", ProblemDifficulty.MEDIUM, null, false));
+
+      assertThat(problemService.autocomplete(mentor.getId(), "topo", 10)).isEmpty();
+    }
+
+    protected ProblemResponse create(String title, String description, ProblemDifficulty difficulty) {
+      return problemService.createProblem(new ProblemCreateRequest(mentor.getId(), title, description, difficulty, null, null));
+    }
+  }
+}
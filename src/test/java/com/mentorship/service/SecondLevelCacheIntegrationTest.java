@@ -0,0 +1,259 @@
+package com.mentorship.service;
+
+import com.mentorship.Application;
+import com.mentorship.domain.Mentorship;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AcceptInviteRequest;
+import com.mentorship.dto.InvitationResponse;
+import com.mentorship.dto.InviteRequest;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.service.CacheInvalidationBus.Invalidation;
+import com.mentorship.service.ResourceVersions.Resource;
+import com.mentorship.support.EmbeddedPostgresDatabase;
+import com.mentorship.support.SqlStatementCounter;
+import com.mentorship.support.TestUsers;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against committed data: the second-level cache is only filled, and only invalidated,
+ * when a transaction commits.
+ */
+@DisplayName("Second-Level Cache Integration Tests")
+class SecondLevelCacheIntegrationTest {
+
+  // The other instance of the PostgreSQL scenario, sharing its database
+  private static ConfigurableApplicationContext otherNode;
+
+  @AfterAll
+  static void stopOtherNode() {
+    if (otherNode != null) {
+      otherNode.close();
+      otherNode = null;
+    }
+  }
+
+  @Nested
+  @SpringBootTest
+  @ActiveProfiles("test")
+  @Import(SqlStatementCounter.class)
+  @DisplayName("H2, loopback bus")
+  class Loopback extends Scenarios {
+
+    @Test
+    @DisplayName("drops an entity when told through the bus, as for a write on another instance")
+    void evictsOnInvalidation() {
+      User user = user(UserRole.MENTOR);
+      userRepository.findById(user.getId());
+      // Behind Hibernate's back, like a write made by another instance
+      jdbcTemplate.update("UPDATE users SET name = 'Renamed' WHERE id = ?", user.getId());
+      assertThat(userRepository.findById(user.getId())).get().extracting(User::getName).isEqualTo(user.getName());
+
+      bus.publish(Invalidation.entity(User.class.getName(), user.getId()));
+
+      assertThat(userRepository.findById(user.getId())).get().extracting(User::getName).isEqualTo("Renamed");
+    }
+  }
+
+  @Nested
+  @SpringBootTest
+  @ActiveProfiles("test")
+  @TestPropertySource(properties = "mentorship.cache.ttl=300ms")
+  @DisplayName("H2, loopback bus, short ttl")
+  class LoopbackExpiry {
+
+    @Autowired private ResourceVersions resourceVersions;
+
+    @Test
+    @DisplayName("moves a version stamp by itself once it is as old as the ttl, as nothing tells it of writes elsewhere")
+    void expiresVersions() throws InterruptedException {
+      UUID student = UUID.randomUUID();
+      long version = resourceVersions.current(Resource.STUDENT, student).stamp();
+      assertThat(resourceVersions.current(Resource.STUDENT, student).stamp()).isEqualTo(version);
+
+      Thread.sleep(Duration.ofMillis(350));
+
+      assertThat(resourceVersions.current(Resource.STUDENT, student).stamp()).isNotEqualTo(version);
+    }
+  }
+
+  @Nested
+  @SpringBootTest
+  @ActiveProfiles("test")
+  @Import(SqlStatementCounter.class)
+  @TestPropertySource(properties = {
+          "mentorship.cache.bus=postgres",
+          "mentorship.invitations.accept.mode=conditional-update"
+  })
+  @DisplayName("PostgreSQL, NOTIFY bus across two instances")
+  class Postgres extends Scenarios {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+      EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @Autowired private Environment environment;
+
+    @Test
+    @DisplayName("sees an entity renamed on the other instance")
+    void evictsEntitiesWrittenElsewhere() {
+      User user = user(UserRole.MENTOR);
+      userRepository.findById(user.getId());
+
+      ConfigurableApplicationContext other = otherNode();
+      other.getBean(TransactionTemplate.class).executeWithoutResult(status -> other.getBean(UserRepository.class)
+              .findById(user.getId()).orElseThrow().setName("Renamed elsewhere"));
+
+      awaitUntil(() -> userRepository.findById(user.getId()).orElseThrow().getName().equals("Renamed elsewhere"));
+    }
+
+    @Test
+    @DisplayName("retires cached queries and moves version stamps for an accept on the other instance")
+    void invalidatesQueriesAndVersionsWrittenElsewhere() {
+      User mentor = user(UserRole.MENTOR);
+      User student = user(UserRole.STUDENT);
+      assertThat(mentorshipRepository.findByStudent_Id(student.getId())).isEmpty();
+      assertThat(sqlStatementCounter.count(() -> mentorshipRepository.findByStudent_Id(student.getId()))).isZero();
+      long version = resourceVersions.current(Resource.STUDENT, student.getId()).stamp();
+
+      ConfigurableApplicationContext other = otherNode();
+      InvitationService otherService = other.getBean(InvitationService.class);
+      InvitationResponse invitation = otherService.createInvitation(new InviteRequest(mentor.getId(), student.getEmail()));
+      otherService.acceptInvitation(new AcceptInviteRequest(invitation.token(), student.getId()));
+
+      awaitUntil(() -> mentorshipRepository.findByStudent_Id(student.getId()).isPresent());
+      assertThat(resourceVersions.current(Resource.STUDENT, student.getId()).stamp()).isNotEqualTo(version);
+    }
+
+    private ConfigurableApplicationContext otherNode() {
+      if (otherNode == null) {
+        otherNode = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + environment.getProperty("spring.datasource.url"),
+                        "--spring.datasource.username=" + environment.getProperty("spring.datasource.username"),
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--spring.flyway.enabled=false",
+                        "--mentorship.cache.bus=postgres",
+                        "--mentorship.invitations.accept.mode=conditional-update");
+      }
+      return otherNode;
+    }
+  }
+
+  abstract static class Scenarios {
+
+    @Autowired protected UserRepository userRepository;
+    @Autowired protected MentorshipRepository mentorshipRepository;
+    @Autowired protected InvitationService invitationService;
+    @Autowired protected ResourceVersions resourceVersions;
+    @Autowired protected CacheInvalidationBus bus;
+    @Autowired protected JdbcTemplate jdbcTemplate;
+    @Autowired protected TransactionTemplate transactionTemplate;
+    @Autowired protected SqlStatementCounter sqlStatementCounter;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private final List<UUID> userIds = new ArrayList<>();
+
+    // Children first: the generated H2 schema has no ON DELETE CASCADE
+    @AfterEach
+    void cleanUp() {
+      userIds.forEach(id -> {
+        jdbcTemplate.update("DELETE FROM invitation_outbox WHERE invitation_id IN "
+                + "(SELECT id FROM invitations WHERE mentor_id = ?)", id);
+        jdbcTemplate.update("DELETE FROM mentorships WHERE mentor_id = ?", id);
+        jdbcTemplate.update("DELETE FROM invitations WHERE mentor_id = ?", id);
+      });
+      userIds.forEach(id -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", id));
+    }
+
+    @Test
+    @DisplayName("serves findById from the cache, counted in the region's statistics")
+    void servesUsersFromCache() {
+      User user = user(UserRole.MENTOR);
+      Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+      long hits = statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount();
+
+      assertThat(sqlStatementCounter.count(() -> assertThat(userRepository.findById(user.getId())).isPresent())).isZero();
+      assertThat(statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount()).isGreaterThan(hits);
+    }
+
+    @Test
+    @DisplayName("still reads a locked user from the database")
+    void bypassesCacheForLockedReads() {
+      User user = user(UserRole.STUDENT);
+      userRepository.findById(user.getId());
+
+      long statements = sqlStatementCounter.count(() -> transactionTemplate.executeWithoutResult(
+              status -> assertThat(userRepository.findAndLockById(user.getId())).isPresent()));
+
+      assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("caches findByStudent_Id until an accept adds the student's mentorship")
+    void cachesMentorshipByStudentUntilAccept() {
+      User mentor = user(UserRole.MENTOR);
+      User student = user(UserRole.STUDENT);
+      assertThat(mentorshipRepository.findByStudent_Id(student.getId())).isEmpty();
+      assertThat(sqlStatementCounter.count(() -> mentorshipRepository.findByStudent_Id(student.getId()))).isZero();
+
+      InvitationResponse invitation = invitationService.createInvitation(new InviteRequest(mentor.getId(), student.getEmail()));
+      invitationService.acceptInvitation(new AcceptInviteRequest(invitation.token(), student.getId()));
+
+      assertThat(mentorshipRepository.findByStudent_Id(student.getId())).get()
+              .extracting(Mentorship::getId).isNotNull();
+      assertThat(sqlStatementCounter.count(() -> mentorshipRepository.findByStudent_Id(student.getId()))).isZero();
+    }
+
+    protected User user(UserRole role) {
+      User user = TestUsers.save(userRepository, role);
+      userIds.add(user.getId());
+      return user;
+    }
+
+    protected static void awaitUntil(Supplier<Boolean> condition) {
+      long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+      while (!condition.get()) {
+        assertThat(System.nanoTime()).as("condition met within 10s").isLessThan(deadline);
+        try {
+          Thread.sleep(20);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException(ex);
+        }
+      }
+    }
+  }
+}
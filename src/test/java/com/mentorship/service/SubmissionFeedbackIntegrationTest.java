@@ -0,0 +1,130 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.Mentorship;
+import com.mentorship.domain.Problem;
+import com.mentorship.domain.ProblemDifficulty;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AssignStudentsRequest;
+import com.mentorship.dto.AssignmentCreateRequest;
+import com.mentorship.dto.FeedbackCreateRequest;
+import com.mentorship.dto.FeedbackLineCount;
+import com.mentorship.dto.FeedbackResponse;
+import com.mentorship.dto.FeedbackSummaryResponse;
+import com.mentorship.dto.StudentAssignmentResponse;
+import com.mentorship.dto.SubmissionCreateRequest;
+import com.mentorship.dto.SubmissionFeedbackResponse;
+import com.mentorship.exception.ResourceNotFoundException;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.repository.ProblemRepository;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.support.SqlStatementCounter;
+import com.mentorship.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(SqlStatementCounter.class)
+@DisplayName("Submission Feedback Integration Tests")
+class SubmissionFeedbackIntegrationTest {
+
+  @Autowired private AssignmentService assignmentService;
+  @Autowired private SubmissionService submissionService;
+  @Autowired private FeedbackService feedbackService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private MentorshipRepository mentorshipRepository;
+  @Autowired private ProblemRepository problemRepository;
+  @Autowired private SqlStatementCounter sqlStatementCounter;
+
+  private User mentor;
+  private UUID submissionId;
+
+  @BeforeEach
+  void setUp() {
+    mentor = TestUsers.save(userRepository, UserRole.MENTOR);
+    User student = TestUsers.save(userRepository, UserRole.STUDENT);
+    mentorshipRepository.save(Mentorship.builder().mentor(mentor).student(student).build());
+    Problem problem = problemRepository.save(Problem.builder()
+            .title("Two Sum").difficulty(ProblemDifficulty.EASY).mentor(mentor).inBank(true).build());
+    UUID assignmentId = assignmentService.createAssignment(new AssignmentCreateRequest(
+            mentor.getId(), "Feedback", null, List.of(), List.of(problem.getId()), List.of())).id();
+    StudentAssignmentResponse assigned = assignmentService.assign(assignmentId,
+            new AssignStudentsRequest(List.of(student.getId()), null)).results().getFirst().studentAssignment();
+    submissionId = submissionService.submit(new SubmissionCreateRequest(
+            assigned.id(), problem.getId(), student.getId(), "class Solution {}\n", null)).id();
+  }
+
+  @Test
+  @DisplayName("comments come back grouped per line in line order, overall comments separate")
+  void getFeedback_groupedByLine() {
+    comment("Overall: tidy", null);
+    comment("Line 12, first", 12);
+    comment("Line 3", 3);
+    comment("Line 12, second", 12);
+    comment("Overall: add tests", null);
+
+    SubmissionFeedbackResponse feedback = feedbackService.getFeedback(submissionId);
+
+    assertThat(feedback.lines()).extracting(SubmissionFeedbackResponse.LineFeedback::lineNumber).containsExactly(3, 12);
+    assertThat(feedback.lines().get(1).comments()).extracting(FeedbackResponse::commentText)
+            .containsExactly("Line 12, first", "Line 12, second");
+    assertThat(feedback.overall()).extracting(FeedbackResponse::commentText)
+            .containsExactly("Overall: tidy", "Overall: add tests");
+  }
+
+  @Test
+  @DisplayName("the summary counts comments per line without their texts")
+  void getFeedbackSummary_countsPerLine() {
+    comment("a", 7);
+    comment("b", 7);
+    comment("c", 1);
+    comment("d", null);
+
+    FeedbackSummaryResponse summary = feedbackService.getFeedbackSummary(submissionId);
+
+    assertThat(summary.total()).isEqualTo(4);
+    assertThat(summary.overall()).isEqualTo(1);
+    assertThat(summary.lines()).containsExactly(new FeedbackLineCount(1, 1), new FeedbackLineCount(7, 2));
+  }
+
+  @Test
+  @DisplayName("each read is one statement however many comments there are")
+  void reads_singleStatement() {
+    for (int i = 0; i < 200; i++) {
+      comment("Comment " + i, i % 3 == 0 ? null : i % 40);
+    }
+
+    assertThat(sqlStatementCounter.count(() -> feedbackService.getFeedback(submissionId))).isEqualTo(1);
+    assertThat(sqlStatementCounter.count(() -> feedbackService.getFeedbackSummary(submissionId))).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("a submission without feedback is empty, an unknown one is not found")
+  void emptyAndUnknownSubmissions() {
+    assertThat(feedbackService.getFeedback(submissionId).lines()).isEmpty();
+    assertThat(feedbackService.getFeedbackSummary(submissionId).total()).isZero();
+
+    assertThatThrownBy(() -> feedbackService.getFeedback(UUID.randomUUID()))
+            .isInstanceOf(ResourceNotFoundException.class);
+    assertThatThrownBy(() -> feedbackService.getFeedbackSummary(UUID.randomUUID()))
+            .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  private void comment(String text, Integer lineNumber) {
+    feedbackService.addFeedback(submissionId, new FeedbackCreateRequest(mentor.getId(), text, lineNumber));
+  }
+}
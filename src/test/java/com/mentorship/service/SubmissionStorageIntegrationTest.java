@@ -0,0 +1,210 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.Mentorship;
+import com.mentorship.domain.Problem;
+import com.mentorship.domain.ProblemDifficulty;
+import com.mentorship.domain.Submission;
+import com.mentorship.domain.SubmissionBlob;
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.AssignStudentsRequest;
+import com.mentorship.dto.AssignmentCreateRequest;
+import com.mentorship.dto.StudentAssignmentResponse;
+import com.mentorship.dto.SubmissionCreateRequest;
+import com.mentorship.dto.SubmissionResponse;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.repository.ProblemRepository;
+import com.mentorship.repository.SubmissionRepository;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.support.TestUsers;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Submission Storage Integration Tests")
+class SubmissionStorageIntegrationTest {
+
+  @Autowired private AssignmentService assignmentService;
+  @Autowired private SubmissionService submissionService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private MentorshipRepository mentorshipRepository;
+  @Autowired private ProblemRepository problemRepository;
+  @Autowired private SubmissionRepository submissionRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private EntityManager entityManager;
+
+  private User mentor;
+  private Problem problem;
+
+  @BeforeEach
+  void setUp() {
+    mentor = TestUsers.save(userRepository, "Storage Mentor", UserRole.MENTOR);
+    problem = problemRepository.save(Problem.builder()
+            .title("Two Sum").difficulty(ProblemDifficulty.EASY).mentor(mentor).inBank(true).build());
+  }
+
+  @Test
+  @DisplayName("every version reads back exactly, with chains capped at the configured length")
+  void resubmissions_roundTripWithBoundedChains() {
+    StudentAssignmentResponse assigned = assignToNewStudent();
+    List<String> versions = new ArrayList<>();
+    List<SubmissionResponse> submitted = new ArrayList<>();
+    String code = program(200);
+    for (int v = 0; v < 25; v++) {
+      code = edit(code, v);
+      versions.add(code);
+      submitted.add(submit(assigned, code));
+    }
+
+    for (int v = 0; v < versions.size(); v++) {
+      assertThat(submissionService.getCode(submitted.get(v).id())).isEqualTo(versions.get(v));
+    }
+    assertThat(submitted).extracting(response -> depth(response.id()))
+            .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 0, 1, 2);
+  }
+
+  @Test
+  @DisplayName("a small edit to a large file costs a few bytes, and large snapshots are compressed")
+  void resubmission_storesSmallDeltaAndCompressedSnapshot() {
+    StudentAssignmentResponse assigned = assignToNewStudent();
+    String original = program(500);
+
+    submit(assigned, original);
+    submit(assigned, original.replace("return value * 7 + 250;", "return value * 11 + 250;"));
+
+    assertThat(blobs()).hasSize(2);
+    assertThat(blobs().get(0).getEncoding()).isEqualTo(SubmissionBlob.Encoding.DEFLATE);
+    assertThat(blobs().get(0).getData().length).isLessThan(original.length() / 4);
+    assertThat(blobs().get(1).getRawLength()).isLessThan(200);
+  }
+
+  @Test
+  @DisplayName("identical code is stored once, whoever submits it")
+  void identicalCode_deduplicated() {
+    String starter = program(50);
+
+    StudentAssignmentResponse first = assignToNewStudent();
+    StudentAssignmentResponse second = assignToNewStudent();
+
+    submit(first, starter);
+    submit(second, starter);
+    submit(first, starter);
+    submit(second, starter);
+
+    // The shared snapshot, and the shared "copy every line" delta of the unchanged resubmissions
+    assertThat(blobs()).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("a rewrite starts a new snapshot instead of a delta as large as the code")
+  void rewrite_startsNewSnapshot() {
+    StudentAssignmentResponse assigned = assignToNewStudent();
+    submit(assigned, program(100));
+
+    SubmissionResponse rewritten = submit(assigned, "print('entirely different')\n".repeat(40));
+
+    assertThat(depth(rewritten.id())).isZero();
+    assertThat(submissionService.getCode(rewritten.id())).isEqualTo("print('entirely different')\n".repeat(40));
+  }
+
+  @Test
+  @DisplayName("line endings, a missing final newline and non-ASCII text survive the delta")
+  void delta_preservesExactText() {
+    StudentAssignmentResponse assigned = assignToNewStudent();
+    String base = "int a = 1;\r\n// café ☕\r\nint b = 2;\r\n".repeat(30) + "return a;";
+
+    submit(assigned, base);
+    SubmissionResponse edited = submit(assigned, base.replace("return a;", "\n\nreturn a + b; // naïve"));
+
+    assertThat(depth(edited.id())).isEqualTo(1);
+    assertThat(submissionService.getCode(edited.id())).isEqualTo(base.replace("return a;", "\n\nreturn a + b; // naïve"));
+  }
+
+  @Test
+  @DisplayName("rows written before blob storage are read inline and serve as delta bases")
+  void legacyInlineRow_readableAndUsableAsBase() {
+    StudentAssignmentResponse assigned = assignToNewStudent();
+    String legacyCode = program(80);
+    UUID legacyId = UUID.randomUUID();
+    Timestamp now = Timestamp.from(Instant.now());
+    jdbcTemplate.update("""
+            insert into submissions (id, student_assignment_id, problem_id, student_id, code_content, version,
+                                     delta_depth, code_size, created_at, updated_at)
+            values (?, ?, ?, ?, ?, 1, 0, ?, ?, ?)""",
+            legacyId, assigned.id(), problem.getId(), assigned.studentId(), legacyCode, legacyCode.length(), now, now);
+
+    SubmissionResponse next = submit(assigned, legacyCode + "// done\n");
+
+    assertThat(submissionService.getCode(legacyId)).isEqualTo(legacyCode);
+    assertThat(next.version()).isEqualTo(2);
+    assertThat(depth(next.id())).isEqualTo(1);
+    assertThat(submissionService.getCode(next.id())).isEqualTo(legacyCode + "// done\n");
+  }
+
+  private StudentAssignmentResponse assignToNewStudent() {
+    User student = TestUsers.save(userRepository, "Storage Student", UserRole.STUDENT);
+    mentorshipRepository.save(Mentorship.builder().mentor(mentor).student(student).build());
+    UUID assignmentId = assignmentService.createAssignment(new AssignmentCreateRequest(
+            mentor.getId(), "Storage", null, List.of(), List.of(problem.getId()), List.of())).id();
+    return assignmentService.assign(assignmentId, new AssignStudentsRequest(List.of(student.getId()), null))
+            .results().getFirst().studentAssignment();
+  }
+
+  private SubmissionResponse submit(StudentAssignmentResponse assigned, String code) {
+    return submissionService.submit(new SubmissionCreateRequest(
+            assigned.id(), problem.getId(), assigned.studentId(), code, null));
+  }
+
+  private int depth(UUID submissionId) {
+    entityManager.flush();
+    entityManager.clear();
+    return submissionRepository.findById(submissionId).map(Submission::getDeltaDepth).orElseThrow();
+  }
+
+  private List<SubmissionBlob> blobs() {
+    entityManager.flush();
+    entityManager.clear();
+    return jdbcTemplate.query("select * from submission_blobs order by raw_length desc", (rs, rowNum) ->
+            SubmissionBlob.builder()
+                    .hash(rs.getString("hash"))
+                    .encoding(SubmissionBlob.Encoding.valueOf(rs.getString("encoding")))
+                    .rawLength(rs.getInt("raw_length"))
+                    .data(rs.getBytes("data"))
+                    .build());
+  }
+
+  private static String program(int lines) {
+    StringBuilder code = new StringBuilder("class Solution {\n");
+    for (int i = 0; i < lines; i++) {
+      code.append("  int step").append(i).append("(int value) { return value * 7 + ").append(i).append("; }\n");
+    }
+    return code.append("}\n").toString();
+  }
+
+  // Changes one method, inserts one and deletes one, as a typical resubmission does
+  private static String edit(String code, int round) {
+    List<String> lines = new ArrayList<>(List.of(code.split("\n", -1)));
+    int at = 1 + (round * 37) % (lines.size() - 3);
+    lines.set(at, lines.get(at) + " // revised " + round);
+    lines.add(at + 1, "  // helper added in round " + round);
+    lines.remove(1 + (round * 53) % (lines.size() - 3));
+    return String.join("\n", lines);
+  }
+}
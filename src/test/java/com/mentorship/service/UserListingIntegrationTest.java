@@ -0,0 +1,109 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.UserPageResponse;
+import com.mentorship.dto.UserResponse;
+import com.mentorship.repository.InvitationRepository;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("User Listing Integration Tests")
+class UserListingIntegrationTest {
+
+  @Autowired private UserService userService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private InvitationRepository invitationRepository;
+  @Autowired private MentorshipRepository mentorshipRepository;
+
+  @BeforeEach
+  void setUp() {
+    mentorshipRepository.deleteAll();
+    invitationRepository.deleteAll();
+    userRepository.deleteAll();
+
+    for (int i = 0; i < 7; i++) {
+      userRepository.save(User.builder()
+              .id(UUID.randomUUID())
+              .name("Mentor " + i)
+              .email("mentor" + i + "@example.com")
+              .role(UserRole.MENTOR)
+              .build());
+    }
+    for (int i = 0; i < 3; i++) {
+      userRepository.save(User.builder()
+              .id(UUID.randomUUID())
+              .name("Student " + i)
+              .email("student" + i + "@example.com")
+              .role(UserRole.STUDENT)
+              .build());
+    }
+  }
+
+  @Test
+  @DisplayName("should walk every user exactly once through the continuation cursor")
+  void listUsers_pagesThroughAllUsersWithoutDuplicates() {
+    List<UUID> seen = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      UserPageResponse page = userService.listUsers(null, null, cursor, 3);
+      page.items().forEach(user -> seen.add(user.id()));
+      cursor = page.nextCursor();
+      pages++;
+    } while (cursor != null);
+
+    assertThat(pages).isEqualTo(4);
+    assertThat(seen).hasSize(10).doesNotHaveDuplicates();
+  }
+
+  @Test
+  @DisplayName("should apply role and email-prefix filters")
+  void listUsers_filtersByRoleAndEmailPrefix() {
+    UserPageResponse students = userService.listUsers(UserRole.STUDENT, null, null, 50);
+    assertThat(students.items()).extracting(UserResponse::role).containsOnly(UserRole.STUDENT).hasSize(3);
+    assertThat(students.nextCursor()).isNull();
+
+    UserPageResponse prefixed = userService.listUsers(null, "MENTOR1", null, 50);
+    assertThat(prefixed.items()).extracting(UserResponse::email).containsExactly("mentor1@example.com");
+  }
+
+  @Test
+  @DisplayName("should reject tampered cursors and out-of-range limits")
+  void listUsers_rejectsInvalidInput() {
+    assertThatThrownBy(() -> userService.listUsers(null, null, "not-a-cursor", 10))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid cursor");
+    assertThatThrownBy(() -> userService.listUsers(null, null, null, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("should stream every matching user to the export sink in listing order")
+  void exportUsers_streamsMatchingRows() {
+    List<UserResponse> exported = new ArrayList<>();
+    userService.exportUsers(UserRole.MENTOR, null, exported::add);
+
+    assertThat(exported).hasSize(7);
+    assertThat(exported).extracting(UserResponse::id)
+            .containsExactlyElementsOf(userService.listUsers(UserRole.MENTOR, null, null, 50).items()
+                    .stream().map(UserResponse::id).toList());
+  }
+}
@@ -0,0 +1,105 @@
+package com.mentorship.service;
+
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.dto.UserCreateRequest;
+import com.mentorship.exception.ConflictException;
+import com.mentorship.repository.InvitationRepository;
+import com.mentorship.repository.MentorshipRepository;
+import com.mentorship.repository.UserRepository;
+import com.mentorship.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(SqlStatementCounter.class)
+@DisplayName("User Registration Integration Tests")
+class UserRegistrationIntegrationTest {
+
+  @Autowired private UserService userService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private InvitationRepository invitationRepository;
+  @Autowired private MentorshipRepository mentorshipRepository;
+  @Autowired private SqlStatementCounter sqlStatementCounter;
+  @Autowired private UserExistenceFilter userExistenceFilter;
+  @Autowired private EntityManager entityManager;
+
+  private User existing;
+
+  @BeforeEach
+  void setUp() {
+    mentorshipRepository.deleteAll();
+    invitationRepository.deleteAll();
+    userRepository.deleteAll();
+
+    // Inserted behind the service's back, as another instance would, so the filter has not seen it
+    existing = userRepository.save(User.builder()
+            .id(UUID.randomUUID()).name("Existing").email("taken@example.com").role(UserRole.MENTOR).build());
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  @DisplayName("a sign-up with unused keys costs only the insert")
+  void createUser_unusedKeys_singleInsert() {
+    UserCreateRequest request = new UserCreateRequest(UUID.randomUUID(), "New", "fresh@example.com", UserRole.STUDENT);
+
+    assertThat(sqlStatementCounter.count(() -> userService.createUser(request))).isEqualTo(1);
+    assertThat(userRepository.findById(request.id())).isPresent();
+  }
+
+  @Test
+  @DisplayName("a duplicate the filter has seen is rejected by the pre-check")
+  void createUser_knownDuplicate_rejectedByPrecheck() {
+    userService.createUser(new UserCreateRequest(UUID.randomUUID(), "First", "twice@example.com", UserRole.STUDENT));
+
+    assertThatThrownBy(() -> userService.createUser(
+            new UserCreateRequest(UUID.randomUUID(), "Second", "Twice@Example.com", UserRole.STUDENT)))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("User with email twice@example.com already exists");
+  }
+
+  @Test
+  @DisplayName("a duplicate email the filter missed is rejected by the unique constraint")
+  void createUser_unseenDuplicateEmail_rejectedByConstraint() {
+    assertThatThrownBy(() -> userService.createUser(
+            new UserCreateRequest(UUID.randomUUID(), "Copy", "TAKEN@example.com", UserRole.STUDENT)))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("User with email taken@example.com already exists");
+  }
+
+  @Test
+  @DisplayName("a duplicate ID the filter missed is rejected by the primary key")
+  void createUser_unseenDuplicateId_rejectedByConstraint() {
+    assertThatThrownBy(() -> userService.createUser(
+            new UserCreateRequest(existing.getId(), "Copy", "other@example.com", UserRole.STUDENT)))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("User with ID " + existing.getId() + " already exists");
+  }
+
+  @Test
+  @DisplayName("warming the filter normalizes stored emails as lookups do")
+  void warm_storedEmailWithOtherCasing_foundByNormalizedLookup() {
+    userRepository.save(User.builder()
+            .id(UUID.randomUUID()).name("Legacy").email("Legacy.User@Example.com").role(UserRole.STUDENT).build());
+    entityManager.flush();
+
+    userExistenceFilter.warm();
+
+    assertThat(userExistenceFilter.mightContainEmail("legacy.user@example.com")).isTrue();
+  }
+}
@@ -0,0 +1,33 @@
+package com.mentorship.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL string Hibernate is about to prepare, so tests can
+ * run EXPLAIN against exactly what a repository method sends.
+ * Registered through {@code hibernate.session_factory.statement_inspector}.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+  private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+  @Override
+  public String inspect(String sql) {
+    STATEMENTS.add(sql);
+    return sql;
+  }
+
+  public static void clear() {
+    STATEMENTS.clear();
+  }
+
+  public static String lastStatement() {
+    if (STATEMENTS.isEmpty()) {
+      throw new IllegalStateException("No SQL statement was captured");
+    }
+    return STATEMENTS.get(STATEMENTS.size() - 1);
+  }
+}
@@ -0,0 +1,51 @@
+package com.mentorship.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A real PostgreSQL server for the tests that depend on Postgres-only behaviour
+ * (query plans, partial and functional indexes, native SQL). Started once per JVM.
+ * The schema comes from the Flyway migrations and is validated against the entities,
+ * exactly as in production.
+ */
+public final class EmbeddedPostgresDatabase {
+
+  private static EmbeddedPostgres postgres;
+
+  private EmbeddedPostgresDatabase() {
+  }
+
+  public static void register(DynamicPropertyRegistry registry) {
+    EmbeddedPostgres server = server();
+    registry.add("spring.datasource.url", () -> server.getJdbcUrl("postgres", "postgres"));
+    registry.add("spring.datasource.username", () -> "postgres");
+    registry.add("spring.datasource.password", () -> "");
+    registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    registry.add("spring.flyway.enabled", () -> "true");
+    registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+  }
+
+  private static synchronized EmbeddedPostgres server() {
+    if (postgres == null) {
+      try {
+        postgres = EmbeddedPostgres.start();
+      } catch (IOException ex) {
+        throw new UncheckedIOException("Could not start embedded PostgreSQL", ex);
+      }
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        try {
+          postgres.close();
+        } catch (IOException ignored) {
+          // JVM is exiting anyway
+        }
+      }));
+    }
+    return postgres;
+  }
+}
@@ -0,0 +1,41 @@
+package com.mentorship.support;
+
+import com.mentorship.service.MailSender;
+import org.springframework.context.annotation.Primary;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory {@link MailSender} that records what it is asked to send and can be told to fail
+ * the next few sends, as an unreachable mail server would. Register it with {@code @Import};
+ * it takes precedence over the logging sender.
+ */
+@Primary
+public class RecordingMailSender implements MailSender {
+
+  private final List<Message> sent = new CopyOnWriteArrayList<>();
+  private final AtomicInteger failuresLeft = new AtomicInteger();
+
+  @Override
+  public void send(Message message) {
+    if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+      throw new IllegalStateException("Mail server unavailable");
+    }
+    sent.add(message);
+  }
+
+  public void failNext(int sends) {
+    failuresLeft.set(sends);
+  }
+
+  public List<Message> sent() {
+    return List.copyOf(sent);
+  }
+
+  public void reset() {
+    sent.clear();
+    failuresLeft.set(0);
+  }
+}
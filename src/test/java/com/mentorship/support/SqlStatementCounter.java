@@ -0,0 +1,34 @@
+package com.mentorship.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while a block runs.
+ * Inside a test transaction the persistence context is flushed and cleared
+ * first so that nothing is served from entities loaded by the test setup.
+ * Requires {@code hibernate.generate_statistics=true}; register it with {@code @Import}.
+ */
+public class SqlStatementCounter {
+
+  private final EntityManager entityManager;
+  private final Statistics statistics;
+
+  public SqlStatementCounter(EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+    this.entityManager = entityManager;
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  public long count(Runnable block) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      entityManager.flush();
+      entityManager.clear();
+    }
+    statistics.clear();
+    block.run();
+    return statistics.getPrepareStatementCount();
+  }
+}
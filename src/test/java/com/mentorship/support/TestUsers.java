@@ -0,0 +1,27 @@
+package com.mentorship.support;
+
+import com.mentorship.domain.User;
+import com.mentorship.domain.UserRole;
+import com.mentorship.repository.UserRepository;
+
+import java.util.UUID;
+
+/**
+ * Users for tests to hang their data off, saved straight through the repository: each has a
+ * random ID and an email no other user has, so tests never collide on the unique keys.
+ */
+public final class TestUsers {
+
+  private TestUsers() {
+  }
+
+  /** Saves a user named after its role. */
+  public static User save(UserRepository userRepository, UserRole role) {
+    return save(userRepository, role.name(), role);
+  }
+
+  public static User save(UserRepository userRepository, String name, UserRole role) {
+    return userRepository.save(User.builder()
+            .id(UUID.randomUUID()).name(name).email(UUID.randomUUID() + "@example.com").role(role).build());
+  }
+}